@@ -11,8 +11,12 @@ import net.helix.pendulum.network.UDPReceiver;
 //import net.helix.pendulum.network.impl.RequestQueueImpl;
 import net.helix.pendulum.network.replicator.Replicator;
 import net.helix.pendulum.service.TipsSolidifier;
+import net.helix.pendulum.service.bundle.BundleTracker;
+import net.helix.pendulum.service.bundle.impl.BundleTrackerImpl;
 import net.helix.pendulum.service.cache.TangleCache;
 import net.helix.pendulum.service.cache.impl.TangleCacheImpl;
+import net.helix.pendulum.service.subscription.SubscriptionService;
+import net.helix.pendulum.service.subscription.impl.SubscriptionServiceImpl;
 import net.helix.pendulum.service.ledger.impl.LedgerServiceImpl;
 import net.helix.pendulum.service.milestone.*;
 import net.helix.pendulum.service.milestone.impl.LatestSolidMilestoneTrackerImpl;
@@ -20,6 +24,7 @@ import net.helix.pendulum.service.milestone.impl.MilestoneServiceImpl;
 import net.helix.pendulum.service.milestone.impl.MilestoneSolidifierImpl;
 import net.helix.pendulum.service.milestone.impl.MilestoneTrackerImpl;
 import net.helix.pendulum.service.milestone.impl.SeenMilestonesRetrieverImpl;
+import net.helix.pendulum.service.milestone.impl.SubtangleSolidifierImpl;
 import net.helix.pendulum.service.snapshot.*;
 import net.helix.pendulum.service.snapshot.impl.LocalSnapshotManagerImpl;
 import net.helix.pendulum.service.snapshot.impl.SnapshotProviderImpl;
@@ -54,6 +59,7 @@ import net.helix.pendulum.storage.PersistenceProvider;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
 import net.helix.pendulum.utils.Pair;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.zmq.MessageQProviderImpl;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
@@ -117,6 +123,8 @@ public class Pendulum {
     public final AsyncTransactionPruner transactionPruner;
     public final MilestoneSolidifier milestoneSolidifier;
     public final CandidateSolidifier candidateSolidifier;
+    public final SubtangleSolidifier subtangleSolidifier;
+    public final BundleTracker bundleTracker;
     //public final TipRequesterWorker transactionRequesterWorker;
 
     public final Tangle tangle;
@@ -131,6 +139,7 @@ public class Pendulum {
     public final TipSelector tipsSelector;
     public final BundleValidator bundleValidator;
     public final TangleCache tangleCache;
+    public final SubscriptionService subscriptionService;
 
     /**
      * Initializes the latest snapshot and then creates all services needed to run a node.
@@ -143,6 +152,9 @@ public class Pendulum {
     public Pendulum(PendulumConfig configuration) throws TransactionPruningException, SnapshotException, SpentAddressesException {
         this.configuration = configuration;
 
+        // the pools of the services are sized when they are created
+        ExecutorRegistry.get().configure(configuration);
+
         // new refactored instances
         spentAddressesProvider = new SpentAddressesProviderImpl();
         spentAddressesService = new SpentAddressesServiceImpl();
@@ -159,6 +171,8 @@ public class Pendulum {
         seenMilestonesRetriever = new SeenMilestonesRetrieverImpl();
         milestoneSolidifier = new MilestoneSolidifierImpl();
         candidateSolidifier = new CandidateSolidifierImpl();
+        subtangleSolidifier = new SubtangleSolidifierImpl();
+        bundleTracker = new BundleTrackerImpl();
         transactionPruner = configuration.getLocalSnapshotsEnabled() && configuration.getLocalSnapshotsPruningEnabled()
                 ? new AsyncTransactionPruner()
                 : null;
@@ -182,6 +196,7 @@ public class Pendulum {
         tipsSelector = createTipSelector(configuration);
 
         tangleCache = new TangleCacheImpl();
+        subscriptionService = new SubscriptionServiceImpl();
 
         ServiceRegistry sm = ServiceRegistry.get();
 
@@ -202,6 +217,8 @@ public class Pendulum {
         sm.register(SeenMilestonesRetriever.class, seenMilestonesRetriever);
         sm.register(MilestoneSolidifier.class, milestoneSolidifier);
         sm.register(CandidateSolidifier.class, candidateSolidifier);
+        sm.register(SubtangleSolidifier.class, subtangleSolidifier);
+        sm.register(BundleTracker.class, bundleTracker);
         sm.register(TransactionPruner.class, transactionPruner);
         //sm.register(TipRequesterWorker.class, transactionRequesterWorker);
         //sm.register(Node.RequestQueue.class, requestQueue);
@@ -216,6 +233,7 @@ public class Pendulum {
         sm.register(UDPReceiver.class, udpReceiver);
         sm.register(TipsSolidifier.class, tipsSolidifier);
         sm.register(TipSelector.class, tipsSelector);
+        sm.register(SubscriptionService.class, subscriptionService);
 
 
         injectDependencies();
@@ -243,6 +261,11 @@ public class Pendulum {
             tangle.clearMetadata(net.helix.pendulum.model.persistables.Transaction.class);
         }
 
+        // the persisted jobs can only be restored after the database was opened
+        if (transactionPruner != null) {
+            transactionPruner.restoreState();
+        }
+
         transactionValidator.init();
         tipsSolidifier.init();
         tipsViewModel.init();
@@ -250,6 +273,7 @@ public class Pendulum {
         replicator.init();
         node.init();
         tangleCache.init();
+        subscriptionService.init();
 
         if (configuration.isZmqEnabled()) {
             tangle.addMessageQueueProvider(new MessageQProviderImpl(configuration));
@@ -268,7 +292,7 @@ public class Pendulum {
         latestSolidMilestoneTracker.start();
         candidateTracker.start();
         seenMilestonesRetriever.start();
-        milestoneSolidifier.start();
+        subtangleSolidifier.start();
         transactionValidator.start();
         if (localSnapshotManager != null) {
             localSnapshotManager.start(latestMilestoneTracker);
@@ -294,12 +318,13 @@ public class Pendulum {
         latestMilestoneTracker.init();
         latestSolidMilestoneTracker.init(tangle, snapshotProvider, milestoneService, ledgerService, latestMilestoneTracker);
         seenMilestonesRetriever.init();
+        subtangleSolidifier.init();
+        bundleTracker.init();
         milestoneSolidifier.init();
         candidateSolidifier.init();
         ledgerService.init(tangle, snapshotProvider, snapshotService, milestoneService, configuration);
         if (transactionPruner != null) {
-            transactionPruner.init(tangle, snapshotProvider, spentAddressesService, tipsViewModel, configuration)
-                    .restoreState();
+            transactionPruner.init(tangle, snapshotProvider, spentAddressesService, tipsViewModel, configuration);
         }
         //transactionRequesterWorker.init();
     }
@@ -335,7 +360,7 @@ public class Pendulum {
      */
     public void shutdown() throws Exception {
         //transactionRequesterWorker.shutdown();
-        milestoneSolidifier.shutdown();
+        subtangleSolidifier.shutdown();
         seenMilestonesRetriever.shutdown();
         latestSolidMilestoneTracker.shutdown();
         latestMilestoneTracker.shutdown();
@@ -348,6 +373,7 @@ public class Pendulum {
         }
 
         EventManager.get().shutdown();
+        subscriptionService.shutdown();
         tipsSolidifier.shutdown();
         node.shutdown();
         udpReceiver.shutdown();
@@ -368,7 +394,8 @@ public class Pendulum {
                         configuration.getDbLogPath(),
                         configuration.getDbCacheSize(),
                         Tangle.COLUMN_FAMILIES,
-                        Tangle.METADATA_COLUMN_FAMILY)
+                        Tangle.METADATA_COLUMN_FAMILY,
+                        configuration)
                 );
                 break;
             }
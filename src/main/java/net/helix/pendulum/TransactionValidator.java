@@ -16,18 +16,23 @@ import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.PendulumUtils;
-import net.helix.pendulum.utils.collections.impl.BoundedLinkedListImpl;
-import net.helix.pendulum.utils.collections.interfaces.BoundedLinkedSet;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
+import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Function;
 
 import static net.helix.pendulum.controllers.TransactionViewModel.*;
 
@@ -44,28 +49,81 @@ public class TransactionValidator implements PendulumEventListener {
     private static final long MAX_TIMESTAMP_FUTURE = 2L * 60L * 60L;
     private static final long MAX_TIMESTAMP_FUTURE_MS = MAX_TIMESTAMP_FUTURE * 1_000L;
 
+    /**
+     * Interval (in milliseconds) of the rescan that catches the transactions which are not tracked by the frontier.
+     */
+    private static final int RESCAN_INTERVAL = 10000;
+
+    /**
+     * Maximum amount of transactions that are visited by a single run of the rescan.
+     */
+    private static final int MAX_TX_PER_RESCAN = 1000;
+
+    /**
+     * Maximum amount of non-solid transactions that are visited by a synchronous {@link #checkSolidity(Hash)}.
+     */
+    private static final int MAX_TX_PER_CHECK = 20000;
+
     private ReentrantLock lock = new ReentrantLock(true);
-    /////////////////////////////////fields for solidification thread//////////////////////////////////////
+    /////////////////////////////////fields for solidification workers//////////////////////////////////////
+
+    /**
+     * Single threaded executors, every hash is always processed by the same worker (selected by its hash code), so
+     * the attempts to solidify a transaction never run concurrently.
+     */
+    private ExecutorService[] workers;
+
+    /**
+     * Frontier of the solidification: maps a non-solid parent to the children that wait for it to become solid.
+     */
+    private final Map<Hash, Set<Hash>> waitingChildren = new ConcurrentHashMap<>();
+
+    /**
+     * Transactions that are queued or waiting in the frontier, so the walk towards missing parents visits every
+     * non-solid ancestor only once.
+     */
+    private final Set<Hash> pendingTransactions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Transactions that are solidified on the calling thread as long as the workers are not started.
+     */
+    private final Queue<Hash> inlineQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean inlineProcessing = new AtomicBoolean(false);
+
+    private final AtomicInteger tasksInProgress = new AtomicInteger(0);
+
+    /**
+     * Counts the recognised milestones (see {@link #resolidifyMilestoneBundle(List)}), so an attempt notices that the
+     * parents it determined may be outdated.
+     */
+    private final AtomicLong milestoneRecognitions = new AtomicLong(0);
 
-    private ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    //private Thread newSolidThread;
+    /**
+     * Children that were refused by the full frontier. They are scheduled again when a slot of the frontier frees up
+     * or by the rescan.
+     */
+    private final Set<Hash> untrackedChildren = ConcurrentHashMap.newKeySet();
 
-    private BoundedLinkedSet<Hash> forwardSolidificationQueue;
-    private BoundedLinkedSet<Hash> backwardsSolidificationQueue;
+    private final SilentScheduledExecutorService rescanExecutor = new DedicatedScheduledExecutorService(
+            "Solidification Rescan", log);
 
-    private Function<Hash, Void> depthCallback;
-    private Function<Hash, Void> breadthCallback;
+    /**
+     * The transaction that was visited last by the pass of the rescan (only accessed by the rescan).
+     */
+    private TransactionViewModel rescanPosition;
+
+    /**
+     * Flag that indicates if the rescan visited all stored transactions (only accessed by the rescan).
+     */
+    private boolean rescanComplete = false;
 
     private TangleCache tangleCache;
 
-    private static final int BACKWARDS_SOLIDIFICATION_DELAY_MS = 400;
-    private static final int FORWARD_SOLIDIFICATION_DELAY_MS = 200;
-    private static final int MAX_TX_PER_SCAN = 1000;
+    private int frontierCap;
 
     private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
 
-    private final AtomicBoolean forwardSolidificationDone = new AtomicBoolean(true);
-
     private Cache<Hash, Integer> solidificationCache;
 
     /**
@@ -82,7 +140,7 @@ public class TransactionValidator implements PendulumEventListener {
      * <ol>
      *     <li>Sets the minimum weight magnitude (MWM). POW on a transaction is validated by counting a certain
      *     number of consecutive 0s in the end of the transaction hash. The number of 0s is the MWM.</li>
-     *     <li>Starts the transaction solidification thread.</li>
+     *     <li>Subscribes to the stored transactions, which drive the solidification.</li>
      * </ol>
      *
      *
@@ -100,61 +158,27 @@ public class TransactionValidator implements PendulumEventListener {
 
         setMwm(testnet, mwm);
 
-        int solidificationQueueCap = config.solidificationQueueCap();
-        forwardSolidificationQueue = new BoundedLinkedListImpl<>(solidificationQueueCap);
-        backwardsSolidificationQueue = new BoundedLinkedListImpl<>(solidificationQueueCap);
-
-        breadthCallback = parentHash -> {
-            TransactionViewModel parent = tangleCache.getTxVM(parentHash);
-
-            if(parent.getType() == PREFILLED_SLOT) {
-                if(requestQueue.enqueueTransaction(parent.getHash(), false)) {
-                    log.trace("Missing parent, requesting {}", parent.getHash());
-                }
-            }
-
-            if (parent.getType() == FILLED_SLOT && !parent.isSolid()) {
-                if (forwardSolidificationDone.get()) {
-                    forwardSolidificationDone.set(false);
-                    if (forwardSolidificationQueue.add(parent.getHash())) {
-                        log.trace("Non-solid but filled parent {}", parent.getHash());
-                    }
-                }
-            }
-            // not important
-            return null;
-        };
-
-        depthCallback = parentHash -> {
-            TransactionViewModel parent = tangleCache.getTxVM(parentHash);
-            if(parent.getType() == PREFILLED_SLOT) {
-                if(requestQueue.enqueueTransaction(parent.getHash(), false)) {
-                    log.trace("Missing parent, requesting {}", parent.getHash());
-                }
-            }
-
-            if (parent.getType() == FILLED_SLOT && !parent.isSolid()) {
-                if (forwardSolidificationQueue.push(parent.getHash())) {
-                    log.trace("Non-solid but filled parent {}", parent.getHash());
-                }
-                forwardSolidificationDone.set(false);
-            }
-            // not important
-            return null;
-        };
-
+        frontierCap = config.solidificationQueueCap();
 
+        // the solidification lag: transactions that were stored but are not solid yet and the parents they wait for
+        MetricsRegistry.get().gauge("pendulum_solidification_pending", "Stored transactions that are not solid yet",
+                pendingTransactions::size);
+        MetricsRegistry.get().gauge("pendulum_solidification_frontier", "Non-solid parents that children wait for",
+                waitingChildren::size);
 
         EventManager.get().subscribe(EventType.TX_STORED,  this);
     }
 
 
+    /**
+     * Starts the solidification workers and the rescan. Until then the transactions are solidified on the thread that
+     * stores them.
+     */
     public void start() {
-        scheduler.scheduleAtFixedRate(this::solidifyBackwards,
-                0, BACKWARDS_SOLIDIFICATION_DELAY_MS, TimeUnit.MILLISECONDS);
+        workers = ExecutorRegistry.get().newAffinityExecutors("solidification", config.getSolidificationThreads());
 
-        scheduler.scheduleAtFixedRate(this::solidifyForward,
-                10, FORWARD_SOLIDIFICATION_DELAY_MS, TimeUnit.MILLISECONDS);
+        int interval = ExecutorRegistry.get().getInterval("solidification-rescan", RESCAN_INTERVAL);
+        rescanExecutor.silentScheduleWithFixedDelay(this::rescan, interval, interval, TimeUnit.MILLISECONDS);
     }
 
 
@@ -169,12 +193,17 @@ public class TransactionValidator implements PendulumEventListener {
     }
 
     /**
-     * Shutdown roots to tip solidification thread
+     * Shutdown the solidification workers
      * @throws InterruptedException
      */
     public void shutdown() throws InterruptedException {
         shuttingDown.set(true);
-        scheduler.shutdown();
+        rescanExecutor.shutdownNow();
+        if (workers != null) {
+            for (ExecutorService worker : workers) {
+                worker.shutdownNow();
+            }
+        }
     }
 
     /**
@@ -299,7 +328,13 @@ public class TransactionValidator implements PendulumEventListener {
     }
 
     /**
-     * This methods tries its best to solidify a given hash, by requesting the missing parents if needed
+     * This methods tries its best to solidify a given hash, by requesting the missing parents if needed.
+     *
+     * The non-solid ancestors of the transaction are walked on the calling thread, so the callers can decide on the
+     * result: if all of them are stored, they are marked solid before this method returns. Otherwise the first missing
+     * ancestor is requested and the transaction is handed over to the workers (like the stored transactions), which
+     * solidify it as soon as the missing ancestors arrive. The same happens if the walk exceeds
+     * {@link #MAX_TX_PER_CHECK} transactions.
      *
      * @param hash hash of the transactions that shall get checked
      * @return true if the transaction is solid and false otherwise
@@ -310,149 +345,309 @@ public class TransactionValidator implements PendulumEventListener {
         if (fromHash(tangle, hash).isSolid()) {
             return true;
         }
-        return quickSetSolid(hash, breadthCallback);
-    }
 
+        long recognitions = milestoneRecognitions.get();
+        if (!walkNonSolidAncestors(hash, recognitions)) {
+            // the transaction is checked even if it is pending already, so the missing parents get requested again
+            pendingTransactions.add(hash);
+            scheduleSolidification(hash);
 
+            return fromHash(tangle, hash).isSolid();
+        }
+
+        return true;
+    }
 
     /**
-     * Run a forward sweep so that filled but not yet solid transactions are updated
+     * Walks the non-solid ancestors of a transaction and marks them solid if none of them is missing.
+     *
+     * @param hash hash of the transaction whose ancestors shall be walked
+     * @param recognitions the amount of recognised milestones before the walk started
+     * @return true if the transaction was marked solid and false otherwise
+     * @throws Exception if anything goes wrong while loading or updating the transactions
      */
-    public void solidifyForward() {
-        if (shuttingDown.get()) {
-            return;
+    private boolean walkNonSolidAncestors(Hash hash, long recognitions) throws Exception {
+        Set<Hash> analyzedTransactions = new LinkedHashSet<>();
+        Queue<Hash> nonAnalyzedTransactions = new ArrayDeque<>(Collections.singleton(hash));
+        Hash transactionPointer;
+        while ((transactionPointer = nonAnalyzedTransactions.poll()) != null) {
+            if (!analyzedTransactions.add(transactionPointer)) {
+                continue;
+            }
+            if (analyzedTransactions.size() > MAX_TX_PER_CHECK || shuttingDown.get()) {
+                return false;
+            }
+
+            for (Hash parent : getSolidificationParents(fromHash(tangle, transactionPointer))) {
+                if (analyzedTransactions.contains(parent) || isSolidEntryPoint(parent) ||
+                        parent.leadingZeros() < minWeightMagnitude) {
+
+                    continue;
+                }
+
+                TransactionViewModel parentTransaction = fromHash(tangle, parent);
+                if (parentTransaction.getType() == PREFILLED_SLOT) {
+                    if (requestQueue.enqueueTransaction(parent, false)) {
+                        log.trace("Missing ancestor, requesting {}", parent);
+                    }
+                    return false;
+                }
+                if (!parentTransaction.isSolid()) {
+                    nonAnalyzedTransactions.add(parent);
+                }
+            }
         }
 
-        Thread.currentThread().setName("forward solidification");
-        Hash txHash;
-        int txCount = 0;
-        while ((txHash = forwardSolidificationQueue.poll()) != null) {
-            try {
-                if (txCount > MAX_TX_PER_SCAN) {
-                    return;
+        List<Hash> solidifiedTransactions = new ArrayList<>();
+        lock.lock();
+        try {
+            // the milestone parents of the walked transactions may have changed in the meantime
+            if (recognitions != milestoneRecognitions.get()) {
+                return false;
+            }
+
+            for (Hash analyzedTransaction : analyzedTransactions) {
+                TransactionViewModel transactionViewModel = fromHash(tangle, analyzedTransaction);
+                if (transactionViewModel.updateSolid(true)) {
+                    transactionViewModel.update(tangle, snapshotProvider.getInitialSnapshot(), "solid|height");
+                    solidifiedTransactions.add(analyzedTransaction);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Hash solidifiedTransaction : solidifiedTransactions) {
+            log.trace("Solidified by a check: {}", solidifiedTransaction);
+            EventManager.get().fire(EventType.TX_SOLIDIFIED, EventUtils.fromTxHash(solidifiedTransaction));
+            pendingTransactions.remove(solidifiedTransaction);
+            untrackedChildren.remove(solidifiedTransaction);
+            wakeWaitingChildren(solidifiedTransaction);
+        }
+
+        return true;
+    }
+
+    private boolean isSolidEntryPoint(Hash hash) {
+        Snapshot initialSnapshot = snapshotProvider.getInitialSnapshot();
+
+        return initialSnapshot != null && initialSnapshot.hasSolidEntryPoint(hash);
+    }
+
+    /**
+     * Solidifies the transactions of a milestone bundle again after the milestone was recognised.
+     *
+     * As long as the milestone is not recognised, the transactions of its bundle are solidified through their trunk
+     * and branch like regular transactions, so they can be solid while the tips that are referenced by the milestone
+     * are still missing. The solid flags of the whole bundle are reset before any of its transactions is solidified
+     * again with the referenced tips as parents (see {@link #getSolidificationParents(TransactionViewModel)}).
+     *
+     * @param milestoneBundle the transactions of the recognised milestone bundle
+     * @throws Exception if the transactions can not be updated
+     */
+    public void resolidifyMilestoneBundle(List<TransactionViewModel> milestoneBundle) throws Exception {
+        lock.lock();
+        try {
+            // attempts that determined their parents before the milestone was recognised must not mark it solid
+            milestoneRecognitions.incrementAndGet();
+            for (TransactionViewModel transaction : milestoneBundle) {
+                TransactionViewModel transactionViewModel = fromHash(tangle, transaction.getHash());
+                if (transactionViewModel.updateSolid(false)) {
+                    log.trace("Reset the solidity of milestone transaction: {}", transaction.getHash());
+                    transactionViewModel.update(tangle, snapshotProvider.getInitialSnapshot(), "solid");
                 }
-                txCount++;
-                quickSetSolid(txHash, depthCallback);
-            } catch (Exception e) {
-                log.error("Failed to solidify", e);
             }
+        } finally {
+            lock.unlock();
+        }
+
+        for (TransactionViewModel transaction : milestoneBundle) {
+            pendingTransactions.add(transaction.getHash());
+            scheduleSolidification(transaction.getHash());
         }
-        forwardSolidificationDone.set(true);
     }
 
     /**
-     * For each new solid transaction, we find
-     * its children (approvers) and try to quickly solidify them with {@link #quickSetSolid}.
-     * The solidifaction is then cascaded backwards
+     * Notifies the validator that a transaction became solid, so the children waiting for it are solidified.
+     *
+     * @param hash hash of the solid transaction
+     */
+    protected void addSolidTransaction(Hash hash) throws Exception {
+        wakeWaitingChildren(hash);
+    }
+
+    /**
+     * Schedules an attempt to solidify the transaction. The attempts for the same hash are always processed by the
+     * same worker.
+     *
+     * @param hash hash of the transaction that shall get solidified
      */
-    //Package private for testing
-    public void solidifyBackwards() {
+    private void scheduleSolidification(Hash hash) {
         if (shuttingDown.get()) {
             return;
         }
 
-        Thread.currentThread().setName("backward solidification");
-        Hash txHash;
-        int txCount = 0;
+        ExecutorService[] pool = workers;
+        if (pool == null) {
+            inlineQueue.add(hash);
+            processInlineQueue();
+            return;
+        }
 
-        if (backwardsSolidificationQueue.isEmpty()) {
-            for (Hash solidEntry : snapshotProvider.getLatestSnapshot().getSolidEntryPoints().keySet()) {
+        tasksInProgress.incrementAndGet();
+        try {
+            pool[Math.floorMod(hash.hashCode(), pool.length)].execute(() -> {
                 try {
-                    backwardsSolidificationQueue.add(solidEntry);
-                } catch (Exception e) {
-                    log.error("error:", e);
+                    solidify(hash);
+                } finally {
+                    tasksInProgress.decrementAndGet();
                 }
-            }
+            });
+        } catch (RejectedExecutionException e) {
+            tasksInProgress.decrementAndGet();
+            pendingTransactions.remove(hash);
         }
+    }
 
-        while((txHash = backwardsSolidificationQueue.poll()) != null) {
+    /**
+     * Processes the queued transactions on the calling thread. Transactions that are queued while the queue is
+     * processed (e.g. the waiting children of a solidified transaction) are processed by the same loop, so the
+     * propagation does not recurse.
+     */
+    private void processInlineQueue() {
+        while (!inlineQueue.isEmpty() && inlineProcessing.compareAndSet(false, true)) {
             try {
-                if (txCount > MAX_TX_PER_SCAN) {
-                    return;
-                }
-                txCount++;
-                if (txHash.leadingZeros() < getMinWeightMagnitude()) {
-                    log.trace("Skipping {}.", txHash);
-                    continue;
+                Hash hash;
+                while ((hash = inlineQueue.poll()) != null) {
+                    solidify(hash);
                 }
+            } finally {
+                inlineProcessing.set(false);
+            }
+        }
+    }
 
-                TransactionViewModel transaction = tangleCache.getTxVM(txHash);
-                Set<Hash> approvers = transaction.getApprovers(tangle).getHashes();
-                for(Hash h: approvers) {
+    private void solidify(Hash hash) {
+        try {
+            quickSetSolid(hash);
+        } catch (Exception e) {
+            log.error("Failed to solidify", e);
+            pendingTransactions.remove(hash);
+        }
+    }
 
-                    TransactionViewModel approver = fromHash(tangle, h);
-                    if (approver.isSolid()) {
-                        backwardsSolidificationQueue.add(h);
-                    } else {
-                        quickSetSolid(h, hash -> null);
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error while propagating solidity upwards", e);
+    /**
+     * Schedules the children that waited for the given transaction. Every edge of the frontier is visited once.
+     *
+     * @param hash hash of the transaction that became solid
+     */
+    private void wakeWaitingChildren(Hash hash) {
+        Set<Hash> children = waitingChildren.remove(hash);
+        if (children != null) {
+            for (Hash child : children) {
+                scheduleSolidification(child);
             }
+
+            retryUntrackedChild();
         }
     }
 
-    protected void addSolidTransaction(Hash hash) throws Exception {
-        backwardsSolidificationQueue.add(hash);
+    /**
+     * Schedules one of the children that were refused by the full frontier, after a slot of the frontier was freed.
+     */
+    private void retryUntrackedChild() {
+        Iterator<Hash> iterator = untrackedChildren.iterator();
+        if (iterator.hasNext()) {
+            Hash child = iterator.next();
+            if (untrackedChildren.remove(child)) {
+                scheduleSolidification(child);
+            }
+        }
     }
 
+    /**
+     * Catches the transactions that are not driven by the frontier: the children that were refused by the full
+     * frontier and the non-solid transactions that were stored before the node was restarted.<br />
+     * <br />
+     * The latter are found by a single pass over the stored transactions after the start (the transactions that arrive
+     * afterwards are driven by the frontier). Every run visits at most {@link #MAX_TX_PER_RESCAN} transactions and
+     * continues where the previous run stopped.
+     */
+    //Package Private For Testing
+    protected void rescan() {
+        try {
+            int scheduledChildren = 0;
+            for (Hash child : untrackedChildren) {
+                if (scheduledChildren++ >= MAX_TX_PER_RESCAN) {
+                    break;
+                }
+                if (untrackedChildren.remove(child)) {
+                    scheduleSolidification(child);
+                }
+            }
+
+            for (int visitedTransactions = 0; !rescanComplete && visitedTransactions < MAX_TX_PER_RESCAN &&
+                    !shuttingDown.get(); visitedTransactions++) {
+
+                TransactionViewModel transaction = rescanPosition == null
+                        ? TransactionViewModel.first(tangle)
+                        : rescanPosition.next(tangle);
+                if (transaction == null) {
+                    rescanComplete = true;
+                    rescanPosition = null;
+                    log.info("Rescanning the non-solid transactions ... [DONE]");
+                    break;
+                }
+                rescanPosition = transaction;
+
+                Hash hash = transaction.getHash();
+                TransactionViewModel storedTransaction = fromHash(tangle, hash);
+                if (storedTransaction.getType() != PREFILLED_SLOT && !storedTransaction.isSolid() &&
+                        pendingTransactions.add(hash)) {
+
+                    scheduleSolidification(hash);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error while rescanning the non-solid transactions", e);
+        }
+    }
 
     /**
      * Tries to solidify the transactions quickly by performing {@link #checkApproovee} on both parents (trunk and
-     * branch). If the parents are solid, mark the transactions as solid.
+     * branch). If the parents are solid, mark the transactions as solid and wake the children waiting for it.
+     * Otherwise the transaction waits in the frontier of the non-solid parents.
      * @param tvmHash hash of the transaction to solidify
      * @return <tt>true</tt> if we made the transaction solid, else <tt>false</tt>.
      * @throws Exception
      */
-    private boolean quickSetSolid(Hash tvmHash, Function<Hash, Void> parentCallback) throws Exception {
+    private boolean quickSetSolid(Hash tvmHash) throws Exception {
         TransactionViewModel transactionViewModel = fromHash(tangle, tvmHash);
 
         if(transactionViewModel.isSolid()) {
+            pendingTransactions.remove(tvmHash);
             return false;
         }
 
 
+        long recognitions = milestoneRecognitions.get();
         boolean solid = true;
-        TransactionViewModel milestoneTx;
-        if ((milestoneTx = transactionViewModel.isMilestoneBundle(tangle)) != null) {
-            log.trace("Milestone solidification: {} {}", milestoneTx.getHash().toString(),
-                    transactionViewModel.getHash());
-            Set<Hash> parents = RoundViewModel.getMilestoneTrunk(tangle, transactionViewModel, milestoneTx);
-            if (transactionViewModel.getCurrentIndex() == transactionViewModel.lastIndex()) {
-                parents.addAll(RoundViewModel.getMilestoneBranch(tangle, transactionViewModel, milestoneTx, config.getValidatorSecurity()));
-            }
-
-            log.trace("Milestone tx, adding referenced parents: {}", PendulumUtils.logHashList(parents, 6));
-
-            for (Hash parent : parents){
-                log.trace("Parent ml: {}", parent);
-                if (!checkApproovee(parent, parentCallback)) {
-                    solid = false;
-                }
-            }
-        } else {
-            Hash[] parents = new Hash[]{
-                    transactionViewModel.getTrunkTransactionHash(),
-                    transactionViewModel.getBranchTransactionHash()
-            };
-
-            //if (checkParentsTxs(transactionViewModel, parents)) {
-            //    log.warn("The tx and the bundle has been deleted");
-            //    return false;
-            //}
-
-            for (Hash parent: parents) {
-                log.trace("Parent tx: {}", parent);
-                if (!checkApproovee(parent, parentCallback)) {
-                    solid = false;
-                }
+        for (Hash parent : getSolidificationParents(transactionViewModel)) {
+            log.trace("Parent: {}", parent);
+            if (!checkApproovee(parent, tvmHash)) {
+                solid = false;
             }
         }
 
         if(solid) {
             lock.lock();
             try {
+                if (recognitions != milestoneRecognitions.get()) {
+                    log.trace("Milestone recognised while solidifying {}, checking again", tvmHash);
+                    scheduleSolidification(tvmHash);
+                    return false;
+                }
+
                 log.trace("Quickly solidified: {}", transactionViewModel.getHash());
                 // ugly...
                 transactionViewModel.updateSolid(true);
@@ -462,7 +657,9 @@ public class TransactionValidator implements PendulumEventListener {
             }
 
             EventManager.get().fire(EventType.TX_SOLIDIFIED, EventUtils.fromTxHash(transactionViewModel.getHash()));
-            backwardsSolidificationQueue.add(transactionViewModel.getHash());
+            pendingTransactions.remove(tvmHash);
+            untrackedChildren.remove(tvmHash);
+            wakeWaitingChildren(transactionViewModel.getHash());
             // we don't use heights atm
             //tvm.updateHeights(tangle, snapshotProvider.getInitialSnapshot());
             return true;
@@ -472,6 +669,35 @@ public class TransactionValidator implements PendulumEventListener {
     }
 
 
+    /**
+     * Returns the transactions that have to be solid before the given transaction can become solid. These are the trunk
+     * and the branch of a regular transaction, while the transactions of a milestone bundle depend on the tips that are
+     * referenced by the milestone.
+     *
+     * @param transactionViewModel the transaction whose parents shall be determined
+     * @return the hashes of the parents
+     * @throws Exception if the milestone bundle can not be loaded
+     */
+    public Set<Hash> getSolidificationParents(TransactionViewModel transactionViewModel) throws Exception {
+        TransactionViewModel milestoneTx;
+        if ((milestoneTx = transactionViewModel.isMilestoneBundle(tangle)) != null) {
+            log.trace("Milestone solidification: {} {}", milestoneTx.getHash().toString(),
+                    transactionViewModel.getHash());
+            Set<Hash> parents = RoundViewModel.getMilestoneTrunk(tangle, transactionViewModel, milestoneTx);
+            if (transactionViewModel.getCurrentIndex() == transactionViewModel.lastIndex()) {
+                parents.addAll(RoundViewModel.getMilestoneBranch(tangle, transactionViewModel, milestoneTx, config.getValidatorSecurity()));
+            }
+
+            log.trace("Milestone tx, adding referenced parents: {}", PendulumUtils.logHashList(parents, 6));
+            return parents;
+        }
+
+        Set<Hash> parents = new LinkedHashSet<>(2);
+        parents.add(transactionViewModel.getTrunkTransactionHash());
+        parents.add(transactionViewModel.getBranchTransactionHash());
+        return parents;
+    }
+
     private boolean checkParentsTxs(TransactionViewModel transactionViewModel, Hash[] parents) {
 
         for (Hash parentHash: parents) {
@@ -498,42 +724,91 @@ public class TransactionValidator implements PendulumEventListener {
     }
 
     /**
-     * If the the {@code approvee} is missing, request it from a neighbor.
+     * If the the {@code approvee} is missing, request it from a neighbor. If it is stored but not solid, schedule its
+     * solidification. As long as it is not solid, the {@code child} waits for it in the frontier.
      * @param hApprovee transaction hash we check.
+     * @param child transaction hash that references the {@code approvee}.
      * @return true if {@code approvee} is solid.
      * @throws Exception if we encounter an error while requesting a transaction
      */
-    private boolean checkApproovee(Hash hApprovee, Function<Hash, Void> approveeCallback) throws Exception {
-        TransactionViewModel approovee = fromHash(tangle, hApprovee);
+    private boolean checkApproovee(Hash hApprovee, Hash child) throws Exception {
         Snapshot s = snapshotProvider.getInitialSnapshot();
         if (s == null) {
             log.warn("Initial snapshot is NULL");
-        } else if (s.hasSolidEntryPoint(approovee.getHash())) {
+        } else if (s.hasSolidEntryPoint(hApprovee)) {
+            return true;
+        }
+
+        if (hApprovee.leadingZeros() < minWeightMagnitude) {
+            log.trace("Invalid mvm: {}", hApprovee);
             return true;
         }
 
-        if (approovee.getHash().leadingZeros() >= minWeightMagnitude) {
-            approveeCallback.apply(approovee.getHash());
-        } else {
-            log.trace("Invalid mvm: {} {}", approovee, hApprovee);
+        // the child is registered before the solid flag is read, so a parent that becomes solid in the meantime
+        // always finds it in the frontier
+        boolean waiting = addWaitingChild(hApprovee, child);
+        TransactionViewModel approovee = fromHash(tangle, hApprovee);
+        if (approovee.getType() == FILLED_SLOT && approovee.isSolid()) {
+            removeWaitingChild(hApprovee, child);
             return true;
         }
-        return approovee.getType() == FILLED_SLOT && approovee.isSolid();
+
+        if (approovee.getType() == PREFILLED_SLOT) {
+            if (requestQueue.enqueueTransaction(hApprovee, false)) {
+                log.trace("Missing parent, requesting {}", hApprovee);
+            }
+        } else if (waiting && pendingTransactions.add(hApprovee)) {
+            log.trace("Non-solid but filled parent {}", hApprovee);
+            scheduleSolidification(hApprovee);
+        }
+        return false;
+    }
+
+    private boolean addWaitingChild(Hash parent, Hash child) {
+        if (waitingChildren.size() >= frontierCap && !waitingChildren.containsKey(parent)) {
+            log.trace("Solidification frontier is full, {} is not tracked", child);
+            // the children beyond the cap are dropped, so the rescan can find them again
+            if (untrackedChildren.size() < frontierCap) {
+                untrackedChildren.add(child);
+            } else if (!untrackedChildren.contains(child)) {
+                pendingTransactions.remove(child);
+            }
+            return false;
+        }
+
+        waitingChildren.compute(parent, (hash, children) -> {
+            Set<Hash> result = children == null ? new HashSet<>(4) : children;
+            result.add(child);
+            return result;
+        });
+        return true;
+    }
+
+    private void removeWaitingChild(Hash parent, Hash child) {
+        AtomicBoolean removedParent = new AtomicBoolean(false);
+        waitingChildren.computeIfPresent(parent, (hash, children) -> {
+            children.remove(child);
+            removedParent.set(children.isEmpty());
+            return children.isEmpty() ? null : children;
+        });
+
+        if (removedParent.get()) {
+            retryUntrackedChild();
+        }
     }
 
     //Package Private For Testing
     protected boolean isNewSolidTxSetsEmpty () {
-        return backwardsSolidificationQueue.isEmpty() && forwardSolidificationQueue.isEmpty();
+        return inlineQueue.isEmpty() && tasksInProgress.get() == 0;
     }
 
     @Override
     public void handle(EventType type, EventContext ctx) {
         switch (type) {
             case TX_STORED:
-                try {
-                    checkSolidity(EventUtils.getTxHash(ctx));
-                } catch (Exception e) {
-                    log.error("Failed to solidify", e);
+                Hash hash = EventUtils.getTxHash(ctx);
+                if (pendingTransactions.add(hash)) {
+                    scheduleSolidification(hash);
                 }
                 break;
 
@@ -47,6 +47,16 @@ public interface APIConfig extends Config {
      */
     int getMaxBodyLength();
 
+    /**
+     * @return {@value Descriptions#SUBSCRIPTION_BUFFER_SIZE}
+     */
+    int getSubscriptionBufferSize();
+
+    /**
+     * @return {@value Descriptions#POW_JOBS_PER_CLIENT}
+     */
+    int getPowJobsPerClient();
+
     /**
      * @return {@value Descriptions#REMOTE_AUTH}
      */
@@ -67,6 +77,8 @@ public interface APIConfig extends Config {
         String MAX_REQUESTS_LIST = "The maximal number of parameters one can place in an API call. If the number parameters exceeds this number an error will be returned";
         String MAX_GET_TRANSACTION_STRINGS = "The maximal number of transaction strings that may be returned by the \"getTransactionStrings\" API call. If the number of transactions found exceeds this number an error will be returned.";
         String MAX_BODY_LENGTH = "The maximal number of characters the body of an API call may hold. If a request body length exceeds this number an error will be returned.";
+        String SUBSCRIPTION_BUFFER_SIZE = "The maximal number of events that are buffered for a client of the subscription endpoint. If a client does not keep up, its oldest pending events are dropped.";
+        String POW_JOBS_PER_CLIENT = "The maximal number of \"attachToTangle\" jobs that a single client may have queued or running at the same time. Further jobs of the client are rejected.";
         String REMOTE = "Open the API interface to any host. Equivalent to \"--api-host 0.0.0.0\"";
         String RESOURCE_PATH = "Resource path";
     }
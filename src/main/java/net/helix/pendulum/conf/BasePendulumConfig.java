@@ -42,6 +42,8 @@ public abstract class BasePendulumConfig implements PendulumConfig {
     protected int maxRequestsList = Defaults.MAX_REQUESTS_LIST;
     protected int maxGetTransactionStrings = Defaults.MAX_GET_TRANSACTION_STRINGS;
     protected int maxBodyLength = Defaults.MAX_BODY_LENGTH;
+    protected int subscriptionBufferSize = Defaults.SUBSCRIPTION_BUFFER_SIZE;
+    protected int powJobsPerClient = Defaults.POW_JOBS_PER_CLIENT;
     protected String remoteAuth = Defaults.REMOTE_AUTH;
 
     //We don't have a REMOTE config but we have a remote flag. We must add a field for JCommander
@@ -53,6 +55,8 @@ public abstract class BasePendulumConfig implements PendulumConfig {
     protected double pRemoveRequest = Defaults.P_REMOVE_REQUEST;
     protected double pDropCacheEntry = Defaults.P_DROP_CACHE_ENTRY;
     protected int sendLimit = Defaults.SEND_LIMIT;
+    protected int neighborSendLimit = Defaults.NEIGHBOR_SEND_LIMIT;
+    protected int neighborQueueSize = Defaults.NEIGHBOR_QUEUE_SIZE;
     protected int maxPeers = Defaults.MAX_PEERS;
     protected boolean dnsRefresherEnabled = Defaults.DNS_REFRESHER_ENABLED;
     protected boolean dnsResolutionEnabled = Defaults.DNS_RESOLUTION_ENABLED;
@@ -68,6 +72,12 @@ public abstract class BasePendulumConfig implements PendulumConfig {
     protected String mainDb = Defaults.ROCKS_DB;
     protected boolean revalidate = Defaults.REVALIDATE;
     protected boolean rescanDb = Defaults.RESCAN_DB;
+    protected String dbCompression = Defaults.DB_COMPRESSION;
+    protected int dbLookupWriteBufferSize = Defaults.DB_LOOKUP_WRITE_BUFFER_SIZE; //MB
+    protected int dbMergeWriteBufferSize = Defaults.DB_MERGE_WRITE_BUFFER_SIZE; //MB
+    protected int dbMaxBackgroundCompactions = Defaults.DB_MAX_BACKGROUND_COMPACTIONS;
+    protected String dbColumnFamilyProfiles = Defaults.DB_COLUMN_FAMILY_PROFILES;
+    protected boolean dbStatistics = Defaults.DB_STATISTICS;
 
     //Protocol
     protected double pReplyRandomTip = Defaults.P_REPLY_RANDOM_TIP;
@@ -98,10 +108,16 @@ public abstract class BasePendulumConfig implements PendulumConfig {
 
     //Tip Solidification
     protected boolean tipSolidifierEnabled = Defaults.TIP_SOLIDIFIER_ENABLED;
+    protected int solidificationThreads = Defaults.SOLIDIFICATION_THREADS;
 
     //PoW
     protected int powThreads = Defaults.POW_THREADS;
 
+    //Executors
+    protected Map<String, Integer> executorThreads = Collections.emptyMap();
+    protected Map<String, Integer> executorIntervals = Collections.emptyMap();
+    protected boolean executorEventTriggered = Defaults.EXECUTOR_EVENT_TRIGGERED;
+
     //Snapshot
     protected boolean localSnapshotsEnabled = Defaults.LOCAL_SNAPSHOTS_ENABLED;
     protected boolean localSnapshotsPruningEnabled = Defaults.LOCAL_SNAPSHOTS_PRUNING_ENABLED;
@@ -272,6 +288,28 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         this.maxBodyLength = maxBodyLength;
     }
 
+    @Override
+    public int getSubscriptionBufferSize() {
+        return subscriptionBufferSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--subscription-buffer-size"}, description = APIConfig.Descriptions.SUBSCRIPTION_BUFFER_SIZE)
+    protected void setSubscriptionBufferSize(int subscriptionBufferSize) {
+        this.subscriptionBufferSize = subscriptionBufferSize;
+    }
+
+    @Override
+    public int getPowJobsPerClient() {
+        return powJobsPerClient;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--pow-jobs-per-client"}, description = APIConfig.Descriptions.POW_JOBS_PER_CLIENT)
+    protected void setPowJobsPerClient(int powJobsPerClient) {
+        this.powJobsPerClient = powJobsPerClient;
+    }
+
     @Override
     public String getRemoteAuth() {
         return remoteAuth;
@@ -327,6 +365,28 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         this.sendLimit = sendLimit;
     }
 
+    @Override
+    public int getNeighborSendLimit() {
+        return neighborSendLimit;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--neighbor-send-limit"}, description = NetworkConfig.Descriptions.NEIGHBOR_SEND_LIMIT)
+    protected void setNeighborSendLimit(int neighborSendLimit) {
+        this.neighborSendLimit = neighborSendLimit;
+    }
+
+    @Override
+    public int getNeighborQueueSize() {
+        return neighborQueueSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--neighbor-queue-size"}, description = NetworkConfig.Descriptions.NEIGHBOR_QUEUE_SIZE)
+    protected void setNeighborQueueSize(int neighborQueueSize) {
+        this.neighborQueueSize = neighborQueueSize;
+    }
+
     @Override
     public int getMaxPeers() {
         return maxPeers;
@@ -448,6 +508,72 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         this.rescanDb = rescanDb;
     }
 
+    @Override
+    public String getDbCompression() {
+        return dbCompression;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--db-compression"}, description = DbConfig.Descriptions.DB_COMPRESSION)
+    protected void setDbCompression(String dbCompression) {
+        this.dbCompression = dbCompression;
+    }
+
+    @Override
+    public int getDbLookupWriteBufferSize() {
+        return dbLookupWriteBufferSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--db-lookup-write-buffer-size"}, description = DbConfig.Descriptions.DB_LOOKUP_WRITE_BUFFER_SIZE)
+    protected void setDbLookupWriteBufferSize(int dbLookupWriteBufferSize) {
+        this.dbLookupWriteBufferSize = dbLookupWriteBufferSize;
+    }
+
+    @Override
+    public int getDbMergeWriteBufferSize() {
+        return dbMergeWriteBufferSize;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--db-merge-write-buffer-size"}, description = DbConfig.Descriptions.DB_MERGE_WRITE_BUFFER_SIZE)
+    protected void setDbMergeWriteBufferSize(int dbMergeWriteBufferSize) {
+        this.dbMergeWriteBufferSize = dbMergeWriteBufferSize;
+    }
+
+    @Override
+    public int getDbMaxBackgroundCompactions() {
+        return dbMaxBackgroundCompactions;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--db-max-background-compactions"}, description = DbConfig.Descriptions.DB_MAX_BACKGROUND_COMPACTIONS)
+    protected void setDbMaxBackgroundCompactions(int dbMaxBackgroundCompactions) {
+        this.dbMaxBackgroundCompactions = dbMaxBackgroundCompactions;
+    }
+
+    @Override
+    public String getDbColumnFamilyProfiles() {
+        return dbColumnFamilyProfiles;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--db-column-family-profiles"}, description = DbConfig.Descriptions.DB_COLUMN_FAMILY_PROFILES)
+    protected void setDbColumnFamilyProfiles(String dbColumnFamilyProfiles) {
+        this.dbColumnFamilyProfiles = dbColumnFamilyProfiles;
+    }
+
+    @Override
+    public boolean isDbStatistics() {
+        return dbStatistics;
+    }
+
+    @JsonProperty
+    @Parameter(names = {"--db-statistics"}, description = DbConfig.Descriptions.DB_STATISTICS, arity = 1)
+    protected void setDbStatistics(boolean dbStatistics) {
+        this.dbStatistics = dbStatistics;
+    }
+
     @Override
     public int getMwm() {
         return Defaults.MWM;
@@ -791,6 +917,17 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         }
         return Defaults.SOLIDIFICATION_QUEUE_CAP;
     }
+
+    @Override
+    public int getSolidificationThreads() {
+        return solidificationThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--solidification-threads", description = SolidificationConfig.Descriptions.SOLIDIFICATION_THREADS)
+    protected void setSolidificationThreads(int solidificationThreads) {
+        this.solidificationThreads = solidificationThreads;
+    }
     
     // Validator Manager
     public boolean getValidatorManagerEnabled() {return validatorManagerEnabled; }
@@ -918,6 +1055,57 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         this.powThreads = powThreads;
     }
 
+    @Override
+    public Map<String, Integer> getExecutorThreads() {
+        return executorThreads;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--executor-threads", description = ExecutorConfig.Descriptions.EXECUTOR_THREADS)
+    protected void setExecutorThreads(String executorThreads) {
+        this.executorThreads = parseExecutorSettings(executorThreads, "--executor-threads");
+    }
+
+    @Override
+    public Map<String, Integer> getExecutorIntervals() {
+        return executorIntervals;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--executor-intervals", description = ExecutorConfig.Descriptions.EXECUTOR_INTERVALS)
+    protected void setExecutorIntervals(String executorIntervals) {
+        this.executorIntervals = parseExecutorSettings(executorIntervals, "--executor-intervals");
+    }
+
+    @Override
+    public boolean isExecutorEventTriggered() {
+        return executorEventTriggered;
+    }
+
+    @JsonProperty
+    @Parameter(names = "--executor-event-triggered", description = ExecutorConfig.Descriptions.EXECUTOR_EVENT_TRIGGERED, arity = 1)
+    protected void setExecutorEventTriggered(boolean executorEventTriggered) {
+        this.executorEventTriggered = executorEventTriggered;
+    }
+
+    private static Map<String, Integer> parseExecutorSettings(String settings, String option) {
+        Map<String, Integer> result = new HashMap<>();
+        for (String setting : PendulumUtils.splitStringToImmutableList(settings, SPLIT_STRING_TO_LIST_REGEX)) {
+            String[] pair = setting.split("=");
+            int value;
+            try {
+                value = pair.length == 2 ? Integer.parseInt(pair[1].trim()) : 0;
+            } catch (NumberFormatException e) {
+                throw new ParameterException("Invalid value for " + option + ": " + setting, e);
+            }
+            if (value <= 0) {
+                throw new ParameterException("Invalid value for " + option + ": " + setting);
+            }
+            result.put(pair[0].trim(), value);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
     @Override
     public boolean isSaveLogEnabled() {
         return saveLogEnabled;
@@ -955,13 +1143,15 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         //API
         int API_PORT = 8085;
         String API_HOST = "localhost";
-        List<String> REMOTE_LIMIT_API = PendulumUtils.createImmutableList("addNeighbors", "getNeighbors", "removeNeighbors", "attachToTangle", "interruptAttachingToTangle");
+        List<String> REMOTE_LIMIT_API = PendulumUtils.createImmutableList("addNeighbors", "getNeighbors", "removeNeighbors", "attachToTangle", "getAttachToTangleStatus", "interruptAttachingToTangle");
         InetAddress REMOTE_LIMIT_API_DEFAULT_HOST = InetAddress.getLoopbackAddress();
         List<InetAddress> REMOTE_LIMIT_API_HOSTS = PendulumUtils.createImmutableList(REMOTE_LIMIT_API_DEFAULT_HOST);
         int MAX_FIND_TRANSACTIONS = 100_000;
         int MAX_REQUESTS_LIST = 1_000;
         int MAX_GET_TRANSACTION_STRINGS = 10_000;
         int MAX_BODY_LENGTH = 1_000_000;
+        int SUBSCRIPTION_BUFFER_SIZE = 1_000;
+        int POW_JOBS_PER_CLIENT = 4;
         String REMOTE_AUTH = "";
 
         //Network
@@ -969,6 +1159,8 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         int TCP_RECEIVER_PORT = 5100;
         double P_REMOVE_REQUEST = 0.01d;
         int SEND_LIMIT = -1;
+        int NEIGHBOR_SEND_LIMIT = -1;
+        int NEIGHBOR_QUEUE_SIZE = 1_000;
         int MAX_PEERS = 0;
         boolean DNS_REFRESHER_ENABLED = true;
         boolean DNS_RESOLUTION_ENABLED = true;
@@ -983,6 +1175,12 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         String ROCKS_DB = "rocksdb";
         boolean REVALIDATE = false;
         boolean RESCAN_DB = false;
+        String DB_COMPRESSION = "lz4";
+        int DB_LOOKUP_WRITE_BUFFER_SIZE = 16;
+        int DB_MERGE_WRITE_BUFFER_SIZE = 32;
+        int DB_MAX_BACKGROUND_COMPACTIONS = 2;
+        String DB_COLUMN_FAMILY_PROFILES = "";
+        boolean DB_STATISTICS = false;
 
         //Protocol
         double P_REPLY_RANDOM_TIP = 0.66d;
@@ -1011,10 +1209,14 @@ public abstract class BasePendulumConfig implements PendulumConfig {
         //Tip solidification
         boolean TIP_SOLIDIFIER_ENABLED = true;
         int SOLIDIFICATION_QUEUE_CAP = 10000;
+        int SOLIDIFICATION_THREADS = 4;
         
         //PoW
         int POW_THREADS = 8;
 
+        //Executors
+        boolean EXECUTOR_EVENT_TRIGGERED = false;
+
         //Resource directory:
         String RESOUCER_PATH = "./src/main/resources";
         String DEFAULT_RESOUCE_PATH = "./resources";
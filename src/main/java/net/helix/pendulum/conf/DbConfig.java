@@ -31,6 +31,36 @@ public interface DbConfig extends Config {
      */
     boolean isRescanDb();
 
+    /**
+     * @return {@value Descriptions#DB_COMPRESSION}
+     */
+    String getDbCompression();
+
+    /**
+     * @return {@value Descriptions#DB_LOOKUP_WRITE_BUFFER_SIZE}
+     */
+    int getDbLookupWriteBufferSize();
+
+    /**
+     * @return {@value Descriptions#DB_MERGE_WRITE_BUFFER_SIZE}
+     */
+    int getDbMergeWriteBufferSize();
+
+    /**
+     * @return {@value Descriptions#DB_MAX_BACKGROUND_COMPACTIONS}
+     */
+    int getDbMaxBackgroundCompactions();
+
+    /**
+     * @return {@value Descriptions#DB_COLUMN_FAMILY_PROFILES}
+     */
+    String getDbColumnFamilyProfiles();
+
+    /**
+     * @return {@value Descriptions#DB_STATISTICS}
+     */
+    boolean isDbStatistics();
+
     interface Descriptions {
 
         String DB_PATH = "The folder where the DB saves its data.";
@@ -40,5 +70,15 @@ public interface DbConfig extends Config {
         String REVALIDATE = "Reload from the db data about confirmed transaction (milestones), state of the ledger, " +
                 "and transaction metadata.";
         String RESCAN_DB = "Rescan all transaction metadata (Approvees, Bundles, and Tags)";
+        String DB_COMPRESSION = "The compression of the DB files: none, snappy, lz4 or zstd.";
+        String DB_LOOKUP_WRITE_BUFFER_SIZE = "The size of a write buffer (in MB) of the column families that are " +
+                "mostly read by point lookups (transactions, their metadata, approvees and confirmations).";
+        String DB_MERGE_WRITE_BUFFER_SIZE = "The size of a write buffer (in MB) of the column families that are " +
+                "mostly extended by merges (addresses, bundles, bundle nonces and tags).";
+        String DB_MAX_BACKGROUND_COMPACTIONS = "The maximum amount of compactions the DB runs concurrently.";
+        String DB_COLUMN_FAMILY_PROFILES = "Overrides the tuning profile of column families, e.g. " +
+                "\"tag=point-lookup,round=merge\". Available profiles are point-lookup, merge and default.";
+        String DB_STATISTICS = "Collect DB statistics (cache hits, compaction bytes, stalls) for the node stats. " +
+                "This slightly slows down the DB.";
     }
 }
@@ -0,0 +1,41 @@
+package net.helix.pendulum.conf;
+
+import java.util.Map;
+
+/**
+ * Configurations for the thread pools and the background loops of the node, which are created through the
+ * {@link net.helix.pendulum.utils.thread.ExecutorRegistry}.
+ */
+public interface ExecutorConfig extends Config {
+
+    /**
+     * Default Value: empty (every thread pool uses its built-in size)
+     *
+     * @return {@value ExecutorConfig.Descriptions#EXECUTOR_THREADS}
+     */
+    Map<String, Integer> getExecutorThreads();
+
+    /**
+     * Default Value: empty (every background loop uses its built-in interval)
+     *
+     * @return {@value ExecutorConfig.Descriptions#EXECUTOR_INTERVALS}
+     */
+    Map<String, Integer> getExecutorIntervals();
+
+    /**
+     * Default Value: {@value BasePendulumConfig.Defaults#EXECUTOR_EVENT_TRIGGERED}
+     *
+     * @return {@value ExecutorConfig.Descriptions#EXECUTOR_EVENT_TRIGGERED}
+     */
+    boolean isExecutorEventTriggered();
+
+    /**
+     * Field descriptions
+     */
+    interface Descriptions {
+
+        String EXECUTOR_THREADS = "Number of threads of the named thread pools, given as a list of name=threads pairs (e.g. udp-receiver=4,node-scheduler=8).";
+        String EXECUTOR_INTERVALS = "Interval in milliseconds of the named background loops, given as a list of name=interval pairs (e.g. node-receive=50,milestone-tracker=500).";
+        String EXECUTOR_EVENT_TRIGGERED = "Run the queue processing loops of the node as soon as work arrives instead of polling in a fixed interval (the interval is kept as a fallback).";
+    }
+}
@@ -23,6 +23,14 @@ public interface NetworkConfig extends Config {
      * @return Descriptions#SEND_LIMIT
      */
     int getSendLimit();
+    /**
+     * @return Descriptions#NEIGHBOR_SEND_LIMIT
+     */
+    int getNeighborSendLimit();
+    /**
+     * @return Descriptions#NEIGHBOR_QUEUE_SIZE
+     */
+    int getNeighborQueueSize();
     /**
      * @return Descriptions#MAX_PEERS
      */
@@ -58,6 +66,8 @@ public interface NetworkConfig extends Config {
         String P_REMOVE_REQUEST = DescriptionHelper.PROB_OF + " stopping to request a transaction. This number should be " +
                 "closer to 0 so non-existing transaction hashes will eventually be removed.";
         String SEND_LIMIT = "The maximum number of packets that may be sent by this node in a 1 second interval. If this number is below 0 then there is no limit.";
+        String NEIGHBOR_SEND_LIMIT = "The maximum number of packets that may be sent to a single neighbor in a 1 second interval. If this number is below 0 then there is no limit.";
+        String NEIGHBOR_QUEUE_SIZE = "The number of outgoing packets that are buffered per neighbor before the oldest ones get dropped.";
         String MAX_PEERS = "The maximum number of non mutually tethered connections allowed. Works only in testnet mode";
         String DNS_REFRESHER_ENABLED = "Reconnect to neighbors that have dynamic IPs.";
         String DNS_RESOLUTION_ENABLED = "Enable using DNS for neighbor peering.";
@@ -16,11 +16,20 @@ public interface SolidificationConfig extends Config {
 
     
     int solidificationQueueCap();
+
+    /**
+     * Default Value: {@value BasePendulumConfig.Defaults#SOLIDIFICATION_THREADS}
+     *
+     * @return {@value SolidificationConfig.Descriptions#SOLIDIFICATION_THREADS}
+     */
+    int getSolidificationThreads();
+
     /**
      * Field descriptions
      */
     interface Descriptions {
 
         String TIP_SOLIDIFIER = "Scan the current tips and attempt to mark them as solid";
+        String SOLIDIFICATION_THREADS = "Number of worker threads that solidify the received transactions.";
     }
 }
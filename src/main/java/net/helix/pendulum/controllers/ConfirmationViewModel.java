@@ -0,0 +1,217 @@
+package net.helix.pendulum.controllers;
+
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.persistables.Confirmation;
+import net.helix.pendulum.model.persistables.Transaction;
+import net.helix.pendulum.storage.Indexable;
+import net.helix.pendulum.storage.Persistable;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.Pair;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * The ConfirmationViewModel class interacts with the {@link Confirmation} model class.
+ *
+ * It gives access to the confirmation index which maps transaction hashes to the round that confirmed them and the
+ * amount of milestones that referenced them. The index is written when a round is applied to the ledger and allows to
+ * answer confirmation queries without loading the transaction metadata or traversing the tangle.
+ */
+public class ConfirmationViewModel {
+    private final Confirmation confirmation;
+    private final Hash hash;
+
+    private ConfirmationViewModel(final Confirmation confirmation, final Hash hash) {
+        this.confirmation = confirmation == null ? new Confirmation() : confirmation;
+        this.hash = hash;
+    }
+
+    /**
+     * Creates a new confirmation entry for the given transaction.
+     *
+     * @param hash hash of the confirmed transaction
+     * @param roundIndex index of the round that confirmed the transaction
+     * @param confirmations amount of milestones that referenced the transaction
+     */
+    public ConfirmationViewModel(final Hash hash, final int roundIndex, final int confirmations) {
+        this.hash = hash;
+        this.confirmation = new Confirmation();
+        this.confirmation.roundIndex = roundIndex;
+        this.confirmation.confirmations = confirmations;
+    }
+
+    /**
+     * Loads the confirmation entry of a single transaction.
+     *
+     * @param tangle The tangle reference for the database
+     * @param hash hash of the transaction
+     * @return the confirmation entry (check {@link #exists()} to see if the transaction was indexed)
+     * @throws Exception if anything goes wrong while loading the entry
+     */
+    public static ConfirmationViewModel load(Tangle tangle, Hash hash) throws Exception {
+        return new ConfirmationViewModel((Confirmation) tangle.load(Confirmation.class, hash), hash);
+    }
+
+    /**
+     * Loads the confirmation entries of multiple transactions with a single batched database read.
+     *
+     * @param tangle The tangle reference for the database
+     * @param hashes hashes of the transactions
+     * @return the confirmation entries in the same order as the hashes
+     * @throws Exception if anything goes wrong while loading the entries
+     */
+    public static List<ConfirmationViewModel> load(Tangle tangle, List<Hash> hashes) throws Exception {
+        List<ConfirmationViewModel> result = new ArrayList<>(hashes.size());
+        if (hashes.isEmpty()) {
+            return result;
+        }
+
+        List<Persistable> confirmations = tangle.loadBatch(Confirmation.class, hashes);
+        for (int i = 0; i < hashes.size(); i++) {
+            result.add(new ConfirmationViewModel((Confirmation) confirmations.get(i), hashes.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Determines the amount of milestones that referenced the given transactions with batched database reads.
+     *
+     * The indexed count of a transaction is used if it is final, since the entries are removed when their round gets
+     * reset or pruned. All other transactions (not indexed yet or not final yet) are looked up in the more recent
+     * counter of the transaction metadata - with a single batched read for all of them, so a request for pending
+     * transactions does not load the transactions one by one.
+     *
+     * @param tangle The tangle reference for the database
+     * @param hashes hashes of the transactions
+     * @param isFinal decides if an indexed amount of confirmations is final
+     * @return the amount of confirmations in the same order as the hashes ({@code 0} for unknown transactions)
+     * @throws Exception if anything goes wrong while loading the entries or the transactions
+     */
+    public static int[] getConfirmations(Tangle tangle, List<Hash> hashes, IntPredicate isFinal) throws Exception {
+        int[] confirmations = new int[hashes.size()];
+
+        List<Integer> pendingPositions = new ArrayList<>();
+        List<Hash> pendingHashes = new ArrayList<>();
+        List<ConfirmationViewModel> indexedConfirmations = load(tangle, hashes);
+        for (int i = 0; i < confirmations.length; i++) {
+            ConfirmationViewModel indexedConfirmation = indexedConfirmations.get(i);
+            if (indexedConfirmation.exists() && isFinal.test(indexedConfirmation.getConfirmations())) {
+                confirmations[i] = indexedConfirmation.getConfirmations();
+            } else {
+                pendingPositions.add(i);
+                pendingHashes.add(indexedConfirmation.getHash());
+            }
+        }
+
+        if (!pendingHashes.isEmpty()) {
+            List<Persistable> transactions = tangle.loadBatch(Transaction.class, pendingHashes);
+            for (int i = 0; i < pendingHashes.size(); i++) {
+                confirmations[pendingPositions.get(i)] = ((Transaction) transactions.get(i)).confirmations;
+            }
+        }
+
+        return confirmations;
+    }
+
+    /**
+     * Determines the index of the round that confirmed the given transactions with batched database reads.
+     *
+     * Transactions that are not indexed (unconfirmed, unknown or confirmed before the index was introduced) are looked
+     * up in the snapshot index of the transaction metadata with a single batched read for all of them.
+     *
+     * @param tangle The tangle reference for the database
+     * @param hashes hashes of the transactions
+     * @return the round indexes in the same order as the hashes ({@code 0} for unconfirmed or unknown transactions)
+     * @throws Exception if anything goes wrong while loading the entries or the transactions
+     */
+    public static int[] getRoundIndexes(Tangle tangle, List<Hash> hashes) throws Exception {
+        int[] roundIndexes = new int[hashes.size()];
+
+        List<Integer> pendingPositions = new ArrayList<>();
+        List<Hash> pendingHashes = new ArrayList<>();
+        List<ConfirmationViewModel> indexedConfirmations = load(tangle, hashes);
+        for (int i = 0; i < roundIndexes.length; i++) {
+            ConfirmationViewModel indexedConfirmation = indexedConfirmations.get(i);
+            if (indexedConfirmation.exists()) {
+                roundIndexes[i] = indexedConfirmation.getRoundIndex();
+            } else {
+                pendingPositions.add(i);
+                pendingHashes.add(indexedConfirmation.getHash());
+            }
+        }
+
+        if (!pendingHashes.isEmpty()) {
+            List<Persistable> transactions = tangle.loadBatch(Transaction.class, pendingHashes);
+            for (int i = 0; i < pendingHashes.size(); i++) {
+                Transaction transaction = (Transaction) transactions.get(i);
+                roundIndexes[pendingPositions.get(i)] = transaction.type == TransactionViewModel.PREFILLED_SLOT
+                        ? 0
+                        : transaction.snapshot;
+            }
+        }
+
+        return roundIndexes;
+    }
+
+    /**
+     * Stores the confirmation entries of all transactions that were confirmed by a round in a single batch.
+     *
+     * @param tangle The tangle reference for the database
+     * @param roundIndex index of the round that confirmed the transactions
+     * @param confirmations the confirmed transactions associated to the amount of milestones that referenced them
+     * @throws Exception if anything goes wrong while storing the entries
+     */
+    public static void storeBatch(Tangle tangle, int roundIndex, Map<Hash, Integer> confirmations)
+            throws Exception {
+
+        if (confirmations.isEmpty()) {
+            return;
+        }
+
+        List<Pair<Indexable, Persistable>> batch = new ArrayList<>(confirmations.size());
+        confirmations.forEach((hash, count) ->
+                batch.add(new Pair<>(hash, new ConfirmationViewModel(hash, roundIndex, count).confirmation)));
+        tangle.saveBatch(batch);
+    }
+
+    /**
+     * Removes the confirmation entries of the given transactions (i.e. when a round gets reset).
+     *
+     * @param tangle The tangle reference for the database
+     * @param hashes hashes of the transactions
+     * @throws Exception if anything goes wrong while deleting the entries
+     */
+    public static void deleteBatch(Tangle tangle, Collection<Hash> hashes) throws Exception {
+        List<Pair<Indexable, ? extends Class<? extends Persistable>>> batch = new ArrayList<>(hashes.size());
+        for (Hash hash : hashes) {
+            batch.add(new Pair<>(hash, Confirmation.class));
+        }
+        tangle.deleteBatch(batch);
+    }
+
+    public boolean store(Tangle tangle) throws Exception {
+        return tangle.save(confirmation, hash);
+    }
+
+    public void delete(Tangle tangle) throws Exception {
+        tangle.delete(Confirmation.class, hash);
+    }
+
+    /**@return {@code true} if the transaction was indexed as confirmed and {@code false} otherwise*/
+    public boolean exists() {
+        return confirmation.exists() || confirmation.roundIndex != 0;
+    }
+
+    public Hash getHash() {
+        return hash;
+    }
+
+    public int getRoundIndex() {
+        return confirmation.roundIndex;
+    }
+
+    public int getConfirmations() {
+        return confirmation.confirmations;
+    }
+}
@@ -1,5 +1,7 @@
 package net.helix.pendulum.controllers;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.TransactionValidator;
 import net.helix.pendulum.conf.BasePendulumConfig;
@@ -15,11 +17,11 @@ import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.Pair;
 import net.helix.pendulum.utils.PendulumUtils;
 import net.helix.pendulum.utils.Serializer;
+import net.helix.pendulum.utils.collections.impl.CompactHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static net.helix.pendulum.controllers.TransactionViewModel.fromHash;
@@ -30,11 +32,43 @@ import static net.helix.pendulum.controllers.TransactionViewModel.fromHash;
  */
 public class RoundViewModel {
     private static final Logger log = LoggerFactory.getLogger(RoundViewModel.class);
+
+    /**
+     * Maximum amount of rounds that are kept in memory (the least recently used ones get evicted first).
+     */
+    private static final int MAX_CACHED_ROUNDS = PendulumUtils.getSystemProp("round.cache.size", 2000);
+
     private final Round round;
-    //todo might be nice to have direct access of confirmedTips and confirming Milestones
-    //private final Set<Hash> confirmedTips = new HashSet<>();
-    //private final Set<Hash> confirmingMilestones = new HashSet<>();
-    private static final Map<Integer, RoundViewModel> rounds = new ConcurrentHashMap<>();
+
+    /**
+     * Bounded cache of the rounds that were loaded from or stored in the database, indexed by their round index.
+     */
+    private static final Cache<Integer, RoundViewModel> rounds = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_ROUNDS)
+            .build();
+
+    /**
+     * Memoized result of {@link #getConfirmedTips(Tangle, int)} together with the security level it was calculated
+     * for (or {@code null} if it was not calculated, yet).
+     */
+    private volatile Pair<Integer, Set<Hash>> confirmedTips;
+
+    /**
+     * Memoized result of {@link #getConfirmedTransactions(Tangle, int)} together with the security level it was
+     * calculated for (or {@code null} if it was not calculated, yet).
+     */
+    private volatile Pair<Integer, Set<Hash>> confirmedTransactions;
+
+    /**
+     * Memoized result of {@link #getMerkleRoot()} (or {@code null} if it was not calculated, yet).
+     */
+    private volatile Hash merkleRoot;
+
+    /**
+     * Counts the modifications of this round, so a result that was calculated while the round got modified is not
+     * memoized (guarded by {@code this}).
+     */
+    private volatile int modifications = 0;
 
     private static final Pendulum.ServiceRegistry registry = Pendulum.ServiceRegistry.get();
 
@@ -46,7 +80,7 @@ public class RoundViewModel {
      * Removes the contents of the stored {@link Round} object set.
      */
     public static void clear() {
-        rounds.clear();
+        rounds.invalidateAll();
     }
 
     /**
@@ -58,7 +92,7 @@ public class RoundViewModel {
      * @param index the index of the round
      */
     public static void clear(int index) {
-        rounds.remove(index);
+        rounds.invalidate(index);
     }
 
     /**
@@ -85,9 +119,9 @@ public class RoundViewModel {
      * @throws Exception Thrown if the database fails to load the indexed {@link Round} object
      */
     public static RoundViewModel get(Tangle tangle, int index) throws Exception {
-        RoundViewModel roundViewModel = rounds.get(index);
+        RoundViewModel roundViewModel = rounds.getIfPresent(index);
         if(roundViewModel == null && load(tangle, index)) {
-            roundViewModel = rounds.get(index);
+            roundViewModel = rounds.getIfPresent(index);
         }
         return roundViewModel;
     }
@@ -352,11 +386,33 @@ public class RoundViewModel {
         return tips;
     }
 
+    /**
+     * Returns the tips that are referenced by a quorum of the milestones of this round.
+     *
+     * The result is memoized as soon as all milestone transactions of the round are available, since the referenced
+     * tips are part of the signed milestone bundles and can not change anymore. Adding a milestone or updating the
+     * round resets the memoized value.
+     *
+     * @param tangle tangle
+     * @param security security level of the milestones
+     * @return an immutable set of the confirmed tips
+     * @throws Exception if anything goes wrong while loading the milestone bundles
+     */
     public Set<Hash> getConfirmedTips(Tangle tangle, int security) throws Exception {
+        Pair<Integer, Set<Hash>> memoizedTips = confirmedTips;
+        if (memoizedTips != null && memoizedTips.low == security) {
+            return memoizedTips.hi;
+        }
+
+        int modificationsBefore = modifications;
         Map<Hash, Integer> occurrences = new HashMap<>();
         int quorum = 2 *  BasePendulumConfig.Defaults.NUMBER_OF_ACTIVE_VALIDATORS / 3;
+        boolean complete = true;
 
         for (Hash milestoneHash : getHashes()) {
+            if (TransactionViewModel.fromHash(tangle, milestoneHash).getType() == TransactionViewModel.PREFILLED_SLOT) {
+                complete = false;
+            }
             Set<Hash> tips = getTipSet(tangle, milestoneHash, security);
 
             for (Hash tip : tips) {
@@ -367,13 +423,74 @@ public class RoundViewModel {
                 }
             }
         }
-        Set<Hash> tips = occurrences.entrySet().stream()
+        Set<Hash> tips = Collections.unmodifiableSet(new CompactHashSet(occurrences.entrySet().stream()
                 .filter(entry -> entry.getValue() >= quorum)
                 .map(entry -> entry.getKey())
-                .collect(Collectors.toSet());
+                .collect(Collectors.toList())));
+        if (complete) {
+            synchronized (this) {
+                if (modifications == modificationsBefore) {
+                    confirmedTips = new Pair<>(security, tips);
+                }
+            }
+        }
         return tips;
     }
 
+    /**
+     * Returns the transactions that are confirmed by this round, i.e. the transactions that are referenced by the
+     * {@link #getConfirmedTips(Tangle, int) confirmed tips} of this round and not by a previous round.
+     *
+     * The result is memoized as a compact immutable set once the traversal reached all referenced transactions, so
+     * repeated confirmation queries do not have to traverse the tangle again. Adding a milestone or updating the round
+     * resets the memoized value.
+     *
+     * @param tangle tangle
+     * @param security security level of the milestones
+     * @return an immutable set of the transactions that are confirmed by this round
+     * @throws Exception if anything goes wrong while traversing the tangle
+     */
+    public Set<Hash> getConfirmedTransactions(Tangle tangle, int security) throws Exception {
+        Pair<Integer, Set<Hash>> memoizedTransactions = confirmedTransactions;
+        if (memoizedTransactions != null && memoizedTransactions.low == security) {
+            return memoizedTransactions.hi;
+        }
+
+        int modificationsBefore = modifications;
+        Set<Hash> tips = getConfirmedTips(tangle, security);
+        Set<Hash> transactions = new CompactHashSet();
+        boolean complete = collectReferencedTransactions(tangle, tips, transactions);
+
+        Set<Hash> result = Collections.unmodifiableSet(transactions);
+        // the result only becomes final once the round was applied to the ledger (the tips have their round index set)
+        Pair<Integer, Set<Hash>> memoizedTips = confirmedTips;
+        if (complete && memoizedTips != null && memoizedTips.low == security && isApplied(tangle, tips)) {
+            synchronized (this) {
+                if (modifications == modificationsBefore) {
+                    confirmedTransactions = new Pair<>(security, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if all of the given tips were marked with a round index by the ledger already.
+     *
+     * @param tangle tangle
+     * @param tips confirmed tips of this round
+     * @return {@code true} if all tips have their round index set and {@code false} otherwise
+     * @throws Exception if anything goes wrong while loading the tips
+     */
+    private boolean isApplied(Tangle tangle, Set<Hash> tips) throws Exception {
+        for (Hash tip : tips) {
+            if (fromHash(tangle, tip).getRoundIndex() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      *
      *  This method can be used to check whether a transaction has been finalized.
@@ -386,8 +503,7 @@ public class RoundViewModel {
      * @throws Exception Exception
      */
     public boolean isTransactionConfirmed(Tangle tangle, int security, Hash transaction) throws Exception {
-        Set<Hash> confirmedTransactions = getReferencedTransactions(tangle, getConfirmedTips(tangle, security));
-        return confirmedTransactions.contains(transaction);
+        return getConfirmedTransactions(tangle, security).contains(transaction);
     }
 
     /**
@@ -403,13 +519,36 @@ public class RoundViewModel {
      * @throws Exception Exception
      */
     public Set<Hash> getReferencedTransactions(Tangle tangle, Set<Hash> tips) throws Exception {
+        Set<Hash> transactions = new HashSet<>();
+        collectReferencedTransactions(tangle, tips, transactions);
+        log.trace("tips: {}, parents: {}", PendulumUtils.logHashList(tips, 4),
+                PendulumUtils.logHashList(transactions, 4));
+        return transactions;
+    }
 
+    /**
+     * Traverses the parents of the given tips as described in {@link #getReferencedTransactions(Tangle, Set)} and
+     * collects them in the given set.
+     *
+     * @param tangle tangle
+     * @param tips tips
+     * @param transactions set that the referenced transactions get added to
+     * @return {@code true} if all traversed transactions were available in the database and {@code false} otherwise
+     * @throws Exception if anything goes wrong while loading the transactions
+     */
+    private boolean collectReferencedTransactions(Tangle tangle, Set<Hash> tips, Set<Hash> transactions)
+            throws Exception {
+
+        boolean complete = true;
         Set<Hash> seenTransactions = new HashSet<Hash>();
-        Set<Hash> transactions = new HashSet<>();
         final Queue<Hash> nonAnalyzedTransactions = new LinkedList<>(tips);
         Hash hashPointer;
         while ((hashPointer = nonAnalyzedTransactions.poll()) != null) {
             final TransactionViewModel transaction = fromHash(tangle, hashPointer);
+            if (transaction.getType() == TransactionViewModel.PREFILLED_SLOT
+                    && !hashPointer.equals(Hash.NULL_HASH)) {
+                complete = false;
+            }
             // take only transactions into account that aren't confirmed yet or that belong to the round
             //log.trace("tx {}, tx.roundIndex {}, currentRoundIndex {}", transaction, transaction.getRoundIndex(), index());
             if (transaction.getRoundIndex() == 0 || transaction.getRoundIndex() == index()) {
@@ -431,9 +570,7 @@ public class RoundViewModel {
                 log.trace("roundIndex already set for tx {}", transaction);
             }
         }
-        log.trace("tips: {}, parents: {}", PendulumUtils.logHashList(tips, 4),
-                PendulumUtils.logHashList(transactions, 4));
-        return transactions;
+        return complete;
     }
 
     public Hash getRandomMilestone(Tangle tangle) throws Exception {
@@ -460,7 +597,8 @@ public class RoundViewModel {
             approve.addHash(lastTx.getHash());
             approve.store(tangle);
         }
-        transactionValidator.checkSolidity(lastTx.getHash());
+        // the bundle was solidified like regular transactions before it was recognised as a milestone
+        transactionValidator.resolidifyMilestoneBundle(milestoneBundle);
     }
 
     /**
@@ -471,7 +609,10 @@ public class RoundViewModel {
      * @throws Exception Thrown if there is an error while saving the {@link Round} object
      */
     public boolean store(Tangle tangle) throws Exception {
-        return tangle.save(round, round.index);
+        boolean stored = tangle.save(round, round.index);
+        invalidate();
+        rounds.put(index(), this);
+        return stored;
     }
 
     public int size() {
@@ -479,11 +620,30 @@ public class RoundViewModel {
     }
 
     public boolean addMilestone(Hash milestoneHash) {
-        return getHashes().add(milestoneHash);
+        boolean added = getHashes().add(milestoneHash);
+        invalidate();
+        return added;
     }
 
     public void update(Tangle tangle) throws Exception {
         tangle.update(round, round.index, "round");
+        invalidate();
+        rounds.put(index(), this);
+    }
+
+    /**
+     * Resets the memoized data that is derived from the milestones of this round (confirmed tips, confirmed
+     * transactions and merkle root).
+     *
+     * It is called automatically after the round got modified through this controller but can also be used by other
+     * components that change the confirmation status of the referenced transactions (i.e. when resetting a corrupted
+     * round). Results that are being calculated while the round gets invalidated are not memoized.
+     */
+    public synchronized void invalidate() {
+        modifications++;
+        confirmedTips = null;
+        confirmedTransactions = null;
+        merkleRoot = null;
     }
 
     /**@return  The {@link Hash} identifier of the {@link Round} object*/
@@ -497,10 +657,20 @@ public class RoundViewModel {
     }
 
     public Hash getMerkleRoot() {
-        TangleCache cache = registry.resolve(TangleCache.class);
-        //List<List<Hash>> merkleTree = Merkle.buildMerkleTree(new LinkedList<>(getHashes()));
-        //Hash root = merkleTree.get(merkleTree.size()-1).get(0);
-        return cache.toMerkleRoot(getHashes());
+        Hash root = merkleRoot;
+        if (root == null) {
+            int modificationsBefore = modifications;
+            TangleCache cache = registry.resolve(TangleCache.class);
+            //List<List<Hash>> merkleTree = Merkle.buildMerkleTree(new LinkedList<>(getHashes()));
+            //Hash root = merkleTree.get(merkleTree.size()-1).get(0);
+            root = cache.toMerkleRoot(getHashes());
+            synchronized (this) {
+                if (modifications == modificationsBefore) {
+                    merkleRoot = root;
+                }
+            }
+        }
+        return root;
     }
 
     /**
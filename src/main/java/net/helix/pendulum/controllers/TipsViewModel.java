@@ -5,6 +5,7 @@ import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.event.*;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +45,9 @@ public class TipsViewModel implements PendulumEventListener, Pendulum.Initializa
         EventManager.get().subscribe(EventType.TX_UPDATED, this);
         EventManager.get().subscribe(EventType.TX_SOLIDIFIED, this);
 
+        MetricsRegistry.get().gauge("pendulum_tips_non_solid", "Number of non-solid tips", this::nonSolidSize);
+        MetricsRegistry.get().gauge("pendulum_tips_solid", "Number of solid tips", this::solidSize);
+
         return this;
     }
 
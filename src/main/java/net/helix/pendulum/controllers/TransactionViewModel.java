@@ -180,11 +180,12 @@ public class TransactionViewModel {
 
     /**
     * Get the number of transactins in the database.
+    * The number is maintained incrementally by the {@link Tangle}, so it does not have to be counted in the database.
     * @param tangle
     * @return <class> int </class> number of transactions
     */
     public static int getNumberOfStoredTransactions(Tangle tangle) throws Exception {
-        return tangle.getCount(Transaction.class).intValue();
+        return (int) tangle.getNumberOfStoredTransactions();
     }
 
     /**
@@ -357,7 +358,7 @@ public class TransactionViewModel {
         }
         boolean result = tangle.saveBatch(batch);
         if (result) {
-            EventManager.get().fire(EventType.TX_STORED, EventUtils.fromTxHash(hash));
+            EventManager.get().fire(EventType.TX_STORED, EventUtils.fromTx(this));
         }
         return result;
     }
@@ -8,7 +8,9 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static net.helix.pendulum.crypto.GreedyMiner.State.*;
@@ -29,6 +31,17 @@ public class GreedyMiner {
 
     private volatile AtomicReference state;
 
+    /**
+     * Set by {@link #cancel()}, so a cancellation that arrives before (or between) the calls of {@code mine} is not
+     * lost.
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Hash of the byte block that was mined last.
+     */
+    private volatile byte[] hash;
+
     /**
      * Creates miners to find a correct nonce for the given byte block.
      * @param txBytes byte block.
@@ -42,6 +55,29 @@ public class GreedyMiner {
      * @see TransactionViewModel#NONCE_SIZE
      */
     public synchronized boolean mine(byte[] txBytes, int difficulty, int threadCount) {
+        return mine(txBytes, difficulty, threadCount, new Executor() {
+            private int count = 0;
+
+            @Override
+            public void execute(Runnable runnable) {
+                Thread miner = new Thread(runnable);
+                miner.setName("miner#" + ++count);
+                miner.setDaemon(true);
+                miner.start();
+            }
+        });
+    }
+
+    /**
+     * Does the same as {@link #mine(byte[], int, int)} but runs the miners on the given executor instead of creating
+     * new threads, so a long-lived pool can be shared by many mining jobs.
+     * @param txBytes byte block.
+     * @param difficulty the mining difficulty. The difficulty is a number of leading zero bytes and it has to be in [1..31].
+     * @param threadCount miner count. If the count is not in [1..16], it is set automatically.
+     * @param executor executor that runs the miners.
+     * @return {@code true} if a valid nonce has been added into the byte block, {@code false} otherwise.
+     */
+    public synchronized boolean mine(byte[] txBytes, int difficulty, int threadCount, Executor executor) {
         if (TransactionViewModel.NONCE_SIZE < Long.BYTES) {
             throw new IllegalArgumentException("Illegal NONCE_SIZE: " + TransactionViewModel.NONCE_SIZE);
         }
@@ -56,34 +92,70 @@ public class GreedyMiner {
         if (threadCount < 1 || threadCount > 16) {
             threadCount = Math.max(1, Math.floorDiv(Runtime.getRuntime().availableProcessors() * 8, 10));
         }
+        // a cancelled miner stays cancelled, so a job that mines several blocks stops
+        if (cancelled) {
+            return false;
+        }
         state = new AtomicReference(RUNNING);
+        // the cancellation might have happened after the check above but before the new state was visible to it
+        if (cancelled) {
+            state.set(CANCELLED);
+            return false;
+        }
+        hash = null;
         byte[] target = BigIntegers.asUnsignedByteArray(Sha3.HASH_LENGTH,
                 BigInteger.valueOf(2).pow(256 - difficulty));
 
-        ArrayList<Thread> miners = new ArrayList<>(threadCount);
+        CountDownLatch finishedMiners = new CountDownLatch(threadCount);
         for (int i = 1; i <= threadCount; i++) {
-            Runnable runnable = getMiner(txBytes, target, i, threadCount);
-            Thread miner = new Thread(runnable);
-            miner.setName("miner#" + i);
-            miner.setDaemon(true);
-            miners.add(miner);
-            miner.start();
+            Runnable miner = getMiner(txBytes, target, i, threadCount);
+            try {
+                executor.execute(() -> {
+                    try {
+                        miner.run();
+                    } finally {
+                        finishedMiners.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                cancel();
+                finishedMiners.countDown();
+            }
         }
-        for (Thread miner : miners) {
+
+        boolean interrupted = false;
+        while (true) {
             try {
-                miner.join();
+                finishedMiners.await();
+                break;
             } catch (InterruptedException ex) {
+                // the miners stop as soon as they see the cancelled state, we still wait for them to not hand out a
+                // byte block that is modified concurrently
                 cancel();
+                interrupted = true;
             }
         }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
         //log.debug("MINER_STATE: {}", state);
         return state.get() == COMPLETED;
     }
 
     /**
-     * Cancels miners working.
+     * Returns the hash of the byte block that was mined by the last successful call of {@code mine}, which is the hash
+     * of the resulting transaction.
+     * @return the hash or {@code null} if the last mining attempt did not succeed.
+     */
+    public byte[] getHash() {
+        return hash;
+    }
+
+    /**
+     * Cancels miners working. The miner stays cancelled, so later calls of {@code mine} return {@code false}.
      */
     public void cancel() {
+        cancelled = true;
         if (state != null) {
             state.set(CANCELLED);
         }
@@ -98,6 +170,7 @@ public class GreedyMiner {
      * @return the miner.
      */
     private Runnable getMiner(byte[] txBytes, byte[] target, int offset, int step) {
+        AtomicReference state = this.state;
         return () -> {
             byte[] result = txBytes.clone();
             ByteBuffer nonceWrapper = ByteBuffer.wrap(result, TransactionViewModel.NONCE_OFFSET,
@@ -108,6 +181,7 @@ public class GreedyMiner {
                 if(FastByteComparisons.compareTo(hash, 0, Sha3.HASH_LENGTH, target, 0, Sha3.HASH_LENGTH) < 0 && state.compareAndSet(RUNNING, COMPLETED)) {
                         System.arraycopy(result, TransactionViewModel.NONCE_OFFSET, txBytes,
                                 TransactionViewModel.NONCE_OFFSET, TransactionViewModel.NONCE_SIZE);
+                        this.hash = hash;
                 }
             }
         };
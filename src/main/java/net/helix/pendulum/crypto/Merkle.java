@@ -14,11 +14,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class Merkle {
 
     private static final Logger log = LoggerFactory.getLogger(Merkle.class);
 
+    /**
+     * Value that is hashed in place of a missing sibling.
+     */
+    private static final byte[] NULL_KEY = new byte[Sha3.HASH_LENGTH];
+
+    /**
+     * Amount of leaves below which the leaf generation is not split any further.
+     */
+    private static final int LEAF_GENERATION_THRESHOLD = 16;
+
     public static byte[] getMerkleRoot(SpongeFactory.Mode mode, byte[] hash, byte[] bytes, int offset, final int indexIn, int size) {
         int index = indexIn;
         final Sponge sha3 = SpongeFactory.create(mode);
@@ -51,20 +63,38 @@ public class Merkle {
     }
 
     public static List<List<Hash>> buildMerkleKeyTree(String seed, int pubkeyDepth, int firstIndex, int pubkeyCount, int security){
-        List<Hash> keys = new ArrayList<>(1 << pubkeyDepth);
-        for (int i = 0; i < pubkeyCount; i++) {
-            int idx = firstIndex + i;
-            keys.add(HashFactory.ADDRESS.create(Winternitz.generateAddress(Hex.decode(seed), idx, security)));
-        }
-        return buildMerkleTree(keys);
+        return buildMerkleKeyTree(seed, pubkeyDepth, firstIndex, pubkeyCount, security, ForkJoinPool.commonPool());
     }
 
+    /**
+     * Builds the Merkle tree of the given range of validator keys.<br />
+     * <br />
+     * The addresses of the leaves are independent of each other and make up almost all of the work, so they are
+     * generated in parallel on the given pool.<br />
+     *
+     * @param seed hex encoded seed of the keys
+     * @param pubkeyDepth depth of the Merkle tree
+     * @param firstIndex key index of the first leaf
+     * @param pubkeyCount amount of leaves
+     * @param security security level of the keys
+     * @param pool pool that generates the leaves
+     * @return the rows of the Merkle tree (starting with the leaves)
+     */
+    public static List<List<Hash>> buildMerkleKeyTree(String seed, int pubkeyDepth, int firstIndex, int pubkeyCount,
+                                                      int security, ForkJoinPool pool) {
+
+        Hash[] keys = new Hash[pubkeyCount];
+        pool.invoke(new LeafGenerationTask(Hex.decode(seed), firstIndex, security, keys, 0, pubkeyCount));
+        List<Hash> leaves = new ArrayList<>(Math.max(1 << pubkeyDepth, pubkeyCount));
+        leaves.addAll(Arrays.asList(keys));
+        return buildMerkleTree(leaves);
+    }
 
     public static List<List<Hash>> buildMerkleTree(List<Hash> leaves){
         if (leaves.isEmpty()) {
             leaves.add(Hash.NULL_HASH);
         }
-        byte[] buffer;
+        byte[] buffer = new byte[Sha3.HASH_LENGTH];
         Sponge sha3 = SpongeFactory.create(SpongeFactory.Mode.S256);
         int depth = (int) Math.ceil(Math.sqrt(leaves.size()));
         List<List<Hash>> merkleTree = new ArrayList<>(depth + 1);
@@ -75,17 +105,16 @@ public class Merkle {
             // Take two following keys (i=0: (k0,k1), i=1: (k2,k3), ...) and get one crypto of them
             List<Hash> nextKeys = Arrays.asList(new Hash[(leaves.size() / 2)]);
             for (int i = 0; i < nextKeys.size(); i++) {
-                if (leaves.get(i * 2) == null && leaves.get(i * 2 + 1) == null) {
+                Hash k1 = leaves.get(i * 2);
+                Hash k2 = leaves.get(i * 2 + 1);
+                if (k1 == null && k2 == null) {
                     // leave the combined key null as well
                     continue;
                 }
+                // the hashes are only read by the sponge, so they can be absorbed without copying them
                 sha3.reset();
-                Hash k1 = leaves.get(i * 2);
-                Hash k2 = leaves.get(i * 2 + 1);
-                buffer = Arrays.copyOfRange(k1 == null ? Hex.decode("0000000000000000000000000000000000000000000000000000000000000000") : k1.bytes(), 0, 32);
-                sha3.absorb(buffer, 0, buffer.length);
-                buffer = Arrays.copyOfRange(k2 == null ? Hex.decode("0000000000000000000000000000000000000000000000000000000000000000") : k2.bytes(), 0, 32);
-                sha3.absorb(buffer, 0, buffer.length);
+                sha3.absorb(k1 == null ? NULL_KEY : k1.bytes(), 0, Sha3.HASH_LENGTH);
+                sha3.absorb(k2 == null ? NULL_KEY : k2.bytes(), 0, Sha3.HASH_LENGTH);
                 sha3.squeeze(buffer, 0, buffer.length);
                 nextKeys.set(i, HashFactory.TRANSACTION.create(buffer));
             }
@@ -200,4 +229,38 @@ public class Merkle {
     static private void sortLeaves(List<Hash> leaves) {
         leaves.sort(Comparator.comparing((Hash m) -> m.toString()));
     }
+
+    /**
+     * Generates the addresses of a range of leaves by splitting it in halves until it is small enough.<br />
+     */
+    private static class LeafGenerationTask extends RecursiveAction {
+        private final byte[] seed;
+        private final int firstIndex;
+        private final int security;
+        private final Hash[] keys;
+        private final int from;
+        private final int to;
+
+        LeafGenerationTask(byte[] seed, int firstIndex, int security, Hash[] keys, int from, int to) {
+            this.seed = seed;
+            this.firstIndex = firstIndex;
+            this.security = security;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_GENERATION_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    keys[i] = HashFactory.ADDRESS.create(Winternitz.generateAddress(seed, firstIndex + i, security));
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LeafGenerationTask(seed, firstIndex, security, keys, from, middle),
+                        new LeafGenerationTask(seed, firstIndex, security, keys, middle, to));
+            }
+        }
+    }
 }
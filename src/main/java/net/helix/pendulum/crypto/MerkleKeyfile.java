@@ -0,0 +1,266 @@
+package net.helix.pendulum.crypto;
+
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.bouncycastle.util.encoders.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * In-memory representation of a validator keyfile.<br />
+ * <br />
+ * The keyfile is parsed once and kept in memory for as long as the file on disk does not change, so signing a bundle
+ * does not have to read and parse the Merkle tree again. The signing keys of the next key indexes are derived ahead
+ * of time in the background, which removes the key derivation from the latency of the signing process.<br />
+ * <br />
+ * The current key index is persisted in a small index file next to the keyfile that is replaced atomically, so the
+ * (large) keyfile only has to be written when a new Merkle tree was generated.<br />
+ */
+public class MerkleKeyfile {
+    private static final Logger log = LoggerFactory.getLogger(MerkleKeyfile.class);
+
+    /**
+     * Suffix of the file that holds the current key index of a keyfile.
+     */
+    static final String INDEX_FILE_SUFFIX = ".idx";
+
+    /**
+     * Amount of signing keys that are derived ahead of time.
+     */
+    private static final int PRECOMPUTED_KEYS = 2;
+
+    /**
+     * Holds the loaded keyfiles (indexed by their path).
+     */
+    private static final Map<String, MerkleKeyfile> keyfiles = new ConcurrentHashMap<>();
+
+    /**
+     * Derives the signing keys in the background.
+     */
+    private static final ExecutorService keyDerivationService = Executors.newSingleThreadExecutor(
+            new BasicThreadFactory.Builder().namingPattern("key-derivation-%d").daemon(true).build());
+
+    private final String path;
+    private final long lastModified;
+    private final int pubkeyDepth;
+    private final byte[] seed;
+    private final int keyfileIndex;
+    private final List<List<Hash>> merkleTree;
+    private final Hash address;
+    private volatile int keyIndex;
+
+    /**
+     * Holds the signing keys that are derived (or being derived) ahead of time, indexed by their key index.
+     */
+    private final Map<Integer, Future<byte[]>> signingKeys = new ConcurrentHashMap<>();
+
+    private MerkleKeyfile(String path, long lastModified, int pubkeyDepth, byte[] seed, int keyfileIndex, int keyIndex,
+                          List<List<Hash>> merkleTree) {
+
+        this.path = path;
+        this.lastModified = lastModified;
+        this.pubkeyDepth = pubkeyDepth;
+        this.seed = seed;
+        this.keyfileIndex = keyfileIndex;
+        this.keyIndex = keyIndex;
+        this.merkleTree = merkleTree;
+        this.address = HashFactory.ADDRESS.create(merkleTree.get(merkleTree.size() - 1).get(0).bytes());
+    }
+
+    /**
+     * Returns the keyfile at the given path.<br />
+     * <br />
+     * The file is only parsed if it was not loaded before or if it was modified since it was loaded.<br />
+     *
+     * @param path path of the keyfile
+     * @return the in-memory representation of the keyfile
+     * @throws IOException if the keyfile can not be read
+     */
+    public static MerkleKeyfile load(String path) throws IOException {
+        File file = new File(path);
+        MerkleKeyfile keyfile = keyfiles.get(path);
+        if (keyfile != null && keyfile.lastModified == file.lastModified()) {
+            return keyfile;
+        }
+
+        synchronized (keyfiles) {
+            keyfile = keyfiles.get(path);
+            if (keyfile == null || keyfile.lastModified != file.lastModified()) {
+                keyfile = read(file);
+                keyfiles.put(path, keyfile);
+            }
+
+            return keyfile;
+        }
+    }
+
+    /**
+     * Writes a new keyfile and makes it the current in-memory representation of the given path.<br />
+     *
+     * @param merkleTree Merkle tree of the keys
+     * @param seed seed of the keys
+     * @param pubkeyDepth depth of the Merkle tree
+     * @param keyIndex key index that shall be used next
+     * @param keyfileIndex index of the keyfile
+     * @param path path of the keyfile
+     * @return the in-memory representation of the new keyfile
+     * @throws IOException if the keyfile can not be written
+     */
+    public static MerkleKeyfile create(List<List<Hash>> merkleTree, byte[] seed, int pubkeyDepth, int keyIndex,
+                                       int keyfileIndex, String path) throws IOException {
+
+        synchronized (keyfiles) {
+            Merkle.createKeyfile(merkleTree, seed, pubkeyDepth, keyIndex, keyfileIndex, path);
+            Files.deleteIfExists(Paths.get(path + INDEX_FILE_SUFFIX));
+
+            MerkleKeyfile keyfile = new MerkleKeyfile(path, new File(path).lastModified(), pubkeyDepth, seed.clone(),
+                    keyfileIndex, keyIndex, merkleTree);
+            keyfiles.put(path, keyfile);
+
+            return keyfile;
+        }
+    }
+
+    public int getPubkeyDepth() {
+        return pubkeyDepth;
+    }
+
+    public String getSeed() {
+        return Hex.toHexString(seed);
+    }
+
+    public int getKeyfileIndex() {
+        return keyfileIndex;
+    }
+
+    public int getKeyIndex() {
+        return keyIndex;
+    }
+
+    public List<List<Hash>> getMerkleTree() {
+        return merkleTree;
+    }
+
+    public Hash getAddress() {
+        return address;
+    }
+
+    /**
+     * Writes the Merkle path of the given leaf into the target array.<br />
+     *
+     * @param leafIndex index of the leaf in the Merkle tree
+     * @param target array that receives the hashes of the path
+     * @param offset position in the target array where the path starts
+     * @return the amount of bytes that were written
+     */
+    public int writeMerklePath(int leafIndex, byte[] target, int offset) {
+        List<Hash> merklePath = Merkle.getMerklePath(merkleTree, leafIndex);
+        for (int i = 0; i < merklePath.size(); i++) {
+            System.arraycopy(merklePath.get(i).bytes(), 0, target, offset + i * Hash.SIZE_IN_BYTES,
+                    Hash.SIZE_IN_BYTES);
+        }
+
+        return merklePath.size() * Hash.SIZE_IN_BYTES;
+    }
+
+    /**
+     * Returns the signing key of the given key index and starts deriving the keys of the following indexes.<br />
+     * <br />
+     * Since every key is only used once, it gets removed from memory after it was handed out.<br />
+     *
+     * @param index key index of the signing key
+     * @param security security level of the signing key
+     * @return the signing key
+     */
+    public byte[] getSigningKey(int index, int security) {
+        Future<byte[]> precomputedKey = signingKeys.remove(index);
+        for (int i = 1; i <= PRECOMPUTED_KEYS; i++) {
+            int nextIndex = index + i;
+            signingKeys.computeIfAbsent(nextIndex, k -> keyDerivationService.submit(() ->
+                    deriveSigningKey(nextIndex, security)));
+        }
+        signingKeys.keySet().removeIf(precomputedIndex -> precomputedIndex < index);
+
+        if (precomputedKey != null) {
+            try {
+                byte[] key = precomputedKey.get();
+                if (key.length == security * Winternitz.FRAGMENT_LENGTH) {
+                    return key;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.warn("failed to derive the signing key #" + index + " ahead of time", e.getCause());
+            }
+        }
+
+        return deriveSigningKey(index, security);
+    }
+
+    /**
+     * Persists the key index that shall be used next.<br />
+     * <br />
+     * The index is written to a small file next to the keyfile, which is atomically replaced, so a crash never leaves
+     * a partially written index behind.<br />
+     *
+     * @param index key index that shall be used next
+     * @throws IOException if the index can not be written
+     */
+    public synchronized void writeKeyIndex(int index) throws IOException {
+        Path indexFile = Paths.get(path + INDEX_FILE_SUFFIX);
+        Path temporaryFile = Paths.get(path + INDEX_FILE_SUFFIX + ".tmp");
+        Files.write(temporaryFile, (keyfileIndex + " " + index).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        keyIndex = index;
+    }
+
+    private byte[] deriveSigningKey(int index, int security) {
+        byte[] subseed = Winternitz.subseed(SpongeFactory.Mode.S256, seed, index);
+
+        return Winternitz.key(SpongeFactory.Mode.S256, subseed, security);
+    }
+
+    /**
+     * Parses the keyfile and the key index that was persisted for it.<br />
+     *
+     * @param file keyfile
+     * @return the in-memory representation of the keyfile
+     * @throws IOException if the keyfile can not be read
+     */
+    private static MerkleKeyfile read(File file) throws IOException {
+        long lastModified = file.lastModified();
+
+        String[] fields;
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            fields = br.readLine().split(" ");
+        }
+        int pubkeyDepth = Integer.parseInt(fields[0]);
+        byte[] seed = Hex.decode(fields[1]);
+        int keyfileIndex = Integer.parseInt(fields[2]);
+        int keyIndex = Integer.parseInt(fields[3]);
+
+        File indexFile = new File(file.getPath() + INDEX_FILE_SUFFIX);
+        if (indexFile.isFile()) {
+            String[] indexFields = new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.UTF_8)
+                    .trim().split(" ");
+            if (Integer.parseInt(indexFields[0]) == keyfileIndex) {
+                keyIndex = Math.max(keyIndex, Integer.parseInt(indexFields[1]));
+            }
+        }
+
+        return new MerkleKeyfile(file.getPath(), lastModified, pubkeyDepth, seed, keyfileIndex, keyIndex,
+                Merkle.readKeyfile(file));
+    }
+}
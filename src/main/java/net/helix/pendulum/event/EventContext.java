@@ -14,6 +14,10 @@ public class EventContext {
         values.put( key, value );
     }
 
+    public boolean contains( Key<?> key ) {
+        return values.containsKey( key );
+    }
+
     public <T> T get( Key<T> key ) {
         if (!values.containsKey(key)) {
             throw new RuntimeException("Missing key " + key.identifier);
@@ -13,5 +13,6 @@ public enum EventType {
     TX_DELETED,
     TX_CONFIRMED,
     TX_VALIDATION_STATUS_CHANGED,
-    STALE_TX
+    STALE_TX,
+    BUNDLE_COMPLETE
 }
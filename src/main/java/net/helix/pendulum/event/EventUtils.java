@@ -12,9 +12,47 @@ public class EventUtils {
         return ec.get(Key.key("TX_HASH", Hash.class));
     }
 
+    /**
+     * Returns the transaction of the event if it was attached by the sender.
+     *
+     * @param ec context of the event
+     * @return the transaction or null if the event only carries its hash
+     */
+    public static TransactionViewModel getTx(EventContext ec) {
+        Key<TransactionViewModel> key = Key.key("TX", TransactionViewModel.class);
+        return ec.contains(key) ? ec.get(key) : null;
+    }
+
+    public static EventContext fromTx(TransactionViewModel tx) {
+        EventContext ctx = fromTxHash(tx.getHash());
+        ctx.put(Key.key("TX", TransactionViewModel.class), tx);
+        return ctx;
+    }
+
     public static EventContext fromTxHash(Hash txHash) {
         EventContext ctx = new EventContext();
         ctx.put(Key.key("TX_HASH", Hash.class), txHash);
         return ctx;
     }
+
+    public static Hash getBundleHash(EventContext ec) {
+        return ec.get(Key.key("BUNDLE_HASH", Hash.class));
+    }
+
+    /**
+     * Returns the hashes of the transactions of a complete bundle.
+     *
+     * @param ec context of the event
+     * @return the transaction hashes ordered by their index in the bundle
+     */
+    public static Hash[] getBundleTransactions(EventContext ec) {
+        return ec.get(Key.key("BUNDLE_TRANSACTIONS", Hash[].class));
+    }
+
+    public static EventContext fromBundle(Hash bundleHash, Hash[] transactions) {
+        EventContext ctx = new EventContext();
+        ctx.put(Key.key("BUNDLE_HASH", Hash.class), bundleHash);
+        ctx.put(Key.key("BUNDLE_TRANSACTIONS", Hash[].class), transactions);
+        return ctx;
+    }
 }
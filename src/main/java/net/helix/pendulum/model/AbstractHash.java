@@ -16,8 +16,7 @@ import java.util.Arrays;
 public abstract class AbstractHash implements Hash, Serializable {
 
     private byte[] data;
-    private Integer hashCode;
-    private final Object lock = new Object();
+    private int hashCode;
 
     /**
      * Empty Constructor for a placeholder hash identifier object. Creates a hash identifier object with no properties.
@@ -48,7 +47,7 @@ public abstract class AbstractHash implements Hash, Serializable {
     @Override
     public void read(byte[] source) {
         if (source != null) {
-            synchronized (lock) {
+            synchronized (this) {
                 if (data != null) {
                     throw new IllegalStateException("I cannot be initialized with data twice.");
                 }
@@ -133,7 +132,11 @@ public abstract class AbstractHash implements Hash, Serializable {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        Hash hash = (Hash) o;
+        AbstractHash hash = (AbstractHash) o;
+        // the hash codes are cached, so most unequal hashes can be rejected without comparing their bytes
+        if (hashCode() != hash.hashCode()) {
+            return false;
+        }
         return Arrays.equals(bytes(), hash.bytes());
     }
 
@@ -0,0 +1,49 @@
+package net.helix.pendulum.model.persistables;
+
+import net.helix.pendulum.storage.Persistable;
+import net.helix.pendulum.utils.Serializer;
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * The Confirmation model class stores the index of the round that confirmed a transaction together with the amount of
+ * milestones that referenced the transaction. It is indexed by the transaction hash.
+ */
+public class Confirmation implements Persistable {
+    public int roundIndex;
+    public int confirmations;
+
+    private boolean exists = false;
+
+    @Override
+    public byte[] bytes() {
+        return ArrayUtils.addAll(Serializer.serialize(roundIndex), Serializer.serialize(confirmations));
+    }
+
+    @Override
+    public void read(byte[] bytes) {
+        exists = bytes != null && bytes.length >= 2 * Integer.BYTES;
+        if (exists) {
+            roundIndex = Serializer.getInteger(bytes);
+            confirmations = Serializer.getInteger(bytes, Integer.BYTES);
+        }
+    }
+
+    @Override
+    public byte[] metadata() {
+        return new byte[0];
+    }
+
+    @Override
+    public void readMetadata(byte[] bytes) {
+        // Does nothing
+    }
+
+    @Override
+    public boolean merge() {
+        return false;
+    }
+
+    public boolean exists() {
+        return exists;
+    }
+}
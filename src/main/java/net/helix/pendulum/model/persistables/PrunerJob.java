@@ -0,0 +1,38 @@
+package net.helix.pendulum.model.persistables;
+
+import net.helix.pendulum.storage.Persistable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The PrunerJob model class stores a pending job of the transaction pruner. It consists of the fully qualified class
+ * name of the job and its serialized representation (delimited by a ";") and is indexed by the id of the job.
+ */
+public class PrunerJob implements Persistable {
+    public String job;
+
+    @Override
+    public byte[] bytes() {
+        return job == null ? new byte[0] : job.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void read(byte[] bytes) {
+        job = bytes == null || bytes.length == 0 ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] metadata() {
+        return new byte[0];
+    }
+
+    @Override
+    public void readMetadata(byte[] bytes) {
+        // Does nothing
+    }
+
+    @Override
+    public boolean merge() {
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package net.helix.pendulum.model.persistables;
+
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+import net.helix.pendulum.storage.Persistable;
+
+/**
+ * The ScanMark model class stores the high-water mark of an address index, which is the last transaction of the index
+ * that was processed by a tracker. It is indexed by the address.
+ */
+public class ScanMark implements Persistable {
+    public Hash hash;
+
+    @Override
+    public byte[] bytes() {
+        return hash == null ? new byte[0] : hash.bytes();
+    }
+
+    @Override
+    public void read(byte[] bytes) {
+        hash = bytes == null || bytes.length == 0 ? null : HashFactory.TRANSACTION.create(bytes);
+    }
+
+    @Override
+    public byte[] metadata() {
+        return new byte[0];
+    }
+
+    @Override
+    public void readMetadata(byte[] bytes) {
+        // Does nothing
+    }
+
+    @Override
+    public boolean merge() {
+        return false;
+    }
+}
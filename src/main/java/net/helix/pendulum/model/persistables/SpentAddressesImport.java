@@ -0,0 +1,40 @@
+package net.helix.pendulum.model.persistables;
+
+import net.helix.pendulum.storage.Persistable;
+
+/**
+ * The SpentAddressesImport model class marks an imported set of spent address files. It is indexed by the content
+ * hash of the files and carries no data.
+ */
+public class SpentAddressesImport implements Persistable {
+    private boolean exists = false;
+
+    @Override
+    public byte[] bytes() {
+        return new byte[0];
+    }
+
+    @Override
+    public void read(byte[] bytes) {
+        exists = bytes != null;
+    }
+
+    @Override
+    public byte[] metadata() {
+        return new byte[0];
+    }
+
+    @Override
+    public void readMetadata(byte[] bytes) {
+        // Does nothing
+    }
+
+    @Override
+    public boolean merge() {
+        return false;
+    }
+
+    public boolean exists() {
+        return exists;
+    }
+}
@@ -10,4 +10,14 @@ import java.net.DatagramPacket;
  */
 public interface DatagramFactory extends Pendulum.Initializable {
     DatagramPacket create(PacketData dataProvider);
+
+    /**
+     * Serializes the packet into an existing buffer, so the senders can reuse their buffers.
+     *
+     * @param dataProvider the packet that shall be serialized
+     * @param buffer buffer of at least {@link #getPacketSize()} bytes
+     */
+    void write(PacketData dataProvider, byte[] buffer);
+
+    int getPacketSize();
 }
@@ -2,14 +2,32 @@ package net.helix.pendulum.network;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class of the neighbors of the node.<br />
+ * <br />
+ * Every neighbor owns a bounded outbound queue that is drained by its own sender (the replicator sink for TCP and the
+ * UDP sender of the {@link Node}), so a slow neighbor only delays its own packets. The queued packets reference the
+ * transaction bytes instead of copying them, so a broadcast shares the same bytes across all neighbors. When the queue
+ * is full the oldest packet gets dropped. The sending rate is limited by a token bucket per neighbor and by a token
+ * bucket that is shared by all neighbors of the node.<br />
+ */
 public abstract class Neighbor {
 
+    private static final int DEFAULT_OUTBOUND_QUEUE_SIZE = 1_000;
+
+    private static volatile int outboundQueueSize = DEFAULT_OUTBOUND_QUEUE_SIZE;
+    private static volatile long neighborSendLimit = -1;
+    private static volatile TokenBucket nodeSendLimiter = new TokenBucket(-1);
+
     private final InetSocketAddress address;
 
     private long numberOfAllTransactions;
@@ -21,6 +39,11 @@ public abstract class Neighbor {
 
     private final boolean flagged;
 
+    private final Deque<PacketData> outboundQueue = new ArrayDeque<>();
+    private final int outboundCapacity;
+    private final TokenBucket sendLimiter;
+    private final AtomicLong numberOfDroppedPackets = new AtomicLong();
+
     private final static AtomicInteger numPeers = new AtomicInteger(0);
     private final String hostAddress;
 
@@ -43,9 +66,103 @@ public abstract class Neighbor {
         this.address = address;
         this.hostAddress = address.getAddress().getHostAddress();
         this.flagged = isConfigured;
+        this.outboundCapacity = Math.max(1, outboundQueueSize);
+        this.sendLimiter = new TokenBucket(neighborSendLimit);
+    }
+
+    /**
+     * Configures the outbound queues and rate limits of the neighbors that are created afterwards.<br />
+     *
+     * @param queueSize amount of packets that are buffered per neighbor
+     * @param neighborLimit maximum amount of packets per second and neighbor (negative for no limit)
+     * @param nodeLimit maximum amount of packets per second for all neighbors together (negative for no limit)
+     */
+    public static void configureOutbound(int queueSize, long neighborLimit, long nodeLimit) {
+        outboundQueueSize = queueSize;
+        neighborSendLimit = neighborLimit;
+        nodeSendLimiter = new TokenBucket(nodeLimit);
+    }
+
+    /**
+     * Queues the packet for sending (without blocking).<br />
+     * <br />
+     * If the outbound queue is full, the oldest queued packet gets dropped.<br />
+     *
+     * @param packet the packet that shall be sent to the neighbor
+     */
+    public void send(PacketData packet) {
+        synchronized (outboundQueue) {
+            if (outboundQueue.size() >= outboundCapacity) {
+                outboundQueue.pollFirst();
+                numberOfDroppedPackets.incrementAndGet();
+            }
+            outboundQueue.addLast(packet);
+            outboundQueue.notifyAll();
+        }
+    }
+
+    /**
+     * Retrieves the next packet that shall be sent if the rate limits allow it.<br />
+     *
+     * @return the next packet or null if the queue is empty or the rate limits are exceeded
+     */
+    protected PacketData pollOutbound() {
+        synchronized (outboundQueue) {
+            if (outboundQueue.isEmpty() || !sendLimiter.hasToken() || !nodeSendLimiter.tryAcquire()) {
+                return null;
+            }
+            sendLimiter.acquire();
+
+            return outboundQueue.pollFirst();
+        }
+    }
+
+    /**
+     * Waits for the next packet that shall be sent, while respecting the rate limits.<br />
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return the next packet or null if the timeout elapsed
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    protected PacketData pollOutbound(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (outboundQueue) {
+            while (true) {
+                PacketData packet = pollOutbound();
+                long remaining = deadline - System.nanoTime();
+                if (packet != null || remaining <= 0) {
+                    return packet;
+                }
+
+                long waitTime = outboundQueue.isEmpty() ? remaining : Math.min(remaining,
+                        Math.max(sendLimiter.nanosUntilAvailable(), nodeSendLimiter.nanosUntilAvailable()));
+                TimeUnit.NANOSECONDS.timedWait(outboundQueue, Math.max(1, waitTime));
+            }
+        }
+    }
+
+    /**
+     * Checks if packets are waiting to be sent.<br />
+     *
+     * @return true if the outbound queue is not empty
+     */
+    public boolean hasOutboundPackets() {
+        synchronized (outboundQueue) {
+            return !outboundQueue.isEmpty();
+        }
+    }
+
+    public int getOutboundQueueSize() {
+        synchronized (outboundQueue) {
+            return outboundQueue.size();
+        }
+    }
+
+    public long getNumberOfDroppedPackets() {
+        return numberOfDroppedPackets.get();
     }
 
-    public abstract void send(final DatagramPacket packet);
     public abstract int getPort();
     public abstract String connectionType();
 
@@ -21,10 +21,14 @@ import net.helix.pendulum.network.impl.TipBroadcasterWorkerImpl;
 import net.helix.pendulum.network.impl.TxPacketData;
 import net.helix.pendulum.service.milestone.MilestoneTracker;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.PendulumUtils;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
+import net.helix.pendulum.utils.thread.TriggeredTask;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.util.encoders.Hex;
@@ -39,7 +43,8 @@ import java.security.SecureRandom;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static net.helix.pendulum.model.Hash.NULL_HASH;
 
@@ -73,13 +78,23 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     private static final int PAUSE_BETWEEN_REPLY_QUEUE_POLLS_MS = PendulumUtils.getSystemProp("node.reply.pause", 100);
     private static final int PAUSE_BETWEEN_TIP_BROADCASTS_MS = PendulumUtils.getSystemProp("node.tip.broadcast.pause", 300);
     private static final int PAUSE_BETWEEN_STATS_MS = PendulumUtils.getSystemProp("node.stats.pause", 5000);
+    private static final int PAUSE_BETWEEN_UDP_SENDS_MS = PendulumUtils.getSystemProp("node.udp.send.pause", 10);
 
-    private static final int BROADCAST_BATCH_SIZE = PendulumUtils.getSystemProp("node.broadcast.batch.size", 5);
-    private static final int REPLY_BATCH_SIZE = PendulumUtils.getSystemProp("node.reply.batch.size", 5);
+    // the broadcasts are only queued at the neighbors, so the actual sending rate is limited by their token buckets
+    private static final int BROADCAST_BATCH_SIZE = PendulumUtils.getSystemProp("node.broadcast.batch.size", 100);
+    private static final int UDP_SEND_BATCH_SIZE = PendulumUtils.getSystemProp("node.udp.send.batch.size", 100);
+    // the requested transactions that are not cached are loaded from the database with one read per batch
+    private static final int REPLY_LOAD_BATCH_SIZE = PendulumUtils.getSystemProp("node.reply.load.batch.size", 100);
     private static final int RECEIVE_BATCH_SIZE = PendulumUtils.getSystemProp("node.receive.batch.size", 30);
     private static final int TIP_BROADCAST_BATCH_SIZE = PendulumUtils.getSystemProp("node.tip.broadcast.batch.size", 5);
 
     private static final int MAX_RECEIVED_TX_CACHE_SIZE = PendulumUtils.getSystemProp("node.received.tx.cache.size", 500);
+    private static final int MAX_SERVED_BYTES_CACHE_SIZE = PendulumUtils.getSystemProp("node.served.bytes.cache.size", 5000);
+
+    private static final Counter SERVED_BYTES_CACHE_HITS = MetricsRegistry.get().counter(
+            "pendulum_node_served_bytes_cache_hits_total", "Requested transactions that were answered from the cache");
+    private static final Counter SERVED_BYTES_CACHE_MISSES = MetricsRegistry.get().counter(
+            "pendulum_node_served_bytes_cache_misses_total", "Requested transactions that were loaded from the database");
 
     private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
     private final AtomicBoolean initialized = new AtomicBoolean(false);
@@ -88,7 +103,11 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
 
     private final ConcurrentSkipListSet<TransactionViewModel> broadcastQueue = weightQueue();
     private final ConcurrentSkipListSet<Pair<TransactionViewModel, Neighbor>> receiveQueue = weightQueueTxPair();
-    private final ConcurrentSkipListSet<Pair<Hash, Neighbor>> replyQueue = weightQueueHashPair();
+    /**
+     * Requests of the neighbors that wait to be answered, repeated requests of a neighbor are answered once.
+     */
+    private final Map<Neighbor, Set<Hash>> replyQueue = new ConcurrentHashMap<>();
+    private final AtomicInteger replyQueueSize = new AtomicInteger(0);
     private RequestQueue requestQueue;
     private TipBroadcasterWorker tipBroadcasterWorker;
 
@@ -97,6 +116,12 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     private final int PROCESSOR_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() );
     private ExecutorService udpReceiver;
     private ScheduledExecutorService scheduler;
+    /**
+     * Processors of the queues that run as soon as work arrives ({@code null} if the queues are polled).
+     */
+    private volatile TriggeredTask broadcastTask;
+    private volatile TriggeredTask receiveTask;
+    private volatile TriggeredTask replyTask;
 
     private NodeConfig configuration;
     private Tangle tangle;
@@ -106,15 +131,17 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
 
     private static final SecureRandom rnd = new SecureRandom();
 
-    private static long sendLimit = -1;
-    private static AtomicLong sendPacketsCounter = new AtomicLong(0L);
-    private static AtomicLong sendPacketsTimer = new AtomicLong(0L);
-
     public static final ConcurrentSkipListSet<String> rejectedAddresses = new ConcurrentSkipListSet<String>();
     private DatagramSocket udpSocket;
 
     private Cache<String, TransactionViewModel> recievedBytesCache;
 
+    /**
+     * Wire bytes of the recently requested and received transactions, the popular transactions are requested by many
+     * neighbors within a short time.
+     */
+    private Cache<Hash, byte[]> servedBytesCache;
+
     /**
      * Internal map used to keep track of neighbor's IP vs DNS name
      */
@@ -173,7 +200,9 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
         // default to 800 if not properly set
         int txPacketSize = configuration.getTransactionPacketSize() > 0
                 ? configuration.getTransactionPacketSize() : TransactionViewModel.SIZE + Hash.SIZE_IN_BYTES;
-        sendLimit = (long) ((configuration.getSendLimit() * 1000000) / txPacketSize);
+        long sendLimit = (long) ((configuration.getSendLimit() * 1000000) / txPacketSize);
+        Neighbor.configureOutbound(configuration.getNeighborQueueSize(), configuration.getNeighborSendLimit(),
+                sendLimit);
 
         BROADCAST_QUEUE_SIZE = RECV_QUEUE_SIZE = REPLY_QUEUE_SIZE = configuration.getqSizeNode();
 
@@ -186,11 +215,16 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
         recievedBytesCache = CacheBuilder.newBuilder().
                 maximumSize(MAX_RECEIVED_TX_CACHE_SIZE).
                 build();
+        servedBytesCache = CacheBuilder.newBuilder().
+                maximumSize(MAX_SERVED_BYTES_CACHE_SIZE).
+                build();
 
         EventManager.get().subscribe(EventType.NEW_BYTES_RECEIVED, this);
         EventManager.get().subscribe(EventType.TX_STORED, this);
         EventManager.get().subscribe(EventType.TX_UPDATED, this);
 
+        registerMetrics();
+
         initialized.set(true);
 
         return this;
@@ -205,41 +239,32 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     }
 
     private void initScheduler() {
-        BasicThreadFactory udpTheads = new BasicThreadFactory.Builder()
-                .namingPattern("udp-rcv-%d")
-                .daemon(true)
-                .priority(Thread.MIN_PRIORITY)
-                .build();
-        udpReceiver = Executors.newFixedThreadPool(PROCESSOR_THREADS, udpTheads);
-
-        BasicThreadFactory schedulerTheads = new BasicThreadFactory.Builder()
-                .namingPattern("scheduler-%d")
-                .daemon(true)
-                .priority(Thread.NORM_PRIORITY)
-                .build();
+        ExecutorRegistry executors = ExecutorRegistry.get();
+        udpReceiver = executors.newExecutor("udp-receiver", PROCESSOR_THREADS, Thread.MIN_PRIORITY);
+        scheduler = executors.newExecutor("node-scheduler", PROCESSOR_THREADS * 2);
 
-        scheduler = Executors.newScheduledThreadPool(PROCESSOR_THREADS * 2, schedulerTheads);
-
-        scheduler.scheduleWithFixedDelay(() -> {
+        broadcastTask = scheduleQueueProcessor("node-broadcast", () -> {
             try {
                 Thread.currentThread().setName("brdcst");
                 for (int i=0; i < BROADCAST_BATCH_SIZE; i++) {
                     processBroadcastQueue();
                 }
+                if (!broadcastQueue.isEmpty()) {
+                    trigger(broadcastTask);
+                }
             } catch (Throwable t) {
                 log.error("Broadcaster Exception:", t);
             }
-        }, 0, PAUSE_BETWEEN_BROADCASTS_MS, TimeUnit.MILLISECONDS);
+        }, PAUSE_BETWEEN_BROADCASTS_MS);
 
         scheduler.scheduleWithFixedDelay(() -> {
             try {
                 Thread.currentThread().setName("NULL-req");
-                DatagramPacket nullPacket = packetFactory.create(TxPacketData.NULL_HASH_DATA);
-                neighbors.forEach(n -> n.send(nullPacket));
+                neighbors.forEach(n -> n.send(TxPacketData.NULL_HASH_DATA));
             } catch (Throwable t) {
                 log.error("NULL PACKET requester exception" , t);
             }
-        }, 0, PAUSE_BETWEEN_NULL_REQUESTS_MS, TimeUnit.MILLISECONDS);
+        }, 0, executors.getInterval("node-null-request", PAUSE_BETWEEN_NULL_REQUESTS_MS), TimeUnit.MILLISECONDS);
 
         if (!configuration.isDnsResolutionEnabled()) {
             log.info("Ignoring DNS Refresher Thread... DNS_RESOLUTION_ENABLED is false");
@@ -251,30 +276,31 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
                 } catch (Throwable t) {
                     log.error("Error in DNS check", t);
                 }
-            }, 1000, PAUSE_BETWEEN_DNS_CHECKS_MS, TimeUnit.MILLISECONDS);
+            }, 1000, executors.getInterval("node-dns-check", PAUSE_BETWEEN_DNS_CHECKS_MS), TimeUnit.MILLISECONDS);
         }
 
-        scheduler.scheduleWithFixedDelay(() -> {
+        receiveTask = scheduleQueueProcessor("node-receive", () -> {
             try {
                 Thread.currentThread().setName("rsv-q proc");
                 for (int i=0; i < RECEIVE_BATCH_SIZE; i++) {
                     processReceivedTxQueue();
                 }
+                if (!receiveQueue.isEmpty()) {
+                    trigger(receiveTask);
+                }
             } catch (Throwable t) {
                 log.error("Error processing the received transaction", t);
             }
-        }, 0, PAUSE_BETWEEN_RECEIVE_QUEUE_POLLS_MS, TimeUnit.MILLISECONDS);
+        }, PAUSE_BETWEEN_RECEIVE_QUEUE_POLLS_MS);
 
-        scheduler.scheduleWithFixedDelay(() -> {
+        replyTask = scheduleQueueProcessor("node-reply", () -> {
             try {
                 Thread.currentThread().setName("reply-q proc");
-                for (int i=0; i < REPLY_BATCH_SIZE; i++) {
-                    processReplyFromQueue();
-                }
+                processReplyQueue();
             } catch (Throwable t) {
                 log.error("Error processing the reply to request queue", t);
             }
-        }, 0, PAUSE_BETWEEN_REPLY_QUEUE_POLLS_MS, TimeUnit.MILLISECONDS);
+        }, PAUSE_BETWEEN_REPLY_QUEUE_POLLS_MS);
 
         scheduler.scheduleWithFixedDelay(() -> {
             try {
@@ -285,7 +311,20 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
             } catch (Throwable t) {
                 log.error("Error broadcasting a tip", t);
             }
-        }, 0, PAUSE_BETWEEN_TIP_BROADCASTS_MS, TimeUnit.MILLISECONDS);
+        }, 0, executors.getInterval("node-tip-broadcast", PAUSE_BETWEEN_TIP_BROADCASTS_MS), TimeUnit.MILLISECONDS);
+
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                Thread.currentThread().setName("udp-send");
+                for (Neighbor neighbor : neighbors) {
+                    if (neighbor instanceof UDPNeighbor) {
+                        ((UDPNeighbor) neighbor).drain(packetFactory, UDP_SEND_BATCH_SIZE);
+                    }
+                }
+            } catch (Throwable t) {
+                log.error("Error sending the queued UDP packets", t);
+            }
+        }, 0, executors.getInterval("node-udp-send", PAUSE_BETWEEN_UDP_SENDS_MS), TimeUnit.MILLISECONDS);
 
         scheduler.scheduleWithFixedDelay(() -> {
             try {
@@ -294,7 +333,38 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
             } catch (Throwable t) {
                 log.error("Error collecting stats", t);
             }
-        }, 1000, PAUSE_BETWEEN_STATS_MS, TimeUnit.MILLISECONDS);
+        }, 1000, executors.getInterval("node-stats", PAUSE_BETWEEN_STATS_MS), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules the processor of a queue. It either polls the queue in the configured interval or, if the executors
+     * are event-triggered, runs as soon as work is added to the queue (with the interval as a fallback).
+     *
+     * @param name name of the loop in the {@link ExecutorRegistry}
+     * @param processor logic that processes the queue
+     * @param defaultInterval built-in polling interval in milliseconds
+     * @return the task that has to be triggered when work is added to the queue or {@code null} if it polls the queue
+     */
+    private TriggeredTask scheduleQueueProcessor(String name, Runnable processor, int defaultInterval) {
+        int interval = ExecutorRegistry.get().getInterval(name, defaultInterval);
+        if (!ExecutorRegistry.get().isEventTriggered()) {
+            scheduler.scheduleWithFixedDelay(processor, 0, interval, TimeUnit.MILLISECONDS);
+            return null;
+        }
+
+        TriggeredTask task = new TriggeredTask(name, scheduler, processor, interval, TimeUnit.MILLISECONDS);
+        task.start();
+        return task;
+    }
+
+    private static void trigger(TriggeredTask task) {
+        if (task != null) {
+            task.trigger();
+        }
+    }
+
+    public DatagramFactory getPacketFactory() {
+        return packetFactory;
     }
 
     public RequestQueue getRequestQueue() {
@@ -454,6 +524,9 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
                     TransactionViewModel tx = TransactionViewModel.fromHash(tangle, EventUtils.getTxHash(ctx));
                     if (tx.getType() == TransactionViewModel.FILLED_SLOT) {
                         requestQueue.clearTransactionRequest(EventUtils.getTxHash(ctx));
+                        if (event == EventType.TX_STORED) {
+                            servedBytesCache.put(tx.getHash(), tx.getBytes());
+                        }
                     }
                 } catch (Exception e) {
                     log.error("",e);
@@ -629,17 +702,30 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
         if (receiveQueue.size() > RECV_QUEUE_SIZE) {
             receiveQueue.pollLast();
         }
+        trigger(receiveTask);
 
     }
 
     /**
-     * Adds incoming transactions to the {@link Node#replyQueue} to be processed later
+     * Adds incoming requests to the {@link Node#replyQueue} to be processed later. Requests that exceed the size of
+     * the queue are dropped.
      */
-    private void toReplyQueue(Hash requestedHash, Neighbor neighbor) {
-        replyQueue.add(new ImmutablePair<>(requestedHash, neighbor));
-        if (replyQueue.size() > REPLY_QUEUE_SIZE) {
-            replyQueue.pollLast();
+    //Package Private For Testing
+    void toReplyQueue(Hash requestedHash, Neighbor neighbor) {
+        if (replyQueueSize.get() >= REPLY_QUEUE_SIZE) {
+            log.trace("The reply queue exceeded its size {}", REPLY_QUEUE_SIZE);
+            return;
         }
+
+        // the requests are added atomically, so the reply worker never misses a request of a set it has taken
+        replyQueue.compute(neighbor, (key, requests) -> {
+            Set<Hash> result = requests == null ? new LinkedHashSet<>() : requests;
+            if (result.add(requestedHash)) {
+                replyQueueSize.incrementAndGet();
+            }
+            return result;
+        });
+        trigger(replyTask);
     }
 
     /**
@@ -654,13 +740,22 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     }
 
     /**
-     * Picks up a transaction hash and neighbor pair from reply queue. Calls
-     * {@link Node#replyToRequestedHash} on the pair.
+     * Takes all pending requests from the reply queue, grouped by neighbor. Calls
+     * {@link Node#replyToRequestedHashes} on them.
      */
-    private void processReplyFromQueue() {
-        final Pair<Hash, Neighbor> receivedData = replyQueue.pollFirst();
-        if (receivedData != null) {
-            replyToRequestedHash(receivedData.getLeft(), receivedData.getRight());
+    //Package Private For Testing
+    void processReplyQueue() {
+        Map<Neighbor, Set<Hash>> requests = new HashMap<>();
+        for (Neighbor neighbor : replyQueue.keySet()) {
+            Set<Hash> requestedHashes = replyQueue.remove(neighbor);
+            if (requestedHashes != null) {
+                replyQueueSize.addAndGet(-requestedHashes.size());
+                requests.put(neighbor, requestedHashes);
+            }
+        }
+
+        if (!requests.isEmpty()) {
+            replyToRequestedHashes(requests);
         }
     }
 
@@ -686,8 +781,7 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
         if (stored) {
             receivedTransactionViewModel.setArrivalTime(System.currentTimeMillis()/1000L);
             try {
-                // TODO: use interfaces
-                transactionValidator.checkSolidity(receivedTransactionViewModel.getHash());
+                // the solidification was scheduled by the validator when the transaction was stored
                 receivedTransactionViewModel.updateSender(neighbor.getAddress().toString());
                 receivedTransactionViewModel.update(tangle, snapshotProvider.getInitialSnapshot(), "arrivalTime|sender");
                 tangle.publish("vis %s %s %s", receivedTransactionViewModel.getHash(), receivedTransactionViewModel.getTrunkTransactionHash(), receivedTransactionViewModel.getBranchTransactionHash());
@@ -705,60 +799,114 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     }
 
     /**
-     * Handle the hash part of the incoming UDP request.
+     * Answers the requests of the neighbors in a batch. The requested transactions are taken from the
+     * {@link Node#servedBytesCache} and the remaining ones are loaded from the {@link Tangle} with batched reads, so a
+     * transaction that is requested by several neighbors is only loaded once. Transactions that we do not have are
+     * requested in turn.
+     *
+     * @param requests the requested hashes (or {@link Hash#NULL_HASH} for a random tip) per neighbor
      */
-    private void replyToRequestedHash(Hash requestedHash, Neighbor neighbor) {
+    private void replyToRequestedHashes(Map<Neighbor, Set<Hash>> requests) {
+        Map<Neighbor, List<Hash>> replies = new HashMap<>(requests.size());
+        Map<Hash, byte[]> resolvedBytes = new HashMap<>();
+        Set<Hash> transactionsToLoad = new LinkedHashSet<>();
+
+        for (Map.Entry<Neighbor, Set<Hash>> request : requests.entrySet()) {
+            List<Hash> hashesToSend = new ArrayList<>(request.getValue().size());
+            for (Hash requestedHash : request.getValue()) {
+                //NULL_HASH indicates a tip request, otherwise it's a full transaction request
+                Hash hash = requestedHash.equals(NULL_HASH)
+                        ? selectRandomTip(request.getKey())
+                        : HashFactory.TRANSACTION.create(requestedHash.bytes(), 0, configuration.getRequestHashSize());
+                if (hash == null) {
+                    continue;
+                }
 
-        //NULL_HASH indicates a tip request
-        if (requestedHash.equals(NULL_HASH)) {
-            handleRandomTipRequest(neighbor);
-            return;
+                hashesToSend.add(hash);
+                if (!resolvedBytes.containsKey(hash) && !transactionsToLoad.contains(hash)) {
+                    byte[] bytes = servedBytesCache.getIfPresent(hash);
+                    if (bytes != null) {
+                        SERVED_BYTES_CACHE_HITS.increment();
+                        resolvedBytes.put(hash, bytes);
+                    } else {
+                        transactionsToLoad.add(hash);
+                    }
+                }
+            }
+            replies.put(request.getKey(), hashesToSend);
         }
 
-        //Otherwise it's a full transaction request
         try {
-            TransactionViewModel resolvedTx = TransactionViewModel.fromHash(tangle,
-                    HashFactory.TRANSACTION.create(requestedHash.bytes(),
-                            0, configuration.getRequestHashSize()));
-                    //cacheService.get(requestedHash.bytes(), () ->
-                    //TransactionViewModel.fromHash(tangle,
-                    //    HashFactory.TRANSACTION.create(requestedHash.bytes(),
-                    //        0, configuration.getRequestHashSize())));
-
-            if (resolvedTx.getType() == TransactionViewModel.FILLED_SLOT) {
-                sendPacketWithTxRequest(resolvedTx, neighbor);
-                //cacheService.put(resolvedTx.getBytes(), resolvedTx);
-
-            } else {
-                log.trace("Not found the requested hash {}", requestedHash);
-                requestQueue.enqueueTransaction(requestedHash, false);
-            }
-
+            loadServedBytes(transactionsToLoad, resolvedBytes);
         } catch (Exception e) {
-            log.error("Error while handling the request", e);
+            log.error("Error while handling the requests", e);
         }
 
+        for (Map.Entry<Neighbor, List<Hash>> reply : replies.entrySet()) {
+            for (Hash hash : reply.getValue()) {
+                byte[] bytes = resolvedBytes.get(hash);
+                if (bytes != null) {
+                    sendPacketWithTxRequest(hash, bytes, reply.getKey());
+                }
+            }
+        }
     }
 
-    private void handleRandomTipRequest(Neighbor neighbor) {
-        //Random Tip Request
-        try {
-            //if (requestQueue.size() == 0) {
-            //    log.trace("Empty request queue");
-            //return;
-            //}
+    /**
+     * Loads the bytes of the given transactions from the {@link Tangle} (with one read per
+     * {@link #REPLY_LOAD_BATCH_SIZE} transactions) and adds them to the {@link Node#servedBytesCache}.
+     *
+     * @param hashes the transactions that shall be loaded
+     * @param resolvedBytes the map that the loaded bytes are added to
+     * @throws Exception if anything goes wrong while reading from the database
+     */
+    private void loadServedBytes(Collection<Hash> hashes, Map<Hash, byte[]> resolvedBytes) throws Exception {
+        List<Hash> batch = new ArrayList<>(Math.min(hashes.size(), REPLY_LOAD_BATCH_SIZE));
+        Iterator<Hash> iterator = hashes.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() < REPLY_LOAD_BATCH_SIZE && iterator.hasNext()) {
+                continue;
+            }
+
+            List<Persistable> transactions = tangle.loadBatch(Transaction.class, batch, false);
+            for (int i = 0; i < batch.size(); i++) {
+                Hash hash = batch.get(i);
+                Transaction transaction = transactions == null ? null : (Transaction) transactions.get(i);
+                SERVED_BYTES_CACHE_MISSES.increment();
+
+                if (transaction != null && transaction.type == TransactionViewModel.FILLED_SLOT) {
+                    resolvedBytes.put(hash, transaction.bytes);
+                    servedBytesCache.put(hash, transaction.bytes);
+                } else {
+                    log.trace("Not found the requested hash {}", hash);
+                    requestQueue.enqueueTransaction(hash, false);
+                }
+            }
+            batch.clear();
+        }
+    }
 
+    /**
+     * Selects the tip that answers a random tip request of the neighbor.
+     *
+     * @param neighbor the neighbor that requested a random tip
+     * @return the hash of the tip or <code>null</code> if the request is dropped
+     */
+    private Hash selectRandomTip(Neighbor neighbor) {
+        try {
             if (rnd.nextDouble() > configuration.getpReplyRandomTip()) {
                 log.trace("Randomly dropped tip request");
-                return;
+                return null;
             }
 
             neighbor.incRandomTransactionRequests();
-            TransactionViewModel tip = TransactionViewModel.fromHash(tangle, getRandomTipPointer());
-            sendPacketWithTxRequest(tip, neighbor);
+            Hash tip = getRandomTipPointer();
+            return NULL_HASH.equals(tip) ? null : tip;
 
         } catch (Exception e) {
             log.error("Error getting random tip.", e);
+            return null;
         }
     }
 
@@ -774,36 +922,33 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     }
 
     /**
-     * Sends a Datagram to the neighbour. Also appends a random hash request
-     * to the outgoing packet. Note that this is only used for UDP handling. For TCP
-     * the outgoing packets are sent by ReplicatorSinkProcessor
+     * Queues a packet for the neighbour. Also appends a random hash request
+     * to the outgoing packet. The packet only references the bytes of the transaction,
+     * which are serialized by the sender of the neighbor (the UDP sender of this class
+     * or the ReplicatorSinkProcessor for TCP) while respecting the send limits.
      *
-     * @param {@link DatagramPacket} sendingPacket the UDP payload buffer
      * @param {@link TransactionViewModel} transactionViewModel which should be sent.
      * @praram {@link Neighbor} the neighbor where this should be sent.
      *
      */
     private void sendPacketWithTxRequest(TransactionViewModel transactionViewModel, Neighbor neighbor) throws Exception {
-        //limit amount of sends per second
-        long now = System.currentTimeMillis();
-        if ((now - sendPacketsTimer.get()) > 1000L) {
-            //reset counter every second
-            sendPacketsCounter.set(0);
-            sendPacketsTimer.set(now);
-        }
-        if (sendLimit >= 0 && sendPacketsCounter.get() > sendLimit) {
-            //if exceeded limit - don't send
-            log.debug("Send limit exceeded! Send_packet_counter = {}", sendPacketsCounter.get());
-            return;
-        }
-
         Hash hash = Optional.ofNullable(requestQueue.popTransaction()).orElse(transactionViewModel.getHash());
-        DatagramPacket toSend = packetFactory.create(new TxPacketData(transactionViewModel, hash));
 
         log.trace("send tx, hash, ngbr {} {} {}", transactionViewModel.getHash(), hash, neighbor.getAddress().toString());
 
-        neighbor.send(toSend);
-        sendPacketsCounter.getAndIncrement();
+        neighbor.send(new TxPacketData(transactionViewModel, hash));
+    }
+
+    /**
+     * Queues a packet with the given (cached) transaction bytes for the neighbour, see
+     * {@link #sendPacketWithTxRequest(TransactionViewModel, Neighbor)}.
+     */
+    private void sendPacketWithTxRequest(Hash transactionHash, byte[] bytes, Neighbor neighbor) {
+        Hash hash = Optional.ofNullable(requestQueue.popTransaction()).orElse(transactionHash);
+
+        log.trace("send tx, hash, ngbr {} {} {}", transactionHash, hash, neighbor.getAddress().toString());
+
+        neighbor.send(TxPacketData.fromBytes(bytes, hash));
     }
 
     private void processBroadcastQueue() {
@@ -827,13 +972,37 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
         int rcv = receiveQueue.size();
         int brdcst = broadcastQueue.size();
         int rqst = requestQueue.size();
-        int reply = replyQueue.size();
+        int reply = replyQueueSize.get();
         int stored = TransactionViewModel.getNumberOfStoredTransactions(tangle);
 
         tangle.publish("rstat %d %d %d %d %d",
                 rcv, brdcst, rqst, reply, stored);
         log.info("toProcess = {} , toBroadcast = {} , toRequest = {} , toReply = {} / totalTransactions = {}",
                 rcv, brdcst, rqst, reply, stored);
+
+        // the database statistics are only collected if somebody is interested in them
+        if (log.isDebugEnabled() || tangle.isPublishing("dbstat")) {
+            String dbStats = tangle.getStatistics().entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.joining(" "));
+            tangle.publish("dbstat %s", dbStats);
+            log.debug("Database statistics: {}", dbStats);
+        }
+    }
+
+    /**
+     * Exposes the depths of the queues of the node (they are only read when the metrics are scraped).
+     */
+    private void registerMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("pendulum_node_receive_queue_size", "Received transactions that wait to be processed",
+                receiveQueue::size);
+        metrics.gauge("pendulum_node_broadcast_queue_size", "Transactions that wait to be broadcast",
+                broadcastQueue::size);
+        metrics.gauge("pendulum_node_request_queue_size", "Transactions that are requested from the neighbors",
+                requestQueue::size);
+        metrics.gauge("pendulum_node_reply_queue_size", "Requests of the neighbors that wait to be answered",
+                replyQueueSize::get);
     }
 
     private static ConcurrentSkipListSet<TransactionViewModel> weightQueue() {
@@ -851,21 +1020,6 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
     }
 
     //TODO generalize these weightQueues
-    private static ConcurrentSkipListSet<Pair<Hash, Neighbor>> weightQueueHashPair() {
-        return new ConcurrentSkipListSet<Pair<Hash, Neighbor>>((transaction1, transaction2) -> {
-            Hash tx1 = transaction1.getLeft();
-            Hash tx2 = transaction2.getLeft();
-
-            for (int i = Hash.SIZE_IN_BYTES; i-- > 0; ) {
-                if (tx1.bytes()[i] != tx2.bytes()[i]) {
-                    return tx2.bytes()[i] - tx1.bytes()[i];
-                }
-            }
-            return 0;
-
-        });
-    }
-
     private static ConcurrentSkipListSet<Pair<TransactionViewModel, Neighbor>> weightQueueTxPair() {
         return new ConcurrentSkipListSet<Pair<TransactionViewModel, Neighbor>>((transaction1, transaction2) -> {
             TransactionViewModel tx1 = transaction1.getLeft();
@@ -890,6 +1044,7 @@ public class Node implements PendulumEventListener, Pendulum.Initializable {
             log.trace("The broadcast queue exceeded its size {}", BROADCAST_QUEUE_SIZE);
             broadcastQueue.pollLast();
         }
+        trigger(broadcastTask);
     }
 
     public void shutdown() throws InterruptedException {
@@ -4,11 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.nio.ByteBuffer;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -17,15 +14,14 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * This class Extends {@link Neighbor} base class with TCP specific functionality.
- * It keeps reference of Source and Sink while maintaining a sendQueue for keeping
- * outgoing requests.
+ * It keeps reference of Source and Sink, while the outgoing requests are kept in the
+ * outbound queue of the {@link Neighbor} until the replicator sink sends them.
  *
  */
 public class TCPNeighbor extends Neighbor {
     private static final Logger log = LoggerFactory.getLogger(Neighbor.class);
     private int tcpPort;
 
-    private final ArrayBlockingQueue<ByteBuffer> sendQueue = new ArrayBlockingQueue<>(10);
     private boolean stopped = false;
 
     private Socket source = null;
@@ -78,24 +74,6 @@ public class TCPNeighbor extends Neighbor {
         this.sink = sink;
     }
 
-    /**
-     * This is a non-blocking write and that makes it necessary to make a defensive copy of the sent data.
-     *
-     * @param packet the data to be queued for sending.
-     */
-    @Override
-    public void send(DatagramPacket packet) {
-        synchronized (sendQueue) {
-            if (sendQueue.remainingCapacity() == 0) {
-                sendQueue.poll();
-                log.debug("Sendqueue full...dropped 1 tx");
-            }
-            byte[] bytes = packet.getData().clone();
-            sendQueue.add(ByteBuffer.wrap(bytes));
-        }
-
-    }
-
     @Override
     public int getPort() {
         return tcpPort;
@@ -110,8 +88,23 @@ public class TCPNeighbor extends Neighbor {
         this.tcpPort = tcpPort;
     }
 
-    public ByteBuffer getNextMessage() throws InterruptedException {
-        return (this.sendQueue.poll(10000, TimeUnit.MILLISECONDS));
+    /**
+     * Waits for the next packet that shall be sent by the replicator sink.
+     *
+     * @return the next packet or null if no packet could be sent within 10 seconds
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public PacketData getNextMessage() throws InterruptedException {
+        return pollOutbound(10000, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Retrieves the next packet that shall be sent by the replicator sink without waiting for it.
+     *
+     * @return the next packet or null if no packet can be sent right now
+     */
+    public PacketData pollNextMessage() {
+        return pollOutbound();
     }
 
 }
\ No newline at end of file
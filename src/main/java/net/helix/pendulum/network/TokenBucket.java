@@ -0,0 +1,98 @@
+package net.helix.pendulum.network;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter that follows the token bucket algorithm.<br />
+ * <br />
+ * The bucket is refilled continuously with the configured rate and can hold the tokens of one second, so short bursts
+ * are allowed while the average rate never exceeds the limit. A negative rate disables the limit.<br />
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long ratePerSecond;
+
+    private final double capacity;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    /**
+     * Creates a bucket that allows the given amount of operations per second.
+     *
+     * @param ratePerSecond amount of operations per second (a negative value disables the limit)
+     */
+    public TokenBucket(long ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = Math.max(1, ratePerSecond);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public boolean isUnlimited() {
+        return ratePerSecond < 0;
+    }
+
+    /**
+     * Checks if a token is available without taking it.<br />
+     *
+     * @return true if a token is available and false otherwise
+     */
+    public synchronized boolean hasToken() {
+        if (isUnlimited()) {
+            return true;
+        }
+
+        refill();
+        return tokens >= 1;
+    }
+
+    /**
+     * Takes a token if one is available.<br />
+     *
+     * @return true if a token was taken and false otherwise
+     */
+    public synchronized boolean tryAcquire() {
+        if (!hasToken()) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Takes a token even if none is available, so the next operations have to wait for the refill.<br />
+     * <br />
+     * It is used to consume the token of a bucket that was checked with {@link #hasToken()} before by the only thread
+     * that takes tokens from it.<br />
+     */
+    public synchronized void acquire() {
+        if (!isUnlimited()) {
+            refill();
+            tokens--;
+        }
+    }
+
+    /**
+     * Returns the time until the next token becomes available.<br />
+     *
+     * @return the waiting time in nanoseconds (0 if a token is available)
+     */
+    public synchronized long nanosUntilAvailable() {
+        if (hasToken()) {
+            return 0;
+        }
+
+        // rate 0 blocks the bucket completely, so the callers are told to check again in a second
+        return ratePerSecond == 0 ? NANOS_PER_SECOND : (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (double) (now - lastRefill) * ratePerSecond / NANOS_PER_SECOND);
+        lastRefill = now;
+    }
+}
@@ -13,7 +13,7 @@ import java.net.InetSocketAddress;
 
 /**
  * This class Extends {@link Neighbor} base class with UDP specific functionality.
- * It keeps reference of socket and doesnt maintains any queue for UDP outgoing packets.
+ * It keeps reference of socket and sends the queued outgoing packets when the {@link Node} drains its queue.
  *
  */
 public class UDPNeighbor extends Neighbor {
@@ -22,25 +22,44 @@ public class UDPNeighbor extends Neighbor {
 
     private final DatagramSocket socket;
 
+    /**
+     * Buffer that is reused for the outgoing packets (the queue is only drained by a single thread).
+     */
+    private DatagramPacket sendingPacket;
+
     UDPNeighbor(final InetSocketAddress address, final DatagramSocket socket, final boolean isConfigured) {
         super(address, isConfigured);
         this.socket = socket;
     }
 
     /**
-     * This is a blocking write and it is not necessary to copy the sent data.
+     * Sends a batch of the queued packets (as far as the rate limits allow it).
      *
-     * @param packet the packet to be sent immediately.
+     * @param packetFactory factory that serializes the packets
+     * @param maxPackets maximum amount of packets that are sent
+     * @return the amount of packets that were sent
      */
-    @Override
-    public void send(DatagramPacket packet) {
-        try {
-            packet.setSocketAddress(getAddress());
-            socket.send(packet);
-            incSentTransactions();
-        } catch (final Exception e) {
-            log.error("Error sending UDP packet to [{}]: {}", getAddress(), e.toString());
+    public int drain(DatagramFactory packetFactory, int maxPackets) {
+        int sentPackets = 0;
+        PacketData packet;
+        while (sentPackets < maxPackets && (packet = pollOutbound()) != null) {
+            if (sendingPacket == null) {
+                sendingPacket = new DatagramPacket(new byte[packetFactory.getPacketSize()],
+                        packetFactory.getPacketSize());
+            }
+
+            try {
+                packetFactory.write(packet, sendingPacket.getData());
+                sendingPacket.setSocketAddress(getAddress());
+                socket.send(sendingPacket);
+                incSentTransactions();
+            } catch (final Exception e) {
+                log.error("Error sending UDP packet to [{}]: {}", getAddress(), e.toString());
+            }
+            sentPackets++;
         }
+
+        return sentPackets;
     }
 
     @Override
@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.DatagramPacket;
+import java.util.Arrays;
 
 /**
  * Date: 2019-11-07
@@ -40,11 +41,23 @@ public class DatagramFactoryImpl implements DatagramFactory {
     @Override
     public DatagramPacket create(PacketData dataProvider) {
         byte[] buffer = new byte[packetSize];
+        write(dataProvider, buffer);
+
+        return new DatagramPacket(buffer, packetSize);
+    }
+
+    @Override
+    public void write(PacketData dataProvider, byte[] buffer) {
         int dataOffset = dataProvider.dataSize();
 
         System.arraycopy(dataProvider.getDataPart(), 0, buffer, 0, dataOffset);
         System.arraycopy(dataProvider.getHashPart(), 0, buffer, dataOffset, requestHashSize);
+        // reused buffers may still contain the padding of a previous packet
+        Arrays.fill(buffer, dataOffset + requestHashSize, packetSize, (byte) 0);
+    }
 
-        return new DatagramPacket(buffer, packetSize);
+    @Override
+    public int getPacketSize() {
+        return packetSize;
     }
 }
@@ -16,6 +16,7 @@ import java.util.Arrays;
  */
 public class TxPacketData implements PacketData {
     private TransactionViewModel txvm;
+    private byte[] bytes;
     private Hash hash;
 
     private TxPacketData() {
@@ -27,10 +28,24 @@ public class TxPacketData implements PacketData {
         this.txvm = txvm;
     }
 
+    /**
+     * Creates a packet from already serialized transaction bytes, which are shared and must not be modified.
+     *
+     * @param bytes the bytes of the transaction
+     * @param hash the requested hash
+     * @return the packet
+     */
+    public static TxPacketData fromBytes(byte[] bytes, Hash hash) {
+        TxPacketData packetData = new TxPacketData();
+        packetData.hash = hash;
+        packetData.bytes = bytes;
+        return packetData;
+    }
+
 
     @Override
     public byte[] getDataPart() {
-        return txvm.getBytes();
+        return bytes != null ? bytes : txvm.getBytes();
     }
 
     @Override
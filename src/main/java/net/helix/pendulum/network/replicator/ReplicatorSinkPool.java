@@ -1,5 +1,6 @@
 package net.helix.pendulum.network.replicator;
 
+import net.helix.pendulum.network.DatagramFactory;
 import net.helix.pendulum.network.Neighbor;
 import net.helix.pendulum.network.Node;
 import net.helix.pendulum.network.TCPNeighbor;
@@ -68,6 +69,10 @@ public class ReplicatorSinkPool  implements Runnable {
         }
     }
 
+    public DatagramFactory getPacketFactory() {
+        return node.getPacketFactory();
+    }
+
     public void createSink(TCPNeighbor neighbor) {
         Runnable proc = new ReplicatorSinkProcessor( neighbor, this, port, transactionPacketSize);
         sinkPool.submit(proc);
@@ -1,14 +1,16 @@
 package net.helix.pendulum.network.replicator;
 
+import net.helix.pendulum.network.DatagramFactory;
+import net.helix.pendulum.network.PacketData;
 import net.helix.pendulum.network.TCPNeighbor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.nio.ByteBuffer;
 import java.util.zip.CRC32;
 
 class ReplicatorSinkProcessor implements Runnable {
@@ -18,6 +20,11 @@ class ReplicatorSinkProcessor implements Runnable {
     private final TCPNeighbor neighbor;
 
     public final static int CRC32_BYTES = 16;
+
+    /**
+     * Size of the buffer that collects the queued packets, before they are written to the socket together.
+     */
+    private final static int SEND_BUFFER_SIZE = 64 * 1024;
     private final ReplicatorSinkPool replicatorSinkPool;
     private final int port;
     private int transactionPacketSize;
@@ -64,7 +71,8 @@ class ReplicatorSinkProcessor implements Runnable {
                 log.info("Connecting sink {}", remoteAddress);
                 socket.connect(new InetSocketAddress(remoteAddress, neighbor.getPort()), 30000);
                 if (!socket.isClosed() && socket.isConnected()) {
-                    OutputStream out = socket.getOutputStream();
+                    OutputStream out = new BufferedOutputStream(socket.getOutputStream(), SEND_BUFFER_SIZE);
+                    DatagramFactory packetFactory = replicatorSinkPool.getPacketFactory();
                     log.info("----- NETWORK INFO ----- Sink {} is connected", remoteAddress);
 
                     // Let neighbor know our tcp listener port
@@ -73,10 +81,16 @@ class ReplicatorSinkProcessor implements Runnable {
                     System.arraycopy(String.format(fmt, port).getBytes(), 0,
                             portAsByteArray, 0, ReplicatorSinkPool.PORT_BYTES);
                     out.write(portAsByteArray);
+                    out.flush();
 
                     while (!replicatorSinkPool.shutdown && !neighbor.isStopped()) {
                         try {
-                            ByteBuffer message = neighbor.getNextMessage();
+                            // the queued packets are written in batches and only flushed when we have to wait
+                            PacketData message = neighbor.pollNextMessage();
+                            if (message == null) {
+                                out.flush();
+                                message = neighbor.getNextMessage();
+                            }
                             if (neighbor.getSink() != null) {
                                 if (neighbor.getSink().isClosed() || !neighbor.getSink().isConnected()) {
                                     log.info("----- NETWORK INFO ----- Sink {} got disconnected", remoteAddress);
@@ -85,24 +99,25 @@ class ReplicatorSinkProcessor implements Runnable {
                                     if ((message != null) && (neighbor.getSink() != null && neighbor.getSink().isConnected())
                                             && (neighbor.getSource() != null && neighbor.getSource().isConnected())) {
 
-                                        byte[] bytes = message.array();
+                                        byte[] bytes = new byte[packetFactory.getPacketSize()];
+                                        packetFactory.write(message, bytes);
 
                                         if (bytes.length == transactionPacketSize) {
                                             try {
                                                 CRC32 crc32 = new CRC32();
-                                                crc32.update(message.array());
+                                                crc32.update(bytes);
                                                 String crc32String = Long.toHexString(crc32.getValue());
                                                 while (crc32String.length() < CRC32_BYTES) {
                                                     crc32String = "0"+crc32String;
                                                 }
-                                                out.write(message.array());
+                                                out.write(bytes);
                                                 out.write(crc32String.getBytes());
-                                                out.flush();
                                                 neighbor.incSentTransactions();
                                             } catch (IOException e2) {
                                                 if (!neighbor.getSink().isClosed() && neighbor.getSink().isConnected()) {
                                                     out.close();
-                                                    out = neighbor.getSink().getOutputStream();
+                                                    out = new BufferedOutputStream(
+                                                            neighbor.getSink().getOutputStream(), SEND_BUFFER_SIZE);
                                                 } else {
                                                     log.info("----- NETWORK INFO ----- Sink {} thread terminating",
                                                             remoteAddress);
@@ -2,18 +2,23 @@ package net.helix.pendulum.service;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 import net.helix.pendulum.*;
 import net.helix.pendulum.conf.APIConfig;
 import net.helix.pendulum.conf.BasePendulumConfig;
 import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.controllers.*;
-import net.helix.pendulum.crypto.GreedyMiner;
 import net.helix.pendulum.crypto.Sha3;
 import net.helix.pendulum.crypto.Sponge;
 import net.helix.pendulum.crypto.SpongeFactory;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.HashFactory;
+import net.helix.pendulum.model.persistables.Address;
+import net.helix.pendulum.model.persistables.Approvee;
+import net.helix.pendulum.model.persistables.Bundle;
+import net.helix.pendulum.model.persistables.BundleNonce;
+import net.helix.pendulum.model.persistables.Tag;
 import net.helix.pendulum.model.persistables.Transaction;
 import net.helix.pendulum.network.Neighbor;
 import net.helix.pendulum.network.Node;
@@ -21,7 +26,12 @@ import net.helix.pendulum.service.cache.TangleCache;
 import net.helix.pendulum.service.dto.*;
 import net.helix.pendulum.service.ledger.LedgerService;
 import net.helix.pendulum.service.milestone.MilestoneTracker;
+import net.helix.pendulum.service.pow.PowException;
+import net.helix.pendulum.service.pow.PowJob;
+import net.helix.pendulum.service.pow.PowService;
+import net.helix.pendulum.service.restserver.ApiProcessor;
 import net.helix.pendulum.service.restserver.RestConnector;
+import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.spentaddresses.SpentAddressesService;
 import net.helix.pendulum.service.tipselection.TipSelector;
@@ -31,21 +41,25 @@ import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.Serializer;
 import net.helix.pendulum.utils.bundle.BundleTypes;
 import net.helix.pendulum.utils.bundle.BundleUtils;
+import net.helix.pendulum.utils.metrics.Histogram;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Reader;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 //import net.helix.pendulum.network.impl.TransactionRequesterImpl;
 
@@ -78,6 +92,11 @@ public class API {
             + "The subtangle has not been updated yet.";
 
     private static final String OVER_MAX_ERROR_MESSAGE = "Could not complete request";
+
+    /**
+     * Name of the parameter that holds the address of the requester, it is added to every request by the node.
+     */
+    private static final String CLIENT_ADDRESS = "clientAddress";
     private static final String INVALID_PARAMS = "Invalid parameters";
 
     private final static char ZERO_LENGTH_ALLOWED = 'Y';
@@ -86,14 +105,14 @@ public class API {
     private final static int HASH_SIZE = 32;
     private final static int BYTES_SIZE = 768;
 
-    private final static long MAX_TIMESTAMP_VALUE = (long) (Math.pow(2, 8) - 1) / 2; // max positive 8 byte value
+
+    private static final String LATENCY_METRIC = "pendulum_api_request_duration_seconds";
+    private static final String LATENCY_HELP = "Processing time of the API commands";
 
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     private static int counterGetTxToApprove = 0;
     private static long ellapsedTime_getTxToApprove = 0L;
-    private static int counter_PoW = 0;
-    private static long ellapsedTime_PoW = 0L;
 
     //region [CONSTRUCTOR_FIELDS] ///////////////////////////////////////////////////////////////////////////////
 
@@ -114,6 +133,8 @@ public class API {
 
     private TangleCache tangleCache;
 
+    private final TransactionQueryEngine queryEngine;
+
     private final int maxFindTxs;
     private final int maxRequestList;
     private final int maxGetTransactionStrings;
@@ -123,7 +144,7 @@ public class API {
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     private final Gson gson = new GsonBuilder().create();
-    private GreedyMiner miner = new GreedyMiner();
+    private final PowService powService;
 
     private final AtomicInteger counter = new AtomicInteger(0);
     private Pattern hexPattern = Pattern.compile("[0-9a-f]*");
@@ -161,6 +182,9 @@ public class API {
         maxGetTransactionStrings = configuration.getMaxTransactionStrings();
         milestoneStartIndex = configuration.getMilestoneStartIndex();
 
+        queryEngine = new TransactionQueryEngine(tangle, Runtime.getRuntime().availableProcessors());
+        powService = new PowService(configuration, transactionValidator);
+
         features = Feature.calculateFeatureNames(configuration);
 
         commandRoute = new HashMap<>();
@@ -176,6 +200,7 @@ public class API {
         commandRoute.put(ApiCommand.GET_TIPS, getTips());
         commandRoute.put(ApiCommand.GET_TRANSACTIONS_TO_APPROVE, getTransactionsToApprove());
         commandRoute.put(ApiCommand.GET_TRANSACTION_STRINGS, getTransactionStrings());
+        commandRoute.put(ApiCommand.GET_ATTACH_TO_TANGLE_STATUS, getAttachToTangleStatus());
         commandRoute.put(ApiCommand.INTERRUPT_ATTACHING_TO_TANGLE, interruptAttachingToTangle());
         commandRoute.put(ApiCommand.REMOVE_NEIGHBORS, removeNeighbors());
         commandRoute.put(ApiCommand.STORE_TRANSACTIONS, storeTransactions());
@@ -194,7 +219,17 @@ public class API {
         this.connector = connector;
         this.tangleCache = Pendulum.ServiceRegistry.get().resolve(TangleCache.class);
 
-        connector.init(this::process);
+        connector.init(new ApiProcessor() {
+            @Override
+            public AbstractResponse processFunction(String request, InetAddress inetAddress) {
+                return process(request, inetAddress);
+            }
+
+            @Override
+            public AbstractResponse processFunction(Reader request, InetAddress inetAddress) {
+                return process(request, inetAddress);
+            }
+        });
         connector.start();
     }
 
@@ -229,21 +264,58 @@ public class API {
      * @return The result of this request.
      */
     private AbstractResponse process(final String requestString, InetAddress netAddress) {
+        // Request JSON data into map
+        Map<String, Object> request;
+        try {
+            request = gson.fromJson(requestString, Map.class);
+        }
+        catch(JsonSyntaxException jsonSyntaxException) {
+            return ErrorResponse.create("Invalid JSON syntax: " + jsonSyntaxException.getMessage());
+        }
+
+        if (request == null) {
+            return ExceptionResponse.create("Invalid request payload: '" + requestString + "'");
+        }
+
+        return process(request, netAddress);
+    }
 
+    /**
+     * Works like {@link #process(String, InetAddress)} but parses the request while it is read from the connection,
+     * so the body never has to be held in memory as a whole.
+     *
+     * @param requestReader Reader for the JSON encoded data of the request.
+     * @param netAddress The address from the sender of this API request.
+     * @return The result of this request.
+     */
+    private AbstractResponse process(final Reader requestReader, InetAddress netAddress) {
+        Map<String, Object> request;
         try {
-            // Request JSON data into map
-            Map<String, Object> request;
-            try {
-                request = gson.fromJson(requestString, Map.class);
-            }
-            catch(JsonSyntaxException jsonSyntaxException) {
-                return ErrorResponse.create("Invalid JSON syntax: " + jsonSyntaxException.getMessage());
-            }
+            request = gson.fromJson(requestReader, Map.class);
+        }
+        catch(JsonSyntaxException jsonSyntaxException) {
+            return ErrorResponse.create("Invalid JSON syntax: " + jsonSyntaxException.getMessage());
+        }
+        catch(JsonIOException jsonIOException) {
+            return ErrorResponse.create("Invalid request payload: " + jsonIOException.getMessage());
+        }
 
-            if (request == null) {
-                return ExceptionResponse.create("Invalid request payload: '" + requestString + "'");
-            }
+        if (request == null) {
+            return ExceptionResponse.create("Invalid request payload: empty request");
+        }
 
+        return process(request, netAddress);
+    }
+
+    /**
+     * Executes the command of an already parsed API request as described in {@link #process(String, InetAddress)}.
+     *
+     * @param request The parameters of the request.
+     * @param netAddress The address from the sender of this API request.
+     * @return The result of this request.
+     */
+    private AbstractResponse process(final Map<String, Object> request, InetAddress netAddress) {
+        try {
             // Did the requester ask for a command?
             final String command = (String) request.get("command");
             if (command == null) {
@@ -260,14 +332,26 @@ public class API {
             tangle.publish(command+" += 1");
             ApiCommand apiCommand = ApiCommand.findByName(command);
             if (apiCommand != null) {
-                return commandRoute.get(apiCommand).apply(request);
-            } else {
-                AbstractResponse response = XI.processCommand(command, request);
-                if (response == null) {
-                    return ErrorResponse.create("Command [" + command + "] is unknown");
+                // overrides a value that was sent by the requester
+                request.put(CLIENT_ADDRESS, netAddress == null ? PowService.LOCAL_CLIENT : netAddress.getHostAddress());
+            }
+            // the commands of the IXI modules share a single series to keep the number of series bounded
+            Histogram latency = MetricsRegistry.get().histogram(LATENCY_METRIC, LATENCY_HELP, "command",
+                    apiCommand != null ? apiCommand.toString() : "ixi");
+            long start = System.nanoTime();
+            try {
+                if (apiCommand != null) {
+                    return commandRoute.get(apiCommand).apply(request);
                 } else {
-                    return response;
+                    AbstractResponse response = XI.processCommand(command, request);
+                    if (response == null) {
+                        return ErrorResponse.create("Command [" + command + "] is unknown");
+                    } else {
+                        return response;
+                    }
                 }
+            } finally {
+                latency.recordSince(start);
             }
         } catch (ValidationException e) {
             log.error("API Validation failed: " + e.getLocalizedMessage());
@@ -383,18 +467,14 @@ public class API {
 
         // Transactions are valid, lets check ledger consistency
         if (state) {
-            snapshotProvider.getLatestSnapshot().lockRead();
-            try {
-                WalkValidatorImpl walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, configuration);
-                for (Hash transaction : transactions) {
-                    if (!walkValidator.isValid(transaction)) {
-                        state = false;
-                        info = "tails are not consistent (would lead to inconsistent ledger state or below max depth)";
-                        break;
-                    }
+            WalkValidatorImpl walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService,
+                    configuration, snapshotProvider.getLatestSnapshot().view());
+            for (Hash transaction : transactions) {
+                if (!walkValidator.isValid(transaction)) {
+                    state = false;
+                    info = "tails are not consistent (would lead to inconsistent ledger state or below max depth)";
+                    break;
                 }
-            } finally {
-                snapshotProvider.getLatestSnapshot().unlockRead();
             }
         }
 
@@ -485,17 +565,16 @@ public class API {
      * @param hashes The transaction hashes you want to get bytes from.
      * @return {@link GetTransactionStringsResponse}
      **/
-    private synchronized AbstractResponse getTransactionStringsStatement(List<String> hashes) throws Exception {
-        final List<String> elements = new LinkedList<>();
-        for (final String hash : hashes) {
-            final TransactionViewModel transactionViewModel = TransactionViewModel.fromHash(tangle, HashFactory.TRANSACTION.create(hash));
-            if (transactionViewModel != null) {
-                elements.add(Hex.toHexString(transactionViewModel.getBytes()));
-            }
-        }
-        if (elements.size() > maxGetTransactionStrings){
+    private AbstractResponse getTransactionStringsStatement(List<String> hashes) throws Exception {
+        if (hashes.size() > maxGetTransactionStrings){
             return ErrorResponse.create(OVER_MAX_ERROR_MESSAGE);
         }
+
+        final List<byte[]> transactions = queryEngine.loadTransactionBytes(toHashes(hashes, HashFactory.TRANSACTION));
+        final List<String> elements = transactions.stream()
+                .map(Hex::toHexString)
+                .collect(Collectors.toCollection(LinkedList::new));
+
         return GetTransactionStringsResponse.create(elements);
     }
 
@@ -626,14 +705,47 @@ public class API {
     }
     /**
      * Interrupts and completely aborts the <tt>attachToTangle</tt> process.
+     * If a <tt>jobId</tt> is given, only the corresponding job is aborted, otherwise all queued and running jobs.
      *
+     * @param jobId the id of the job that shall be aborted or <tt>null</tt>
      * @return Empty {@link net.helix.pendulum.service.dto.AbstractResponse}
      **/
-    private AbstractResponse interruptAttachingToTangleStatement(){
-        miner.cancel();
+    private AbstractResponse interruptAttachingToTangleStatement(String jobId){
+        if (jobId == null) {
+            powService.cancelAll();
+        } else {
+            PowJob job = powService.getJob(jobId);
+            if (job == null) {
+                return ErrorResponse.create("Unknown attachToTangle job " + jobId);
+            }
+            job.cancel();
+        }
         return AbstractResponse.createEmptyResponse();
     }
 
+    /**
+     * Returns the status of an <tt>attachToTangle</tt> job that was started asynchronously.
+     * Once the job is completed, the response contains the attached transactions.
+     *
+     * @param jobId the id of the job
+     * @return {@link net.helix.pendulum.service.dto.AttachToTangleResponse}
+     **/
+    private AbstractResponse getAttachToTangleStatusStatement(String jobId) {
+        PowJob job = powService.getJob(jobId);
+        if (job == null) {
+            return ErrorResponse.create("Unknown attachToTangle job " + jobId);
+        }
+
+        if (job.getStatus() == PowJob.Status.FAILED) {
+            try {
+                job.getResult().join();
+            } catch (CompletionException e) {
+                return ErrorResponse.create("attachToTangle job failed: " + e.getCause().getMessage());
+            }
+        }
+        return AttachToTangleResponse.create(job);
+    }
+
     /**
      * Returns information about this node.
      *
@@ -700,13 +812,15 @@ public class API {
         double threshold = BasePendulumConfig.Defaults.CONFIRMATION_THRESHOLD;
         int n = BasePendulumConfig.Defaults.NUMBER_OF_ACTIVE_VALIDATORS;
 
-        for(Hash hash: trans) {
-            TransactionViewModel transaction = TransactionViewModel.fromHash(tangle, hash);
+        final int[] transactionConfirmations = ConfirmationViewModel.getConfirmations(tangle, trans,
+                confirmations -> (double) confirmations / n > threshold);
+        for(int i = 0; i < transactionConfirmations.length; i++) {
+            int confirmations = transactionConfirmations[i];
 
-            log.trace("tx_confirmations {}:[{}:{}]", transaction.getHash().toString(), transaction.getConfirmations(), (double) transaction.getConfirmations() / n);
+            log.trace("tx_confirmations {}:[{}:{}]", trans.get(i).toString(), confirmations, (double) confirmations / n);
 
             // is transaction finalized
-            if((double)transaction.getConfirmations() / n > threshold) {
+            if((double) confirmations / n > threshold) {
                 confirmationStates[count] = 1;
             }
             // not finalized yet
@@ -782,13 +896,14 @@ public class API {
             // or has no index, or index is above the max tip index (not included).
 
             // Sets to 1 if the transaction index is below the max index of tips (included).
-            for(Hash hash: trans) {
-                TransactionViewModel transaction = TransactionViewModel.fromHash(tangle, hash);
-                if(transaction.getType() == TransactionViewModel.PREFILLED_SLOT || transaction.snapshotIndex() == 0) {
+            // resolve the snapshot indexes with batched lookups in the confirmation index and the transaction metadata
+            final int[] snapshotIndexes = ConfirmationViewModel.getRoundIndexes(tangle, trans);
+            for(int snapshotIndex: snapshotIndexes) {
+                if(snapshotIndex == 0) {
                     inclusionStates[count] = -1;
-                } else if(transaction.snapshotIndex() > maxTipsIndex) {
+                } else if(snapshotIndex > maxTipsIndex) {
                     inclusionStates[count] = -1;
-                } else if(transaction.snapshotIndex() < maxTipsIndex) {
+                } else if(snapshotIndex < maxTipsIndex) {
                     inclusionStates[count] = 1;
                 }
                 count++;
@@ -812,8 +927,7 @@ public class API {
             // Loop over all transactions without a state, and counts the amount per snapshot index
             for(int i = 0; i < inclusionStates.length; i++) {
                 if(inclusionStates[i] == 0) {
-                    TransactionViewModel transactionViewModel = TransactionViewModel.fromHash(tangle, trans.get(i));
-                    int snapshotIndex = transactionViewModel.snapshotIndex();
+                    int snapshotIndex = snapshotIndexes[i];
                     sameIndexTransactionCount.putIfAbsent(snapshotIndex, 0);
                     sameIndexTransactionCount.put(snapshotIndex, sameIndexTransactionCount.get(snapshotIndex) + 1);
                 }
@@ -931,86 +1045,40 @@ public class API {
      * @throws Exception If a model cannot be loaded, no valid input fields were supplied
      *                   or the total transactions to find exceeds {@link APIConfig#getMaxFindTransactions()}.
      **/
-    private synchronized AbstractResponse findTransactionsStatement(final Map<String, Object> request) throws Exception {
-
-        final Set<Hash> foundTransactions =  new HashSet<>();
-        boolean containsKey = false;
+    private AbstractResponse findTransactionsStatement(final Map<String, Object> request) throws Exception {
+        final List<Set<Hash>> criteria = new ArrayList<>();
 
-        final Set<Hash> bundlesTransactions = new HashSet<>();
         if (request.containsKey("bundles")) {
             final Set<String> bundles = getParameterAsSet(request,"bundles",HASH_SIZE);
-            for (final String bundle : bundles) {
-                bundlesTransactions.addAll(
-                        BundleViewModel.load(tangle, HashFactory.BUNDLE.create(bundle))
-                                .getHashes());
-            }
-            foundTransactions.addAll(bundlesTransactions);
-            containsKey = true;
+            criteria.add(queryEngine.loadIndex(Bundle.class, toHashes(bundles, HashFactory.BUNDLE)));
         }
 
-        final Set<Hash> addressesTransactions = new HashSet<>();
         if (request.containsKey("addresses")) {
             final Set<String> addresses = getParameterAsSet(request,"addresses",HASH_SIZE);
-            for (final String address : addresses) {
-                addressesTransactions.addAll(
-                        AddressViewModel.load(tangle, HashFactory.ADDRESS.create(address))
-                                .getHashes());
-            }
-            foundTransactions.addAll(addressesTransactions);
-            containsKey = true;
+            criteria.add(queryEngine.loadIndex(Address.class, toHashes(addresses, HashFactory.ADDRESS)));
         }
 
-        final Set<Hash> tagsTransactions = new HashSet<>();
         if (request.containsKey("tags")) {
             final Set<String> tags = getParameterAsSet(request,"tags",0);
-            for (String tag : tags) {
-                tagsTransactions.addAll(
-                        TagViewModel.load(tangle, HashFactory.TAG.create(tag))
-                                .getHashes());
-            }
+            Set<Hash> tagsTransactions = queryEngine.loadIndex(Tag.class, toHashes(tags, HashFactory.TAG));
             if (tagsTransactions.isEmpty()) {
-                for (String tag : tags) {
-                    tagsTransactions.addAll(
-                            TagViewModel.loadBundleNonce(tangle, HashFactory.BUNDLENONCE.create(tag))
-                                    .getHashes());
-                }
+                tagsTransactions = queryEngine.loadIndex(BundleNonce.class, toHashes(tags, HashFactory.BUNDLENONCE));
             }
-            foundTransactions.addAll(tagsTransactions);
-            containsKey = true;
+            criteria.add(tagsTransactions);
         }
 
-        final Set<Hash> approveeTransactions = new HashSet<>();
-
         if (request.containsKey("approvees")) {
             final Set<String> approvees = getParameterAsSet(request,"approvees",HASH_SIZE);
-            for (final String approvee : approvees) {
-                approveeTransactions.addAll(
-                        TransactionViewModel.fromHash(tangle, HashFactory.TRANSACTION.create(approvee))
-                                .getApprovers(tangle)
-                                .getHashes());
-            }
-            foundTransactions.addAll(approveeTransactions);
-            containsKey = true;
+            criteria.add(queryEngine.loadIndex(Approvee.class, toHashes(approvees, HashFactory.TRANSACTION)));
         }
 
-        if (!containsKey) {
+        if (criteria.isEmpty()) {
             throw new ValidationException(INVALID_PARAMS);
         }
 
         //Using multiple of these input fields returns the intersection of the values.
-        if (request.containsKey("bundles")) {
-            foundTransactions.retainAll(bundlesTransactions);
-        }
-        if (request.containsKey("addresses")) {
-            foundTransactions.retainAll(addressesTransactions);
-        }
-        if (request.containsKey("tags")) {
-            foundTransactions.retainAll(tagsTransactions);
-        }
-        if (request.containsKey("approvees")) {
-            foundTransactions.retainAll(approveeTransactions);
-        }
-        if (foundTransactions.size() > maxFindTxs){
+        final Set<Hash> foundTransactions = TransactionQueryEngine.intersect(criteria, maxFindTxs);
+        if (foundTransactions == null){
             return ErrorResponse.create(OVER_MAX_ERROR_MESSAGE);
         }
 
@@ -1021,6 +1089,19 @@ public class API {
         return FindTransactionsResponse.create(elements);
     }
 
+    /**
+     * Converts the given hex strings into hashes of the type that is created by the given factory.
+     *
+     * @param values the hex strings that shall be converted
+     * @param factory the factory that creates the hashes
+     * @return the list of hashes
+     */
+    private static List<Hash> toHashes(Collection<String> values, HashFactory factory) {
+        return values.stream()
+                .map(factory::create)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Runs {@link #getParameterAsList(Map, String, int)} and transforms it into a {@link Set}.
      *
@@ -1081,20 +1162,16 @@ public class API {
                 .collect(Collectors.toCollection(LinkedList::new));
 
         final Map<Hash, Long> balances = new HashMap<>();
-        snapshotProvider.getLatestSnapshot().lockRead();
-        final int index = snapshotProvider.getLatestSnapshot().getIndex();
-
-        try {
-            // Get the balance for each address at the last snapshot
-            for (final Hash address : addressList) {
-                Long value = snapshotProvider.getLatestSnapshot().getBalance(address);
-                if (value == null) {
-                    value = 0L;
-                }
-                balances.put(address, value);
+        final Snapshot latestSnapshot = snapshotProvider.getLatestSnapshot().view();
+        final int index = latestSnapshot.getIndex();
+
+        // Get the balance for each address at the last snapshot
+        for (final Hash address : addressList) {
+            Long value = latestSnapshot.getBalance(address);
+            if (value == null) {
+                value = 0L;
             }
-        } finally {
-            snapshotProvider.getLatestSnapshot().unlockRead();
+            balances.put(address, value);
         }
 
         final List<String> elements = addressList.stream()
@@ -1104,43 +1181,6 @@ public class API {
         return GetBalancesResponse.create(elements, index);
     }
 
-    /**
-     * Can be 0 or more, and is set to 0 every 100 requests.
-     * Each increase indicates another 2 tips sent.
-     *
-     * @return The current amount of times this node has done proof of work.
-     *         Doesn't distinguish between remote and local proof of work.
-     */
-    public static int getCounterPoW() {
-        return counter_PoW;
-    }
-
-    /**
-     * Increases the amount of times this node has done proof of work by one.
-     */
-    public static void incCounterPoW() {
-        API.counter_PoW++;
-    }
-
-    /**
-     * Can be 0 or more, and is set to 0 every 100 requests.
-     *
-     * @return The current amount of time spent on doing proof of work in milliseconds.
-     *         Doesn't distinguish between remote and local proof of work.
-     */
-    public static long getEllapsedTimePoW() {
-        return ellapsedTime_PoW;
-    }
-
-    /**
-     * Increases the current amount of time spent on doing proof of work.
-     *
-     * @param ellapsedTime the time to add, in milliseconds.
-     */
-    public static void incEllapsedTimePoW(long ellapsedTime) {
-        ellapsedTime_PoW += ellapsedTime;
-    }
-
     /**
      * <p>
      *     Prepares the specified transactions (bytes) for attachment to the Tangle by doing Proof of Work.
@@ -1173,72 +1213,50 @@ public class API {
      * @return The list of transactions in bytes, ready to be broadcast to the network.
      **/
 
-    public synchronized List<String> attachToTangleStatement(final Hash trunkTransaction, final Hash branchTransaction, int minWeightMagnitude, final List<String> txs) {
-        final List<TransactionViewModel> transactionViewModels = new LinkedList<>();
-        Hash prevTransaction = null;
-        miner = new GreedyMiner();
+    public List<String> attachToTangleStatement(final Hash trunkTransaction, final Hash branchTransaction, int minWeightMagnitude, final List<String> txs) {
+        try {
+            return awaitPowJob(submitPowJob(PowService.LOCAL_CLIENT, trunkTransaction, branchTransaction,
+                    minWeightMagnitude, txs));
+        } catch (PowException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
 
-        byte[] txBytes = new byte[BYTES_SIZE];
+    /**
+     * Queues the proof of work of the given transactions, see {@link #attachToTangleStatement}.
+     *
+     * @param client the client that requested the proof of work
+     * @return the queued job
+     * @throws PowException if the client has too many jobs or the transactions are invalid
+     */
+    private PowJob submitPowJob(String client, Hash trunkTransaction, Hash branchTransaction, int minWeightMagnitude,
+                                List<String> txs) throws PowException {
 
         // in case remote attachToTangle is enabled and current test magnitude is exceeded.
         minWeightMagnitude = Math.min(minWeightMagnitude, 2);
 
-        for (final String tx : txs) {
-            long startTime = System.nanoTime();
-            long timestamp = System.currentTimeMillis();
-            try {
-                byte[] txHash = Hex.decode(tx);
-                System.arraycopy(txHash, 0, txBytes, 0, txHash.length);
-                //branch and trunk
-                System.arraycopy((prevTransaction == null ? trunkTransaction : prevTransaction).bytes(), 0,
-                        txBytes, TransactionViewModel.TRUNK_TRANSACTION_OFFSET,
-                        TransactionViewModel.TRUNK_TRANSACTION_SIZE);
-                System.arraycopy((prevTransaction == null ? branchTransaction : trunkTransaction).bytes(), 0,
-                        txBytes, TransactionViewModel.BRANCH_TRANSACTION_OFFSET,
-                        TransactionViewModel.BRANCH_TRANSACTION_SIZE);
-
-                //attachment fields: tag and timestamps
-                //tag - copy the obsolete tag to the attachment tag field only if tag isn't set.
-
-                if(IntStream.range(TransactionViewModel.TAG_OFFSET, TransactionViewModel.TAG_OFFSET + TransactionViewModel.TAG_SIZE).allMatch(idx -> txBytes[idx] == ((byte) 0))) {
-                    System.arraycopy(txBytes, TransactionViewModel.BUNDLE_NONCE_OFFSET, txBytes, TransactionViewModel.TAG_OFFSET, TransactionViewModel.TAG_SIZE);
-                }
-                System.arraycopy(Serializer.serialize(timestamp),0, txBytes,TransactionViewModel.ATTACHMENT_TIMESTAMP_OFFSET,
-                        TransactionViewModel.ATTACHMENT_TIMESTAMP_SIZE);
-                System.arraycopy(Serializer.serialize(0L),0,txBytes, TransactionViewModel.ATTACHMENT_TIMESTAMP_LOWER_BOUND_OFFSET,
-                        TransactionViewModel.ATTACHMENT_TIMESTAMP_LOWER_BOUND_SIZE);
-                System.arraycopy(Serializer.serialize(MAX_TIMESTAMP_VALUE),0,txBytes,TransactionViewModel.ATTACHMENT_TIMESTAMP_UPPER_BOUND_OFFSET,
-                        TransactionViewModel.ATTACHMENT_TIMESTAMP_UPPER_BOUND_SIZE);
-
-                if (!miner.mine(txBytes, minWeightMagnitude, 4)) {
-                    transactionViewModels.clear();
-                    break;
-                }
-
-                //validate PoW - throws exception if invalid
-                final TransactionViewModel transactionViewModel = transactionValidator.validateBytes(txBytes, transactionValidator.getMinWeightMagnitude());
+        return powService.submit(client, trunkTransaction, branchTransaction, minWeightMagnitude, txs);
+    }
 
-                transactionViewModels.add(transactionViewModel);
-                prevTransaction = transactionViewModel.getHash();
-            } finally {
-                API.incEllapsedTimePoW(System.nanoTime() - startTime);
-                API.incCounterPoW();
-                if ( ( API.getCounterPoW() % 100) == 0 ) {
-                    String sb = "Last 100 PoW consumed " +
-                            API.getEllapsedTimePoW() / 1000000000L +
-                            " seconds processing time.";
-                    log.info(sb);
-                    counter_PoW = 0;
-                    ellapsedTime_PoW = 0L;
-                }
+    /**
+     * Waits for a proof of work job to finish.
+     *
+     * @param job the job
+     * @return the attached transactions or an empty list if the job was cancelled
+     */
+    private List<String> awaitPowJob(PowJob job) {
+        try {
+            return job.getResult().get();
+        } catch (InterruptedException e) {
+            job.cancel();
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new IllegalStateException(e.getCause());
         }
-
-        final List<String> elements = new LinkedList<>();
-        for (int i = transactionViewModels.size(); i-- > 0; ) {
-            elements.add(Hex.toHexString(transactionViewModels.get(i).getBytes()));
-        }
-        return elements;
     }
 
     /**
@@ -1295,6 +1313,23 @@ public class API {
         return result;
     }
 
+    /**
+     * Transforms an object parameter into a String.
+     *
+     * @param request A map of all request parameters
+     * @param paramName The parameter we want to get as a String.
+     * @return The String value of this parameter
+     * @throws ValidationException If the requested parameter does not exist or is not a String
+     */
+    private String getParameterAsString(Map<String, Object> request, String paramName) throws ValidationException {
+        validateParamExists(request, paramName);
+        Object result = request.get(paramName);
+        if (!(result instanceof String)) {
+            throw new ValidationException("Invalid " + paramName + " input");
+        }
+        return (String) result;
+    }
+
     /**
      * Transforms an object parameter into a String.
      *
@@ -1392,6 +1427,8 @@ public class API {
         if (connector != null) {
             connector.stop();
         }
+        queryEngine.shutdown();
+        powService.shutdown();
     }
 
     /**
@@ -1594,25 +1631,21 @@ public class API {
     private List<Hash> getConsistentTips() throws Exception {
         List<Hash> confirmedTips = new LinkedList<>();
 
-        snapshotProvider.getLatestSnapshot().lockRead();
-        try {
-            WalkValidatorImpl walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, configuration);
-            for (Hash transaction : tipsViewModel.getSortedSolidTips()) {
-                TransactionViewModel txVM = TransactionViewModel.fromHash(tangle, transaction);
-                if (txVM.getType() != TransactionViewModel.PREFILLED_SLOT &&
-                        txVM.getCurrentIndex() == 0 &&
-                        txVM.isSolid() &&
-                        BundleValidator.validate(tangle, snapshotProvider.getInitialSnapshot(), txVM.getHash()).size() != 0) {
-                    if (walkValidator.isValid(transaction)) {
-                        confirmedTips.add(transaction);
-                    } else {
-                        log.warn("Inconsistent transaction has been removed from tips: " + transaction.toString());
-                        tipsViewModel.removeTipHash(transaction);
-                    }
+        WalkValidatorImpl walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService,
+                configuration, snapshotProvider.getLatestSnapshot().view());
+        for (Hash transaction : tipsViewModel.getSortedSolidTips()) {
+            TransactionViewModel txVM = TransactionViewModel.fromHash(tangle, transaction);
+            if (txVM.getType() != TransactionViewModel.PREFILLED_SLOT &&
+                    txVM.getCurrentIndex() == 0 &&
+                    txVM.isSolid() &&
+                    BundleValidator.validate(tangle, snapshotProvider.getInitialSnapshot(), txVM.getHash()).size() != 0) {
+                if (walkValidator.isValid(transaction)) {
+                    confirmedTips.add(transaction);
+                } else {
+                    log.warn("Inconsistent transaction has been removed from tips: " + transaction.toString());
+                    tipsViewModel.removeTipHash(transaction);
                 }
             }
-        } finally {
-            snapshotProvider.getLatestSnapshot().unlockRead();
         }
         return confirmedTips;
     }
@@ -1660,12 +1693,27 @@ public class API {
             final int minWeightMagnitude = getParameterAsInt(request,"minWeightMagnitude");
 
             final List<String> txString = getParameterAsList(request,"txs", BYTES_SIZE);
+            final boolean async = Boolean.TRUE.equals(request.get("async"));
 
-            List<String> elements = attachToTangleStatement(trunkTransaction, branchTransaction, minWeightMagnitude, txString);
-            return AttachToTangleResponse.create(elements);
+            PowJob job;
+            try {
+                job = submitPowJob(String.valueOf(request.get(CLIENT_ADDRESS)), trunkTransaction, branchTransaction,
+                        minWeightMagnitude, txString);
+            } catch (PowException e) {
+                return ErrorResponse.create(e.getMessage());
+            }
+
+            if (async) {
+                return AttachToTangleResponse.create(job);
+            }
+            return AttachToTangleResponse.create(awaitPowJob(job));
         };
     }
 
+    private Function<Map<String, Object>, AbstractResponse> getAttachToTangleStatus() {
+        return request -> getAttachToTangleStatusStatement(getParameterAsString(request, "jobId"));
+    }
+
     private Function<Map<String, Object>, AbstractResponse>  broadcastTransactions() {
         return request -> {
             final List<String> txString = getParameterAsList(request,"txs", BYTES_SIZE);
@@ -1764,7 +1812,8 @@ public class API {
     }
 
     private Function<Map<String, Object>, AbstractResponse> interruptAttachingToTangle() {
-        return request -> interruptAttachingToTangleStatement();
+        return request -> interruptAttachingToTangleStatement(
+                request.containsKey("jobId") ? getParameterAsString(request, "jobId") : null);
     }
 
     private Function<Map<String, Object>, AbstractResponse> removeNeighbors() {
@@ -17,6 +17,11 @@ public enum ApiCommand {
      */
     ATTACH_TO_TANGLE("attachToTangle"),
 
+    /**
+     * Get the status of an asynchronous attachToTangle job
+     */
+    GET_ATTACH_TO_TANGLE_STATUS("getAttachToTangleStatus"),
+
     /**
      * Broadcast transactions to the tangle
      */
@@ -6,9 +6,14 @@ import net.helix.pendulum.controllers.TipsViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
+import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 public class TipsSolidifier {
 
     private static final int RESCAN_TX_TO_REQUEST_INTERVAL = 750;
@@ -21,8 +26,9 @@ public class TipsSolidifier {
     private final TransactionValidator transactionValidator;
     private final SolidificationConfig config;
 
-    private boolean shuttingDown = false;
-    private Thread solidityRescanHandle;
+    private final SilentScheduledExecutorService executorService = new DedicatedScheduledExecutorService(
+            "Tip Solidity Rescan", log);
+    private long lastTime = 0;
 
 
     public TipsSolidifier(final Tangle tangle,
@@ -40,34 +46,27 @@ public class TipsSolidifier {
             return;
         }
 
-        solidityRescanHandle = new Thread(() -> {
-
-            long lastTime = 0;
-            while (!shuttingDown) {
-                try {
-                    boolean hasMore = true;
-                    for (int i = 0; (i < BATCH_SIZE) && hasMore; i++) {
-                        hasMore = scanTipsForSolidity();
-                    }
-                    if (log.isDebugEnabled()) {
-                        long now = System.currentTimeMillis();
-                        if ((now - lastTime) > LOG_DELAY) {
-                            lastTime = now;
-                            log.debug("#Solid/NonSolid: {}/{}", tipsViewModel.solidSize(), tipsViewModel.nonSolidSize());
-                            tangle.publish("solid_nonSolid = %s %s", tipsViewModel.solidSize(), tipsViewModel.nonSolidSize());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Error during solidity scan : {}", e);
-                }
-                try {
-                    Thread.sleep(RESCAN_TX_TO_REQUEST_INTERVAL);
-                } catch (InterruptedException e) {
-                    log.error("Solidity rescan interrupted.");
+        int interval = ExecutorRegistry.get().getInterval("tip-solidifier", RESCAN_TX_TO_REQUEST_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::solidityRescanThread, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void solidityRescanThread() {
+        try {
+            boolean hasMore = true;
+            for (int i = 0; (i < BATCH_SIZE) && hasMore; i++) {
+                hasMore = scanTipsForSolidity();
+            }
+            if (log.isDebugEnabled()) {
+                long now = System.currentTimeMillis();
+                if ((now - lastTime) > LOG_DELAY) {
+                    lastTime = now;
+                    log.debug("#Solid/NonSolid: {}/{}", tipsViewModel.solidSize(), tipsViewModel.nonSolidSize());
+                    tangle.publish("solid_nonSolid = %s %s", tipsViewModel.solidSize(), tipsViewModel.nonSolidSize());
                 }
             }
-        }, "Tip Solidity Rescan");
-        solidityRescanHandle.start();
+        } catch (Exception e) {
+            log.error("Error during solidity scan : {}", e);
+        }
     }
 
     /**
@@ -121,15 +120,7 @@ public class TipsSolidifier {
             return;
         }
 
-        shuttingDown = true;
-        try {
-            if (solidityRescanHandle != null && solidityRescanHandle.isAlive()) {
-                solidityRescanHandle.join();
-            }
-        } catch (Exception e) {
-            log.error("Error in shutdown", e);
-        }
-
+        executorService.shutdownNow();
     }
 
     private boolean enabled() {
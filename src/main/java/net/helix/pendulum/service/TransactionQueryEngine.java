@@ -0,0 +1,178 @@
+package net.helix.pendulum.service;
+
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.persistables.Hashes;
+import net.helix.pendulum.model.persistables.Transaction;
+import net.helix.pendulum.storage.Indexable;
+import net.helix.pendulum.storage.Persistable;
+import net.helix.pendulum.storage.Tangle;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the read-only lookups of the <tt>findTransactions</tt> and <tt>getTransactionStrings</tt> API calls.<br />
+ * <br />
+ * Instead of loading the index entries and transactions one key at a time, the keys are split into batches that are
+ * read with a single multi-key lookup each. The batches are processed in parallel on a dedicated pool, so large
+ * requests are answered with a few round trips to the database. Transaction bytes are read without their metadata,
+ * since the callers are only interested in the raw data.<br />
+ * <br />
+ * The results of the index lookups are intersected starting with the smallest set and the intersection stops as soon
+ * as it exceeds the requested limit, so oversized queries fail fast without materializing the full result.<br />
+ */
+public class TransactionQueryEngine {
+    /**
+     * Maximum amount of keys that are read with a single batched lookup.<br />
+     */
+    static final int BATCH_SIZE = 256;
+
+    /**
+     * Holds the tangle object which acts as a database interface.<br />
+     */
+    private final Tangle tangle;
+
+    /**
+     * Holds the pool that processes the batched lookups.<br />
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Creates an engine that reads from the given database.<br />
+     *
+     * @param tangle Tangle object which acts as a database interface
+     * @param parallelism amount of threads that are used to process the batched lookups
+     */
+    public TransactionQueryEngine(Tangle tangle, int parallelism) {
+        this.tangle = tangle;
+
+        BasicThreadFactory queryThreads = new BasicThreadFactory.Builder()
+                .namingPattern("api-query-%d")
+                .daemon(true)
+                .build();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), queryThreads);
+    }
+
+    /**
+     * Loads the index entries of the given keys and returns the union of the referenced transactions.<br />
+     *
+     * @param model index model that shall be read (i.e. {@link net.helix.pendulum.model.persistables.Bundle})
+     * @param keys keys of the index entries
+     * @return the hashes of all transactions that are referenced by any of the keys
+     * @throws Exception if anything goes wrong while reading from the database
+     */
+    public Set<Hash> loadIndex(Class<? extends Hashes> model, Collection<? extends Indexable> keys) throws Exception {
+        Set<Hash> result = new HashSet<>();
+        for (Persistable entry : loadBatches(model, new ArrayList<>(keys), true)) {
+            Set<Hash> hashes = ((Hashes) entry).set;
+            if (hashes != null) {
+                result.addAll(hashes);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Intersects the given sets of transactions starting with the smallest one.<br />
+     * <br />
+     * The intersection is aborted as soon as it contains more than <code>limit</code> elements.<br />
+     *
+     * @param sets sets of transaction hashes that shall be intersected
+     * @param limit maximum amount of elements that the result may contain
+     * @return the intersection of all sets or <code>null</code> if it would exceed the limit
+     */
+    public static Set<Hash> intersect(List<Set<Hash>> sets, int limit) {
+        if (sets.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        List<Set<Hash>> orderedSets = new ArrayList<>(sets);
+        orderedSets.sort(Comparator.comparingInt(Set::size));
+
+        Set<Hash> result = new HashSet<>();
+        for (Hash candidate : orderedSets.get(0)) {
+            boolean containedInAll = true;
+            for (int i = 1; containedInAll && i < orderedSets.size(); i++) {
+                containedInAll = orderedSets.get(i).contains(candidate);
+            }
+
+            if (containedInAll && result.add(candidate) && result.size() > limit) {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Loads the raw bytes of the given transactions without reading their metadata.<br />
+     * <br />
+     * Just like {@link TransactionViewModel#getBytes()}, unknown transactions are represented by an empty (zeroed)
+     * byte array.<br />
+     *
+     * @param hashes hashes of the transactions that shall be loaded
+     * @return the bytes of the transactions in the same order as the hashes
+     * @throws Exception if anything goes wrong while reading from the database
+     */
+    public List<byte[]> loadTransactionBytes(List<Hash> hashes) throws Exception {
+        List<byte[]> result = new ArrayList<>(hashes.size());
+        for (Persistable entry : loadBatches(Transaction.class, hashes, false)) {
+            byte[] bytes = ((Transaction) entry).bytes;
+            result.add(bytes == null || bytes.length != TransactionViewModel.SIZE
+                    ? new byte[TransactionViewModel.SIZE] : bytes);
+        }
+
+        return result;
+    }
+
+    /**
+     * Shuts down the pool of the engine.<br />
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reads the entries of the given keys in batches of {@link #BATCH_SIZE} keys that are processed in parallel.<br />
+     *
+     * @param model model that shall be read
+     * @param keys keys of the entries
+     * @param withMetadata true if the metadata of the entries shall be read as well
+     * @return the loaded entries in the same order as the keys
+     * @throws Exception if anything goes wrong while reading from the database
+     */
+    private List<Persistable> loadBatches(Class<?> model, List<? extends Indexable> keys, boolean withMetadata)
+            throws Exception {
+
+        if (keys.size() <= BATCH_SIZE) {
+            return keys.isEmpty() ? Collections.emptyList() : tangle.loadBatch(model, keys, withMetadata);
+        }
+
+        List<Future<List<Persistable>>> batches = new ArrayList<>();
+        for (int start = 0; start < keys.size(); start += BATCH_SIZE) {
+            List<? extends Indexable> batch = keys.subList(start, Math.min(start + BATCH_SIZE, keys.size()));
+            batches.add(executor.submit(() -> tangle.loadBatch(model, batch, withMetadata)));
+        }
+
+        List<Persistable> result = new ArrayList<>(keys.size());
+        try {
+            for (Future<List<Persistable>> batch : batches) {
+                result.addAll(batch.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            for (Future<List<Persistable>> batch : batches) {
+                batch.cancel(true);
+            }
+        }
+
+        return result;
+    }
+}
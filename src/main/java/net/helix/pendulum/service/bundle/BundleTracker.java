@@ -0,0 +1,31 @@
+package net.helix.pendulum.service.bundle;
+
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.controllers.TransactionViewModel;
+
+/**
+ * This interface defines the contract for a manager that assembles the bundles from their arriving transactions.<br />
+ * <br />
+ * It keeps track of the indices of every bundle that have arrived and fires a single
+ * {@link net.helix.pendulum.event.EventType#BUNDLE_COMPLETE} event as soon as all transactions of a bundle are stored,
+ * so the consumers of complete bundles do not have to reload the bundle from the database whenever one of its
+ * transactions arrives.<br />
+ */
+public interface BundleTracker extends Pendulum.Initializable {
+    /**
+     * This method registers a transaction that was stored.<br />
+     * <br />
+     * It fires the {@link net.helix.pendulum.event.EventType#BUNDLE_COMPLETE} event if the transaction completes its
+     * bundle and the bundle is valid. Transactions of bundles that were completed already have no effect.<br />
+     *
+     * @param transaction transaction that was stored
+     */
+    void add(TransactionViewModel transaction);
+
+    /**
+     * This method returns the number of bundles that are tracked (incomplete bundles and recently completed ones).<br />
+     *
+     * @return the number of tracked bundles
+     */
+    int size();
+}
@@ -0,0 +1,349 @@
+package net.helix.pendulum.service.bundle.impl;
+
+import net.helix.pendulum.BundleValidator;
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.EventContext;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.event.EventType;
+import net.helix.pendulum.event.EventUtils;
+import net.helix.pendulum.event.PendulumEventListener;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.service.bundle.BundleTracker;
+import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.PendulumUtils;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.helix.pendulum.controllers.TransactionViewModel.FILLED_SLOT;
+
+/**
+ * This class implements the basic contract of the {@link BundleTracker} interface.<br />
+ * <br />
+ * Every bundle that has an arriving transaction gets an assembly that holds the hashes of its transactions by their
+ * index, so every arriving transaction is processed with a constant amount of work and without accessing the
+ * database. When the last missing index arrives, the assembled bundle is validated and the assembly fires the
+ * {@link EventType#BUNDLE_COMPLETE} event and only keeps a marker, so the transactions of a bundle that was completed
+ * already (e.g. reattachments) do not fire the event again.<br />
+ * <br />
+ * Since anybody can create transactions with the bundle hash of a foreign bundle, the first arrival does not own its
+ * index: a different transaction with the same index releases the index again, and an assembled bundle that is not
+ * valid is dropped, so the bundle can be assembled from the transactions that arrive later.<br />
+ * <br />
+ * The assemblies are dropped when they exceed their maximum age or when the amount of tracked transactions exceeds
+ * its budget (the oldest assemblies are dropped first).<br />
+ */
+public class BundleTrackerImpl implements BundleTracker, PendulumEventListener {
+    /**
+     * Logger for this class allowing us to dump debug and status messages.<br />
+     */
+    private static final Logger log = LoggerFactory.getLogger(BundleTrackerImpl.class);
+
+    /**
+     * Defines the maximum age of an assembly in milliseconds.<br />
+     */
+    private static final int MAX_AGE = PendulumUtils.getSystemProp("bundle.tracker.max.age", 600000);
+
+    /**
+     * Defines the maximum amount of transactions that are tracked (a completed bundle counts as one transaction).<br />
+     */
+    private static final int MAX_TRACKED_TRANSACTIONS =
+            PendulumUtils.getSystemProp("bundle.tracker.max.transactions", 100000);
+
+    /**
+     * Holds the maximum age of an assembly in nanoseconds.<br />
+     */
+    private final long maxAge;
+
+    /**
+     * Holds the maximum amount of transactions that are tracked.<br />
+     */
+    private final int maxTrackedTransactions;
+
+    /**
+     * Holds the assemblies of the tracked bundles indexed by the bundle hash.<br />
+     */
+    private final Map<Hash, Assembly> assemblies = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the assemblies in the order of their creation, which is used to drop the oldest ones first.<br />
+     */
+    private final Deque<Assembly> creationOrder = new ArrayDeque<>();
+
+    /**
+     * Holds the amount of transactions that are tracked.<br />
+     */
+    private final AtomicLong trackedTransactions = new AtomicLong(0);
+
+    private final Counter completedBundles = MetricsRegistry.get().counter("pendulum_bundle_tracker_completed_total",
+            "Bundles whose transactions all arrived");
+
+    private final Counter droppedBundles = MetricsRegistry.get().counter("pendulum_bundle_tracker_dropped_total",
+            "Incomplete bundles that were dropped because of their age or the memory budget");
+
+    private final Counter invalidBundles = MetricsRegistry.get().counter("pendulum_bundle_tracker_invalid_total",
+            "Assembled bundles that were dropped because they were not valid");
+
+    private final Counter conflictingTransactions = MetricsRegistry.get().counter(
+            "pendulum_bundle_tracker_conflicts_total",
+            "Transactions that claimed the index of a bundle that was claimed by a different transaction already");
+
+    /**
+     * Holds the tangle object which acts as a database interface (used to validate the assembled bundles).<br />
+     */
+    private Tangle tangle;
+
+    /**
+     * Holds the snapshot provider which gives us access to the initial snapshot of the ledger.<br />
+     */
+    private SnapshotProvider snapshotProvider;
+
+    public BundleTrackerImpl() {
+        this(MAX_AGE, MAX_TRACKED_TRANSACTIONS);
+    }
+
+    /**
+     * Creates a tracker with the given limits.<br />
+     *
+     * @param maxAge maximum age of an assembly in milliseconds
+     * @param maxTrackedTransactions maximum amount of transactions that are tracked
+     */
+    public BundleTrackerImpl(long maxAge, int maxTrackedTransactions) {
+        this.maxAge = TimeUnit.MILLISECONDS.toNanos(maxAge);
+        this.maxTrackedTransactions = maxTrackedTransactions;
+    }
+
+    @Override
+    public BundleTracker init() {
+        tangle = Pendulum.ServiceRegistry.get().resolve(Tangle.class);
+        snapshotProvider = Pendulum.ServiceRegistry.get().resolve(SnapshotProvider.class);
+
+        MetricsRegistry.get().gauge("pendulum_bundle_tracker_bundles", "Bundles that are tracked",
+                assemblies::size);
+
+        EventManager.get().subscribe(EventType.TX_STORED, this);
+
+        return this;
+    }
+
+    @Override
+    public void handle(EventType type, EventContext ctx) {
+        if (type == EventType.TX_STORED) {
+            TransactionViewModel transaction = EventUtils.getTx(ctx);
+            if (transaction != null) {
+                add(transaction);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * Transactions with an invalid index or of a bundle that exceeds the budget of tracked transactions are
+     * ignored. The event is only fired if the assembled bundle is valid.<br />
+     */
+    @Override
+    public void add(TransactionViewModel transaction) {
+        long lastIndex = transaction.lastIndex();
+        long currentIndex = transaction.getCurrentIndex();
+        if (transaction.getType() != FILLED_SLOT || currentIndex < 0 || currentIndex > lastIndex ||
+                lastIndex >= maxTrackedTransactions) {
+
+            return;
+        }
+
+        Hash bundleHash = transaction.getBundleHash();
+        Assembly assembly = assemblies.get(bundleHash);
+        if (assembly == null) {
+            Assembly createdAssembly = new Assembly(bundleHash, (int) lastIndex + 1);
+            assembly = assemblies.putIfAbsent(bundleHash, createdAssembly);
+            if (assembly == null) {
+                assembly = createdAssembly;
+                track(createdAssembly);
+            }
+        }
+
+        Hash[] transactions = assembly.add(transaction.getHash(), (int) currentIndex, (int) lastIndex + 1);
+        if (transactions != null) {
+            if (!isValid(transactions)) {
+                // the bundle gets assembled again from the transactions that arrive later
+                assemblies.remove(bundleHash, assembly);
+                assembly.drop();
+                invalidBundles.increment();
+
+                return;
+            }
+
+            completedBundles.increment();
+
+            EventManager.get().fire(EventType.BUNDLE_COMPLETE, EventUtils.fromBundle(bundleHash, transactions));
+        }
+    }
+
+    @Override
+    public int size() {
+        return assemblies.size();
+    }
+
+    /**
+     * This method checks if the assembled transactions form a valid bundle.<br />
+     * <br />
+     * The bundle is loaded from the tangle starting at its tail, so the bundle is only valid if the transactions of
+     * the assembly are the ones that are referenced by the tail.<br />
+     *
+     * @param transactions the transaction hashes of the bundle ordered by their index
+     * @return true if the transactions form a valid bundle and false otherwise
+     */
+    //Package Private For Testing
+    boolean isValid(Hash[] transactions) {
+        try {
+            List<List<TransactionViewModel>> bundles = BundleValidator.validate(tangle,
+                    snapshotProvider.getInitialSnapshot(), transactions[0]);
+            if (bundles.isEmpty() || bundles.get(0).size() != transactions.length) {
+                return false;
+            }
+
+            // the validated transactions are ordered by their index as well
+            int index = 0;
+            for (TransactionViewModel transaction : bundles.get(0)) {
+                if (!transactions[index++].equals(transaction.getHash())) {
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (Exception e) {
+            log.error("error while validating the bundle of " + transactions[0], e);
+
+            return false;
+        }
+    }
+
+    /**
+     * This method registers a new assembly and drops the oldest assemblies if they exceed their maximum age or the
+     * budget of tracked transactions.<br />
+     *
+     * @param assembly assembly that was created
+     */
+    private void track(Assembly assembly) {
+        // the transactions are counted when the assembly wins the race for its bundle (a completion that happened in
+        // the meantime already deducted them)
+        trackedTransactions.addAndGet(assembly.size);
+
+        synchronized (creationOrder) {
+            creationOrder.addLast(assembly);
+
+            long now = System.nanoTime();
+            Assembly oldest;
+            while ((oldest = creationOrder.peekFirst()) != null && oldest != assembly &&
+                    (now - oldest.createdAt > maxAge || trackedTransactions.get() > maxTrackedTransactions)) {
+
+                creationOrder.pollFirst();
+                assemblies.remove(oldest.bundleHash, oldest);
+                if (oldest.drop()) {
+                    droppedBundles.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * The transactions of a bundle that have arrived so far.<br />
+     */
+    private class Assembly {
+        private final Hash bundleHash;
+
+        private final long createdAt = System.nanoTime();
+
+        private final int size;
+
+        /**
+         * Holds the transaction hashes by their index ({@code null} if the bundle was completed or dropped).<br />
+         */
+        private Hash[] transactions;
+
+        private int arrivedTransactions = 0;
+
+        /**
+         * Holds the amount of transactions that this assembly counts towards the budget.<br />
+         */
+        private int weight;
+
+        private Assembly(Hash bundleHash, int size) {
+            this.bundleHash = bundleHash;
+            this.size = size;
+
+            transactions = new Hash[size];
+            weight = size;
+        }
+
+        /**
+         * This method registers the transaction at the given index.<br />
+         * <br />
+         * If a different transaction was registered at the index already, the index is released again, so neither of
+         * the conflicting transactions can block the bundle.<br />
+         *
+         * @param hash hash of the transaction
+         * @param index index of the transaction in the bundle
+         * @param bundleSize size of the bundle according to the transaction
+         * @return the transaction hashes ordered by their index if this transaction completed the bundle or
+         *         {@code null} otherwise
+         */
+        private synchronized Hash[] add(Hash hash, int index, int bundleSize) {
+            if (transactions == null || bundleSize != size) {
+                return null;
+            }
+            if (transactions[index] != null) {
+                if (!transactions[index].equals(hash)) {
+                    conflictingTransactions.increment();
+
+                    transactions[index] = null;
+                    arrivedTransactions--;
+                }
+
+                return null;
+            }
+
+            transactions[index] = hash;
+            if (++arrivedTransactions < transactions.length) {
+                return null;
+            }
+
+            Hash[] completeBundle = transactions;
+            transactions = null;
+            setWeight(1);
+
+            return completeBundle;
+        }
+
+        /**
+         * This method releases the tracked transactions of the assembly.<br />
+         *
+         * @return true if the bundle was incomplete
+         */
+        private synchronized boolean drop() {
+            boolean incomplete = transactions != null;
+
+            transactions = null;
+            setWeight(0);
+
+            return incomplete;
+        }
+
+        private void setWeight(int newWeight) {
+            trackedTransactions.addAndGet(newWeight - weight);
+            weight = newWeight;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.helix.pendulum.service.dto;
 
 import net.helix.pendulum.service.API;
+import net.helix.pendulum.service.pow.PowJob;
 
 import java.util.List;
 
@@ -19,6 +20,21 @@ public class AttachToTangleResponse extends AbstractResponse {
 	 */
 	private List<String> txs;
 
+	/**
+	 * The id of the job, if the proof of work is done asynchronously.
+	 */
+	private String jobId;
+
+	/**
+	 * The status of the job, if the proof of work is done asynchronously.
+	 */
+	private String status;
+
+	/**
+	 * The number of transactions whose proof of work is done, if the proof of work is done asynchronously.
+	 */
+	private Integer minedTransactions;
+
 	/**
 	 * Creates a new {@link AttachToTangleResponse}
 	 * @param elements {@link #transactionStrings}
@@ -30,6 +46,22 @@ public class AttachToTangleResponse extends AbstractResponse {
 		return res;
 	}
 
+	/**
+	 * Creates a new {@link AttachToTangleResponse} that reports the progress of an asynchronous job
+	 * @param job the job
+	 * @return an {@link AttachToTangleResponse} filled with the status of the job and the txs once it is completed
+	 */
+	public static AbstractResponse create(PowJob job) {
+		AttachToTangleResponse res = new AttachToTangleResponse();
+		res.jobId = job.getId();
+		res.status = job.getStatus().name();
+		res.minedTransactions = job.getMinedTransactions();
+		if (job.getStatus() == PowJob.Status.COMPLETED) {
+			res.txs = job.getResult().join();
+		}
+		return res;
+	}
+
 	/**
 	 *
 	 * @return {@link #txs}
@@ -37,4 +69,20 @@ public class AttachToTangleResponse extends AbstractResponse {
 	public List<String> getTransactionStrings() {
 		return txs;
 	}
+
+	/**
+	 *
+	 * @return {@link #jobId}
+	 */
+	public String getJobId() {
+		return jobId;
+	}
+
+	/**
+	 *
+	 * @return {@link #status}
+	 */
+	public String getStatus() {
+		return status;
+	}
 }
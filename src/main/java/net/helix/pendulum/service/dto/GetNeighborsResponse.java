@@ -24,6 +24,8 @@ public class GetNeighborsResponse extends AbstractResponse {
      *     <li>numberOfInvalidTransactions</li>
      *     <li>numberOfSentTransactions</li>
      *     <li>numberOfStaleTransactions</li>
+     *     <li>numberOfDroppedPackets</li>
+     *     <li>outboundQueueSize</li>
      * </ol>
      * @see {@link net.helix.pendulum.service.dto.GetNeighborsResponse.Neighbor}
      */
@@ -66,7 +68,9 @@ public class GetNeighborsResponse extends AbstractResponse {
                 numberOfNewTransactions,
                 numberOfInvalidTransactions,
                 numberOfStaleTransactions,
-                numberOfSentTransactions;
+                numberOfSentTransactions,
+                numberOfDroppedPackets;
+        public int outboundQueueSize;
         public String connectionType;
 
         /**
@@ -125,6 +129,24 @@ public class GetNeighborsResponse extends AbstractResponse {
             return numberOfSentTransactions;
         }
 
+        /**
+         * Outgoing packets that were dropped because the outbound queue of your neighbor was full
+         *
+         * @return the number
+         */
+        public long getNumberOfDroppedPackets() {
+            return numberOfDroppedPackets;
+        }
+
+        /**
+         * Outgoing packets that are waiting to be sent to your neighbor
+         *
+         * @return the number
+         */
+        public int getOutboundQueueSize() {
+            return outboundQueueSize;
+        }
+
         /**
          * The method type your neighbor is using to connect (TCP / UDP)
          *
@@ -149,6 +171,8 @@ public class GetNeighborsResponse extends AbstractResponse {
             ne.numberOfNewTransactions = n.getNumberOfNewTransactions();
             ne.numberOfRandomTransactionRequests = n.getNumberOfRandomTransactionRequests();
             ne.numberOfSentTransactions = n.getNumberOfSentTransactions();
+            ne.numberOfDroppedPackets = n.getNumberOfDroppedPackets();
+            ne.outboundQueueSize = n.getOutboundQueueSize();
             ne.connectionType = n.connectionType();
             return ne;
         }
@@ -8,6 +8,7 @@ import net.helix.pendulum.controllers.RoundViewModel;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.service.milestone.MilestoneService;
+import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.snapshot.SnapshotService;
 import net.helix.pendulum.storage.Tangle;
@@ -60,6 +61,19 @@ public interface LedgerService {
      */
     boolean tipsConsistent(List<Hash> hashes) throws LedgerException;
 
+    /**
+     * Checks the consistency of the combined balance changes of the given tips relative to the given snapshot.<br />
+     * <br />
+     * This allows callers to perform a series of checks against the same immutable {@link Snapshot#view()} without
+     * holding a lock on the latest snapshot while new milestones are being applied.<br />
+     *
+     * @param hashes a list of hashes that reference the chosen tips
+     * @param latestSnapshot the (view of the) latest snapshot that the balance changes are applied to
+     * @return {@code true} if the tips are consistent and {@code false} otherwise
+     * @throws LedgerException if anything unexpected happens while checking the consistency of the tips
+     */
+    boolean tipsConsistent(List<Hash> hashes, Snapshot latestSnapshot) throws LedgerException;
+
     /**
      * Checks if the balance changes of the transactions that are referenced by the given tip are consistent.<br />
      * <br />
@@ -79,6 +93,24 @@ public interface LedgerService {
      */
     boolean isBalanceDiffConsistent(Set<Hash> approvedHashes, Map<Hash, Long> diff, Hash tip) throws LedgerException;
 
+    /**
+     * Checks if the balance changes of the transactions that are referenced by the given tip are consistent relative to
+     * the given snapshot.<br />
+     * <br />
+     * It works like {@link #isBalanceDiffConsistent(Set, Map, Hash)} but uses the passed in (view of the) latest
+     * snapshot instead of the current one, so consecutive checks see the same ledger state.<br />
+     *
+     * @param approvedHashes a set of transaction hashes that shall be considered to be approved already (and that
+     *                       consequently shall be excluded from the calculation)
+     * @param diff a map of balances associated to their address that shall be used as a basis for the balance
+     * @param tip the tip that will have its approvees checked
+     * @param latestSnapshot the (view of the) latest snapshot that the balance changes are applied to
+     * @return {@code true} if the balance changes are consistent and {@code false} otherwise
+     * @throws LedgerException if anything unexpected happens while determining the consistency
+     */
+    boolean isBalanceDiffConsistent(Set<Hash> approvedHashes, Map<Hash, Long> diff, Hash tip, Snapshot latestSnapshot)
+            throws LedgerException;
+
     /**
      * Generates the accumulated balance changes of the transactions that are directly or indirectly referenced by the
      * given transaction relative to the referenced milestone.<br />
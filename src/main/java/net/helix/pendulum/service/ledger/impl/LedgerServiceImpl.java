@@ -12,11 +12,13 @@ import net.helix.pendulum.network.Node;
 import net.helix.pendulum.service.ledger.LedgerException;
 import net.helix.pendulum.service.ledger.LedgerService;
 import net.helix.pendulum.service.milestone.MilestoneService;
+import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotException;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.snapshot.SnapshotService;
 import net.helix.pendulum.service.snapshot.impl.SnapshotStateDiffImpl;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.collections.impl.CompactHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -115,10 +117,15 @@ public class LedgerServiceImpl implements LedgerService {
 
     @Override
     public boolean tipsConsistent(List<Hash> tips) throws LedgerException {
+        return tipsConsistent(tips, snapshotProvider.getLatestSnapshot().view());
+    }
+
+    @Override
+    public boolean tipsConsistent(List<Hash> tips, Snapshot latestSnapshot) throws LedgerException {
         Set<Hash> visitedHashes = new HashSet<>();
         Map<Hash, Long> diff = new HashMap<>();
         for (Hash tip : tips) {
-            if (!isBalanceDiffConsistent(visitedHashes, diff, tip)) {
+            if (!isBalanceDiffConsistent(visitedHashes, diff, tip, latestSnapshot)) {
                 if (log.isTraceEnabled()) {
                     log.trace("Tips with inconsistent balances: {}",
                             tips.stream().map(Object::toString)
@@ -135,6 +142,13 @@ public class LedgerServiceImpl implements LedgerService {
     public boolean isBalanceDiffConsistent(Set<Hash> approvedHashes, Map<Hash, Long> diff, Hash tip) throws
             LedgerException {
 
+        return isBalanceDiffConsistent(approvedHashes, diff, tip, snapshotProvider.getLatestSnapshot().view());
+    }
+
+    @Override
+    public boolean isBalanceDiffConsistent(Set<Hash> approvedHashes, Map<Hash, Long> diff, Hash tip,
+                                           Snapshot latestSnapshot) throws LedgerException {
+
         try {
             if (!TransactionViewModel.fromHash(tangle, tip).isSolid()) {
                 log.debug("Tip is not solid: {}", tip.toString());
@@ -149,8 +163,7 @@ public class LedgerServiceImpl implements LedgerService {
         }
         Set<Hash> visitedHashes = new HashSet<>(approvedHashes);
         Set<Hash> startHashes = new HashSet<>(Collections.singleton(tip));
-        Map<Hash, Long> currentState = generateBalanceDiff(visitedHashes, startHashes,
-                snapshotProvider.getLatestSnapshot().getIndex());
+        Map<Hash, Long> currentState = generateBalanceDiff(visitedHashes, startHashes, latestSnapshot.getIndex());
         if (currentState == null) {
             return false;
         }
@@ -159,7 +172,7 @@ public class LedgerServiceImpl implements LedgerService {
                 currentState.putIfAbsent(key, value);
             }
         });
-        boolean isConsistent = snapshotProvider.getLatestSnapshot().patchedState(new SnapshotStateDiffImpl(currentState)).isConsistent();
+        boolean isConsistent = latestSnapshot.patchedState(new SnapshotStateDiffImpl(currentState)).isConsistent();
         if (isConsistent) {
             diff.putAll(currentState);
             approvedHashes.addAll(visitedHashes);
@@ -172,7 +185,7 @@ public class LedgerServiceImpl implements LedgerService {
             throws LedgerException {
 
         Map<Hash, Long> state = new HashMap<>();
-        Set<Hash> countedTx = new HashSet<>();
+        Set<Hash> countedTx = new CompactHashSet();
 
         snapshotProvider.getInitialSnapshot().getSolidEntryPoints().keySet().forEach(solidEntryPointHash -> {
             visitedTransactions.add(solidEntryPointHash);
@@ -295,34 +308,31 @@ public class LedgerServiceImpl implements LedgerService {
                     milestoneService.resetCorruptedRound(round.index());
                 }*/
 
-            snapshotProvider.getLatestSnapshot().lockRead();
+            // we work on an immutable view, so API calls and tip selection are not blocked while we traverse the cone
+            Snapshot latestSnapshot = snapshotProvider.getLatestSnapshot().view();
             boolean successfullyProcessed;
-            try {
-                    Set<Hash> confirmedTips = milestoneService.getConfirmedTips(round.index());
-                    //todo remove: System.out.println("round.index(): " + round.index() + ", " + confirmedTips);
-                    Map<Hash, Long> balanceChanges = generateBalanceDiff(new HashSet<>(), confirmedTips == null? new HashSet<>() : confirmedTips,
-                            snapshotProvider.getLatestSnapshot().getIndex() + 1);
-                    successfullyProcessed = balanceChanges != null;
-                if (successfullyProcessed) {
-                    successfullyProcessed = snapshotProvider.getLatestSnapshot().patchedState(
-                            new SnapshotStateDiffImpl(balanceChanges)).isConsistent();
-                    TransactionViewModel.fromHashes(confirmedTips, tangle).forEach(tvm -> {
-                        try {
-                            tvm.setRoundIndex(tvm.getRoundIndex() == 0 ? round.index() : tvm.getRoundIndex());
-                            tvm.update(tangle, snapshotProvider.getInitialSnapshot(), "roundIndex");
-                        } catch (Exception e) {
-                            log.error("Error during transaction round index update: " + tvm.getHash(), e);
-                        }
-                    });
 
-                    milestoneService.updateRoundIndexOfMilestoneTransactions(round.index());
-
-                    if (!balanceChanges.isEmpty()) {
-                        new StateDiffViewModel(balanceChanges, round.index()).store(tangle);
+            Set<Hash> confirmedTips = milestoneService.getConfirmedTips(round.index());
+            Map<Hash, Long> balanceChanges = generateBalanceDiff(new CompactHashSet(), confirmedTips == null? new HashSet<>() : confirmedTips,
+                    latestSnapshot.getIndex() + 1);
+            successfullyProcessed = balanceChanges != null;
+            if (successfullyProcessed) {
+                successfullyProcessed = latestSnapshot.patchedState(
+                        new SnapshotStateDiffImpl(balanceChanges)).isConsistent();
+                TransactionViewModel.fromHashes(confirmedTips, tangle).forEach(tvm -> {
+                    try {
+                        tvm.setRoundIndex(tvm.getRoundIndex() == 0 ? round.index() : tvm.getRoundIndex());
+                        tvm.update(tangle, snapshotProvider.getInitialSnapshot(), "roundIndex");
+                    } catch (Exception e) {
+                        log.error("Error during transaction round index update: " + tvm.getHash(), e);
                     }
+                });
+
+                milestoneService.updateRoundIndexOfMilestoneTransactions(round.index());
+
+                if (!balanceChanges.isEmpty()) {
+                    new StateDiffViewModel(balanceChanges, round.index()).store(tangle);
                 }
-            } finally {
-                snapshotProvider.getLatestSnapshot().unlockRead();
             }
 
             return successfullyProcessed;
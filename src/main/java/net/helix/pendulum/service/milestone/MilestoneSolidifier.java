@@ -4,9 +4,9 @@ import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.model.Hash;
 
 /**
- * This interface defines the contract for a manager that tries to solidify unsolid milestones by incorporating a
- * background worker that periodically checks the solidity of the milestones and issues transaction requests for the
- * missing transactions until the milestones become solid.<br />
+ * This interface defines the contract for a manager that tries to solidify unsolid milestones by tracking the
+ * transactions that are missing in their subtangles and issuing transaction requests for them until the milestones
+ * become solid.<br />
  */
 public interface MilestoneSolidifier extends Pendulum.Initializable {
     /**
@@ -16,14 +16,4 @@ public interface MilestoneSolidifier extends Pendulum.Initializable {
      * @param milestoneIndex index of the milestone that shall be solidified
      */
     void add(Hash milestoneHash, int milestoneIndex);
-
-    /**
-     * This method starts the background worker that asynchronously solidifies the milestones.<br />
-     */
-    void start();
-
-    /**
-     * This method shuts down the background worker that asynchronously solidifies the milestones.<br />
-     */
-    void shutdown();
 }
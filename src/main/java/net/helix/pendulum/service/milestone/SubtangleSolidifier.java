@@ -0,0 +1,46 @@
+package net.helix.pendulum.service.milestone;
+
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.model.Hash;
+
+/**
+ * This interface defines the contract for a manager that solidifies the subtangles of rounds (milestones and validator
+ * candidates), which is shared by the {@link MilestoneSolidifier} and the
+ * {@link net.helix.pendulum.service.validatormanager.CandidateSolidifier}.<br />
+ * <br />
+ * Every subtangle has its own solidification frontier that holds the transactions which are missing in the subtangle.
+ * The frontiers are extended when the missing transactions arrive, so the subtangles do not have to be traversed
+ * over and over again, and the subtangles that are closest to the latest solid milestone are processed and requested
+ * first.<br />
+ */
+public interface SubtangleSolidifier extends Pendulum.Initializable {
+    /**
+     * This method adds a subtangle that shall be solidified.<br />
+     * <br />
+     * Adding a subtangle that is solidified already has no effect.<br />
+     *
+     * @param rootHash hash of the transaction that references the subtangle (e.g. the milestone)
+     * @param roundIndex index of the round that the subtangle belongs to
+     * @param milestone true if the subtangle belongs to a milestone, which is preferred over the validator candidates
+     */
+    void add(Hash rootHash, int roundIndex, boolean milestone);
+
+    /**
+     * This method returns the number of subtangles that are not solid yet.<br />
+     *
+     * @return the number of unsolid subtangles
+     */
+    int size();
+
+    /**
+     * This method starts the background workers that solidify the subtangles.<br />
+     * <br />
+     * Starting the workers multiple times has no effect.<br />
+     */
+    void start();
+
+    /**
+     * This method shuts down the background workers that solidify the subtangles.<br />
+     */
+    void shutdown();
+}
@@ -15,6 +15,7 @@ import net.helix.pendulum.service.utils.RoundIndexUtil;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.log.interval.IntervalLogger;
 import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -125,7 +126,8 @@ public class LatestSolidMilestoneTrackerImpl implements LatestSolidMilestoneTrac
 
     @Override
     public void start() {
-        executorService.silentScheduleWithFixedDelay(this::latestSolidMilestonesTrackerThread, 0, RESCAN_INTERVAL,
+        int interval = ExecutorRegistry.get().getInterval("latest-solid-milestone-tracker", RESCAN_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::latestSolidMilestonesTrackerThread, 0, interval,
                 TimeUnit.MILLISECONDS);
     }
 
@@ -207,7 +209,9 @@ public class LatestSolidMilestoneTrackerImpl implements LatestSolidMilestoneTrac
                     //syncLatestMilestoneTracker(nextRound.index());
                     applyRoundToLedger(nextRound);
                     logChange(currentSolidRoundIndex);
-                    tangle.publish("ctx %s %d", nextRound.getReferencedTransactions(tangle, nextRound.getConfirmedTips(tangle, BasePendulumConfig.Defaults.VALIDATOR_SECURITY)), nextRound.index());
+                    if (tangle.isPublishing("ctx")) {
+                        tangle.publish("ctx %s %d", nextRound.getConfirmedTransactions(tangle, BasePendulumConfig.Defaults.VALIDATOR_SECURITY), nextRound.index());
+                    }
                 }
             }
         } catch (Exception e) {
@@ -2,26 +2,43 @@ package net.helix.pendulum.service.milestone.impl;
 
 import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.crypto.Merkle;
+import net.helix.pendulum.crypto.MerkleKeyfile;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.HashFactory;
 import net.helix.pendulum.service.API;
 import net.helix.pendulum.service.utils.RoundIndexUtil;
 import net.helix.pendulum.service.validatormanager.CandidateTracker;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 public class MilestonePublisher {
 
     private static final Logger log = LoggerFactory.getLogger(MilestonePublisher.class);
     private String keyfile;
     private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * Generates the Merkle tree of the next keyfile in the background, so the key change does not stall the
+     * publisher.
+     */
+    private final ExecutorService keyRotationService = Executors.newSingleThreadExecutor(
+            new BasicThreadFactory.Builder().namingPattern("key-rotation-%d").daemon(true).build());
+
+    /**
+     * Merkle tree of the next keyfile that is generated (or was generated) ahead of time.
+     */
+    private Future<List<List<Hash>>> nextMerkleTree;
+
+    /**
+     * Keyfile index of the Merkle tree that is generated ahead of time.
+     */
+    private int nextMerkleTreeIndex = -1;
     private PendulumConfig config;
     private API api;
     private CandidateTracker candidateTracker;
@@ -73,22 +90,18 @@ public class MilestonePublisher {
     }
 
     private void writeKeyIndex() throws IOException {
-        List<List<Hash>> merkleTree = Merkle.readKeyfile(new File(keyfile));
-        Merkle.createKeyfile(merkleTree, Hex.decode(seed), pubkeyDepth, currentKeyIndex, keyfileIndex, keyfile);
+        MerkleKeyfile.load(keyfile).writeKeyIndex(currentKeyIndex);
     }
 
     private void readKeyfileMetadata() throws IOException {
-        try (BufferedReader br = new BufferedReader(new FileReader(new File(keyfile)))) {
-            String[] fields = br.readLine().split(" ");
-            pubkeyDepth = Integer.parseInt(fields[0]);
-            keyfileIndex = Integer.parseInt(fields[2]);
-            currentKeyIndex = Integer.parseInt(fields[3]);
-            if(seed == null){
-                seed =  fields[1];
-            }
+        MerkleKeyfile merkleKeyfile = MerkleKeyfile.load(keyfile);
+        pubkeyDepth = merkleKeyfile.getPubkeyDepth();
+        keyfileIndex = merkleKeyfile.getKeyfileIndex();
+        currentKeyIndex = merkleKeyfile.getKeyIndex();
+        if(seed == null){
+            seed = merkleKeyfile.getSeed();
         }
-        List<List<Hash>> merkleTree = Merkle.readKeyfile(new File(keyfile));
-        address = HashFactory.ADDRESS.create(merkleTree.get(merkleTree.size() - 1).get(0).bytes());
+        address = merkleKeyfile.getAddress();
     }
 
     private String readSeedFile(String path)  {
@@ -106,7 +119,7 @@ public class MilestonePublisher {
         // generate new keyfile
         int newKeyfileIndex = keyfileIndex + 1;
         log.debug("Generating Keyfile (idx: " + newKeyfileIndex + ")");
-        List<List<Hash>> merkleTree = Merkle.buildMerkleKeyTree(seed, pubkeyDepth, maxKeyIndex * newKeyfileIndex, maxKeyIndex, config.getValidatorSecurity());
+        List<List<Hash>> merkleTree = getMerkleTree(newKeyfileIndex);
         Hash newAddress = HashFactory.ADDRESS.create(merkleTree.get(merkleTree.size()-1).get(0).bytes());
         // send keyChange bundle to register new address
         api.publishKeyChange(address.toString(),  newAddress, mwm, sign, currentKeyIndex, maxKeyIndex);
@@ -114,14 +127,51 @@ public class MilestonePublisher {
         keyfileIndex = newKeyfileIndex;
         address = newAddress;
         currentKeyIndex = maxKeyIndex * keyfileIndex;
-        Merkle.createKeyfile(merkleTree, Hex.decode(seed), pubkeyDepth, 0, keyfileIndex, keyfile);
+        MerkleKeyfile.create(merkleTree, Hex.decode(seed), pubkeyDepth, currentKeyIndex, keyfileIndex, keyfile);
+    }
+
+    /**
+     * Starts generating the Merkle tree of the next keyfile in the background, once half of the keys of the current
+     * keyfile were used.<br />
+     */
+    private void prepareKeyChange() {
+        int newKeyfileIndex = keyfileIndex + 1;
+        if (nextMerkleTreeIndex == newKeyfileIndex || currentKeyIndex < maxKeyIndex * keyfileIndex + maxKeyIndex / 2) {
+            return;
+        }
+
+        log.debug("Generating Keyfile (idx: " + newKeyfileIndex + ") in the background");
+        nextMerkleTreeIndex = newKeyfileIndex;
+        nextMerkleTree = keyRotationService.submit(() -> Merkle.buildMerkleKeyTree(seed, pubkeyDepth,
+                maxKeyIndex * newKeyfileIndex, maxKeyIndex, config.getValidatorSecurity()));
+    }
+
+    /**
+     * Returns the Merkle tree of the given keyfile, which is taken from the background generation if it was started
+     * for this keyfile (or generated right away otherwise).<br />
+     *
+     * @param newKeyfileIndex index of the keyfile
+     * @return the Merkle tree of the keyfile
+     * @throws Exception if the background generation failed or was interrupted
+     */
+    private List<List<Hash>> getMerkleTree(int newKeyfileIndex) throws Exception {
+        if (nextMerkleTreeIndex == newKeyfileIndex) {
+            try {
+                return nextMerkleTree.get();
+            } finally {
+                nextMerkleTree = null;
+                nextMerkleTreeIndex = -1;
+            }
+        }
+
+        return Merkle.buildMerkleKeyTree(seed, pubkeyDepth, maxKeyIndex * newKeyfileIndex, maxKeyIndex,
+                config.getValidatorSecurity());
     }
 
     private void generateKeyfile(String seed) throws Exception {
         log.debug("Generating Keyfile (idx: " + keyfileIndex + ")");
         List<List<Hash>> merkleTree = Merkle.buildMerkleKeyTree(seed, pubkeyDepth, maxKeyIndex * keyfileIndex, maxKeyIndex, config.getValidatorSecurity());
-        Merkle.createKeyfile(merkleTree, Hex.decode(seed), pubkeyDepth, 0, keyfileIndex, keyfile);
-        address = HashFactory.ADDRESS.create(merkleTree.get(merkleTree.size()-1).get(0).bytes());
+        address = MerkleKeyfile.create(merkleTree, Hex.decode(seed), pubkeyDepth, maxKeyIndex * keyfileIndex, keyfileIndex, keyfile).getAddress();
     }
 
     private void sendRegistration(Hash identity, boolean join) throws Exception {
@@ -190,6 +240,9 @@ public class MilestonePublisher {
                 log.trace("Address of milestone to publish = {}", address.toString());
                 api.publishMilestone(address.toString(), mwm, sign, currentKeyIndex, maxKeyIndex);
                 currentKeyIndex += 1;
+                // persist the index right away, so a key is never used twice (even if the node crashes)
+                writeKeyIndex();
+                prepareKeyChange();
             } else {
                 log.debug("Keyfile has expired! The MilestonePublisher is paused until the new address is accepted by the network.");
                 active = false;
@@ -217,5 +270,6 @@ public class MilestonePublisher {
             e.printStackTrace();
         }
         scheduledExecutorService.shutdown();
+        keyRotationService.shutdownNow();
     }
 }
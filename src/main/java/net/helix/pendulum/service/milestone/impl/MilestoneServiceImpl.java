@@ -6,6 +6,7 @@ import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.TransactionValidator;
 import net.helix.pendulum.conf.ConsensusConfig;
 import net.helix.pendulum.conf.PendulumConfig;
+import net.helix.pendulum.controllers.ConfirmationViewModel;
 import net.helix.pendulum.controllers.RoundViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.crypto.Merkle;
@@ -381,6 +382,7 @@ public class MilestoneServiceImpl implements MilestoneService {
     private void updateRoundIndexOfMilestoneTransactions(int correctIndex, int newIndex,
                                                              Set<Hash> processedTransactions) throws MilestoneException {
         Set<Integer> inconsistentMilestones = new HashSet<>();
+        Map<Hash, Integer> updatedTransactions = new HashMap<>();
 
         try {
             // update milestones
@@ -389,6 +391,7 @@ public class MilestoneServiceImpl implements MilestoneService {
                 for (Hash milestoneHash : round.getHashes()) {
                     TransactionViewModel milestoneTx = TransactionViewModel.fromHash(tangle, milestoneHash);
                     updateRoundIndexOfSingleTransaction(milestoneTx, newIndex);
+                    updatedTransactions.put(milestoneHash, milestoneTx.getConfirmations());
                 }
             }
             // update confirmed transactions
@@ -404,6 +407,7 @@ public class MilestoneServiceImpl implements MilestoneService {
                         prepareRoundIndexUpdate(transactionViewModel, correctIndex, newIndex,
                                 inconsistentMilestones, transactionsToUpdate);
                         updateRoundIndexOfSingleTransaction(transactionViewModel, newIndex);
+                        updatedTransactions.put(transactionPointer, transactionViewModel.getConfirmations());
                         if (!transactionsToUpdate.contains(transactionViewModel.getTrunkTransactionHash())) {
                             transactionsToUpdate.offer(transactionViewModel.getTrunkTransactionHash());
                         }
@@ -414,6 +418,12 @@ public class MilestoneServiceImpl implements MilestoneService {
                 }
             }
 
+            // keep the confirmation index in sync with the snapshotIndex of the updated transactions
+            if (newIndex == 0) {
+                ConfirmationViewModel.deleteBatch(tangle, updatedTransactions.keySet());
+            } else {
+                ConfirmationViewModel.storeBatch(tangle, newIndex, updatedTransactions);
+            }
         } catch (Exception e) {
             throw new MilestoneException("error while updating the milestone index", e);
         }
@@ -443,15 +453,20 @@ public class MilestoneServiceImpl implements MilestoneService {
             throw new MilestoneException("error while updating the snapshotIndex of " + transaction, e);
         }
 
-        JsonObject addressTopicJson = new JsonObject();
-        addressTopicJson.addProperty("hash", transaction.getHash().toString());
-        addressTopicJson.addProperty("signature", Hex.toHexString(transaction.getSignature()));
-        addressTopicJson.addProperty("index", index);
+        String addressTopic = transaction.getAddressHash().toString();
+        if (tangle.isPublishing(addressTopic)) {
+            JsonObject addressTopicJson = new JsonObject();
+            addressTopicJson.addProperty("hash", transaction.getHash().toString());
+            addressTopicJson.addProperty("signature", Hex.toHexString(transaction.getSignature()));
+            addressTopicJson.addProperty("index", index);
 
-        tangle.publish("%s %s", transaction.getAddressHash().toString(), addressTopicJson.toString());
-        tangle.publish("sn %d %s %s %s %s %s", index, transaction.getHash().toString(), transaction.getAddressHash().toString(),
-                transaction.getTrunkTransactionHash().toString(), transaction.getBranchTransactionHash().toString(),
-                transaction.getBundleHash().toString());
+            tangle.publish("%s %s", addressTopic, addressTopicJson.toString());
+        }
+        if (tangle.isPublishing("sn")) {
+            tangle.publish("sn %d %s %s %s %s %s", index, transaction.getHash().toString(), transaction.getAddressHash().toString(),
+                    transaction.getTrunkTransactionHash().toString(), transaction.getBranchTransactionHash().toString(),
+                    transaction.getBundleHash().toString());
+        }
     }
 
     /**
@@ -559,6 +574,7 @@ public class MilestoneServiceImpl implements MilestoneService {
                 updateRoundIndexOfMilestoneTransactions(roundToRepair.index(), 0,
                             processedTransactions);
                 tangle.delete(StateDiff.class, new IntegerIndex(roundToRepair.index()));
+                roundToRepair.invalidate();
             }
         } catch (Exception e) {
             throw new MilestoneException("failed to repair corrupted milestone with index #" + index, e);
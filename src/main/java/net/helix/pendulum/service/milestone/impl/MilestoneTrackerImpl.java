@@ -12,25 +12,27 @@ import net.helix.pendulum.service.milestone.MilestoneService;
 import net.helix.pendulum.service.milestone.MilestoneSolidifier;
 import net.helix.pendulum.service.milestone.MilestoneTracker;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.service.utils.AddressCandidateQueue;
 import net.helix.pendulum.service.utils.RoundIndexUtil;
 import net.helix.pendulum.service.validatormanager.CandidateTracker;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.log.interval.IntervalLogger;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Creates a tracker that automatically detects new milestones by incorporating a background worker that periodically
- * checks all transactions that are originating from the coordinator address and that exposes the found latest milestone
- * via getters.<br />
+ * Creates a tracker that automatically detects new milestones by incorporating a background worker that analyzes the
+ * transactions that are originating from the validator addresses and that exposes the found latest milestone via
+ * getters.<br />
  * <br />
  * It can be used to determine the sync-status of the node by comparing these values against the latest solid
  * milestone.<br />
@@ -104,15 +106,14 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
     private int latestValidatorUpdate;
 
     /**
-     * A set that allows us to keep track of the candidates that have been seen and added to the {@link
-     * #milestoneCandidatesToAnalyze} already.<br />
+     * Holds the index of the latest round that a milestone was added to.<br />
      */
-    private final Set<Hash> seenMilestoneCandidates = new HashSet<>();
+    private final AtomicInteger latestMilestoneRound = new AtomicInteger(0);
 
     /**
-     * A list of milestones that still have to be analyzed.<br />
+     * Collects the transactions of the validator addresses that still have to be analyzed.<br />
      */
-    private final Deque<Hash> milestoneCandidatesToAnalyze = new ArrayDeque<>();
+    private AddressCandidateQueue milestoneCandidatesToAnalyze;
 
     /**
      * A flag that allows us to detect if the background worker is in its first iteration (for different log
@@ -174,13 +175,21 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
         roundPause = 1000; //ms
         latestValidatorUpdate = 0;
 
+        milestoneCandidatesToAnalyze = new AddressCandidateQueue(tangle).init();
+
         setCurrentValidators(candidateTracker.getValidators());
-        allValidators.addAll(currentValidators);
+        watchValidators(currentValidators);
+
+        registerMetrics();
 
         return this;
     }
 
     private void publishMilestoneRefs(TransactionViewModel transaction) throws Exception {
+        if (!tangle.isPublishing("lmr")) {
+            return;
+        }
+
         BundleViewModel bundle = BundleViewModel.load(tangle, transaction.getBundleHash());
         for (Hash tx: bundle.getHashes()) {
             tangle.publish("lmr %s %s %s", tx, "Branch " + RoundViewModel.getMilestoneBranch(tangle, TransactionViewModel.fromHash(tangle, tx), transaction, config.getValidatorSecurity()), "Trunk " + RoundViewModel.getMilestoneTrunk(tangle, TransactionViewModel.fromHash(tangle, tx), transaction));
@@ -198,7 +207,26 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
         tangle.publish("lmi %s %d", milestoneHash, roundIndex);
         // todo: temporarily log hardcoded number of _active_ validators instead of numberOfValidators
         log.delegate().debug("New milestone {} ({}/{}) added to round #{}", milestoneHash, numberOfMilestones, BasePendulumConfig.Defaults.NUMBER_OF_ACTIVE_VALIDATORS, roundIndex);
+        latestMilestoneRound.accumulateAndGet(roundIndex, Math::max);
+    }
 
+    /**
+     * Exposes the progress of the rounds compared to the latest solid round (the index of the latest snapshot).<br />
+     * <br />
+     * The round lag is the distance between the round of the clock and the latest solid round, the milestone lag is
+     * the distance between the latest round that received a milestone and the latest solid round.<br />
+     */
+    private void registerMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("pendulum_round_current", "Index of the current round", this::getCurrentRoundIndex);
+        metrics.gauge("pendulum_round_latest_milestone", "Index of the latest round that received a milestone",
+                latestMilestoneRound::get);
+        metrics.gauge("pendulum_round_latest_solid", "Index of the latest solid round",
+                () -> snapshotProvider.getLatestSnapshot().getIndex());
+        metrics.gauge("pendulum_round_lag", "Rounds between the current round and the latest solid round",
+                () -> getCurrentRoundIndex() - snapshotProvider.getLatestSnapshot().getIndex());
+        metrics.gauge("pendulum_milestone_lag", "Rounds between the latest milestone and the latest solid round",
+                () -> Math.max(0, latestMilestoneRound.get() - snapshotProvider.getLatestSnapshot().getIndex()));
     }
 
     /**
@@ -346,7 +374,8 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
                         setRoundIndexAndConfirmations(currentRoundViewModel, transaction, roundIndex);
                         publishMilestoneRefs(transaction);
 
-                        if (!transaction.isSolid()) {
+                        // the validation resets the solidity of the bundle, so the flag is read again
+                        if (!TransactionViewModel.fromHash(tangle, transaction.getHash()).isSolid()) {
                             tracer.trace("non solid: {}", transaction.getHash());
                             milestoneSolidifier.add(transaction.getHash(), roundIndex);
                         }
@@ -381,14 +410,13 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
     /**
      * {@inheritDoc}
      * <br />
-     * We repeatedly call {@link #latestMilestoneTrackerThread()} to actively look for new milestones in our database.
-     * This is a bit inefficient and should at some point maybe be replaced with a check on transaction arrival, but
-     * this would required adjustments in the whole way the node handles transactions and is therefore postponed for
-     * now.<br />
+     * We repeatedly call {@link #latestMilestoneTrackerThread()} to analyze the milestone candidates that were
+     * collected on transaction arrival.<br />
      */
     @Override
     public void start() {
-        executorService.silentScheduleWithFixedDelay(this::latestMilestoneTrackerThread, 0, RESCAN_INTERVAL,
+        int interval = ExecutorRegistry.get().getInterval("milestone-tracker", RESCAN_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::latestMilestoneTrackerThread, 0, interval,
                 TimeUnit.MILLISECONDS);
     }
 
@@ -417,6 +445,7 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
             }
 
             analyzeMilestoneCandidates();
+            milestoneCandidatesToAnalyze.saveMarks();
             checkIfInitializationComplete();
         } catch (MilestoneException e) {
             log.error("error while analyzing the milestone candidates", e);
@@ -445,8 +474,9 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
      * This method collects the new milestones that have not been "seen" before, by collecting them in the {@link
      * #milestoneCandidatesToAnalyze} queue.<br />
      * <br />
-     * We simply request all transaction that are originating from the coordinator address and treat them as potential
-     * milestone candidates.<br />
+     * The transactions of the validator addresses are pushed into the queue when they are stored, so we only have to
+     * replay the address index of the validators that were added since the last run (starting at their persisted
+     * high-water mark) and to retry the candidates that could not be processed before.<br />
      *
      * @throws MilestoneException if anything unexpected happens while collecting the new milestone candidates
      */
@@ -455,24 +485,23 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
             // update validators
             if (candidateTracker.getStartRound() == getCurrentRoundIndex() && latestValidatorUpdate < getCurrentRoundIndex()) {
                 setCurrentValidators(candidateTracker.getValidators());
-                allValidators.addAll(candidateTracker.getValidators());
-            }
-            for (Hash address : allValidators) {
-                for (Hash hash : AddressViewModel.load(tangle, address).getHashes()) {
-                    if (Thread.currentThread().isInterrupted()) {
-                        return;
-                    }
-
-                    if (seenMilestoneCandidates.add(hash)) {
-                        milestoneCandidatesToAnalyze.addFirst(hash);
-                    }
-                }
+                watchValidators(candidateTracker.getValidators());
             }
+
+            milestoneCandidatesToAnalyze.replayMissedCandidates();
+            milestoneCandidatesToAnalyze.retryCandidates();
         } catch (Exception e) {
             throw new MilestoneException("failed to collect the new milestone candidates", e);
         }
     }
 
+    private void watchValidators(Set<Hash> validators) {
+        allValidators.addAll(validators);
+        for (Hash validator : validators) {
+            milestoneCandidatesToAnalyze.watch(validator);
+        }
+    }
+
     /**
      * This method analyzes the milestone candidates by working through the {@link #milestoneCandidatesToAnalyze}
      * queue.<br />
@@ -490,9 +519,13 @@ public class MilestoneTrackerImpl implements MilestoneTracker {
                 return;
             }
 
-            Hash candidateTransactionHash = milestoneCandidatesToAnalyze.pollFirst();
+            Hash candidateTransactionHash = milestoneCandidatesToAnalyze.poll();
+            if (candidateTransactionHash == null) {
+                return;
+            }
+
             if(!processMilestoneCandidate(candidateTransactionHash)) {
-                seenMilestoneCandidates.remove(candidateTransactionHash);
+                milestoneCandidatesToAnalyze.retry(candidateTransactionHash);
             }
         }
     }
@@ -10,6 +10,7 @@ import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.log.interval.IntervalLogger;
 import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 
 import java.util.Map;
@@ -148,7 +149,8 @@ public class SeenMilestonesRetrieverImpl implements SeenMilestonesRetriever {
 
     @Override
     public void start() {
-        executorService.silentScheduleWithFixedDelay(this::retrieveSeenMilestones, 0, RESCAN_INTERVAL,
+        int interval = ExecutorRegistry.get().getInterval("seen-milestones-retriever", RESCAN_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::retrieveSeenMilestones, 0, interval,
                 TimeUnit.MILLISECONDS);
     }
 
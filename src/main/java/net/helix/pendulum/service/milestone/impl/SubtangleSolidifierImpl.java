@@ -0,0 +1,701 @@
+package net.helix.pendulum.service.milestone.impl;
+
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.TransactionValidator;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.EventContext;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.event.EventType;
+import net.helix.pendulum.event.EventUtils;
+import net.helix.pendulum.event.PendulumEventListener;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.network.Node;
+import net.helix.pendulum.service.milestone.SubtangleSolidifier;
+import net.helix.pendulum.service.snapshot.Snapshot;
+import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.log.interval.IntervalLogger;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
+import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static net.helix.pendulum.controllers.TransactionViewModel.PREFILLED_SLOT;
+
+/**
+ * This class implements the basic contract of the {@link SubtangleSolidifier} interface.<br />
+ * <br />
+ * It keeps a solidification frontier for the subtangles of the oldest unsolid rounds. The frontier of a subtangle is
+ * built by a single traversal of its unsolid transactions and holds the transactions that are missing in it. When a
+ * missing transaction arrives, the traversal continues from this transaction only, so the work that is spent on a
+ * subtangle is proportional to its size and not to the time it takes to solidify it.<br />
+ * <br />
+ * The traversals run on a small pool of workers that always picks the work of the subtangle that is closest to the
+ * latest solid milestone first, and the missing transactions of the next milestones are requested as milestone
+ * requests. After an outage the node therefore spends its resources on the milestone that unblocks the
+ * {@link LatestSolidMilestoneTrackerImpl} next, instead of spreading them over all rounds that it has seen.<br />
+ * <br />
+ * The solidification of the transactions themselves is still done by the {@link TransactionValidator}, which is
+ * triggered by the arriving transactions as well.<br />
+ */
+public class SubtangleSolidifierImpl implements SubtangleSolidifier, PendulumEventListener {
+    /**
+     * Defines the amount of subtangles that we "simultaneously" try to solidify.<br />
+     */
+    private static final int ACTIVE_FRONTIERS = 10;
+
+    /**
+     * Defines the amount of milestones whose missing transactions are requested as milestone requests.<br />
+     */
+    private static final int PRIORITIZED_FRONTIERS = 2;
+
+    /**
+     * Defines the amount of workers that traverse the subtangles.<br />
+     */
+    private static final int SOLIDIFICATION_WORKERS = 2;
+
+    /**
+     * Defines the interval in which the frontiers are checked for progress (in milliseconds).<br />
+     */
+    private static final int MAINTENANCE_INTERVAL = 1000;
+
+    /**
+     * Defines the maximum amount of transactions that are visited by the traversal of a single subtangle.<br />
+     * <br />
+     * Note: We want to find the missing transactions of the next milestone and not get stuck somewhere at the end of
+     *       the tangle. If the limit is reached, the traversal is started again once the missing transactions that
+     *       were found so far have arrived.<br />
+     */
+    private static final int TRAVERSAL_LIMIT = 50000;
+
+    /**
+     * Logger for this class allowing us to dump debug and status messages.<br />
+     */
+    private static final IntervalLogger log = new IntervalLogger(SubtangleSolidifier.class);
+
+    /**
+     * Holds the tangle object which acts as a database interface.<br />
+     */
+    private Tangle tangle;
+
+    /**
+     * Holds the snapshot provider which gives us access to the relevant snapshots.<br />
+     */
+    private SnapshotProvider snapshotProvider;
+
+    /**
+     * Holds a reference to the TransactionValidator which solidifies the transactions.<br />
+     */
+    private TransactionValidator transactionValidator;
+
+    /**
+     * Holds a reference to the queue of the transactions that are requested from the neighbors.<br />
+     */
+    private Node.RequestQueue requestQueue;
+
+    /**
+     * Holds a reference to the manager of the periodic maintenance.<br />
+     */
+    private final SilentScheduledExecutorService executorService = new DedicatedScheduledExecutorService(
+            "Subtangle Solidifier", log.delegate());
+
+    /**
+     * Holds the workers that traverse the subtangles (the queued tasks are ordered by the priority of their
+     * subtangle).<br />
+     */
+    private volatile ThreadPoolExecutor workers;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    /**
+     * Holds all unsolid subtangles that shall be solidified (the root transaction mapped to its frontier).<br />
+     */
+    private final Map<Hash, Frontier> frontiers = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the missing transactions mapped to the active frontiers that wait for them.<br />
+     */
+    private final Map<Hash, Set<Frontier>> missingTransactions = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the frontiers that are actively solidified (ordered by their priority).<br />
+     */
+    private List<Frontier> activeFrontiers = Collections.emptyList();
+
+    /**
+     * Flag that coalesces the updates of the {@link #activeFrontiers} that are triggered by new or solid
+     * subtangles.<br />
+     */
+    private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+
+    private final AtomicLong taskSequence = new AtomicLong(0);
+
+    /**
+     * This method initializes the instance and registers its dependencies.<br />
+     * <br />
+     * It resolves the services that are used by the solidifier and subscribes to the stored and solidified
+     * transactions, which drive the frontiers.<br />
+     *
+     * @return the initialized instance itself to allow chaining
+     */
+    @Override
+    public SubtangleSolidifier init() {
+        this.tangle = Pendulum.ServiceRegistry.get().resolve(Tangle.class);
+        this.snapshotProvider = Pendulum.ServiceRegistry.get().resolve(SnapshotProvider.class);
+        this.transactionValidator = Pendulum.ServiceRegistry.get().resolve(TransactionValidator.class);
+        this.requestQueue = Pendulum.ServiceRegistry.get().resolve(Node.RequestQueue.class);
+
+        MetricsRegistry.get().gauge("pendulum_solidification_rounds", "Rounds whose subtangle is not solid yet",
+                frontiers::size);
+
+        EventManager.get().subscribe(EventType.TX_STORED, this);
+        EventManager.get().subscribe(EventType.TX_SOLIDIFIED, this);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * Since this method might be called from a performance critical context, it only registers the subtangle and
+     * leaves the selection of the active frontiers to the workers.<br />
+     */
+    @Override
+    public void add(Hash rootHash, int roundIndex, boolean milestone) {
+        if (roundIndex > snapshotProvider.getInitialSnapshot().getIndex() &&
+                frontiers.putIfAbsent(rootHash, new Frontier(rootHash, roundIndex, milestone)) == null) {
+
+            scheduleUpdate();
+        }
+    }
+
+    @Override
+    public int size() {
+        return frontiers.size();
+    }
+
+    @Override
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+
+        // the workers keep their own priority queue, so the frontiers closest to the solid milestone are processed first
+        int threads = ExecutorRegistry.get().getThreads("subtangle-solidifier", SOLIDIFICATION_WORKERS);
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), new BasicThreadFactory.Builder()
+                        .namingPattern("subtangle-solidifier-%d")
+                        .daemon(true)
+                        .build());
+
+        int interval = ExecutorRegistry.get().getInterval("subtangle-solidifier", MAINTENANCE_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::maintenanceThread, 0, interval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        executorService.shutdownNow();
+
+        ThreadPoolExecutor pool = workers;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * A stored transaction that was missing in active frontiers continues their traversals, while a solid root
+     * transaction removes its frontier, so the next subtangle can become active.<br />
+     */
+    @Override
+    public void handle(EventType type, EventContext ctx) {
+        Hash hash = EventUtils.getTxHash(ctx);
+        switch (type) {
+            case TX_STORED:
+                Set<Frontier> waitingFrontiers = missingTransactions.remove(hash);
+                if (waitingFrontiers != null) {
+                    for (Frontier frontier : waitingFrontiers) {
+                        frontier.transactionArrived(hash);
+                        execute(frontier, () -> traverse(frontier, hash));
+                    }
+                }
+                break;
+
+            case TX_SOLIDIFIED:
+                Frontier frontier = frontiers.remove(hash);
+                if (frontier != null) {
+                    deactivate(frontier);
+                    scheduleUpdate();
+                }
+                break;
+
+            default:
+        }
+    }
+
+    /**
+     * This method contains the logic for the periodic maintenance, that gets executed in a separate
+     * {@link Thread}.<br />
+     * <br />
+     * It removes the subtangles that became irrelevant or solid without us noticing, updates the active frontiers and
+     * checks the progress of the active frontiers.<br />
+     */
+    private void maintenanceThread() {
+        int initialSnapshotIndex = snapshotProvider.getInitialSnapshot().getIndex();
+        for (Frontier frontier : frontiers.values()) {
+            if (frontier.roundIndex <= initialSnapshotIndex || isSolid(frontier.rootHash)) {
+                frontiers.remove(frontier.rootHash, frontier);
+                deactivate(frontier);
+            }
+        }
+
+        updateActiveFrontiers();
+
+        List<Frontier> currentFrontiers = getActiveFrontiers();
+        for (Frontier frontier : currentFrontiers) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            checkProgress(frontier);
+        }
+
+        if (!currentFrontiers.isEmpty() && frontiers.size() > 1) {
+            Frontier nextFrontier = currentFrontiers.get(0);
+            log.info("Solidifying round #" + nextFrontier.roundIndex + " [" + nextFrontier.getMissingCount() +
+                    " missing transactions, " + currentFrontiers.size() + " / " + frontiers.size() + "]");
+        }
+    }
+
+    /**
+     * This method checks if the given frontier is still making progress.<br />
+     * <br />
+     * If the traversal found missing transactions, they are requested again, since the requests might have been
+     * dropped in the meantime. If nothing is missing anymore, the {@link TransactionValidator} is asked to check the
+     * root transaction, and a traversal that was cut off by the {@link #TRAVERSAL_LIMIT} is started again.<br />
+     *
+     * @param frontier the active frontier that shall be checked
+     */
+    private void checkProgress(Frontier frontier) {
+        if (frontier.runningTraversals.get() > 0) {
+            return;
+        }
+
+        List<Hash> missing = frontier.getMissingTransactions();
+        if (!missing.isEmpty()) {
+            for (Hash missingTransaction : missing) {
+                requestQueue.enqueueTransaction(missingTransaction, frontier.prioritized);
+            }
+
+            return;
+        }
+
+        if (frontier.restart()) {
+            execute(frontier, () -> traverse(frontier, frontier.rootHash));
+        } else {
+            checkSolidity(frontier);
+        }
+    }
+
+    /**
+     * This method selects the subtangles that are actively solidified.<br />
+     * <br />
+     * The milestones come first (from the oldest to the youngest) followed by the validator candidates. Frontiers that
+     * become active start their traversal, and the missing transactions of frontiers that become prioritized are
+     * requested again as milestone requests.<br />
+     */
+    private synchronized void updateActiveFrontiers() {
+        List<Frontier> selectedFrontiers = frontiers.values().stream()
+                .sorted()
+                .limit(ACTIVE_FRONTIERS)
+                .collect(Collectors.toList());
+
+        for (Frontier frontier : activeFrontiers) {
+            if (!selectedFrontiers.contains(frontier)) {
+                deactivate(frontier);
+            }
+        }
+
+        int prioritizedFrontiers = 0;
+        for (Frontier frontier : selectedFrontiers) {
+            boolean wasPrioritized = frontier.prioritized;
+            frontier.prioritized = frontier.milestone && prioritizedFrontiers++ < PRIORITIZED_FRONTIERS;
+
+            if (frontier.activate()) {
+                execute(frontier, () -> {
+                    checkSolidity(frontier);
+                    traverse(frontier, frontier.rootHash);
+                });
+            } else if (frontier.prioritized && !wasPrioritized) {
+                for (Hash missingTransaction : frontier.getMissingTransactions()) {
+                    requestQueue.enqueueTransaction(missingTransaction, true);
+                }
+            }
+        }
+
+        activeFrontiers = selectedFrontiers;
+    }
+
+    private synchronized List<Frontier> getActiveFrontiers() {
+        return new ArrayList<>(activeFrontiers);
+    }
+
+    /**
+     * This method schedules an update of the active frontiers, which is executed before the queued traversals.<br />
+     */
+    private void scheduleUpdate() {
+        if (workers != null && updateScheduled.compareAndSet(false, true)) {
+            execute(null, () -> {
+                updateScheduled.set(false);
+                updateActiveFrontiers();
+            });
+        }
+    }
+
+    /**
+     * This method traverses the unsolid transactions of a subtangle, starting at the given transaction.<br />
+     * <br />
+     * It visits every transaction of the subtangle only once, the transactions that are missing are added to the
+     * frontier and requested from the neighbors.<br />
+     *
+     * @param frontier the frontier of the subtangle
+     * @param startHash the transaction that the traversal starts at
+     */
+    private void traverse(Frontier frontier, Hash startHash) {
+        Snapshot initialSnapshot = snapshotProvider.getInitialSnapshot();
+
+        Deque<Hash> transactionsToVisit = new ArrayDeque<>();
+        transactionsToVisit.add(startHash);
+
+        Hash currentHash;
+        try {
+            while (!Thread.currentThread().isInterrupted() && (currentHash = transactionsToVisit.poll()) != null) {
+                if (!frontier.visit(currentHash)) {
+                    if (!frontier.isTraversable()) {
+                        return;
+                    }
+
+                    continue;
+                }
+
+                TransactionViewModel currentTransaction = TransactionViewModel.fromHash(tangle, currentHash);
+                if (currentTransaction.getType() == PREFILLED_SLOT) {
+                    if (addMissingTransaction(frontier, currentHash)) {
+                        continue;
+                    }
+
+                    // the transaction arrived in the meantime
+                    currentTransaction = TransactionViewModel.fromHash(tangle, currentHash);
+                }
+
+                if (currentTransaction.isSolid()) {
+                    continue;
+                }
+
+                for (Hash parent : transactionValidator.getSolidificationParents(currentTransaction)) {
+                    if (!initialSnapshot.hasSolidEntryPoint(parent) && transactionValidator.validateMvm(parent)) {
+                        transactionsToVisit.add(parent);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error while traversing the subtangle of round #" + frontier.roundIndex, e);
+        }
+    }
+
+    /**
+     * This method adds a missing transaction to the frontier and requests it.<br />
+     * <br />
+     * The transaction is registered before we check if it exists, so a transaction that arrives in the meantime is
+     * either found by the check or by the handler of the stored transactions.<br />
+     *
+     * @param frontier the frontier that waits for the transaction
+     * @param transactionHash the missing transaction
+     * @return true if the transaction is missing and false if it arrived in the meantime
+     * @throws Exception if anything goes wrong while checking the existence of the transaction
+     */
+    private boolean addMissingTransaction(Frontier frontier, Hash transactionHash) throws Exception {
+        missingTransactions.compute(transactionHash, (hash, waitingFrontiers) -> {
+            Set<Frontier> result = waitingFrontiers == null ? ConcurrentHashMap.newKeySet() : waitingFrontiers;
+            result.add(frontier);
+            return result;
+        });
+        frontier.addMissingTransaction(transactionHash);
+
+        if (TransactionViewModel.exists(tangle, transactionHash)) {
+            removeMissingTransaction(frontier, transactionHash);
+
+            return false;
+        }
+
+        requestQueue.enqueueTransaction(transactionHash, frontier.prioritized);
+
+        return true;
+    }
+
+    private void removeMissingTransaction(Frontier frontier, Hash transactionHash) {
+        missingTransactions.computeIfPresent(transactionHash, (hash, waitingFrontiers) -> {
+            waitingFrontiers.remove(frontier);
+            return waitingFrontiers.isEmpty() ? null : waitingFrontiers;
+        });
+        frontier.transactionArrived(transactionHash);
+    }
+
+    /**
+     * This method stops the solidification of a subtangle and releases its frontier.<br />
+     *
+     * @param frontier the frontier that shall be released
+     */
+    private void deactivate(Frontier frontier) {
+        for (Hash missingTransaction : frontier.deactivate()) {
+            missingTransactions.computeIfPresent(missingTransaction, (hash, waitingFrontiers) -> {
+                waitingFrontiers.remove(frontier);
+                return waitingFrontiers.isEmpty() ? null : waitingFrontiers;
+            });
+        }
+    }
+
+    private void checkSolidity(Frontier frontier) {
+        try {
+            transactionValidator.checkSolidity(frontier.rootHash);
+        } catch (Exception e) {
+            log.error("Error while solidifying round #" + frontier.roundIndex, e);
+        }
+    }
+
+    private boolean isSolid(Hash transactionHash) {
+        try {
+            return TransactionViewModel.fromHash(tangle, transactionHash).isSolid();
+        } catch (Exception e) {
+            log.error("Error while loading transaction " + transactionHash, e);
+
+            return false;
+        }
+    }
+
+    /**
+     * This method hands a task over to the workers.<br />
+     *
+     * @param frontier the frontier that the task belongs to or null for tasks that run before all traversals
+     * @param task the task that shall be executed
+     */
+    private void execute(Frontier frontier, Runnable task) {
+        ThreadPoolExecutor pool = workers;
+        if (pool == null) {
+            return;
+        }
+
+        if (frontier != null) {
+            frontier.runningTraversals.incrementAndGet();
+        }
+        try {
+            pool.execute(new SolidificationTask(frontier, taskSequence.getAndIncrement(), task));
+        } catch (RejectedExecutionException e) {
+            if (frontier != null) {
+                frontier.runningTraversals.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The solidification frontier of a single subtangle.<br />
+     * <br />
+     * The frontiers are ordered by their priority: milestones before validator candidates and older rounds before
+     * younger ones.<br />
+     */
+    private static class Frontier implements Comparable<Frontier> {
+        private final Hash rootHash;
+
+        private final int roundIndex;
+
+        private final boolean milestone;
+
+        /**
+         * Holds the number of queued or running tasks of this frontier.<br />
+         */
+        private final AtomicInteger runningTraversals = new AtomicInteger(0);
+
+        /**
+         * Flag that indicates if the missing transactions are requested as milestone requests.<br />
+         */
+        private volatile boolean prioritized = false;
+
+        // the following fields are guarded by the frontier itself
+
+        private final Set<Hash> visitedTransactions = new HashSet<>();
+
+        private final Set<Hash> missingTransactions = new HashSet<>();
+
+        private boolean active = false;
+
+        private boolean truncated = false;
+
+        private Frontier(Hash rootHash, int roundIndex, boolean milestone) {
+            this.rootHash = rootHash;
+            this.roundIndex = roundIndex;
+            this.milestone = milestone;
+        }
+
+        /**
+         * @return true if the traversals of the frontier shall go on
+         */
+        private synchronized boolean isTraversable() {
+            return active && !truncated;
+        }
+
+        /**
+         * @return true if the frontier became active and false if it was active already
+         */
+        private synchronized boolean activate() {
+            if (active) {
+                return false;
+            }
+
+            active = true;
+
+            return true;
+        }
+
+        /**
+         * @return the transactions that the frontier was waiting for
+         */
+        private synchronized List<Hash> deactivate() {
+            active = false;
+            truncated = false;
+            visitedTransactions.clear();
+
+            List<Hash> missing = new ArrayList<>(missingTransactions);
+            missingTransactions.clear();
+
+            return missing;
+        }
+
+        /**
+         * @return true if the transaction was not visited before and shall be processed by the traversal
+         */
+        private synchronized boolean visit(Hash transactionHash) {
+            if (!active) {
+                return false;
+            }
+            if (visitedTransactions.size() >= TRAVERSAL_LIMIT) {
+                truncated = true;
+
+                return false;
+            }
+
+            return visitedTransactions.add(transactionHash);
+        }
+
+        /**
+         * Prepares a new traversal of a frontier that was cut off by the {@link #TRAVERSAL_LIMIT}.<br />
+         *
+         * @return true if the traversal shall be started again
+         */
+        private synchronized boolean restart() {
+            if (!active || !truncated) {
+                return false;
+            }
+
+            truncated = false;
+            visitedTransactions.clear();
+
+            return true;
+        }
+
+        private synchronized void addMissingTransaction(Hash transactionHash) {
+            missingTransactions.add(transactionHash);
+        }
+
+        /**
+         * Removes an arrived transaction from the frontier, so the traversal continues at this transaction.<br />
+         *
+         * @param transactionHash the transaction that arrived
+         */
+        private synchronized void transactionArrived(Hash transactionHash) {
+            missingTransactions.remove(transactionHash);
+            visitedTransactions.remove(transactionHash);
+        }
+
+        private synchronized List<Hash> getMissingTransactions() {
+            return new ArrayList<>(missingTransactions);
+        }
+
+        private synchronized int getMissingCount() {
+            return missingTransactions.size();
+        }
+
+        @Override
+        public int compareTo(Frontier other) {
+            if (milestone != other.milestone) {
+                return milestone ? -1 : 1;
+            }
+
+            return Integer.compare(roundIndex, other.roundIndex);
+        }
+    }
+
+    /**
+     * A task of the workers, which are executed in the order of the priority of their frontiers.<br />
+     */
+    private static class SolidificationTask implements Runnable, Comparable<SolidificationTask> {
+        private final Frontier frontier;
+
+        private final long sequence;
+
+        private final Runnable task;
+
+        private SolidificationTask(Frontier frontier, long sequence, Runnable task) {
+            this.frontier = frontier;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } finally {
+                if (frontier != null) {
+                    frontier.runningTraversals.decrementAndGet();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(SolidificationTask other) {
+            if (frontier != other.frontier) {
+                if (frontier == null || other.frontier == null) {
+                    return frontier == null ? -1 : 1;
+                }
+
+                int result = frontier.compareTo(other.frontier);
+                if (result != 0) {
+                    return result;
+                }
+            }
+
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package net.helix.pendulum.service.pow;
+
+import net.helix.pendulum.crypto.GreedyMiner;
+import net.helix.pendulum.model.Hash;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A bundle whose transactions are attached to the tangle by the {@link PowService}.<br />
+ * <br />
+ * The job can be polled for its status, so clients do not have to keep an API call open while the proof of work is
+ * done.<br />
+ */
+public class PowJob {
+    /**
+     * The states of a job.<br />
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final String id;
+
+    private final String client;
+
+    private final Hash trunkTransaction;
+
+    private final Hash branchTransaction;
+
+    private final int minWeightMagnitude;
+
+    private final List<String> transactions;
+
+    /**
+     * Holds the miner of the job, which allows to cancel the nonce search that is currently running.<br />
+     */
+    private final GreedyMiner miner = new GreedyMiner();
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+
+    private final AtomicInteger minedTransactions = new AtomicInteger(0);
+
+    private final CompletableFuture<List<String>> result = new CompletableFuture<>();
+
+    PowJob(String id, String client, Hash trunkTransaction, Hash branchTransaction, int minWeightMagnitude,
+           List<String> transactions) {
+
+        this.id = id;
+        this.client = client;
+        this.trunkTransaction = trunkTransaction;
+        this.branchTransaction = branchTransaction;
+        this.minWeightMagnitude = minWeightMagnitude;
+        this.transactions = transactions;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public Hash getTrunkTransaction() {
+        return trunkTransaction;
+    }
+
+    public Hash getBranchTransaction() {
+        return branchTransaction;
+    }
+
+    public int getMinWeightMagnitude() {
+        return minWeightMagnitude;
+    }
+
+    public List<String> getTransactions() {
+        return transactions;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    /**
+     * @return the number of transactions whose nonce was found already
+     */
+    public int getMinedTransactions() {
+        return minedTransactions.get();
+    }
+
+    /**
+     * Returns the future that completes with the attached transactions of the bundle (in reversed order, ready to be
+     * stored and broadcast) or with an empty list if the job was cancelled.<br />
+     *
+     * @return the result of the job
+     */
+    public CompletableFuture<List<String>> getResult() {
+        return result;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Cancels the job. A queued job is never started and a running job stops its current nonce search.<br />
+     */
+    public void cancel() {
+        Status current = status.get();
+        while ((current == Status.QUEUED || current == Status.RUNNING)
+                && !status.compareAndSet(current, Status.CANCELLED)) {
+            current = status.get();
+        }
+        miner.cancel();
+        result.complete(Collections.emptyList());
+    }
+
+    GreedyMiner getMiner() {
+        return miner;
+    }
+
+    boolean start() {
+        return status.compareAndSet(Status.QUEUED, Status.RUNNING);
+    }
+
+    void transactionMined() {
+        minedTransactions.incrementAndGet();
+    }
+
+    void complete(List<String> attachedTransactions) {
+        if (status.compareAndSet(Status.RUNNING, Status.COMPLETED)) {
+            result.complete(attachedTransactions);
+        } else {
+            result.complete(Collections.emptyList());
+        }
+    }
+
+    void fail(Throwable cause) {
+        if (status.compareAndSet(Status.RUNNING, Status.FAILED)) {
+            result.completeExceptionally(cause);
+        } else {
+            result.complete(Collections.emptyList());
+        }
+    }
+}
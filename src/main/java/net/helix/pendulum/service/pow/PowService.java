@@ -0,0 +1,376 @@
+package net.helix.pendulum.service.pow;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.helix.pendulum.TransactionValidator;
+import net.helix.pendulum.conf.PendulumConfig;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.crypto.GreedyMiner;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.utils.Serializer;
+import net.helix.pendulum.utils.metrics.Histogram;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.bouncycastle.util.encoders.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Does the proof of work of the bundles that are attached to the tangle through the API.<br />
+ * <br />
+ * The nonces are searched by a long-lived pool of miner threads that is shared by all jobs. The jobs are queued per
+ * client and started in a round-robin fashion, so a single client can not starve the others, and every client can
+ * only have a limited amount of jobs queued or running at the same time. While few jobs are running, every nonce
+ * search is split across several miners; with many concurrent jobs every job gets a single miner, so the throughput
+ * scales with the available cores.<br />
+ * <br />
+ * The transactions of a bundle are chained (every transaction references the previous one as its trunk), so their
+ * nonces have to be found one after another. The hash of a transaction is taken from the miner as soon as its nonce is
+ * found and the search for the next nonce starts right away, the validation of the transactions happens once the
+ * whole bundle is mined.<br />
+ */
+public class PowService {
+    private static final Logger log = LoggerFactory.getLogger(PowService.class);
+
+    /**
+     * Name of the client of the jobs that are submitted by the node itself, which are not limited.<br />
+     */
+    public static final String LOCAL_CLIENT = "local";
+
+    private static final long MAX_TIMESTAMP_VALUE = (long) (Math.pow(2, 8) - 1) / 2; // max positive 8 byte value
+
+    /**
+     * Holds the maximum number of miners that search the nonce of a single transaction.<br />
+     */
+    private static final int MAX_MINERS_PER_TRANSACTION = 16;
+
+    /**
+     * Holds the maximum number of jobs that can be looked up by their id.<br />
+     */
+    private static final int MAX_TRACKED_JOBS = 10_000;
+
+    /**
+     * Holds the time (in minutes) that the result of a job can be looked up after it was submitted.<br />
+     */
+    private static final int JOB_RETENTION = 10;
+
+    private static final Histogram POW_LATENCY = MetricsRegistry.get().histogram("pendulum_pow_duration_seconds",
+            "Time that was needed to find the nonce of a transaction");
+
+    private final TransactionValidator transactionValidator;
+
+    private final int threads;
+
+    private final int jobsPerClient;
+
+    private final ExecutorService minerPool;
+
+    private final ExecutorService jobPool;
+
+    /**
+     * Holds the queued jobs per client, the order of the clients is the order in which they are served.<br />
+     */
+    private final Map<String, Deque<PowJob>> queuedJobs = new LinkedHashMap<>();
+
+    /**
+     * Holds the number of queued and running jobs per client (guarded by {@link #queuedJobs}).<br />
+     */
+    private final Map<String, Integer> activeJobs = new HashMap<>();
+
+    private volatile int runningJobs = 0;
+
+    private int queuedJobCount = 0;
+
+    private boolean shutdown = false;
+
+    private final Cache<String, PowJob> jobs = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_JOBS)
+            .expireAfterWrite(JOB_RETENTION, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Creates the service and starts its worker pools.<br />
+     *
+     * @param config configuration that defines the size of the pools and the limits of the clients
+     * @param transactionValidator validator of the mined transactions
+     */
+    public PowService(PendulumConfig config, TransactionValidator transactionValidator) {
+        this.transactionValidator = transactionValidator;
+
+        threads = config.getPowThreads() > 0 ? config.getPowThreads() : Runtime.getRuntime().availableProcessors();
+        jobsPerClient = Math.max(1, config.getPowJobsPerClient());
+
+        minerPool = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("pow-miner-%d")
+                .daemon(true)
+                .build());
+        // the job threads only prepare the transactions and wait for the miners
+        jobPool = Executors.newFixedThreadPool(threads, new BasicThreadFactory.Builder()
+                .namingPattern("pow-job-%d")
+                .daemon(true)
+                .build());
+
+        MetricsRegistry.get().gauge("pendulum_pow_jobs_running", "Proof of work jobs that are running",
+                () -> runningJobs);
+        MetricsRegistry.get().gauge("pendulum_pow_jobs_queued", "Proof of work jobs that wait to be started",
+                this::getQueuedJobCount);
+    }
+
+    /**
+     * Queues the proof of work of a bundle.<br />
+     *
+     * @param client identifier of the client (e.g. its address) that the limits are applied to
+     * @param trunkTransaction the trunk of the first transaction
+     * @param branchTransaction the branch of all transactions
+     * @param minWeightMagnitude the difficulty of the proof of work
+     * @param transactions the transactions of the bundle in hexadecimal representation, the first one is mined first
+     * @return the queued job
+     * @throws PowException if the client has too many jobs or the transactions are invalid
+     */
+    public PowJob submit(String client, Hash trunkTransaction, Hash branchTransaction, int minWeightMagnitude,
+                         List<String> transactions) throws PowException {
+
+        for (String transaction : transactions) {
+            if (transaction.length() > TransactionViewModel.SIZE * 2) {
+                throw new PowException("transaction exceeds the size of " + TransactionViewModel.SIZE + " bytes");
+            }
+        }
+
+        PowJob job = new PowJob(UUID.randomUUID().toString(), client, trunkTransaction, branchTransaction,
+                minWeightMagnitude, transactions);
+
+        synchronized (queuedJobs) {
+            if (shutdown) {
+                throw new PowException("the proof of work service is shut down");
+            }
+
+            int active = activeJobs.getOrDefault(client, 0);
+            if (!LOCAL_CLIENT.equals(client) && active >= jobsPerClient) {
+                throw new PowException("client " + client + " has too many attachToTangle jobs (limit: " +
+                        jobsPerClient + ")");
+            }
+            activeJobs.put(client, active + 1);
+            queuedJobs.computeIfAbsent(client, key -> new ArrayDeque<>()).addLast(job);
+            queuedJobCount++;
+        }
+        jobs.put(job.getId(), job);
+
+        startJobs();
+
+        return job;
+    }
+
+    /**
+     * Returns a job that was submitted recently.<br />
+     *
+     * @param id identifier of the job
+     * @return the job or null if it is unknown (or expired)
+     */
+    public PowJob getJob(String id) {
+        return jobs.getIfPresent(id);
+    }
+
+    /**
+     * Cancels all queued and running jobs.<br />
+     */
+    public void cancelAll() {
+        synchronized (queuedJobs) {
+            queuedJobs.values().forEach(queue -> queue.forEach(this::release));
+            queuedJobs.values().forEach(queue -> queue.forEach(PowJob::cancel));
+            queuedJobs.clear();
+            queuedJobCount = 0;
+        }
+        jobs.asMap().values().forEach(PowJob::cancel);
+    }
+
+    /**
+     * Cancels all jobs and stops the worker pools.<br />
+     */
+    public void shutdown() {
+        synchronized (queuedJobs) {
+            shutdown = true;
+        }
+        cancelAll();
+        jobPool.shutdownNow();
+        minerPool.shutdownNow();
+    }
+
+    private int getQueuedJobCount() {
+        synchronized (queuedJobs) {
+            return queuedJobCount;
+        }
+    }
+
+    /**
+     * Starts queued jobs as long as there are free slots, taking one job per client in turn.<br />
+     */
+    private void startJobs() {
+        List<PowJob> jobsToStart = new ArrayList<>();
+        synchronized (queuedJobs) {
+            while (runningJobs + jobsToStart.size() < threads && !queuedJobs.isEmpty()) {
+                PowJob job = pollNextJob();
+                if (job.start()) {
+                    jobsToStart.add(job);
+                } else {
+                    // cancelled while it was queued
+                    release(job);
+                }
+            }
+            runningJobs += jobsToStart.size();
+        }
+
+        for (PowJob job : jobsToStart) {
+            try {
+                jobPool.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                job.cancel();
+                finish(job);
+            }
+        }
+    }
+
+    /**
+     * Takes the next job of the client that is first in line and moves the client to the end of the line.<br />
+     *
+     * @return the next job
+     */
+    private PowJob pollNextJob() {
+        Iterator<Map.Entry<String, Deque<PowJob>>> iterator = queuedJobs.entrySet().iterator();
+        Map.Entry<String, Deque<PowJob>> next = iterator.next();
+        iterator.remove();
+
+        PowJob job = next.getValue().pollFirst();
+        if (!next.getValue().isEmpty()) {
+            queuedJobs.put(next.getKey(), next.getValue());
+        }
+        queuedJobCount--;
+
+        return job;
+    }
+
+    private void run(PowJob job) {
+        try {
+            job.complete(attach(job));
+        } catch (Exception e) {
+            log.debug("proof of work job " + job.getId() + " failed", e);
+            job.fail(e);
+        } finally {
+            finish(job);
+        }
+    }
+
+    private void finish(PowJob job) {
+        synchronized (queuedJobs) {
+            runningJobs--;
+            release(job);
+        }
+        startJobs();
+    }
+
+    private void release(PowJob job) {
+        activeJobs.computeIfPresent(job.getClient(), (client, active) -> active > 1 ? active - 1 : null);
+    }
+
+    /**
+     * Mines the transactions of the job one after another, chaining each of them to the previous one.<br />
+     *
+     * @param job job that shall be processed
+     * @return the attached transactions in reversed order or an empty list if the job was cancelled
+     */
+    private List<String> attach(PowJob job) {
+        List<byte[]> transactions = prepare(job.getTransactions());
+        GreedyMiner miner = job.getMiner();
+
+        byte[] previousHash = null;
+        for (byte[] txBytes : transactions) {
+            if (job.getStatus() == PowJob.Status.CANCELLED) {
+                return Collections.emptyList();
+            }
+
+            System.arraycopy(previousHash == null ? job.getTrunkTransaction().bytes() : previousHash, 0,
+                    txBytes, TransactionViewModel.TRUNK_TRANSACTION_OFFSET,
+                    TransactionViewModel.TRUNK_TRANSACTION_SIZE);
+            System.arraycopy((previousHash == null ? job.getBranchTransaction() : job.getTrunkTransaction()).bytes(),
+                    0, txBytes, TransactionViewModel.BRANCH_TRANSACTION_OFFSET,
+                    TransactionViewModel.BRANCH_TRANSACTION_SIZE);
+
+            long start = System.nanoTime();
+            boolean mined = miner.mine(txBytes, job.getMinWeightMagnitude(), minersPerTransaction(), minerPool);
+            POW_LATENCY.recordSince(start);
+            if (!mined || job.getStatus() == PowJob.Status.CANCELLED) {
+                return Collections.emptyList();
+            }
+
+            previousHash = miner.getHash();
+            job.transactionMined();
+        }
+
+        //validate PoW - throws exception if invalid
+        List<String> attachedTransactions = new ArrayList<>(transactions.size());
+        for (int i = transactions.size(); i-- > 0; ) {
+            byte[] txBytes = transactions.get(i);
+            transactionValidator.validateBytes(txBytes, transactionValidator.getMinWeightMagnitude());
+            attachedTransactions.add(Hex.toHexString(txBytes));
+        }
+
+        return attachedTransactions;
+    }
+
+    /**
+     * Decodes the transactions and sets their attachment fields, which do not depend on the previous transactions.<br />
+     *
+     * @param transactions the transactions in hexadecimal representation
+     * @return the transactions that are ready to be chained and mined
+     */
+    private static List<byte[]> prepare(List<String> transactions) {
+        long timestamp = System.currentTimeMillis();
+
+        List<byte[]> preparedTransactions = new ArrayList<>(transactions.size());
+        for (String transaction : transactions) {
+            byte[] txBytes = new byte[TransactionViewModel.SIZE];
+            byte[] decoded = Hex.decode(transaction);
+            System.arraycopy(decoded, 0, txBytes, 0, decoded.length);
+
+            //attachment fields: tag and timestamps
+            //tag - copy the obsolete tag to the attachment tag field only if tag isn't set.
+            if (IntStream.range(TransactionViewModel.TAG_OFFSET, TransactionViewModel.TAG_OFFSET + TransactionViewModel.TAG_SIZE).allMatch(idx -> txBytes[idx] == ((byte) 0))) {
+                System.arraycopy(txBytes, TransactionViewModel.BUNDLE_NONCE_OFFSET, txBytes, TransactionViewModel.TAG_OFFSET, TransactionViewModel.TAG_SIZE);
+            }
+            System.arraycopy(Serializer.serialize(timestamp), 0, txBytes, TransactionViewModel.ATTACHMENT_TIMESTAMP_OFFSET,
+                    TransactionViewModel.ATTACHMENT_TIMESTAMP_SIZE);
+            System.arraycopy(Serializer.serialize(0L), 0, txBytes, TransactionViewModel.ATTACHMENT_TIMESTAMP_LOWER_BOUND_OFFSET,
+                    TransactionViewModel.ATTACHMENT_TIMESTAMP_LOWER_BOUND_SIZE);
+            System.arraycopy(Serializer.serialize(MAX_TIMESTAMP_VALUE), 0, txBytes, TransactionViewModel.ATTACHMENT_TIMESTAMP_UPPER_BOUND_OFFSET,
+                    TransactionViewModel.ATTACHMENT_TIMESTAMP_UPPER_BOUND_SIZE);
+
+            preparedTransactions.add(txBytes);
+        }
+
+        return preparedTransactions;
+    }
+
+    /**
+     * Splits the miner pool between the running jobs.<br />
+     *
+     * @return the number of miners that search the nonce of a transaction
+     */
+    private int minersPerTransaction() {
+        return Math.min(MAX_MINERS_PER_TRANSACTION, Math.max(1, threads / Math.max(1, runningJobs)));
+    }
+}
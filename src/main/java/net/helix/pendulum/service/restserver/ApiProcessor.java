@@ -1,7 +1,10 @@
 package net.helix.pendulum.service.restserver;
 
 import net.helix.pendulum.service.dto.AbstractResponse;
+import org.apache.commons.io.IOUtils;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.net.InetAddress;
 
 /**
@@ -20,4 +23,19 @@ public interface ApiProcessor {
      * @return The response for this request
      */
     AbstractResponse processFunction(String request, InetAddress inetAddress);
+
+    /**
+     * Processes a request that is read directly from the connection.
+     *
+     * Implementations should override this method to parse the request while it is being received. The default
+     * implementation reads the whole body and passes it to {@link #processFunction(String, InetAddress)}.
+     *
+     * @param request reader for the request body, unprocessed
+     * @param inetAddress the address from the API caller
+     * @return The response for this request
+     * @throws IOException if the request body can not be read
+     */
+    default AbstractResponse processFunction(Reader request, InetAddress inetAddress) throws IOException {
+        return processFunction(IOUtils.toString(request), inetAddress);
+    }
 }
@@ -2,14 +2,17 @@ package net.helix.pendulum.service.restserver.resteasy;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import io.undertow.Handlers;
 import io.undertow.Undertow;
 import io.undertow.security.api.AuthenticationMode;
 import io.undertow.security.impl.BasicAuthenticationMechanism;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.DefaultByteBufferPool;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.servlet.api.DeploymentInfo;
 import io.undertow.util.*;
+import io.undertow.websockets.jsr.WebSocketDeploymentInfo;
 import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.conf.APIConfig;
 import net.helix.pendulum.service.RemoteAuth;
@@ -19,18 +22,18 @@ import net.helix.pendulum.service.dto.ErrorResponse;
 import net.helix.pendulum.service.dto.ExceptionResponse;
 import net.helix.pendulum.service.restserver.ApiProcessor;
 import net.helix.pendulum.service.restserver.RestConnector;
-import net.helix.pendulum.utils.PendulumIOUtils;
+import net.helix.pendulum.service.subscription.SubscriptionEndpoint;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xnio.channels.StreamSinkChannel;
-import org.xnio.streams.ChannelInputStream;
 
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.core.Application;
-import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.io.*;
+import java.net.InetAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  *
@@ -43,6 +46,21 @@ public class RestEasy extends Application implements RestConnector {
 
     private static final Logger log = LoggerFactory.getLogger(RestEasy.class);
 
+    /**
+     * Size of the buffer (in characters) that is used to write the responses.
+     */
+    private static final int RESPONSE_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Size of the buffers (in bytes) that are used by the WebSocket connections of the subscription endpoint.
+     */
+    private static final int WEBSOCKET_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Path of the endpoint that exposes the metrics of the node in the Prometheus text format.
+     */
+    public static final String METRICS_PATH = "/metrics";
+
     private final Gson gson = new GsonBuilder().create();
 
     private UndertowJaxrsServer server;
@@ -55,6 +73,8 @@ public class RestEasy extends Application implements RestConnector {
 
     private String remoteAuth;
 
+    private List<InetAddress> remoteTrustedApiHosts;
+
     private String apiHost;
 
     private int port;
@@ -81,6 +101,7 @@ public class RestEasy extends Application implements RestConnector {
         apiHost = configuration.getApiHost();
 
         remoteAuth = configuration.getRemoteAuth();
+        remoteTrustedApiHosts = configuration.getRemoteTrustedApiHosts();
     }
 
     /**
@@ -104,6 +125,14 @@ public class RestEasy extends Application implements RestConnector {
      *        By default, this authentication is disabled.
      *    </li>
      *    <li>
+     *        Registers the {@link SubscriptionEndpoint} on {@link SubscriptionEndpoint#PATH}, which allows clients to
+     *        subscribe to events via a WebSocket connection instead of polling the API.
+     *    </li>
+     *    <li>
+     *        Registers the metrics on {@link #METRICS_PATH}, which can only be scraped from localhost or the
+     *        hosts defined in {@link APIConfig#getRemoteTrustedApiHosts()}.
+     *    </li>
+     *    <li>
      *        Starts the server, opening it for HTTP API requests
      *    </li>
      * </ol>
@@ -144,8 +173,20 @@ public class RestEasy extends Application implements RestConnector {
         }
         });*/
 
+        info.addServletContextAttribute(WebSocketDeploymentInfo.ATTRIBUTE_NAME, new WebSocketDeploymentInfo()
+                .setBuffers(new DefaultByteBufferPool(false, WEBSOCKET_BUFFER_SIZE))
+                .addEndpoint(SubscriptionEndpoint.class));
+
         info.addInnerHandlerChainWrapper(handler -> {
-            return Handlers.path().addPrefixPath("/", new HttpHandler() {
+            return Handlers.path().addPrefixPath(SubscriptionEndpoint.PATH, exchange -> {
+                // the WebSocket handshake is handled by the servlet chain of the deployment
+                if (isAuthorized(exchange)) {
+                    handler.handleRequest(exchange);
+                } else {
+                    exchange.setStatusCode(StatusCodes.UNAUTHORIZED);
+                    exchange.endExchange();
+                }
+            }).addExactPath(METRICS_PATH, this::sendMetrics).addPrefixPath("/", new HttpHandler() {
                 @Override
                 public void handleRequest(final HttpServerExchange exchange) throws Exception {
                     HttpString requestMethod = exchange.getRequestMethod();
@@ -198,11 +239,14 @@ public class RestEasy extends Application implements RestConnector {
      * Status code of the HTTP request is also set according to the type of response.
      * <ul>
      *     <li>{@link ErrorResponse}: 400</li>
-     *     <li>{@link AccessLimitedRprocessRequestesponse}: 401</li>
+     *     <li>{@link AccessLimitedResponse}: 401</li>
      *     <li>{@link ExceptionResponse}: 500</li>
      *     <li>Default: 200</li>
      * </ul>
      *
+     * The response is serialized directly into the (buffered) response stream of the exchange, so large responses
+     * never have to be held in memory as a whole JSON string.
+     *
      * @param exchange Contains information about what the client sent to us
      * @param res The response of the API.
      *            See {@link #processRequest(HttpServerExchange)}
@@ -213,7 +257,6 @@ public class RestEasy extends Application implements RestConnector {
      */
     private void sendResponse(HttpServerExchange exchange, AbstractResponse res, long beginningTime) throws IOException {
         res.setDuration((int) (System.currentTimeMillis() - beginningTime));
-        final String response = gson.toJson(res);
 
         if (res instanceof ErrorResponse) {
             // bad request or invalid parameters
@@ -228,27 +271,15 @@ public class RestEasy extends Application implements RestConnector {
 
         setupResponseHeaders(exchange);
 
-        ByteBuffer responseBuf = ByteBuffer.wrap(response.getBytes(StandardCharsets.UTF_8));
-        exchange.setResponseContentLength(responseBuf.array().length);
-        StreamSinkChannel sinkChannel = exchange.getResponseChannel();
-        sinkChannel.getWriteSetter().set( channel -> {
-            if (responseBuf.remaining() > 0) {
-                try {
-                    sinkChannel.write(responseBuf);
-                    if (responseBuf.remaining() == 0) {
-                        exchange.endExchange();
-                    }
-                } catch (IOException e) {
-                    log.error("Lost connection to client - cannot send response");
-                    exchange.endExchange();
-                    sinkChannel.getWriteSetter().set(null);
-                }
-            }
-            else {
-                exchange.endExchange();
-            }
-        });
-        sinkChannel.resumeWrites();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getOutputStream(),
+                StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE)) {
+
+            gson.toJson(res, writer);
+        } catch (IOException | JsonIOException e) {
+            log.error("Lost connection to client - cannot send response");
+        } finally {
+            exchange.endExchange();
+        }
     }
 
     /**
@@ -261,7 +292,9 @@ public class RestEasy extends Application implements RestConnector {
      *     The request process duration is recorded.
      *     During this the request gets verified. If it is incorrect, an {@link ErrorResponse}
      *     or in the case of bad authorization {@link AccessLimitedResponse} is thrown.
-     *     Otherwise it is processed in {@link #process(String, InetSocketAddress)}.
+     *     Otherwise the body is handed to the {@link ApiProcessor} while it is being received, so it can be parsed
+     *     without reading it into memory first. Bodies that exceed the maximum length are rejected as soon as the
+     *     limit is reached.
      *     The result is sent back to the requester.
      * </p>
      *
@@ -269,27 +302,76 @@ public class RestEasy extends Application implements RestConnector {
      * @throws IOException If the body of this HTTP request cannot be read
      */
     private void processRequest(final HttpServerExchange exchange) throws IOException {
-        final ChannelInputStream cis = new ChannelInputStream(exchange.getRequestChannel());
+        exchange.startBlocking();
         exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json");
 
         final long beginningTime = System.currentTimeMillis();
-        final String body = PendulumIOUtils.toString(cis, StandardCharsets.UTF_8);
         AbstractResponse response;
 
-        String rcvdToken = (exchange.getRequestHeaders().get("Authorization") == null) ? "" : RemoteAuth.getToken(exchange.getRequestHeaders().get("Authorization").get(0));
         if (!exchange.getRequestHeaders().contains("X-HELIX-API-Version")) {
             response = ErrorResponse.create("Invalid API Version");
-        } else if(this.remoteAuth != null && !this.remoteAuth.equals("") && !rcvdToken.equals(this.remoteAuth)) { // TODO: review and improve the authentication mechanism
+        } else if (!isAuthorized(exchange)) { // TODO: review and improve the authentication mechanism
             response = AccessLimitedResponse.create("Authorization failed");
-        } else if (body.length() > maxBodyLength) {
-            response = ErrorResponse.create("Request too long");
         } else {
-            response = this.processFunction.processFunction(body, exchange.getSourceAddress().getAddress());
+            BoundedReader body = new BoundedReader(new InputStreamReader(exchange.getInputStream(),
+                    StandardCharsets.UTF_8), maxBodyLength);
+
+            try {
+                response = this.processFunction.processFunction(body, exchange.getSourceAddress().getAddress());
+            } catch (IOException e) {
+                if (!body.isLimitExceeded()) {
+                    throw e;
+                }
+                response = null;
+            }
+            if (body.isLimitExceeded()) {
+                response = ErrorResponse.create("Request too long");
+            }
         }
 
         sendResponse(exchange, response, beginningTime);
     }
 
+    /**
+     * Sends the current values of the metrics of the node in the Prometheus text format.
+     *
+     * @param exchange Contains the data the client sent to us
+     */
+    private void sendMetrics(final HttpServerExchange exchange) {
+        InetAddress source = exchange.getSourceAddress().getAddress();
+        if (!(source.isLoopbackAddress() || remoteTrustedApiHosts.contains(source)) || !isAuthorized(exchange)) {
+            exchange.setStatusCode(StatusCodes.UNAUTHORIZED);
+            exchange.endExchange();
+            return;
+        }
+
+        // the gauges are read from the components, which must not happen on the IO thread
+        if (exchange.isInIoThread()) {
+            exchange.dispatch(this::sendMetrics);
+            return;
+        }
+
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, MetricsRegistry.CONTENT_TYPE);
+        exchange.getResponseSender().send(MetricsRegistry.get().scrape(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks if the request carries the configured remote authentication token (if there is one).
+     *
+     * @param exchange Contains the data the client sent to us
+     * @return <tt>true</tt> if the request is authorized, otherwise <tt>false</tt>
+     */
+    private boolean isAuthorized(final HttpServerExchange exchange) {
+        if (this.remoteAuth == null || this.remoteAuth.equals("")) {
+            return true;
+        }
+
+        HeaderValues authorization = exchange.getRequestHeaders().get("Authorization");
+        String rcvdToken = (authorization == null) ? "" : RemoteAuth.getToken(authorization.get(0));
+
+        return rcvdToken.equals(this.remoteAuth);
+    }
+
     /**
      * Updates the {@link HttpServerExchange} {@link HeaderMap} with the proper response settings.
      * @param exchange Contains information about what the client has send to us
@@ -299,4 +381,70 @@ public class RestEasy extends Application implements RestConnector {
         headerMap.add(new HttpString("Access-Control-Allow-Origin"),"*");
         headerMap.add(new HttpString("Keep-Alive"), "timeout=500, max=100");
     }
-}
\ No newline at end of file
+
+    /**
+     * A {@link Reader} that fails as soon as more than the allowed amount of characters was read, so oversized request
+     * bodies get rejected without being received completely.
+     */
+    private static class BoundedReader extends FilterReader {
+        /**
+         * Maximum amount of characters that can be read.
+         */
+        private final long limit;
+
+        /**
+         * Amount of characters that were read so far.
+         */
+        private long count = 0;
+
+        /**
+         * Creates a reader that allows to read at most {@code limit} characters from the given reader.
+         *
+         * @param in reader that shall be limited
+         * @param limit maximum amount of characters that can be read
+         */
+        private BoundedReader(Reader in, long limit) {
+            super(in);
+
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int character = super.read();
+            if (character != -1) {
+                count(1);
+            }
+            return character;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        /**
+         * @return true if the reader was asked for more characters than allowed
+         */
+        private boolean isLimitExceeded() {
+            return count > limit;
+        }
+
+        /**
+         * Adds the given amount of characters to the counter and fails if the limit was exceeded.
+         *
+         * @param read amount of characters that were read
+         * @throws IOException if the limit was exceeded
+         */
+        private void count(int read) throws IOException {
+            count += read;
+            if (count > limit) {
+                throw new IOException("request exceeds the maximum length of " + limit + " characters");
+            }
+        }
+    }
+}
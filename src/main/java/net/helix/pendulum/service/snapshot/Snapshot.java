@@ -40,6 +40,30 @@ public interface Snapshot extends SnapshotMetaData, SnapshotState {
      */
     void unlockWrite();
 
+    /**
+     * Returns an immutable, versioned view of the current state of the Snapshot.
+     *
+     * The view is a private copy of the state and the meta data that is published whenever a write access to the
+     * Snapshot completes. Readers can therefore query it without acquiring any locks and without being affected by
+     * ledger changes that get applied in the mean time. Consecutive calls return the same instance until the Snapshot
+     * gets modified again, so the copy is only created once per version.
+     *
+     * Note: All methods of the view that would modify it throw an {@link UnsupportedOperationException}.
+     *
+     * @return an immutable view of the current state of the Snapshot
+     */
+    Snapshot view();
+
+    /**
+     * Returns the version of the Snapshot.
+     *
+     * The version gets incremented every time a write access to the Snapshot completes and can be used to determine
+     * if a previously retrieved {@link #view()} is still up to date.
+     *
+     * @return the version of the Snapshot
+     */
+    long getVersion();
+
     /**
      * This methods allows us to keep track when we skip a milestone when applying changes.
      *
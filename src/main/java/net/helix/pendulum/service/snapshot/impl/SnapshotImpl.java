@@ -9,7 +9,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -32,7 +32,19 @@ public class SnapshotImpl implements Snapshot {
     /**
      * Lock object allowing to block access to this object from different threads.
      */
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+    /**
+     * Holds the version of this snapshot which gets incremented whenever a write access completes.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Holds the immutable view of the current version of this snapshot (or {@code null} if it was not created, yet).
+     *
+     * It gets reset when a write access completes, so the next call to {@link #view()} publishes a new version.
+     */
+    private volatile Snapshot view;
 
     /**
      * Holds a set of milestones indexes that were skipped while advancing the Snapshot state.
@@ -99,15 +111,71 @@ public class SnapshotImpl implements Snapshot {
      */
     @Override
     public void unlockWrite() {
+        // only the outermost unlock completes the write access and publishes a new version
+        if (readWriteLock.getWriteHoldCount() == 1) {
+            version.incrementAndGet();
+            view = null;
+        }
+
         readWriteLock.writeLock().unlock();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The view gets created lazily on the first request after a modification, so modifications that are not followed
+     * by a read do not cause a copy of the underlying data structures. The view shares the unmodified balances with
+     * this snapshot (see {@link SnapshotStateImpl}), so only the balances that changed since are copied.
+     *
+     * It can not be requested while the current thread holds the write lock, since the view would publish the
+     * modifications of an incomplete write access to all readers.
+     *
+     * @throws IllegalStateException if the current thread holds the write lock of the snapshot
+     */
+    @Override
+    public Snapshot view() {
+        if (readWriteLock.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("a view can not be created during a write access");
+        }
+
+        Snapshot currentView = view;
+        if (currentView == null) {
+            lockRead();
+
+            try {
+                currentView = view;
+                if (currentView == null) {
+                    currentView = new SnapshotView(this);
+                    view = currentView;
+                }
+            } finally {
+                unlockRead();
+            }
+        }
+
+        return currentView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean addSkippedMilestone(int skippedMilestoneIndex) {
-        return skippedMilestones.add(skippedMilestoneIndex);
+        lockWrite();
+
+        try {
+            return skippedMilestones.add(skippedMilestoneIndex);
+        } finally {
+            unlockWrite();
+        }
     }
 
     /**
@@ -115,7 +183,13 @@ public class SnapshotImpl implements Snapshot {
      */
     @Override
     public boolean removeSkippedMilestone(int skippedMilestoneIndex) {
-        return skippedMilestones.remove(skippedMilestoneIndex);
+        lockWrite();
+
+        try {
+            return skippedMilestones.remove(skippedMilestoneIndex);
+        } finally {
+            unlockWrite();
+        }
     }
 
     /**
@@ -581,4 +655,68 @@ public class SnapshotImpl implements Snapshot {
     }
 
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
-}
\ No newline at end of file
+
+    /**
+     * Immutable copy of a {@link SnapshotImpl} that is returned by {@link SnapshotImpl#view()}.
+     *
+     * Since the copy is never modified, it does not need any synchronization. All methods that would modify the
+     * snapshot go through {@link #lockWrite()} and therefore fail with an {@link UnsupportedOperationException}.
+     */
+    private static class SnapshotView extends SnapshotImpl {
+        /**
+         * Holds the version of the snapshot that this view was created from.
+         */
+        private final long viewVersion;
+
+        /**
+         * Creates a view of the given snapshot by copying its current state.
+         *
+         * @param snapshot snapshot that shall be copied (the caller has to hold its read lock)
+         */
+        private SnapshotView(SnapshotImpl snapshot) {
+            super(snapshot);
+
+            viewVersion = snapshot.getVersion();
+        }
+
+        @Override
+        public void lockRead() {
+            // the view is immutable - no need to lock
+        }
+
+        @Override
+        public void unlockRead() {
+            // the view is immutable - no need to lock
+        }
+
+        @Override
+        public void lockWrite() {
+            throw new UnsupportedOperationException("snapshot views are read-only");
+        }
+
+        @Override
+        public void unlockWrite() {
+            throw new UnsupportedOperationException("snapshot views are read-only");
+        }
+
+        @Override
+        public boolean addSkippedMilestone(int skippedMilestoneIndex) {
+            throw new UnsupportedOperationException("snapshot views are read-only");
+        }
+
+        @Override
+        public boolean removeSkippedMilestone(int skippedMilestoneIndex) {
+            throw new UnsupportedOperationException("snapshot views are read-only");
+        }
+
+        @Override
+        public Snapshot view() {
+            return this;
+        }
+
+        @Override
+        public long getVersion() {
+            return viewVersion;
+        }
+    }
+}
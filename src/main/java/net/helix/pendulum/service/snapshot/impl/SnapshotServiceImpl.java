@@ -3,7 +3,6 @@ package net.helix.pendulum.service.snapshot.impl;
 import net.helix.pendulum.conf.BasePendulumConfig;
 import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.conf.TestnetConfig;
-import net.helix.pendulum.controllers.ApproveeViewModel;
 import net.helix.pendulum.controllers.RoundViewModel;
 import net.helix.pendulum.controllers.StateDiffViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
@@ -18,8 +17,8 @@ import net.helix.pendulum.service.transactionpruning.jobs.MilestonePrunerJob;
 import net.helix.pendulum.service.transactionpruning.jobs.UnconfirmedSubtanglePrunerJob;
 import net.helix.pendulum.service.utils.RoundIndexUtil;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.collections.impl.CompactHashSet;
 import net.helix.pendulum.utils.dag.DAGHelper;
-import net.helix.pendulum.utils.dag.TraversalException;
 import net.helix.pendulum.utils.log.ProgressLogger;
 import net.helix.pendulum.utils.log.interval.IntervalProgressLogger;
 import org.slf4j.Logger;
@@ -29,7 +28,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -260,28 +258,23 @@ public class SnapshotServiceImpl implements SnapshotService {
             throw new SnapshotException("the snapshot target " + targetRound + " is too old");
         }
 
-        snapshotProvider.getInitialSnapshot().lockRead();
-        snapshotProvider.getLatestSnapshot().lockRead();
+        // we work on immutable views of the snapshots, so the milestone processing is not blocked while we replay or
+        // roll back the milestones on our private copy
+        Snapshot initialSnapshot = snapshotProvider.getInitialSnapshot().view();
+        Snapshot latestSnapshot = snapshotProvider.getLatestSnapshot().view();
 
         Snapshot snapshot;
-        try {
-            int distanceFromInitialSnapshot = Math.abs(snapshotProvider.getInitialSnapshot().getIndex() -
-                    targetRound.index());
-            int distanceFromLatestSnapshot = Math.abs(snapshotProvider.getLatestSnapshot().getIndex() -
-                    targetRound.index());
+        int distanceFromInitialSnapshot = Math.abs(initialSnapshot.getIndex() - targetRound.index());
+        int distanceFromLatestSnapshot = Math.abs(latestSnapshot.getIndex() - targetRound.index());
 
-            if (distanceFromInitialSnapshot <= distanceFromLatestSnapshot) {
-                snapshot = snapshotProvider.getInitialSnapshot().clone();
+        if (distanceFromInitialSnapshot <= distanceFromLatestSnapshot) {
+            snapshot = initialSnapshot.clone();
 
-                replayMilestones(snapshot, targetRound.index());
-            } else {
-                snapshot = snapshotProvider.getLatestSnapshot().clone();
+            replayMilestones(snapshot, targetRound.index());
+        } else {
+            snapshot = latestSnapshot.clone();
 
-                rollBackMilestones(snapshot, targetRound.index() + 1);
-            }
-        } finally {
-            snapshotProvider.getInitialSnapshot().unlockRead();
-            snapshotProvider.getLatestSnapshot().unlockRead();
+            rollBackMilestones(snapshot, targetRound.index() + 1);
         }
 
         snapshot.setSolidEntryPoints(generateSolidEntryPoints(targetRound));
@@ -298,8 +291,14 @@ public class SnapshotServiceImpl implements SnapshotService {
         Map<Hash, Integer> solidEntryPoints = new HashMap<>();
         solidEntryPoints.put(Hash.NULL_HASH, targetMilestone.index());
 
-        processOldSolidEntryPoints(tangle, snapshotProvider, targetMilestone, solidEntryPoints);
-        processNewSolidEntryPoints(tangle, snapshotProvider, targetMilestone, solidEntryPoints);
+        SolidEntryPointGenerator generator = new SolidEntryPointGenerator(tangle, targetMilestone,
+                config.getValidatorSecurity(), Runtime.getRuntime().availableProcessors());
+        try {
+            processOldSolidEntryPoints(generator, snapshotProvider, targetMilestone, solidEntryPoints);
+            processNewSolidEntryPoints(tangle, generator, snapshotProvider, targetMilestone, solidEntryPoints);
+        } finally {
+            generator.shutdown();
+        }
 
         return solidEntryPoints;
     }
@@ -528,153 +527,59 @@ public class SnapshotServiceImpl implements SnapshotService {
         snapshotProvider.getInitialSnapshot().update(newSnapshot);
     }
 
-    /**
-     * This method determines if a transaction is orphaned.
-     *
-     * Since there is no hard definition for when a transaction can be considered to be orphaned, we define orphaned in
-     * relation to a referenceTransaction. If the transaction or any of its direct or indirect approvers saw a
-     * transaction being attached to it, that arrived after our reference transaction, we consider it "not orphaned".
-     *
-     * Since we currently use milestones as reference transactions that are sufficiently old, this definition in fact is
-     * a relatively safe way to determine if a subtangle "above" a transaction got orphaned.
-     *
-     * @param tangle Tangle object which acts as a database interface
-     * @param transaction transaction that shall be checked
-     * @param referenceTransaction transaction that acts as a judge to the other transaction
-     * @param processedTransactions transactions that were visited already while trying to determine the orphaned status
-     * @return true if the transaction got orphaned and false otherwise
-     * @throws SnapshotException if anything goes wrong while determining the orphaned status
-     */
-    private boolean isOrphaned(Tangle tangle, TransactionViewModel transaction,
-                               TransactionViewModel referenceTransaction, Set<Hash> processedTransactions) throws SnapshotException {
-
-        long arrivalTime = transaction.getArrivalTime() / 1000L;
-        if (arrivalTime > referenceTransaction.getTimestamp()) {
-            return false;
-        }
-
-        AtomicBoolean nonOrphanedTransactionFound = new AtomicBoolean(false);
-        try {
-            DAGHelper.get(tangle).traverseApprovers(
-                    transaction.getHash(),
-                    currentTransaction -> !nonOrphanedTransactionFound.get(),
-                    currentTransaction -> {
-                        if (arrivalTime > referenceTransaction.getTimestamp()) {
-                            nonOrphanedTransactionFound.set(true);
-                        }
-                    },
-                    processedTransactions
-            );
-        } catch (TraversalException e) {
-            throw new SnapshotException("failed to determine orphaned status of " + transaction, e);
-        }
-
-        return !nonOrphanedTransactionFound.get();
-    }
-
-    /**
-     * This method checks if a transaction is a solid entry point for the targetMilestone.
-     *
-     * A transaction is considered a solid entry point if it has non-orphaned approvers.
-     *
-     * To check if the transaction has non-orphaned approvers we first check if any of its approvers got confirmed by a
-     * future milestone, since this is very cheap. If none of them got confirmed by another milestone we do the more
-     * expensive check from {@link #isOrphaned(Tangle, TransactionViewModel, TransactionViewModel, Set)}.
-     *
-     * Since solid entry points have a limited life time and to prevent potential problems due to temporary errors in
-     * the database, we assume that the checked transaction is a solid entry point if any error occurs while determining
-     * its status. This is a storage <=> reliability trade off, since the only bad effect of having too many solid entry
-     * points) is a bigger snapshot file.
-     *
-     * @param tangle Tangle object which acts as a database interface
-     * @param transactionHash hash of the transaction that shall be checked
-     * @param targetRound milestone that is used as an anchor for our checks
-     * @return true if the transaction is a solid entry point and false otherwise
-     */
-    private boolean isSolidEntryPoint(Tangle tangle, Hash transactionHash, RoundViewModel targetRound) {
-        Set<TransactionViewModel> unconfirmedApprovers = new HashSet<>();
-
-        try {
-            for (Hash approverHash : ApproveeViewModel.load(tangle, transactionHash).getHashes()) {
-                TransactionViewModel approver = TransactionViewModel.fromHash(tangle, approverHash);
-
-                if (approver.snapshotIndex() > targetRound.index()) {
-                    return true;
-                } else if (approver.snapshotIndex() == 0) {
-                    unconfirmedApprovers.add(approver);
-                }
-            }
-
-            Set<Hash> processedTransactions = new HashSet<>();
-            for (TransactionViewModel unconfirmedApprover : unconfirmedApprovers) {
-                // if one of the unconfirmed approvers isn't orphaned from the perspective of one of the confirmed tips, the transaction is a solid entry point
-                for (Hash milestoneHash : targetRound.getConfirmedTips(tangle, config.getValidatorSecurity())) {
-                    TransactionViewModel milestoneTransaction = TransactionViewModel.fromHash(tangle, milestoneHash);
-                    if (!isOrphaned(tangle, unconfirmedApprover, milestoneTransaction, processedTransactions)) {
-                        return true;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.error("failed to determine the solid entry point status for transaction " + transactionHash, e);
-
-            return true;
-        }
-
-        return false;
-    }
-
     /**
      * This method analyzes the old solid entry points and determines if they are still not orphaned.
      *
-     * It simply iterates through the old solid entry points and checks them one by one. If an old solid entry point
-     * is found to still be relevant it is added to the passed in map.
+     * It collects the old solid entry points that did not expire yet and lets the {@link SolidEntryPointGenerator}
+     * check them in parallel. If an old solid entry point is found to still be relevant it is added to the passed in
+     * map.
      *
-     * @param tangle Tangle object which acts as a database interface
+     * @param generator generator that determines the solid entry point status of the candidates
      * @param snapshotProvider data provider for the {@link Snapshot}s that are relevant for the node
      * @param targetMilestone milestone that is used to generate the solid entry points
      * @param solidEntryPoints map that is used to collect the solid entry points
+     * @throws SnapshotException if anything goes wrong while determining the solid entry points
      */
-    private void processOldSolidEntryPoints(Tangle tangle, SnapshotProvider snapshotProvider,
-                                            RoundViewModel targetMilestone, Map<Hash, Integer> solidEntryPoints) {
-
-        ProgressLogger progressLogger = new IntervalProgressLogger(
-                "Taking local snapshot [analyzing old solid entry points]", log)
-                .start(snapshotProvider.getInitialSnapshot().getSolidEntryPoints().size());
-
-        Snapshot initialSnapshot = snapshotProvider.getInitialSnapshot();
-        initialSnapshot.getSolidEntryPoints().forEach((hash, milestoneIndex) -> {
-            if (!Hash.NULL_HASH.equals(hash) && targetMilestone.index() - milestoneIndex <= SOLID_ENTRY_POINT_LIFETIME
-                    && isSolidEntryPoint(tangle, hash, targetMilestone)) {
+    private void processOldSolidEntryPoints(SolidEntryPointGenerator generator, SnapshotProvider snapshotProvider,
+                                            RoundViewModel targetMilestone, Map<Hash, Integer> solidEntryPoints)
+            throws SnapshotException {
 
-                solidEntryPoints.put(hash, milestoneIndex);
-            }
+        Map<Hash, Integer> oldSolidEntryPoints = snapshotProvider.getInitialSnapshot().getSolidEntryPoints();
+        Set<Hash> candidates = oldSolidEntryPoints.entrySet().stream()
+                .filter(entry -> !Hash.NULL_HASH.equals(entry.getKey()) &&
+                        targetMilestone.index() - entry.getValue() <= SOLID_ENTRY_POINT_LIFETIME)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
 
-            progressLogger.progress();
-        });
+        for (Hash solidEntryPoint : generator.filterSolidEntryPoints(
+                "Taking local snapshot [analyzing old solid entry points]", candidates)) {
 
-        progressLogger.finish();
+            solidEntryPoints.put(solidEntryPoint, oldSolidEntryPoints.get(solidEntryPoint));
+        }
     }
 
     /**
      * This method retrieves the new solid entry points of the snapshot reference given by the target milestone.
      *
-     * It iterates over all unprocessed milestones and analyzes their directly and indirectly approved transactions.
-     * Every transaction is checked for being a solid entry point and added to the passed in map (if it was found to be
-     * one).
+     * It iterates over all unprocessed milestones and collects their directly and indirectly approved transactions.
+     * The collected transactions are then checked in parallel by the {@link SolidEntryPointGenerator} and added to the
+     * passed in map (if they were found to be solid entry points).
      *
      * @param tangle Tangle object which acts as a database interface
+     * @param generator generator that determines the solid entry point status of the candidates
      * @param snapshotProvider data provider for the {@link Snapshot}s that are relevant for the node
      * @param targetMilestone milestone that is used to generate the solid entry points
      * @param solidEntryPoints map that is used to collect the solid entry points
      * @throws SnapshotException if anything goes wrong while determining the solid entry points
      */
-    private void processNewSolidEntryPoints(Tangle tangle, SnapshotProvider snapshotProvider,
-                                            RoundViewModel targetMilestone, Map<Hash, Integer> solidEntryPoints) throws SnapshotException {
+    private void processNewSolidEntryPoints(Tangle tangle, SolidEntryPointGenerator generator,
+                                            SnapshotProvider snapshotProvider, RoundViewModel targetMilestone,
+                                            Map<Hash, Integer> solidEntryPoints) throws SnapshotException {
 
         ProgressLogger progressLogger = new IntervalProgressLogger(
-                "Taking local snapshot [generating solid entry points]", log);
+                "Taking local snapshot [collecting solid entry point candidates]", log);
 
+        Set<Hash> candidates = new HashSet<>();
         try {
             progressLogger.start(Math.min(targetMilestone.index() - snapshotProvider.getInitialSnapshot().getIndex(),
                     OUTER_SHELL_SIZE));
@@ -684,15 +589,15 @@ public class SnapshotServiceImpl implements SnapshotService {
                     progressLogger.getCurrentStep() < progressLogger.getStepCount()) {
 
                 RoundViewModel currentMilestone = nextMilestone;
+                // the confirmed tips of a milestone share the same condition, so their overlapping cones only get
+                // examined once
+                Set<Hash> processedTransactions = new CompactHashSet();
                 for (Hash confirmedTip : currentMilestone.getConfirmedTips(tangle, config.getValidatorSecurity())) {
                     DAGHelper.get(tangle).traverseApprovees(
                             confirmedTip,
                             currentTransaction -> currentTransaction.snapshotIndex() >= currentMilestone.index(),
-                            currentTransaction -> {
-                                if (isSolidEntryPoint(tangle, currentTransaction.getHash(), targetMilestone)) {
-                                    solidEntryPoints.put(currentTransaction.getHash(), targetMilestone.index());
-                                }
-                            }
+                            currentTransaction -> candidates.add(currentTransaction.getHash()),
+                            processedTransactions
                     );
                     solidEntryPoints.put(confirmedTip, targetMilestone.index());
                 }
@@ -709,5 +614,11 @@ public class SnapshotServiceImpl implements SnapshotService {
 
             throw new SnapshotException("could not generate the solid entry points for " + targetMilestone, e);
         }
+
+        for (Hash solidEntryPoint : generator.filterSolidEntryPoints(
+                "Taking local snapshot [generating solid entry points]", candidates)) {
+
+            solidEntryPoints.put(solidEntryPoint, targetMilestone.index());
+        }
     }
 }
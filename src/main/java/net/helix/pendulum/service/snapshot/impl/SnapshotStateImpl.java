@@ -12,9 +12,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implements the basic contract of the {@link SnapshotState} interface.
+ *
+ * The balances are stored copy-on-write: a map of balances that is never modified (and can therefore be shared by all
+ * clones of the state) and a map with the balances that were changed since. The changes are merged into a new shared
+ * map once they exceed 1/{@link #COMPACTION_DIVISOR} of its size, so cloning the state (i.e. for the views of the
+ * snapshots) does not copy the whole ledger.
  */
 public class SnapshotStateImpl implements SnapshotState {
     /**
@@ -23,17 +29,38 @@ public class SnapshotStateImpl implements SnapshotState {
     private static final Logger log = LoggerFactory.getLogger(SnapshotStateImpl.class);
 
     /**
-     * Holds the balances of the addresses.
+     * Fraction of the shared balances that the changed balances can reach before they get merged.
      */
-    private final Map<Hash, Long> balances;
+    private static final int COMPACTION_DIVISOR = 8;
+
+    /**
+     * Holds the balances of the addresses that may be shared with the clones of this state (never modified).
+     */
+    private Map<Hash, Long> sharedBalances;
+
+    /**
+     * Holds the balances that were changed since the shared balances were created ({@code null} for removed ones).
+     */
+    private Map<Hash, Long> changedBalances;
 
     /**
      * Creates a deep clone of the passed in {@link SnapshotState}.
      *
+     * The clone of a {@link SnapshotStateImpl} shares the unmodified balances with the original and only copies the
+     * balances that were changed since.
+     *
      * @param snapshotState the object that shall be cloned
      */
     public SnapshotStateImpl(SnapshotState snapshotState) {
-        this(snapshotState.getBalances());
+        if (snapshotState instanceof SnapshotStateImpl) {
+            SnapshotStateImpl original = (SnapshotStateImpl) snapshotState;
+
+            sharedBalances = original.sharedBalances;
+            changedBalances = new HashMap<>(original.changedBalances);
+        } else {
+            sharedBalances = snapshotState.getBalances();
+            changedBalances = new HashMap<>();
+        }
     }
 
     /**
@@ -45,7 +72,8 @@ public class SnapshotStateImpl implements SnapshotState {
      * @param balances map with the addresses associated to their balance
      */
     protected SnapshotStateImpl(Map<Hash, Long> balances) {
-        this.balances = balances;
+        this.sharedBalances = balances;
+        this.changedBalances = new HashMap<>();
     }
 
     /**
@@ -53,7 +81,12 @@ public class SnapshotStateImpl implements SnapshotState {
      */
     @Override
     public Long getBalance(Hash address) {
-        return this.balances.get(address);
+        Long changedBalance = changedBalances.get(address);
+        if (changedBalance != null || changedBalances.containsKey(address)) {
+            return changedBalance;
+        }
+
+        return sharedBalances.get(address);
     }
 
     /**
@@ -61,7 +94,16 @@ public class SnapshotStateImpl implements SnapshotState {
      */
     @Override
     public Map<Hash, Long> getBalances() {
-        return new HashMap<>(balances);
+        Map<Hash, Long> balances = new HashMap<>(sharedBalances);
+        changedBalances.forEach((address, balance) -> {
+            if (balance == null) {
+                balances.remove(address);
+            } else {
+                balances.put(address, balance);
+            }
+        });
+
+        return balances;
     }
 
     /**
@@ -77,8 +119,8 @@ public class SnapshotStateImpl implements SnapshotState {
      */
     @Override
     public boolean hasCorrectSupply() {
-        long supply = balances.values()
-                .stream()
+        long supply = balanceStream()
+                .map(Map.Entry::getValue)
                 .reduce(Math::addExact)
                 .orElse(Long.MAX_VALUE);
 
@@ -90,8 +132,8 @@ public class SnapshotStateImpl implements SnapshotState {
      */
     @Override
     public void update(SnapshotState newState) {
-        balances.clear();
-        balances.putAll(newState.getBalances());
+        sharedBalances = newState.getBalances();
+        changedBalances = new HashMap<>();
     }
 
     /**
@@ -104,14 +146,16 @@ public class SnapshotStateImpl implements SnapshotState {
         }
 
         diff.getBalanceChanges().forEach((addressHash, balance) -> {
-            if (balances.computeIfPresent(addressHash, (hash, aLong) -> balance + aLong) == null) {
-                balances.putIfAbsent(addressHash, balance);
-            }
+            Long currentBalance = getBalance(addressHash);
+            long newBalance = currentBalance == null ? balance : currentBalance + balance;
 
-            if (balances.get(addressHash) == 0) {
-                balances.remove(addressHash);
-            }
+            changedBalances.put(addressHash, newBalance == 0 ? null : newBalance);
         });
+
+        if (changedBalances.size() > sharedBalances.size() / COMPACTION_DIVISOR) {
+            sharedBalances = getBalances();
+            changedBalances = new HashMap<>();
+        }
     }
 
     /**
@@ -123,7 +167,7 @@ public class SnapshotStateImpl implements SnapshotState {
                 .entrySet()
                 .stream()
                 .map(hashLongEntry -> new HashMap.SimpleEntry<>(hashLongEntry.getKey(),
-                        balances.getOrDefault(hashLongEntry.getKey(), 0L) + hashLongEntry.getValue()))
+                        getBalanceOrZero(hashLongEntry.getKey()) + hashLongEntry.getValue()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
         return new SnapshotStateImpl(patchedBalances);
@@ -131,7 +175,7 @@ public class SnapshotStateImpl implements SnapshotState {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getClass(), balances);
+        return Objects.hash(getClass(), getBalances());
     }
 
     @Override
@@ -144,7 +188,35 @@ public class SnapshotStateImpl implements SnapshotState {
             return false;
         }
 
-        return Objects.equals(balances, ((SnapshotStateImpl) obj).balances);
+        return Objects.equals(getBalances(), ((SnapshotStateImpl) obj).getBalances());
+    }
+
+    /**
+     * Returns the balance of the given address or 0 if the address has no balance.
+     *
+     * @param address address that shall be looked up
+     * @return the balance of the address
+     */
+    private long getBalanceOrZero(Hash address) {
+        Long balance = getBalance(address);
+
+        return balance == null ? 0L : balance;
+    }
+
+    /**
+     * Returns the addresses associated to their balance without copying the balances.
+     *
+     * @return a stream of the addresses associated to their balance
+     */
+    private Stream<Map.Entry<Hash, Long>> balanceStream() {
+        return Stream.concat(
+                sharedBalances.entrySet()
+                        .stream()
+                        .filter(entry -> !changedBalances.containsKey(entry.getKey())),
+                changedBalances.entrySet()
+                        .stream()
+                        .filter(entry -> entry.getValue() != null)
+        );
     }
 
     /**
@@ -158,7 +230,9 @@ public class SnapshotStateImpl implements SnapshotState {
      */
     private Map<Hash, Long> getInconsistentAddresses() {
         HashMap<Hash, Long> result = new HashMap<>();
-        balances.forEach((key, value) -> {
+        balanceStream().forEach(entry -> {
+            Hash key = entry.getKey();
+            Long value = entry.getValue();
             if (value < 0) {
                 log.info("negative value for address " + key + ": " + value);
 
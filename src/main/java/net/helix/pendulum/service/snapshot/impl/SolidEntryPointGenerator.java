@@ -0,0 +1,318 @@
+package net.helix.pendulum.service.snapshot.impl;
+
+import net.helix.pendulum.controllers.ApproveeViewModel;
+import net.helix.pendulum.controllers.RoundViewModel;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.service.snapshot.SnapshotException;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.log.ProgressLogger;
+import net.helix.pendulum.utils.log.interval.IntervalProgressLogger;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Determines the solid entry point status of a set of candidate transactions for a single local snapshot.<br />
+ * <br />
+ * The candidates of a snapshot share most of their approvers, so instead of walking the approvers of every candidate
+ * separately, we memoize the orphaned status of every transaction that was visited and the solid entry point status
+ * of every candidate that was checked. This makes the traversals of later candidates stop as soon as they reach an
+ * already analyzed part of the tangle.<br />
+ * <br />
+ * The candidates are checked in parallel on a dedicated {@link ForkJoinPool}, which is shut down after the generator
+ * was used. Instances are meant to be used for a single snapshot since the memoized values are only valid for the
+ * target round that the instance was created for.<br />
+ */
+public class SolidEntryPointGenerator {
+    /**
+     * Logger for this class allowing us to dump debug and status messages.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SolidEntryPointGenerator.class);
+
+    private static final Counter CHECKED_CANDIDATES = MetricsRegistry.get().counter(
+            "pendulum_solid_entry_points_checked_total", "Solid entry point candidates that were analyzed");
+
+    private static final Counter MEMOIZED_RESULTS = MetricsRegistry.get().counter(
+            "pendulum_solid_entry_points_memoized_total",
+            "Lookups of the solid entry point generation that were answered by memoized values");
+
+    private static final Counter TRAVERSED_TRANSACTIONS = MetricsRegistry.get().counter(
+            "pendulum_solid_entry_points_traversed_total",
+            "Transactions that were loaded while traversing the approvers of solid entry point candidates");
+
+    /**
+     * Holds the tangle object which acts as a database interface.<br />
+     */
+    private final Tangle tangle;
+
+    /**
+     * Holds the round that is used as the anchor of the local snapshot.<br />
+     */
+    private final RoundViewModel targetRound;
+
+    /**
+     * Holds the oldest timestamp of the confirmed tips of the target round.<br />
+     * <br />
+     * A transaction is considered to be "not orphaned" if any of its direct or indirect approvers arrived after one of
+     * the confirmed tips, which is the same as arriving after the oldest of them.<br />
+     */
+    private final long referenceTimestamp;
+
+    /**
+     * Holds the pool that processes the candidates.<br />
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Memoized orphaned status of the transactions that were visited while analyzing the candidates.<br />
+     */
+    private final Map<Hash, Boolean> orphanedStatus = new ConcurrentHashMap<>();
+
+    /**
+     * Memoized solid entry point status of the candidates that were checked already.<br />
+     */
+    private final Map<Hash, Boolean> solidEntryPointStatus = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the candidates that were analyzed by this generator (the totals are exported as metrics).<br />
+     */
+    private final AtomicLong checkedCandidates = new AtomicLong();
+
+    /**
+     * Counts the lookups of this generator that were answered by the memoized values.<br />
+     */
+    private final AtomicLong memoizedResults = new AtomicLong();
+
+    /**
+     * Counts the transactions that were loaded by this generator while traversing the approvers.<br />
+     */
+    private final AtomicLong traversedTransactions = new AtomicLong();
+
+    /**
+     * Creates a generator for the given target round.<br />
+     *
+     * @param tangle Tangle object which acts as a database interface
+     * @param targetRound round that is used as an anchor for the solid entry points
+     * @param security security level that is used to determine the confirmed tips of the target round
+     * @param parallelism amount of threads that are used to analyze the candidates
+     * @throws SnapshotException if the confirmed tips of the target round can not be loaded
+     */
+    public SolidEntryPointGenerator(Tangle tangle, RoundViewModel targetRound, int security, int parallelism)
+            throws SnapshotException {
+
+        this.tangle = tangle;
+        this.targetRound = targetRound;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+
+        try {
+            long oldestTimestamp = Long.MAX_VALUE;
+            for (Hash confirmedTip : targetRound.getConfirmedTips(tangle, security)) {
+                oldestTimestamp = Math.min(oldestTimestamp,
+                        TransactionViewModel.fromHash(tangle, confirmedTip).getTimestamp());
+            }
+            referenceTimestamp = oldestTimestamp;
+        } catch (Exception e) {
+            pool.shutdown();
+
+            throw new SnapshotException("failed to load the confirmed tips of " + targetRound, e);
+        }
+    }
+
+    /**
+     * Checks the given candidates in parallel and returns the ones that are solid entry points.<br />
+     * <br />
+     * Candidates that were checked already by this generator are answered from the memoized values.<br />
+     *
+     * @param taskName name of the task that is used for the progress logs
+     * @param candidates transactions that shall be checked
+     * @return the subset of the candidates that are solid entry points
+     * @throws SnapshotException if the processing of the candidates gets interrupted
+     */
+    public Set<Hash> filterSolidEntryPoints(String taskName, Collection<Hash> candidates) throws SnapshotException {
+        ProgressLogger progressLogger = new IntervalProgressLogger(taskName, log).start(candidates.size());
+        AtomicInteger processedCandidates = new AtomicInteger();
+
+        Set<Hash> solidEntryPoints = ConcurrentHashMap.newKeySet();
+        try {
+            pool.submit(() -> candidates.parallelStream().forEach(candidate -> {
+                if (isSolidEntryPoint(candidate)) {
+                    solidEntryPoints.add(candidate);
+                }
+
+                int currentStep = processedCandidates.incrementAndGet();
+                synchronized (progressLogger) {
+                    progressLogger.progress(currentStep);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progressLogger.abort(e);
+
+            throw new SnapshotException("interrupted while generating the solid entry points", e);
+        } catch (ExecutionException e) {
+            progressLogger.abort(e.getCause());
+
+            throw new SnapshotException("failed to generate the solid entry points", e.getCause());
+        }
+
+        progressLogger.finish();
+
+        return solidEntryPoints;
+    }
+
+    /**
+     * Shuts down the pool of the generator and logs the statistics of this run.<br />
+     */
+    public void shutdown() {
+        pool.shutdown();
+
+        log.info("Solid entry points of round #{}: {} candidates checked, {} memoized results reused, {} transactions "
+                + "traversed", targetRound.index(), checkedCandidates.get(), memoizedResults.get(),
+                traversedTransactions.get());
+    }
+
+    /**
+     * Counts a lookup that was answered by a memoized value.<br />
+     */
+    private void countMemoizedResult() {
+        memoizedResults.incrementAndGet();
+        MEMOIZED_RESULTS.increment();
+    }
+
+    /**
+     * This method checks if a transaction is a solid entry point for the target round.<br />
+     * <br />
+     * A transaction is considered a solid entry point if it has non-orphaned approvers.<br />
+     * <br />
+     * To check if the transaction has non-orphaned approvers we first check if any of its approvers got confirmed by a
+     * future round, since this is very cheap. If none of them got confirmed by another round we do the more expensive
+     * check from {@link #isOrphaned(TransactionViewModel)}.<br />
+     * <br />
+     * Since solid entry points have a limited life time and to prevent potential problems due to temporary errors in
+     * the database, we assume that the checked transaction is a solid entry point if any error occurs while
+     * determining its status.<br />
+     *
+     * @param transactionHash hash of the transaction that shall be checked
+     * @return true if the transaction is a solid entry point and false otherwise
+     */
+    private boolean isSolidEntryPoint(Hash transactionHash) {
+        Boolean memoizedStatus = solidEntryPointStatus.get(transactionHash);
+        if (memoizedStatus != null) {
+            countMemoizedResult();
+
+            return memoizedStatus;
+        }
+
+        checkedCandidates.incrementAndGet();
+        CHECKED_CANDIDATES.increment();
+
+        boolean result = false;
+        try {
+            List<TransactionViewModel> unconfirmedApprovers = new ArrayList<>();
+            for (Hash approverHash : ApproveeViewModel.load(tangle, transactionHash).getHashes()) {
+                TransactionViewModel approver = TransactionViewModel.fromHash(tangle, approverHash);
+
+                if (approver.snapshotIndex() > targetRound.index()) {
+                    result = true;
+
+                    break;
+                } else if (approver.snapshotIndex() == 0) {
+                    unconfirmedApprovers.add(approver);
+                }
+            }
+
+            for (int i = 0; !result && i < unconfirmedApprovers.size(); i++) {
+                result = !isOrphaned(unconfirmedApprovers.get(i));
+            }
+        } catch (Exception e) {
+            log.error("failed to determine the solid entry point status for transaction " + transactionHash, e);
+
+            result = true;
+        }
+
+        solidEntryPointStatus.put(transactionHash, result);
+
+        return result;
+    }
+
+    /**
+     * This method determines if a transaction is orphaned.<br />
+     * <br />
+     * If the transaction or any of its direct or indirect approvers arrived after the reference timestamp, we consider
+     * it "not orphaned". The traversal stops at transactions whose status is known already: a non-orphaned approver
+     * makes the transaction non-orphaned and the approvers of orphaned transactions do not need to be examined again.
+     * If the traversal finishes without finding a non-orphaned transaction, all visited transactions are orphaned and
+     * get memoized accordingly.<br />
+     *
+     * @param transaction transaction that shall be checked
+     * @return true if the transaction got orphaned and false otherwise
+     * @throws Exception if anything goes wrong while loading the approvers
+     */
+    private boolean isOrphaned(TransactionViewModel transaction) throws Exception {
+        Boolean memoizedStatus = orphanedStatus.get(transaction.getHash());
+        if (memoizedStatus != null) {
+            countMemoizedResult();
+
+            return memoizedStatus;
+        }
+
+        Predicate<TransactionViewModel> arrivedLate = currentTransaction ->
+                currentTransaction.getArrivalTime() / 1000L > referenceTimestamp;
+
+        Set<Hash> visitedTransactions = new HashSet<>();
+        Queue<TransactionViewModel> transactionsToExamine = new ArrayDeque<>();
+        transactionsToExamine.add(transaction);
+        visitedTransactions.add(transaction.getHash());
+
+        TransactionViewModel currentTransaction;
+        while ((currentTransaction = transactionsToExamine.poll()) != null) {
+            Boolean knownStatus = currentTransaction == transaction ? null :
+                    orphanedStatus.get(currentTransaction.getHash());
+            if (knownStatus != null) {
+                countMemoizedResult();
+                if (!knownStatus) {
+                    orphanedStatus.put(transaction.getHash(), false);
+
+                    return false;
+                }
+
+                continue;
+            }
+
+            if (arrivedLate.test(currentTransaction)) {
+                orphanedStatus.put(currentTransaction.getHash(), false);
+                orphanedStatus.put(transaction.getHash(), false);
+
+                return false;
+            }
+
+            for (Hash approverHash : ApproveeViewModel.load(tangle, currentTransaction.getHash()).getHashes()) {
+                if (visitedTransactions.add(approverHash)) {
+                    TransactionViewModel approver = TransactionViewModel.fromHash(tangle, approverHash);
+                    traversedTransactions.incrementAndGet();
+                    TRAVERSED_TRANSACTIONS.increment();
+
+                    if (approver.getType() != TransactionViewModel.PREFILLED_SLOT) {
+                        transactionsToExamine.add(approver);
+                    }
+                }
+            }
+        }
+
+        for (Hash visitedTransaction : visitedTransactions) {
+            orphanedStatus.putIfAbsent(visitedTransaction, true);
+        }
+
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import net.helix.pendulum.conf.SnapshotConfig;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.HashFactory;
 import net.helix.pendulum.model.persistables.SpentAddress;
+import net.helix.pendulum.model.persistables.SpentAddressesImport;
 import net.helix.pendulum.service.spentaddresses.SpentAddressesException;
 import net.helix.pendulum.service.spentaddresses.SpentAddressesProvider;
 import net.helix.pendulum.storage.Indexable;
@@ -12,12 +13,19 @@ import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
 import net.helix.pendulum.utils.Pair;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -29,6 +37,7 @@ import java.util.stream.Collectors;
  *
  */
 public class SpentAddressesProviderImpl implements SpentAddressesProvider {
+    private static final Logger log = LoggerFactory.getLogger(SpentAddressesProviderImpl.class);
 
     private RocksDBPersistenceProvider rocksDBPersistenceProvider;
 
@@ -52,6 +61,7 @@ public class SpentAddressesProviderImpl implements SpentAddressesProvider {
         
         Map<String, Class<? extends Persistable>> columnFamilies = new HashMap<>();
         columnFamilies.put("spent-addresses", SpentAddress.class);
+        columnFamilies.put("spent-addresses-import", SpentAddressesImport.class);
         String addressDBPath = System.getProperty("spent.addresses.db", "");
         rocksDBPersistenceProvider = new RocksDBPersistenceProvider(
                 addressDBPath + SPENT_ADDRESSES_DB,
@@ -76,26 +86,78 @@ public class SpentAddressesProviderImpl implements SpentAddressesProvider {
         }
     }
 
+    /**
+     * Imports the spent addresses of the previous epochs.<br />
+     * <br />
+     * The addresses are bulk loaded into the database with a single SST file and the content hash of the files is
+     * stored as a marker afterwards, so later boots only have to hash the files to skip the import.<br />
+     *
+     * @throws SpentAddressesException if the files can not be read or the addresses can not be imported
+     */
     private void readPreviousEpochsSpentAddresses() throws SpentAddressesException {
         if (config.isTestnet()) {
             return;
         }
 
-        for (String previousEpochsSpentAddressesFile : config.getPreviousEpochSpentAddressesFiles().split(" ")) {
-            readSpentAddressesFromStream(
-                    SpentAddressesProviderImpl.class.getResourceAsStream(previousEpochsSpentAddressesFile));
+        String[] previousEpochsSpentAddressesFiles = config.getPreviousEpochSpentAddressesFiles().split(" ");
+        Hash contentHash = calculateContentHash(previousEpochsSpentAddressesFiles);
+        try {
+            if (((SpentAddressesImport) rocksDBPersistenceProvider.get(SpentAddressesImport.class, contentHash))
+                    .exists()) {
+                log.info("Spent addresses of previous epochs are imported already");
+                return;
+            }
+
+            List<Hash> addresses = new ArrayList<>();
+            for (String previousEpochsSpentAddressesFile : previousEpochsSpentAddressesFiles) {
+                readSpentAddressesFromStream(openResource(previousEpochsSpentAddressesFile), addresses);
+            }
+
+            long importedAddresses = rocksDBPersistenceProvider.ingest(addresses, new SpentAddress());
+            rocksDBPersistenceProvider.save(new SpentAddressesImport(), contentHash);
+            log.info("Imported {} spent addresses of previous epochs", importedAddresses);
+        } catch (SpentAddressesException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SpentAddressesException("Failed to import the spent addresses of previous epochs", e);
         }
     }
 
-    private void readSpentAddressesFromStream(InputStream in) throws SpentAddressesException {
+    private void readSpentAddressesFromStream(InputStream in, Collection<Hash> addresses)
+            throws SpentAddressesException {
+
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                saveAddress(HashFactory.ADDRESS.create(line));
+                addresses.add(HashFactory.ADDRESS.create(line));
             }
         } catch (Exception e) {
-            throw new SpentAddressesException("Failed to read or save spent address", e);
+            throw new SpentAddressesException("Failed to read spent address", e);
+        }
+    }
+
+    private Hash calculateContentHash(String[] files) throws SpentAddressesException {
+        MessageDigest digest = new SHA3.Digest256();
+        byte[] buffer = new byte[8192];
+        for (String file : files) {
+            try (InputStream in = openResource(file)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new SpentAddressesException("Failed to read spent addresses file " + file, e);
+            }
+        }
+        return HashFactory.TRANSACTION.create(digest.digest());
+    }
+
+    private static InputStream openResource(String file) throws SpentAddressesException {
+        InputStream in = SpentAddressesProviderImpl.class.getResourceAsStream(file);
+        if (in == null) {
+            throw new SpentAddressesException("Missing spent addresses file " + file);
         }
+        return in;
     }
 
     @Override
@@ -0,0 +1,214 @@
+package net.helix.pendulum.service.subscription;
+
+import net.helix.pendulum.model.Hash;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a single client of the {@link SubscriptionService}.<br />
+ * <br />
+ * It holds the filters of the client (the addresses, bundles and transactions it is interested in) and a bounded
+ * buffer of the events that were not sent yet. Messages are handed to the {@link Sink} of the client one at a time, so
+ * a slow client never blocks the dispatching of the events. If the buffer is full, the oldest pending event gets
+ * dropped and the amount of dropped events is tracked, so it can be reported to the client.<br />
+ */
+public class Subscription {
+    /**
+     * Interface for the transport that delivers the messages to the client.<br />
+     */
+    public interface Sink {
+        /**
+         * Sends a message to the client without blocking.<br />
+         *
+         * @param message the message that shall be sent
+         * @param onComplete callback that has to be called once the message was sent (or failed to be sent)
+         */
+        void send(String message, Runnable onComplete);
+    }
+
+    /**
+     * Holds the transport of the client.<br />
+     */
+    private final Sink sink;
+
+    /**
+     * Holds the maximum amount of messages that are buffered for the client.<br />
+     */
+    private final int bufferSize;
+
+    /**
+     * Holds the addresses the client is interested in.<br />
+     */
+    private final Set<Hash> addresses = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the bundles the client is interested in.<br />
+     */
+    private final Set<Hash> bundles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the transactions the client is interested in.<br />
+     */
+    private final Set<Hash> transactions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the messages that were not sent yet.<br />
+     */
+    private final Queue<String> buffer = new ArrayDeque<>();
+
+    /**
+     * Flag that indicates if a message is currently being sent to the client.<br />
+     */
+    private boolean sending = false;
+
+    /**
+     * Flag that indicates if the subscription was closed.<br />
+     */
+    private boolean closed = false;
+
+    /**
+     * Holds the amount of messages that were dropped because the client did not keep up.<br />
+     */
+    private long droppedMessages = 0;
+
+    /**
+     * Creates a subscription that delivers its messages to the given sink.<br />
+     *
+     * @param sink transport of the client
+     * @param bufferSize maximum amount of messages that are buffered for the client
+     */
+    public Subscription(Sink sink, int bufferSize) {
+        this.sink = sink;
+        this.bufferSize = Math.max(1, bufferSize);
+    }
+
+    /**
+     * Returns the addresses the client is interested in.<br />
+     *
+     * @return a read only view of the subscribed addresses
+     */
+    public Set<Hash> getAddresses() {
+        return Collections.unmodifiableSet(addresses);
+    }
+
+    /**
+     * Returns the bundles the client is interested in.<br />
+     *
+     * @return a read only view of the subscribed bundles
+     */
+    public Set<Hash> getBundles() {
+        return Collections.unmodifiableSet(bundles);
+    }
+
+    /**
+     * Returns the transactions the client is interested in.<br />
+     *
+     * @return a read only view of the subscribed transactions
+     */
+    public Set<Hash> getTransactions() {
+        return Collections.unmodifiableSet(transactions);
+    }
+
+    /**
+     * Returns the total amount of filters of this subscription.<br />
+     *
+     * @return the amount of subscribed addresses, bundles and transactions
+     */
+    public int size() {
+        return addresses.size() + bundles.size() + transactions.size();
+    }
+
+    /**
+     * Returns the amount of messages that were dropped because the client did not keep up.<br />
+     *
+     * @return the amount of dropped messages
+     */
+    public synchronized long getDroppedMessages() {
+        return droppedMessages;
+    }
+
+    /**
+     * Adds the given hashes to the filters of this subscription.<br />
+     *
+     * @param addedAddresses addresses that shall be added
+     * @param addedBundles bundles that shall be added
+     * @param addedTransactions transactions that shall be added
+     */
+    public void add(Collection<Hash> addedAddresses, Collection<Hash> addedBundles,
+                    Collection<Hash> addedTransactions) {
+
+        addresses.addAll(addedAddresses);
+        bundles.addAll(addedBundles);
+        transactions.addAll(addedTransactions);
+    }
+
+    /**
+     * Removes the given hashes from the filters of this subscription.<br />
+     *
+     * @param removedAddresses addresses that shall be removed
+     * @param removedBundles bundles that shall be removed
+     * @param removedTransactions transactions that shall be removed
+     */
+    public void remove(Collection<Hash> removedAddresses, Collection<Hash> removedBundles,
+                       Collection<Hash> removedTransactions) {
+
+        addresses.removeAll(removedAddresses);
+        bundles.removeAll(removedBundles);
+        transactions.removeAll(removedTransactions);
+    }
+
+    /**
+     * Queues a message for the client and starts sending it if the client is idle.<br />
+     * <br />
+     * If the buffer is full, the oldest pending message gets dropped.<br />
+     *
+     * @param message message that shall be sent
+     */
+    public synchronized void deliver(String message) {
+        if (closed) {
+            return;
+        }
+
+        if (buffer.size() >= bufferSize) {
+            buffer.poll();
+            droppedMessages++;
+        }
+        buffer.add(message);
+
+        sendNext();
+    }
+
+    /**
+     * Marks the subscription as closed and discards all pending messages.<br />
+     */
+    public synchronized void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    /**
+     * Hands the next pending message to the sink if no other message is currently being sent.<br />
+     */
+    private void sendNext() {
+        if (sending || closed || buffer.isEmpty()) {
+            return;
+        }
+
+        sending = true;
+        sink.send(buffer.poll(), this::onSent);
+    }
+
+    /**
+     * Callback that gets called by the sink once a message was sent.<br />
+     */
+    private synchronized void onSent() {
+        sending = false;
+
+        sendNext();
+    }
+}
@@ -0,0 +1,154 @@
+package net.helix.pendulum.service.subscription;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.websocket.*;
+import javax.websocket.server.ServerEndpoint;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * WebSocket endpoint of the {@link SubscriptionService}.<br />
+ * <br />
+ * Clients send JSON commands of the form
+ * <code>{"command": "subscribe", "addresses": [...], "bundles": [...], "transactions": [...]}</code> (or
+ * <code>"unsubscribe"</code> with the same fields) and receive a message for every stored or confirmed transaction
+ * that matches one of their filters. Every command is answered with the current amount of filters and the amount of
+ * messages that were dropped because the client did not keep up.<br />
+ */
+@ServerEndpoint(SubscriptionEndpoint.PATH)
+public class SubscriptionEndpoint {
+    /**
+     * Path of the endpoint on the API server.<br />
+     */
+    public static final String PATH = "/subscribe";
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionEndpoint.class);
+
+    private static final String SUBSCRIPTION_PROPERTY = "subscription";
+
+    private final Gson gson = new GsonBuilder().create();
+
+    @OnOpen
+    public void onOpen(Session session) {
+        Subscription subscription = getService().open((message, onComplete) ->
+                session.getAsyncRemote().sendText(message, result -> {
+                    if (!result.isOK()) {
+                        closeQuietly(session);
+                    }
+                    onComplete.run();
+                }));
+
+        session.getUserProperties().put(SUBSCRIPTION_PROPERTY, subscription);
+    }
+
+    @OnMessage
+    public void onMessage(Session session, String message) {
+        Subscription subscription = (Subscription) session.getUserProperties().get(SUBSCRIPTION_PROPERTY);
+        if (subscription == null) {
+            return;
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        try {
+            Map<?, ?> request = gson.fromJson(message, Map.class);
+            if (request == null) {
+                throw new IllegalArgumentException("Invalid JSON syntax");
+            }
+
+            List<Hash> addresses = getHashes(request, "addresses", HashFactory.ADDRESS);
+            List<Hash> bundles = getHashes(request, "bundles", HashFactory.BUNDLE);
+            List<Hash> transactions = getHashes(request, "transactions", HashFactory.TRANSACTION);
+
+            String command = String.valueOf(request.get("command"));
+            SubscriptionService service = getService();
+            if ("subscribe".equals(command)) {
+                int filters = subscription.size() + addresses.size() + bundles.size() + transactions.size();
+                if (filters > service.getMaxFilters()) {
+                    throw new IllegalArgumentException("Too many filters - the limit is " + service.getMaxFilters());
+                }
+                service.subscribe(subscription, addresses, bundles, transactions);
+            } else if ("unsubscribe".equals(command)) {
+                service.unsubscribe(subscription, addresses, bundles, transactions);
+            } else {
+                throw new IllegalArgumentException("Unknown command: " + command);
+            }
+
+            response.put("filters", subscription.size());
+            response.put("dropped", subscription.getDroppedMessages());
+        } catch (JsonSyntaxException e) {
+            response.put("error", "Invalid JSON syntax");
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+        }
+
+        subscription.deliver(gson.toJson(response));
+    }
+
+    @OnClose
+    public void onClose(Session session) {
+        Subscription subscription = (Subscription) session.getUserProperties().remove(SUBSCRIPTION_PROPERTY);
+        if (subscription != null) {
+            getService().close(subscription);
+        }
+    }
+
+    @OnError
+    public void onError(Session session, Throwable error) {
+        log.debug("error in subscription session " + session.getId(), error);
+
+        closeQuietly(session);
+    }
+
+    /**
+     * Reads a list of hex encoded hashes from the request.<br />
+     *
+     * @param request the parsed command of the client
+     * @param paramName name of the field that holds the hashes
+     * @param factory factory that creates the hashes
+     * @return the parsed hashes (or an empty list if the field is missing)
+     * @throws IllegalArgumentException if the field is not a list of valid hashes
+     */
+    private static List<Hash> getHashes(Map<?, ?> request, String paramName, HashFactory factory) {
+        Object values = request.get(paramName);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        if (!(values instanceof List)) {
+            throw new IllegalArgumentException("Invalid " + paramName + " input");
+        }
+
+        List<Hash> hashes = new ArrayList<>();
+        for (Object value : (List<?>) values) {
+            if (!(value instanceof String) || ((String) value).length() != Hash.SIZE_IN_BYTES * 2) {
+                throw new IllegalArgumentException("Invalid " + paramName + " input");
+            }
+            try {
+                hashes.add(factory.create((String) value));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid " + paramName + " input");
+            }
+        }
+
+        return hashes;
+    }
+
+    private static SubscriptionService getService() {
+        return Pendulum.ServiceRegistry.get().resolve(SubscriptionService.class);
+    }
+
+    private static void closeQuietly(Session session) {
+        try {
+            session.close();
+        } catch (IOException e) {
+            log.debug("failed to close subscription session " + session.getId(), e);
+        }
+    }
+}
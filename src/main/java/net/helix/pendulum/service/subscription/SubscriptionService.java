@@ -0,0 +1,64 @@
+package net.helix.pendulum.service.subscription;
+
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.model.Hash;
+
+import java.util.Collection;
+
+/**
+ * Pushes the events of the node to clients that subscribed to them, so they do not have to poll the API.<br />
+ * <br />
+ * Clients subscribe to addresses, bundles or transaction hashes and get notified whenever a matching transaction was
+ * stored or confirmed. The filtering happens on the node, so every event is only loaded and formatted once, no matter
+ * how many clients are interested in it.<br />
+ */
+public interface SubscriptionService extends Pendulum.Initializable {
+    /**
+     * Registers a new client that receives its messages through the given sink.<br />
+     *
+     * @param sink transport of the client
+     * @return the subscription of the client
+     */
+    Subscription open(Subscription.Sink sink);
+
+    /**
+     * Adds the given filters to the subscription of a client.<br />
+     *
+     * @param subscription subscription of the client
+     * @param addresses addresses the client is interested in
+     * @param bundles bundles the client is interested in
+     * @param transactions transactions the client is interested in
+     */
+    void subscribe(Subscription subscription, Collection<Hash> addresses, Collection<Hash> bundles,
+                   Collection<Hash> transactions);
+
+    /**
+     * Removes the given filters from the subscription of a client.<br />
+     *
+     * @param subscription subscription of the client
+     * @param addresses addresses the client is no longer interested in
+     * @param bundles bundles the client is no longer interested in
+     * @param transactions transactions the client is no longer interested in
+     */
+    void unsubscribe(Subscription subscription, Collection<Hash> addresses, Collection<Hash> bundles,
+                     Collection<Hash> transactions);
+
+    /**
+     * Removes a client and all of its filters.<br />
+     *
+     * @param subscription subscription of the client
+     */
+    void close(Subscription subscription);
+
+    /**
+     * Returns the maximum amount of filters a single client can register.<br />
+     *
+     * @return the maximum amount of filters per subscription
+     */
+    int getMaxFilters();
+
+    /**
+     * Stops dispatching the events and closes all subscriptions.<br />
+     */
+    void shutdown();
+}
@@ -0,0 +1,288 @@
+package net.helix.pendulum.service.subscription.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.conf.PendulumConfig;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.*;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.service.subscription.Subscription;
+import net.helix.pendulum.service.subscription.SubscriptionService;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.Pair;
+import net.helix.pendulum.utils.thread.ThreadIdentifier;
+import net.helix.pendulum.utils.thread.ThreadUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates a service instance that pushes the stored and confirmed transactions to the subscribed clients.<br />
+ * <br />
+ * The events of the {@link EventManager} are only queued by the listener, since the handlers must not block. A
+ * dedicated thread loads the corresponding transactions, matches them against an index of the subscribed addresses,
+ * bundles and transactions and hands the formatted message to the buffers of the matching clients.<br />
+ */
+public class SubscriptionServiceImpl implements SubscriptionService, PendulumEventListener {
+    /**
+     * Holds the logger of this class.<br />
+     */
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionServiceImpl.class);
+
+    /**
+     * Holds the maximum amount of events that are queued for the dispatcher thread.<br />
+     */
+    private static final int EVENT_QUEUE_SIZE = 10000;
+
+    /**
+     * Holds the identifier of the thread that dispatches the events.<br />
+     */
+    private final ThreadIdentifier dispatcherThreadIdentifier = new ThreadIdentifier("Subscription Dispatcher");
+
+    /**
+     * Holds the events that were not dispatched yet.<br />
+     */
+    private final BlockingQueue<Pair<EventType, Hash>> events = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
+
+    /**
+     * Holds all open subscriptions.<br />
+     */
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Maps the subscribed addresses to their subscriptions.<br />
+     */
+    private final Map<Hash, Set<Subscription>> addressIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Maps the subscribed bundles to their subscriptions.<br />
+     */
+    private final Map<Hash, Set<Subscription>> bundleIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Maps the subscribed transactions to their subscriptions.<br />
+     */
+    private final Map<Hash, Set<Subscription>> transactionIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the events that were discarded because the dispatcher did not keep up.<br />
+     */
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final Gson gson = new GsonBuilder().create();
+
+    private Tangle tangle;
+
+    private int bufferSize;
+
+    private int maxFilters;
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * It resolves the used services, registers the listener for the transaction events and starts the dispatcher
+     * thread.<br />
+     */
+    @Override
+    public SubscriptionService init() {
+        this.tangle = Pendulum.ServiceRegistry.get().resolve(Tangle.class);
+
+        PendulumConfig config = Pendulum.ServiceRegistry.get().resolve(PendulumConfig.class);
+        this.bufferSize = config.getSubscriptionBufferSize();
+        this.maxFilters = config.getMaxRequestsList();
+
+        EventManager.get().subscribe(EventType.TX_STORED, this);
+        EventManager.get().subscribe(EventType.TX_CONFIRMED, this);
+
+        ThreadUtils.spawnThread(this::dispatchThread, dispatcherThreadIdentifier);
+
+        return this;
+    }
+
+    @Override
+    public Subscription open(Subscription.Sink sink) {
+        Subscription subscription = new Subscription(sink, bufferSize);
+        subscriptions.add(subscription);
+
+        return subscription;
+    }
+
+    @Override
+    public void subscribe(Subscription subscription, Collection<Hash> addresses, Collection<Hash> bundles,
+                          Collection<Hash> transactions) {
+
+        subscription.add(addresses, bundles, transactions);
+
+        addToIndex(addressIndex, addresses, subscription);
+        addToIndex(bundleIndex, bundles, subscription);
+        addToIndex(transactionIndex, transactions, subscription);
+    }
+
+    @Override
+    public void unsubscribe(Subscription subscription, Collection<Hash> addresses, Collection<Hash> bundles,
+                            Collection<Hash> transactions) {
+
+        subscription.remove(addresses, bundles, transactions);
+
+        removeFromIndex(addressIndex, addresses, subscription);
+        removeFromIndex(bundleIndex, bundles, subscription);
+        removeFromIndex(transactionIndex, transactions, subscription);
+    }
+
+    @Override
+    public void close(Subscription subscription) {
+        subscriptions.remove(subscription);
+        unsubscribe(subscription, new ArrayList<>(subscription.getAddresses()),
+                new ArrayList<>(subscription.getBundles()), new ArrayList<>(subscription.getTransactions()));
+
+        subscription.close();
+    }
+
+    @Override
+    public int getMaxFilters() {
+        return maxFilters;
+    }
+
+    @Override
+    public void shutdown() {
+        EventManager.get().unsubscribe(this);
+        ThreadUtils.stopThread(dispatcherThreadIdentifier);
+
+        for (Subscription subscription : new ArrayList<>(subscriptions)) {
+            close(subscription);
+        }
+        events.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The events are only queued if there is at least one subscription, so the service does not cause any load as long
+     * as nobody is interested in the events.<br />
+     */
+    @Override
+    public void handle(EventType type, EventContext ctx) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        if (!events.offer(new Pair<>(type, EventUtils.getTxHash(ctx))) && droppedEvents.incrementAndGet() % 1000 == 1) {
+            log.warn("subscription event queue is full - {} events dropped so far", droppedEvents.get());
+        }
+    }
+
+    /**
+     * This method contains the logic of the dispatcher thread.<br />
+     * <br />
+     * It waits for new events and hands them to the matching subscriptions until the thread gets interrupted.<br />
+     */
+    private void dispatchThread() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Pair<EventType, Hash> event = events.take();
+
+                dispatch(event.low, event.hi);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("error while dispatching a subscription event", e);
+            }
+        }
+    }
+
+    /**
+     * Loads the transaction of an event and sends it to all subscriptions that match its hash, address or bundle.<br />
+     *
+     * @param type type of the event
+     * @param transactionHash hash of the transaction the event refers to
+     * @throws Exception if anything goes wrong while loading the transaction
+     */
+    private void dispatch(EventType type, Hash transactionHash) throws Exception {
+        TransactionViewModel transaction = TransactionViewModel.fromHash(tangle, transactionHash);
+        if (transaction.getType() == TransactionViewModel.PREFILLED_SLOT) {
+            return;
+        }
+
+        Set<Subscription> recipients = new HashSet<>();
+        collectRecipients(transactionIndex, transactionHash, recipients);
+        collectRecipients(addressIndex, transaction.getAddressHash(), recipients);
+        collectRecipients(bundleIndex, transaction.getBundleHash(), recipients);
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("event", type == EventType.TX_CONFIRMED ? "confirmed" : "stored");
+        message.put("hash", Hex.toHexString(transactionHash.bytes()));
+        message.put("address", Hex.toHexString(transaction.getAddressHash().bytes()));
+        message.put("bundle", Hex.toHexString(transaction.getBundleHash().bytes()));
+        message.put("value", transaction.value());
+        message.put("roundIndex", transaction.snapshotIndex());
+        String formattedMessage = gson.toJson(message);
+
+        for (Subscription recipient : recipients) {
+            recipient.deliver(formattedMessage);
+        }
+    }
+
+    /**
+     * Adds the subscriptions that are registered for the given key in the index to the recipients.<br />
+     *
+     * @param index index that shall be searched
+     * @param key key that shall be looked up
+     * @param recipients set of recipients that gets extended
+     */
+    private static void collectRecipients(Map<Hash, Set<Subscription>> index, Hash key, Set<Subscription> recipients) {
+        index.computeIfPresent(key, (k, matchingSubscriptions) -> {
+            recipients.addAll(matchingSubscriptions);
+
+            return matchingSubscriptions;
+        });
+    }
+
+    /**
+     * Registers the subscription for all of the given keys in the index.<br />
+     *
+     * @param index index that shall be updated
+     * @param keys keys that shall be registered
+     * @param subscription subscription that shall be registered
+     */
+    private static void addToIndex(Map<Hash, Set<Subscription>> index, Collection<Hash> keys,
+                                   Subscription subscription) {
+
+        for (Hash key : keys) {
+            index.compute(key, (k, matchingSubscriptions) -> {
+                Set<Subscription> result = matchingSubscriptions == null ? new HashSet<>() : matchingSubscriptions;
+                result.add(subscription);
+
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Removes the subscription for all of the given keys from the index.<br />
+     *
+     * @param index index that shall be updated
+     * @param keys keys that shall be removed
+     * @param subscription subscription that shall be removed
+     */
+    private static void removeFromIndex(Map<Hash, Set<Subscription>> index, Collection<Hash> keys,
+                                        Subscription subscription) {
+
+        for (Hash key : keys) {
+            index.computeIfPresent(key, (k, matchingSubscriptions) -> {
+                matchingSubscriptions.remove(subscription);
+
+                return matchingSubscriptions.isEmpty() ? null : matchingSubscriptions;
+            });
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -15,6 +14,8 @@ import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.tipselection.RatingCalculator;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.collections.impl.CompactHashMap;
+import net.helix.pendulum.utils.collections.impl.CompactHashSet;
 
 /**
  * Implementation of {@link RatingCalculator} that calculates the cumulative weight
@@ -54,7 +55,7 @@ public class CumulativeWeightCalculator implements RatingCalculator {
         // Estimated capacity per depth, assumes 5 minute gap in between milestones, at 3tps
         Map<Hash, Integer> hashWeightMap = createTxHashToCumulativeWeightMap( 5 * 60 * 3 * depth);
 
-        Map<Hash, Set<Hash>> txToDirectApprovers = new HashMap<>();
+        Map<Hash, Set<Hash>> txToDirectApprovers = new CompactHashMap<>();
 
         Deque<Hash> stack = new ArrayDeque<>();
         stack.addAll(getTxDirectApproversHashes(entryPoint, txToDirectApprovers));
@@ -147,10 +148,11 @@ public class CumulativeWeightCalculator implements RatingCalculator {
             txToDirectApprovers.put(txHash, txApprovers);
         }
 
-        return new HashSet<Hash>(txApprovers);
+        // the copy is extended to the whole future cone in getRating, so it uses the compact representation
+        return new CompactHashSet(txApprovers);
     }
 
     private static Map<Hash, Integer> createTxHashToCumulativeWeightMap(int size) {
-        return new HashMap<Hash, Integer>(size); //new TransformingMap<>(size, HashPrefix::createPrefix, null);
+        return new CompactHashMap<>(size);
     }
 }
@@ -3,6 +3,7 @@ package net.helix.pendulum.service.tipselection.impl;
 import net.helix.pendulum.controllers.RoundViewModel;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.service.milestone.MilestoneTracker;
+import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.tipselection.EntryPointSelector;
 import net.helix.pendulum.storage.Tangle;
@@ -38,7 +39,8 @@ public class EntryPointSelectorImpl implements EntryPointSelector {
 
     @Override
     public Hash getEntryPoint(int depth) throws Exception {
-        int milestoneIndex = Math.max(snapshotProvider.getLatestSnapshot().getIndex() - depth - 1,
+        Snapshot latestSnapshot = snapshotProvider.getLatestSnapshot().view();
+        int milestoneIndex = Math.max(latestSnapshot.getIndex() - depth - 1,
                 snapshotProvider.getInitialSnapshot().getIndex());
         RoundViewModel roundViewModel = RoundViewModel.findClosestNextRound(tangle, milestoneIndex,
                 milestoneTracker.getCurrentRoundIndex());
@@ -50,7 +52,7 @@ public class EntryPointSelectorImpl implements EntryPointSelector {
             log.trace("Round view model selected as an entry point, milestone: {} {}", roundViewModel.index(), milestone.toString());
             return milestone;
         }
-        Hash snapHash =  snapshotProvider.getLatestSnapshot().getHash();
+        Hash snapHash =  latestSnapshot.getHash();
         log.trace("Taking ep to be the latest snapshot hash {}", snapHash);
         return snapHash;
     }
@@ -5,6 +5,7 @@ import net.helix.pendulum.controllers.RoundViewModel;
 import net.helix.pendulum.model.Hash;
 
 import net.helix.pendulum.service.ledger.LedgerService;
+import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.tipselection.*;
 import net.helix.pendulum.storage.Tangle;
@@ -96,43 +97,43 @@ public class TipSelectorImpl implements TipSelector {
             tips.add(Hash.NULL_HASH);
             return tips;
         }
-        try {
-            snapshotProvider.getLatestSnapshot().lockRead();
-
-            //preparation
-            Hash entryPoint = entryPointSelector.getEntryPoint(depth);
-
-            Map<Hash, Integer> rating;
-            if(config.getAlpha() == 0) {
-                //log.debug("Alpha is 0!");
-                rating = Collections.EMPTY_MAP;
-            } else {
-                //log.debug("Alpha is {}", config.getAlpha());
-                rating = ratingCalculator.calculate(entryPoint);
-            }
-            //random walk
-            WalkValidator walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config);
-            Hash tip = walker.walk(entryPoint, rating, walkValidator);
-            tips.add(tip);
-
-            if (reference.isPresent()) {
-                checkReference(reference.get(), rating);
-                entryPoint = reference.get();
-            }
-
-            //passing the same walkValidator means that the walks will be consistent with each other
-            tip = walker.walk(entryPoint, rating, walkValidator);
-            tips.add(tip);
-
-            //validate
-            if (!ledgerService.tipsConsistent(tips)) {
-                throw new IllegalStateException(TIPS_NOT_CONSISTENT);
-            }
 
-            return tips;
-        } finally {
-            snapshotProvider.getLatestSnapshot().unlockRead();
+        // both walks and the final consistency check run against the same immutable view of the ledger state, so we
+        // neither block nor get blocked by the application of new rounds
+        Snapshot latestSnapshot = snapshotProvider.getLatestSnapshot().view();
+
+        //preparation
+        Hash entryPoint = entryPointSelector.getEntryPoint(depth);
+
+        Map<Hash, Integer> rating;
+        if(config.getAlpha() == 0) {
+            //log.debug("Alpha is 0!");
+            rating = Collections.EMPTY_MAP;
+        } else {
+            //log.debug("Alpha is {}", config.getAlpha());
+            rating = ratingCalculator.calculate(entryPoint);
+        }
+        //random walk
+        WalkValidator walkValidator = new WalkValidatorImpl(tangle, snapshotProvider, ledgerService, config,
+                latestSnapshot);
+        Hash tip = walker.walk(entryPoint, rating, walkValidator);
+        tips.add(tip);
+
+        if (reference.isPresent()) {
+            checkReference(reference.get(), rating);
+            entryPoint = reference.get();
         }
+
+        //passing the same walkValidator means that the walks will be consistent with each other
+        tip = walker.walk(entryPoint, rating, walkValidator);
+        tips.add(tip);
+
+        //validate
+        if (!ledgerService.tipsConsistent(tips, latestSnapshot)) {
+            throw new IllegalStateException(TIPS_NOT_CONSISTENT);
+        }
+
+        return tips;
     }
 
     private boolean isTangleReadyForRandomWalk() throws Exception {
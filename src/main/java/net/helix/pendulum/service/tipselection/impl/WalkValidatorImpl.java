@@ -4,6 +4,7 @@ import net.helix.pendulum.conf.TipSelConfig;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.service.ledger.LedgerService;
+import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.tipselection.WalkValidator;
 import net.helix.pendulum.storage.Tangle;
@@ -29,6 +30,7 @@ public class WalkValidatorImpl implements WalkValidator {
     private final Tangle tangle;
     private final Logger log = LoggerFactory.getLogger(WalkValidator.class);
     private final SnapshotProvider snapshotProvider;
+    private final Snapshot latestSnapshot;
     private final LedgerService ledgerService;
     private final TipSelConfig config;
 
@@ -45,8 +47,22 @@ public class WalkValidatorImpl implements WalkValidator {
      */
     public WalkValidatorImpl(Tangle tangle, SnapshotProvider snapshotProvider, LedgerService ledgerService,
                              TipSelConfig config) {
+        this(tangle, snapshotProvider, ledgerService, config, snapshotProvider.getLatestSnapshot().view());
+    }
+
+    /**
+     * Constructor of Walk Validator that validates against a fixed view of the latest snapshot.
+     * @param tangle Tangle object which acts as a database interface.
+     * @param snapshotProvider grants access to snapshots od the ledger state.
+     * @param ledgerService allows to perform ledger related logic.
+     * @param config configurations to set internal parameters.
+     * @param latestSnapshot immutable view of the latest snapshot that all validations are performed against.
+     */
+    public WalkValidatorImpl(Tangle tangle, SnapshotProvider snapshotProvider, LedgerService ledgerService,
+                             TipSelConfig config, Snapshot latestSnapshot) {
         this.tangle = tangle;
         this.snapshotProvider = snapshotProvider;
+        this.latestSnapshot = latestSnapshot;
         this.ledgerService = ledgerService;
         this.config = config;
 
@@ -72,11 +88,12 @@ public class WalkValidatorImpl implements WalkValidator {
             return false;
         }
         /*else if (belowMaxDepth(transactionViewModel.getHash(),
-                snapshotProvider.getLatestSnapshot().getIndex() - config.getMaxDepth())) {
+                latestSnapshot.getIndex() - config.getMaxDepth())) {
             log.debug("Validation failed: {} is below max depth", transactionHash.toString());
             return false;
         }*/
-        else if (!ledgerService.isBalanceDiffConsistent(myApprovedHashes, myDiff, transactionViewModel.getHash())) {
+        else if (!ledgerService.isBalanceDiffConsistent(myApprovedHashes, myDiff, transactionViewModel.getHash(),
+                latestSnapshot)) {
             log.debug("Validation failed: {} balance is not consistent", transactionHash.toString());
             return false;
         }
@@ -11,6 +11,8 @@ import net.helix.pendulum.service.transactionpruning.TransactionPruningException
 import net.helix.pendulum.service.transactionpruning.jobs.MilestonePrunerJob;
 import net.helix.pendulum.service.transactionpruning.jobs.UnconfirmedSubtanglePrunerJob;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.Pair;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.utils.thread.ThreadIdentifier;
 import net.helix.pendulum.utils.thread.ThreadUtils;
 import org.slf4j.Logger;
@@ -21,15 +23,14 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Creates a {@link TransactionPruner} that is able to process it's jobs asynchronously in the background and persists
- * its state in a file on the hard disk of the node.<br />
+ * its state in a dedicated column family of the database.<br />
  * <br />
- * The asynchronous processing of the jobs is done through {@link Thread}s that are started and stopped by invoking the
- * corresponding {@link #start()} and {@link #shutdown()} methods. Since some of the builtin jobs require a special
- * logic for the way they are executed, we register the builtin job types here.<br />
+ * The asynchronous processing of the jobs is done through {@link Thread}s (one for every job type) that are started
+ * and stopped by invoking the corresponding {@link #start()} and {@link #shutdown()} methods. Since some of the builtin
+ * jobs require a special logic for the way they are executed, we register the builtin job types here.<br />
  */
 public class AsyncTransactionPruner implements TransactionPruner {
     /**
@@ -38,15 +39,6 @@ public class AsyncTransactionPruner implements TransactionPruner {
      */
     private static final int GARBAGE_COLLECTOR_RESCAN_INTERVAL = 10000;
 
-    /**
-     * The interval (in milliseconds) in which the {@link AsyncTransactionPruner} will persist its state.
-     *
-     * Note: Since the worst thing that could happen when not having a 100% synced state file is to have a few floating
-     *       "zombie" transactions in the database, we do not persist the state immediately but in intervals in a
-     *       separate {@link Thread} (to save performance - until a db-based version gets introduced).
-     */
-    private static final int GARBAGE_COLLECTOR_PERSIST_INTERVAL = 1000;
-
     /**
      * Logger for this class allowing us to dump debug and status messages.
      */
@@ -78,24 +70,20 @@ public class AsyncTransactionPruner implements TransactionPruner {
     private SnapshotConfig config;
 
     /**
-     * Holds a reference to the {@link ThreadIdentifier} for the cleanup thread.
+     * Holds references to the {@link ThreadIdentifier}s for the cleanup threads (one for every job queue).
      *
      * Using a {@link ThreadIdentifier} for spawning the thread allows the {@link ThreadUtils} to spawn exactly one
-     * thread for this instance even when we call the {@link #start()} method multiple times.
+     * thread for every queue of this instance even when we call the {@link #start()} method multiple times.
      */
-    private final ThreadIdentifier cleanupThreadIdentifier = new ThreadIdentifier("Transaction Pruner");
+    private final Map<JobQueue, ThreadIdentifier> cleanupThreadIdentifiers = new HashMap<>();
 
     /**
-     * Holds a reference to the {@link ThreadIdentifier} for the state persistence thread.
-     *
-     * Using a {@link ThreadIdentifier} for spawning the thread allows the {@link ThreadUtils} to spawn exactly one
-     * thread for this instance even when we call the {@link #start()} method multiple times.
+     * Store that persists the queued jobs in the database.
      */
-    private final ThreadIdentifier persisterThreadIdentifier = new ThreadIdentifier("Transaction Pruner Persister");
+    private PrunerJobStore jobStore;
 
     /**
-     * A map of {@link JobParser}s allowing us to determine how to parse the jobs from the state file, based on their
-     * type.
+     * A map of {@link JobParser}s allowing us to determine how to parse the persisted jobs, based on their type.
      */
     private final Map<String, JobParser> jobParsers = new HashMap<>();
 
@@ -104,11 +92,6 @@ public class AsyncTransactionPruner implements TransactionPruner {
      */
     private final Map<Class<? extends TransactionPrunerJob>, JobQueue> jobQueues = new HashMap<>();
 
-    /**
-     * Holds a flag that indicates if the state shall be persisted.
-     */
-    private boolean persistRequested = false;
-
     /**
      * This method initializes the instance and registers its dependencies.<br />
      * <br />
@@ -137,8 +120,10 @@ public class AsyncTransactionPruner implements TransactionPruner {
         this.tipsViewModel = tipsViewModel;
         this.config = config;
 
-        addJobQueue(UnconfirmedSubtanglePrunerJob.class, new SimpleJobQueue(this));
-        addJobQueue(MilestonePrunerJob.class, new MilestonePrunerJobQueue(this, config));
+        jobStore = new PrunerJobStore(tangle);
+
+        addJobQueue(UnconfirmedSubtanglePrunerJob.class, new SimpleJobQueue(jobStore));
+        addJobQueue(MilestonePrunerJob.class, new MilestonePrunerJobQueue(this, jobStore, config));
 
         registerParser(MilestonePrunerJob.class, MilestonePrunerJob::parse);
         registerParser(UnconfirmedSubtanglePrunerJob.class, UnconfirmedSubtanglePrunerJob::parse);
@@ -149,7 +134,7 @@ public class AsyncTransactionPruner implements TransactionPruner {
     /**
      * {@inheritDoc}
      *
-     * It adds the job to its corresponding queue.
+     * It adds the job to its corresponding queue (which persists it in the {@link PrunerJobStore}).
      */
     @Override
     public void addJob(TransactionPrunerJob job) throws TransactionPruningException {
@@ -162,8 +147,6 @@ public class AsyncTransactionPruner implements TransactionPruner {
         // this call is "unchecked" to a "raw" JobQueue and it is intended since the matching JobQueue is defined by the
         // registered job types
         getJobQueue(job.getClass()).addJob(job);
-
-        saveState();
     }
 
     /**
@@ -187,54 +170,41 @@ public class AsyncTransactionPruner implements TransactionPruner {
     /**
      * {@inheritDoc}
      *
-     * We incorporate a background job that periodically saves the state rather than doing it "live", to reduce the cost
-     * of this operation. While this can theoretically lead to a situation where the saved state is not 100% correct and
-     * the latest changes get lost (if the node crashes or gets restarted before the new changes could be persisted), the
-     * impact is marginal because it only leads to some floating "zombie" transactions that will stay in the database.
-     * This will be "solved" once we persist the changes in the database instead of a file on the hard disk. For now the
-     * trade off between faster processing times and leaving some garbage is reasonable.
+     * Jobs are persisted when they get added and removed when they are acknowledged by their queue, so we only need to
+     * write the progress of the jobs that changed since they were persisted the last time (i.e. long running
+     * {@link MilestonePrunerJob}s that finished another milestone).
      */
     @Override
-    public void saveState() {
-        persistRequested = true;
+    public void saveState() throws TransactionPruningException {
+        jobStore.updateAll();
     }
 
     /**
      * {@inheritDoc}
      *
-     * It reads the state by parsing the state file and passing it into the registered parsers for each job type.
+     * It restores the jobs from the database by passing their serialized representation into the registered parsers
+     * for each job type and afterwards migrates the jobs of a state file that might have been left behind by a
+     * previous version.
      *
-     * Every line holds a job entry that starts with the fully qualified class name of the job followed by a ";" and the
-     * serialized representation of the job.
+     * Every entry starts with the fully qualified class name of the job followed by a ";" and the serialized
+     * representation of the job.
      */
     @Override
     public void restoreState() throws TransactionPruningException {
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new BufferedInputStream(new FileInputStream(getStateFile())))
-        )) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(";", 2);
-                if (parts.length >= 2) {
-                    JobParser jobParser = jobParsers.get(parts[0]);
-                    if (jobParser == null) {
-                        throw new TransactionPruningException("could not determine a parser for cleanup job of type " + parts[0]);
-                    }
-
-                    addJob(jobParser.parse(parts[1]));
-                }
-            }
-        } catch (IOException e) {
-            if (getStateFile().exists()) {
-                throw new TransactionPruningException("could not read the state file", e);
-            }
+        for (Pair<Integer, String> entry : jobStore.loadAll()) {
+            TransactionPrunerJob job = parseJobEntry(entry.hi);
+
+            jobStore.track(job, entry.low);
+            addJob(job);
         }
+
+        migrateStateFile();
     }
 
     /**
      * {@inheritDoc}
      *
-     * It cycles through all registered {@link JobQueue}s and clears them before persisting the state.
+     * It cycles through all registered {@link JobQueue}s and clears them before removing the persisted jobs.
      */
     @Override
     public void clear() throws TransactionPruningException {
@@ -242,111 +212,108 @@ public class AsyncTransactionPruner implements TransactionPruner {
             jobQueue.clear();
         }
 
-        saveStateNow();
+        jobStore.clear();
     }
 
     /**
-     * This method starts the cleanup and persistence {@link Thread}s that asynchronously process the queued jobs in the
-     * background.
+     * This method starts the cleanup {@link Thread}s that asynchronously process the queued jobs in the background.
+     *
+     * Every {@link JobQueue} is processed by its own {@link Thread}, so short running jobs do not have to wait for long
+     * running ones.
      *
      * Note: This method is thread safe since we use a {@link ThreadIdentifier} to address the {@link Thread}. The
      *       {@link ThreadUtils} take care of only launching exactly one {@link Thread} that is not terminated.
      */
     public void start() {
-        ThreadUtils.spawnThread(this::processJobsThread, cleanupThreadIdentifier);
-        ThreadUtils.spawnThread(this::persistThread, persisterThreadIdentifier);
+        cleanupThreadIdentifiers.forEach((jobQueue, threadIdentifier) ->
+                ThreadUtils.spawnThread(() -> processJobsThread(jobQueue), threadIdentifier));
     }
 
     /**
      * Shuts down the background job by setting the corresponding shutdown flag.
      */
     public void shutdown() {
-        ThreadUtils.stopThread(cleanupThreadIdentifier);
-        ThreadUtils.stopThread(persisterThreadIdentifier);
+        cleanupThreadIdentifiers.values().forEach(ThreadUtils::stopThread);
     }
 
     /**
-     * This method contains the logic for the processing of the cleanup jobs, that gets executed in a separate
-     * {@link Thread}.
+     * This method contains the logic for the processing of the cleanup jobs of a single queue, that gets executed in a
+     * separate {@link Thread}.
+     *
+     * It repeatedly processes the jobs of the queue until the TransactionPruner is shutting down.
      *
-     * It repeatedly calls {@link #processJobs()} until the TransactionPruner is shutting down.
+     * @param jobQueue queue whose jobs shall be processed
      */
-    private void processJobsThread() {
+    private void processJobsThread(JobQueue jobQueue) {
+        int interval = ExecutorRegistry.get().getInterval("transaction-pruner", GARBAGE_COLLECTOR_RESCAN_INTERVAL);
         while(!Thread.currentThread().isInterrupted()) {
             try {
-                processJobs();
+                jobQueue.processJobs();
             } catch(TransactionPruningException e) {
                 log.error("error while processing the transaction pruner jobs", e);
             }
 
-            ThreadUtils.sleep(GARBAGE_COLLECTOR_RESCAN_INTERVAL);
+            ThreadUtils.sleep(interval);
         }
     }
 
     /**
-     * This method contains the logic for persisting the pruner state, that gets executed in a separate {@link Thread}.
+     * This method parses a persisted job entry by passing it into the registered parser for its job type.
      *
-     * It periodically checks the {@link #persistRequested} flag and triggers the writing of the state file until the
-     * {@link AsyncTransactionPruner} is shutting down.
+     * @param jobEntry serialized job entry consisting of the class name and the serialized job
+     * @return the parsed job
+     * @throws TransactionPruningException if the entry can not be parsed
      */
-    private void persistThread() {
-        while(!Thread.currentThread().isInterrupted()) {
-            try {
-                if (persistRequested) {
-                    saveStateNow();
-
-                    persistRequested = false;
-                }
-            } catch(TransactionPruningException e) {
-                log.error("could not persist transaction pruner state", e);
-            }
+    private TransactionPrunerJob parseJobEntry(String jobEntry) throws TransactionPruningException {
+        String[] parts = jobEntry.split(";", 2);
+        if (parts.length < 2) {
+            throw new TransactionPruningException("invalid cleanup job entry: " + jobEntry);
+        }
 
-            ThreadUtils.sleep(GARBAGE_COLLECTOR_PERSIST_INTERVAL);
+        JobParser jobParser = jobParsers.get(parts[0]);
+        if (jobParser == null) {
+            throw new TransactionPruningException("could not determine a parser for cleanup job of type " + parts[0]);
         }
-    }
 
-    /**
-     * This method creates a serialized version of the given job.
-     *
-     * @param job job that shall get serialized
-     * @return serialized representation of the job
-     */
-    private String serializeJobEntry(TransactionPrunerJob job) {
-        return job.getClass().getCanonicalName() + ";" + job.serialize();
+        return jobParser.parse(parts[1]);
     }
 
     /**
-     * Saves the state by serializing the jobs into a state file that is stored on the hard disk of the node.
+     * This method imports the jobs of the state file that was used by previous versions to persist the pruner state.
      *
-     * If no jobs are queued it removes the state file.
+     * The jobs are added to the queues (and thereby persisted in the database) and read back before the state file is
+     * removed, so no jobs get lost if the node crashes during the migration or the database did not accept them.
      *
-     * @throws TransactionPruningException if anything goes wrong while persisting the state
+     * @throws TransactionPruningException if the state file can not be read or removed or the jobs were not persisted
      */
-    private void saveStateNow() throws TransactionPruningException {
-        try {
-            AtomicInteger jobsPersisted = new AtomicInteger(0);
-
-            Files.write(
-                    Paths.get(getStateFile().getAbsolutePath()),
-                    () -> jobQueues.values().stream()
-                            .<TransactionPrunerJob>flatMap(JobQueue::stream)
-                            .<CharSequence>map(jobEntry -> {
-                                jobsPersisted.incrementAndGet();
-
-                                return this.serializeJobEntry(jobEntry);
-                            })
-                            .iterator()
-            );
-
-            if (jobsPersisted.get() == 0) {
-                try {
-                    Files.deleteIfExists(Paths.get(getStateFile().getAbsolutePath()));
-                } catch (IOException e) {
-                    throw new TransactionPruningException("failed to remove the state file", e);
+    private void migrateStateFile() throws TransactionPruningException {
+        File stateFile = getStateFile();
+        if (!stateFile.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new BufferedInputStream(new FileInputStream(stateFile)))
+        )) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.contains(";")) {
+                    addJob(parseJobEntry(line));
                 }
             }
-        } catch(Exception e) {
-            throw new TransactionPruningException("failed to write the state file", e);
+        } catch (IOException e) {
+            throw new TransactionPruningException("could not read the state file", e);
+        }
+
+        jobStore.updateAll();
+        if (!jobStore.isPersisted()) {
+            throw new TransactionPruningException("could not persist the jobs of the state file " + stateFile);
+        }
+
+        try {
+            Files.deleteIfExists(Paths.get(stateFile.getAbsolutePath()));
+        } catch (IOException e) {
+            throw new TransactionPruningException("failed to remove the state file", e);
         }
     }
 
@@ -360,12 +327,14 @@ public class AsyncTransactionPruner implements TransactionPruner {
      */
     private void addJobQueue(Class<? extends TransactionPrunerJob> jobClass, JobQueue jobQueue) {
         jobQueues.put(jobClass, jobQueue);
+        cleanupThreadIdentifiers.put(jobQueue,
+                new ThreadIdentifier("Transaction Pruner [" + jobClass.getSimpleName() + "]"));
     }
 
     /**
      * This method allows to register a {@link JobParser} for a given job type.
      *
-     * When we serialize the pending jobs to save the current state, we also dump their class names, which allows us to
+     * When we persist the pending jobs to save the current state, we also store their class names, which allows us to
      * generically parse their serialized representation using the registered parser function back into the
      * corresponding job.
      *
@@ -396,7 +365,7 @@ public class AsyncTransactionPruner implements TransactionPruner {
     }
 
     /**
-     * This method returns a file handle to state file.
+     * This method returns a file handle to the state file that was used by previous versions.
      *
      * It constructs the path of the file by appending the corresponding file extension to the
      * {@link BasePendulumConfig#localSnapshotsBasePath} config variable. If the path is relative, it
@@ -28,6 +28,11 @@ public class MilestonePrunerJobQueue implements JobQueue<MilestonePrunerJob> {
      */
     private final TransactionPruner transactionPruner;
 
+    /**
+     * Holds a reference to the store that persists the jobs of this queue.
+     */
+    private final PrunerJobStore jobStore;
+
     /**
      * Used to internally store the queued jobs.
      */
@@ -40,10 +45,14 @@ public class MilestonePrunerJobQueue implements JobQueue<MilestonePrunerJob> {
      * different way than other jobs and consolidate the queue whenever we add a new job.
      *
      * @param transactionPruner reference to the container of this queue
+     * @param jobStore store that persists the jobs of this queue
      * @param snapshotConfig reference to the config with snapshot related parameters
      */
-    public MilestonePrunerJobQueue(TransactionPruner transactionPruner, SnapshotConfig snapshotConfig) {
+    public MilestonePrunerJobQueue(TransactionPruner transactionPruner, PrunerJobStore jobStore,
+                                   SnapshotConfig snapshotConfig) {
+
         this.transactionPruner = transactionPruner;
+        this.jobStore = jobStore;
 
         youngestFullyCleanedMilestoneIndex = snapshotConfig.getMilestoneStartIndex();
     }
@@ -59,11 +68,14 @@ public class MilestonePrunerJobQueue implements JobQueue<MilestonePrunerJob> {
      * extended to cover the target milestone index of our new job. If the job can not be appended to an existing job,
      * we add it to the end of our queue.
      *
+     * The {@link PrunerJobStore} is updated accordingly: jobs that get merged into an existing job or that are covered
+     * already get acknowledged (in case they were restored from the database) and new jobs get persisted.
+     *
      * @param job the {@link MilestonePrunerJob} that shall be added to the queue
-     * @throws TransactionPruningException if the given job is no {@link MilestonePrunerJob}
+     * @throws TransactionPruningException if the job can not be persisted
      */
     @Override
-    public void addJob(MilestonePrunerJob job) {
+    public void addJob(MilestonePrunerJob job) throws TransactionPruningException {
         synchronized (jobs) {
             MilestonePrunerJob lastMilestonePrunerJob = jobs.peekLast();
 
@@ -75,12 +87,18 @@ public class MilestonePrunerJobQueue implements JobQueue<MilestonePrunerJob> {
                         if (lastMilestonePrunerJob.getStatus() != TransactionPrunerJobStatus.DONE) {
                             lastMilestonePrunerJob.setTargetIndex(job.getTargetIndex());
 
+                            jobStore.update(lastMilestonePrunerJob);
+                            jobStore.acknowledge(job);
+
                             return;
                         }
                     }
                 }
 
+                jobStore.enqueue(job);
                 jobs.add(job);
+            } else {
+                jobStore.acknowledge(job);
             }
         }
     }
@@ -103,7 +121,8 @@ public class MilestonePrunerJobQueue implements JobQueue<MilestonePrunerJob> {
      * {@link #youngestFullyCleanedMilestoneIndex} marker (so jobs that might be added later can continue where this job
      * stopped, without having to reexamine all the previous milestones) and remove it from the queue.
      *
-     * After every processed job, we persist the changes by calling the {@link TransactionPruner#saveState()} method.
+     * After every processed job, we persist the changes by calling the {@link TransactionPruner#saveState()} method
+     * and acknowledge the finished job in the {@link PrunerJobStore} once it was removed from the queue.
      *
      * @throws TransactionPruningException if anything goes wrong while processing the jobs
      */
@@ -118,11 +137,14 @@ public class MilestonePrunerJobQueue implements JobQueue<MilestonePrunerJob> {
 
                 // we always leave the last job in the queue to be able to "serialize" the queue status and allow
                 // to skip already processed milestones even when the node restarts
-                if (jobs.size() == 1) {
-                    break;
-                }
+                synchronized (jobs) {
+                    if (jobs.size() == 1) {
+                        break;
+                    }
 
-                jobs.poll();
+                    jobs.poll();
+                }
+                jobStore.acknowledge(currentJob);
             } finally {
                 transactionPruner.saveState();
             }
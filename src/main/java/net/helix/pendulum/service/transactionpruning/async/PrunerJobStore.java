@@ -0,0 +1,216 @@
+package net.helix.pendulum.service.transactionpruning.async;
+
+import net.helix.pendulum.model.IntegerIndex;
+import net.helix.pendulum.model.persistables.PrunerJob;
+import net.helix.pendulum.service.transactionpruning.TransactionPrunerJob;
+import net.helix.pendulum.service.transactionpruning.TransactionPruningException;
+import net.helix.pendulum.storage.Indexable;
+import net.helix.pendulum.storage.Persistable;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.Pair;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persists the jobs of the {@link AsyncTransactionPruner} in their own column family of the database.<br />
+ * <br />
+ * Every job gets a unique id that is used as the key of its database entry. Enqueuing, updating and acknowledging a
+ * job result in a single write to the database, so the persisted queue always reflects the jobs that were accepted by
+ * the pruner and never "forgets" a job that was not fully processed, even if the node crashes.<br />
+ */
+public class PrunerJobStore {
+    /**
+     * Holds the tangle object which acts as a database interface.
+     */
+    private final Tangle tangle;
+
+    /**
+     * Holds the ids of the jobs that are currently stored in the database.
+     */
+    private final Map<TransactionPrunerJob, Integer> jobIds = new IdentityHashMap<>();
+
+    /**
+     * Holds the serialized representation of the stored jobs (allows us to skip writes if nothing changed).
+     */
+    private final Map<TransactionPrunerJob, String> storedJobs = new IdentityHashMap<>();
+
+    /**
+     * Holds the id that will be assigned to the next job.
+     */
+    private final AtomicInteger nextJobId = new AtomicInteger(0);
+
+    /**
+     * Creates a store that persists the jobs in the given database.
+     *
+     * @param tangle Tangle object which acts as a database interface
+     */
+    public PrunerJobStore(Tangle tangle) {
+        this.tangle = tangle;
+    }
+
+    /**
+     * Loads all persisted jobs in the order they were enqueued.
+     *
+     * The ids of the loaded entries are reserved, so newly enqueued jobs get higher ids than the restored ones. The
+     * restored jobs need to be associated to their entries via {@link #track(TransactionPrunerJob, int)}.
+     *
+     * @return a list of pairs consisting of the id and the serialized representation of the persisted jobs
+     * @throws TransactionPruningException if anything goes wrong while reading the database
+     */
+    public List<Pair<Integer, String>> loadAll() throws TransactionPruningException {
+        List<Pair<Integer, String>> jobs = new ArrayList<>();
+        try {
+            Pair<Indexable, Persistable> entry = tangle.getFirst(PrunerJob.class, IntegerIndex.class);
+            while (entry != null && entry.low != null) {
+                int jobId = ((IntegerIndex) entry.low).getValue();
+                String job = ((PrunerJob) entry.hi).job;
+                if (job != null) {
+                    jobs.add(new Pair<>(jobId, job));
+                }
+                nextJobId.accumulateAndGet(jobId + 1, Math::max);
+
+                entry = tangle.next(PrunerJob.class, entry.low);
+            }
+        } catch (Exception e) {
+            throw new TransactionPruningException("failed to load the persisted pruner jobs", e);
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Associates a restored job with its existing database entry.
+     *
+     * @param job job that was restored from the database
+     * @param jobId id of the database entry the job was restored from
+     */
+    public synchronized void track(TransactionPrunerJob job, int jobId) {
+        jobIds.put(job, jobId);
+        storedJobs.put(job, job.serialize());
+    }
+
+    /**
+     * Persists a job that was added to a queue of the pruner.
+     *
+     * If the job is stored already (i.e. it was restored), we only update its entry.
+     *
+     * @param job job that shall be persisted
+     * @throws TransactionPruningException if anything goes wrong while writing to the database
+     */
+    public synchronized void enqueue(TransactionPrunerJob job) throws TransactionPruningException {
+        Integer jobId = jobIds.get(job);
+        if (jobId == null) {
+            jobId = nextJobId.getAndIncrement();
+            jobIds.put(job, jobId);
+        }
+
+        write(job, jobId);
+    }
+
+    /**
+     * Persists the current state of a job if it changed since it was written the last time.
+     *
+     * @param job job whose progress shall be persisted
+     * @throws TransactionPruningException if anything goes wrong while writing to the database
+     */
+    public synchronized void update(TransactionPrunerJob job) throws TransactionPruningException {
+        Integer jobId = jobIds.get(job);
+        if (jobId != null && !job.serialize().equals(storedJobs.get(job))) {
+            write(job, jobId);
+        }
+    }
+
+    /**
+     * Persists the current state of all stored jobs that changed since they were written the last time.
+     *
+     * @throws TransactionPruningException if anything goes wrong while writing to the database
+     */
+    public synchronized void updateAll() throws TransactionPruningException {
+        for (TransactionPrunerJob job : new ArrayList<>(jobIds.keySet())) {
+            update(job);
+        }
+    }
+
+    /**
+     * Checks if all jobs that are tracked by the store can be read back from the database in their latest state.
+     *
+     * @return true if the database entries of all tracked jobs match their serialized representation
+     * @throws TransactionPruningException if anything goes wrong while reading the database
+     */
+    public synchronized boolean isPersisted() throws TransactionPruningException {
+        for (Map.Entry<TransactionPrunerJob, Integer> entry : jobIds.entrySet()) {
+            TransactionPrunerJob job = entry.getKey();
+            PrunerJob prunerJob;
+            try {
+                prunerJob = (PrunerJob) tangle.load(PrunerJob.class, new IntegerIndex(entry.getValue()));
+            } catch (Exception e) {
+                throw new TransactionPruningException("failed to load the persisted pruner job " + entry.getValue(), e);
+            }
+
+            String expectedJob = job.getClass().getCanonicalName() + ";" + storedJobs.get(job);
+            if (prunerJob == null || !expectedJob.equals(prunerJob.job)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes the entry of a job that was fully processed (or that got merged into another job).
+     *
+     * @param job job that shall be removed from the database
+     * @throws TransactionPruningException if anything goes wrong while writing to the database
+     */
+    public synchronized void acknowledge(TransactionPrunerJob job) throws TransactionPruningException {
+        Integer jobId = jobIds.remove(job);
+        storedJobs.remove(job);
+        if (jobId != null) {
+            try {
+                tangle.delete(PrunerJob.class, new IntegerIndex(jobId));
+            } catch (Exception e) {
+                throw new TransactionPruningException("failed to remove the persisted pruner job " + jobId, e);
+            }
+        }
+    }
+
+    /**
+     * Removes all persisted jobs.
+     *
+     * @throws TransactionPruningException if anything goes wrong while writing to the database
+     */
+    public synchronized void clear() throws TransactionPruningException {
+        jobIds.clear();
+        storedJobs.clear();
+        try {
+            tangle.clearColumn(PrunerJob.class);
+        } catch (Exception e) {
+            throw new TransactionPruningException("failed to remove the persisted pruner jobs", e);
+        }
+    }
+
+    /**
+     * Writes the serialized representation of the job to its database entry.
+     *
+     * @param job job that shall be written
+     * @param jobId id of the job
+     * @throws TransactionPruningException if anything goes wrong while writing to the database
+     */
+    private void write(TransactionPrunerJob job, int jobId) throws TransactionPruningException {
+        String serializedJob = job.serialize();
+
+        PrunerJob prunerJob = new PrunerJob();
+        prunerJob.job = job.getClass().getCanonicalName() + ";" + serializedJob;
+        try {
+            tangle.save(prunerJob, new IntegerIndex(jobId));
+        } catch (Exception e) {
+            throw new TransactionPruningException("failed to persist the pruner job " + jobId, e);
+        }
+
+        storedJobs.put(job, serializedJob);
+    }
+}
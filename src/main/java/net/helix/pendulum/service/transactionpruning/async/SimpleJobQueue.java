@@ -1,6 +1,5 @@
 package net.helix.pendulum.service.transactionpruning.async;
 
-import net.helix.pendulum.service.transactionpruning.TransactionPruner;
 import net.helix.pendulum.service.transactionpruning.TransactionPrunerJob;
 import net.helix.pendulum.service.transactionpruning.TransactionPruningException;
 
@@ -16,9 +15,9 @@ import java.util.stream.Stream;
  */
 public class SimpleJobQueue implements JobQueue<TransactionPrunerJob> {
     /**
-     * Holds a reference to the container of this queue.
+     * Holds a reference to the store that persists the jobs of this queue.
      */
-    private final TransactionPruner transactionPruner;
+    private final PrunerJobStore jobStore;
 
     /**
      * Used to internally store the queued jobs.
@@ -26,26 +25,28 @@ public class SimpleJobQueue implements JobQueue<TransactionPrunerJob> {
     private final Deque<TransactionPrunerJob> jobs = new ConcurrentLinkedDeque<>();
 
     /**
-     * Creates a queue of jobs that will process them in their insertion order and persist the state after every
-     * processed job.
+     * Creates a queue of jobs that will process them in their insertion order and acknowledge every processed job in
+     * the given store.
      *
      * This is used by all job types that do not require special routines for getting processed.
      *
-     * @param transactionPruner reference to the container of this queue
+     * @param jobStore store that persists the jobs of this queue
      */
-    public SimpleJobQueue(TransactionPruner transactionPruner) {
-        this.transactionPruner = transactionPruner;
+    public SimpleJobQueue(PrunerJobStore jobStore) {
+        this.jobStore = jobStore;
     }
 
     /**
      * {@inheritDoc}
      *
-     * It simply adds the job to the underlying {@link #jobs}.
+     * It persists the job and adds it to the underlying {@link #jobs}.
      *
      * Note: Since we always add to the end and remove from the start, we do not need to synchronize this.
      */
     @Override
-    public void addJob(TransactionPrunerJob job) {
+    public void addJob(TransactionPrunerJob job) throws TransactionPruningException {
+        jobStore.enqueue(job);
+
         jobs.addLast(job);
     }
 
@@ -69,7 +70,8 @@ public class SimpleJobQueue implements JobQueue<TransactionPrunerJob> {
      * If an error occurs while executing the job, we add it back to the end of the queue so we can try to execute it
      * another time.
      *
-     * After every processed job, we persist the changes by calling the {@link TransactionPruner#saveState()} method.
+     * Every successfully processed job gets acknowledged in the {@link PrunerJobStore}, which removes its persisted
+     * entry.
      */
     @Override
     public void processJobs() throws TransactionPruningException {
@@ -79,6 +81,7 @@ public class SimpleJobQueue implements JobQueue<TransactionPrunerJob> {
                 currentJob.process();
 
                 jobs.poll();
+                jobStore.acknowledge(currentJob);
             } catch (TransactionPruningException e) {
                 // only add the job back to the end of the queue if the queue wasn't cleaned in the mean time
                 synchronized (jobs) {
@@ -88,8 +91,6 @@ public class SimpleJobQueue implements JobQueue<TransactionPrunerJob> {
                 }
 
                 throw e;
-            } finally {
-                transactionPruner.saveState();
             }
         }
     }
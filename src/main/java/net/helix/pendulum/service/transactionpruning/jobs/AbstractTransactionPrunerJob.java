@@ -1,5 +1,8 @@
 package net.helix.pendulum.service.transactionpruning.jobs;
 import net.helix.pendulum.controllers.TipsViewModel;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.persistables.*;
 import net.helix.pendulum.service.snapshot.Snapshot;
 import net.helix.pendulum.service.spentaddresses.SpentAddressesService;
 import net.helix.pendulum.service.transactionpruning.TransactionPruner;
@@ -7,11 +10,20 @@ import net.helix.pendulum.service.transactionpruning.TransactionPrunerJob;
 import net.helix.pendulum.service.transactionpruning.TransactionPrunerJobStatus;
 import net.helix.pendulum.service.transactionpruning.TransactionPruningException;
 import net.helix.pendulum.storage.Tangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
 
 /**
  * Implements the most basic functionality that is shared by the different kinds of jobs.
  */
 public abstract class AbstractTransactionPrunerJob implements TransactionPrunerJob {
+    /**
+     * Logger for this class allowing us to dump debug and status messages.
+     */
+    private static final Logger log = LoggerFactory.getLogger(AbstractTransactionPrunerJob.class);
+
     /**
      * Holds the execution status of the job.
      */
@@ -133,6 +145,54 @@ public abstract class AbstractTransactionPrunerJob implements TransactionPrunerJ
     @Override
     public abstract void process() throws TransactionPruningException;
 
+    /**
+     * This method removes the references to the given transactions from the index entries of their address, bundle,
+     * bundle nonce, tag and approved transactions.
+     *
+     * The index entries are only ever extended by merges, so without this cleanup they would keep referencing the
+     * pruned transactions forever. It has to be called before the transactions themselves are deleted, so a job that
+     * gets interrupted in between still finds them when it is processed again.
+     *
+     * @param transactions transactions that are about to be deleted
+     * @throws Exception if anything goes wrong while updating the index entries
+     */
+    protected void removeIndexReferences(Collection<TransactionViewModel> transactions) throws Exception {
+        Map<Class<? extends Hashes>, Map<Hash, Set<Hash>>> references = new LinkedHashMap<>();
+        for (TransactionViewModel transaction : transactions) {
+            addReference(references, Address.class, transaction.getAddressHash(), transaction.getHash());
+            addReference(references, Bundle.class, transaction.getBundleHash(), transaction.getHash());
+            addReference(references, BundleNonce.class, transaction.getBundleNonceHash(), transaction.getHash());
+            addReference(references, Tag.class, transaction.getTagValue(), transaction.getHash());
+            addReference(references, Approvee.class, transaction.getTrunkTransactionHash(), transaction.getHash());
+            addReference(references, Approvee.class, transaction.getBranchTransactionHash(), transaction.getHash());
+        }
+
+        long reclaimedBytes = 0;
+        for (Map.Entry<Class<? extends Hashes>, Map<Hash, Set<Hash>>> entry : references.entrySet()) {
+            reclaimedBytes += getTangle().removeReferences(entry.getKey(), entry.getValue());
+        }
+
+        log.debug("Reclaimed {} bytes of index entries ({} bytes in total)", reclaimedBytes,
+                getTangle().getReclaimedBytes());
+    }
+
+    /**
+     * This method is a utility method that registers a reference of an index entry in the given collection.
+     *
+     * @param references collection of references indexed by their model and the key of their index entry
+     * @param model model of the index entry
+     * @param key key of the index entry
+     * @param reference the reference that shall be removed from the index entry
+     */
+    private static void addReference(Map<Class<? extends Hashes>, Map<Hash, Set<Hash>>> references,
+                                     Class<? extends Hashes> model, Hash key, Hash reference) {
+
+        if (key != null) {
+            references.computeIfAbsent(model, m -> new HashMap<>()).computeIfAbsent(key, k -> new HashSet<>())
+                    .add(reference);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,8 +1,11 @@
 package net.helix.pendulum.service.transactionpruning.jobs;
 
 import net.helix.pendulum.controllers.RoundViewModel;
+import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.IntegerIndex;
+import net.helix.pendulum.model.StateDiff;
+import net.helix.pendulum.model.persistables.Confirmation;
 import net.helix.pendulum.model.persistables.Round;
 import net.helix.pendulum.model.persistables.Transaction;
 import net.helix.pendulum.service.transactionpruning.TransactionPrunerJobStatus;
@@ -10,10 +13,23 @@ import net.helix.pendulum.service.transactionpruning.TransactionPruningException
 import net.helix.pendulum.storage.Indexable;
 import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.utils.Pair;
+import net.helix.pendulum.utils.collections.impl.CompactHashSet;
 import net.helix.pendulum.utils.dag.DAGHelper;
+import net.helix.pendulum.utils.thread.ThreadUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a cleanup job for {@link net.helix.pendulum.service.transactionpruning.TransactionPruner}s that removes
@@ -21,10 +37,43 @@ import java.util.List;
  * off of the deleted transactions).
  *
  * It is used by the {@link net.helix.pendulum.service.snapshot.LocalSnapshotManager} to clean up milestones prior to a
- * snapshot. Even though it defines a range of milestones that shall be deleted, it gets processed one milestone at a
- * time, persisting the progress after each step.
+ * snapshot. Even though it defines a range of milestones that shall be deleted, it gets processed in small windows
+ * of milestones, persisting the progress after each step.
  */
 public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
+    /**
+     * Logger for this class allowing us to dump debug and status messages.
+     */
+    private static final Logger log = LoggerFactory.getLogger(MilestonePrunerJob.class);
+
+    /**
+     * Amount of milestones that get cleaned up in parallel.
+     *
+     * The transactions that get deleted for a milestone are the ones that were confirmed by it, so the milestones of a
+     * window can be processed independently of each other by separate workers.
+     */
+    private static final int PARALLEL_MILESTONES = 4;
+
+    /**
+     * Amount of pending compaction bytes of the database above which we pause the pruning.
+     *
+     * Deleting a lot of data creates tombstones that need to be compacted, so we back off while the database is
+     * already busy to not starve the write path of the node.
+     */
+    private static final long MAX_PENDING_COMPACTION_BYTES = 256L * 1024L * 1024L;
+
+    /**
+     * Interval (in milliseconds) in which we check if the compaction backlog was reduced while the pruning is paused.
+     */
+    private static final int COMPACTION_BACKOFF_INTERVAL = 1000;
+
+    /**
+     * Executor that cleans up the milestones of a window in parallel.
+     *
+     * It is shared by all jobs (only one milestone job gets processed at a time) and its threads terminate when the
+     * pruning is idle, so it does not need to be shut down.
+     */
+    private static final ExecutorService WORKERS = createWorkers();
 
     /**
      * Holds the milestone index where this job starts cleaning up.
@@ -104,9 +153,13 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
     /**
      * {@inheritDoc}
      *
-     * It iterates from the {@link #currentIndex} to the provided {@link #targetIndex} and processes every milestone
-     * one by one. After each step is finished we persist the progress to be able to continue with the current progress
-     * upon the node restarts.
+     * It iterates from the {@link #currentIndex} to the provided {@link #targetIndex} and processes windows of
+     * {@link #PARALLEL_MILESTONES} milestones in parallel. After each window is finished we persist the progress to be
+     * able to continue with the current progress upon the node restarts (a window that was interrupted by a crash gets
+     * processed again, which is safe since the deletions are idempotent).
+     *
+     * Before processing a window we wait until the compaction backlog of the database is below
+     * {@link #MAX_PENDING_COMPACTION_BYTES}.
      */
     @Override
     public void process() throws TransactionPruningException {
@@ -114,10 +167,13 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
             setStatus(TransactionPrunerJobStatus.RUNNING);
 
             try {
-                while (!Thread.currentThread().isInterrupted() && getStatus() != TransactionPrunerJobStatus.DONE) {
-                    cleanupMilestoneTransactions();
+                while (!Thread.currentThread().isInterrupted() && getStatus() != TransactionPrunerJobStatus.DONE &&
+                        awaitCompactionBacklog()) {
+
+                    int windowEnd = Math.min(getCurrentIndex() + PARALLEL_MILESTONES - 1, getTargetIndex());
+                    cleanupMilestones(getCurrentIndex(), windowEnd);
 
-                    setCurrentIndex(getCurrentIndex() + 1);
+                    setCurrentIndex(windowEnd + 1);
 
                     // synchronize this call because the MilestonePrunerJobQueue needs it to check if we can be extended
                     synchronized (this) {
@@ -201,6 +257,83 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
         this.targetIndex = targetIndex;
     }
 
+    /**
+     * This method cleans up the milestones of the given range in parallel and waits until all of them are done.
+     *
+     * @param fromIndex index of the first milestone that shall be cleaned up
+     * @param toIndex index of the last milestone that shall be cleaned up
+     * @throws TransactionPruningException if the cleanup of any of the milestones fails
+     */
+    private void cleanupMilestones(int fromIndex, int toIndex)
+            throws TransactionPruningException {
+
+        List<Future<?>> cleanups = new ArrayList<>();
+        for (int milestoneIndex = fromIndex; milestoneIndex <= toIndex; milestoneIndex++) {
+            int currentMilestoneIndex = milestoneIndex;
+            cleanups.add(WORKERS.submit(() -> {
+                cleanupMilestoneTransactions(currentMilestoneIndex);
+
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> cleanup : cleanups) {
+                cleanup.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new TransactionPruningException("interrupted while cleaning up milestones #" + fromIndex + " to #" +
+                    toIndex, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransactionPruningException) {
+                throw (TransactionPruningException) e.getCause();
+            }
+
+            throw new TransactionPruningException("failed to cleanup milestones #" + fromIndex + " to #" + toIndex,
+                    e.getCause());
+        }
+    }
+
+    /**
+     * This method creates the {@link #WORKERS} with named daemon threads that time out when they are idle.
+     *
+     * @return the executor that cleans up the milestones
+     */
+    private static ExecutorService createWorkers() {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(PARALLEL_MILESTONES, PARALLEL_MILESTONES,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new BasicThreadFactory.Builder()
+                .namingPattern("milestone-pruner-%d")
+                .daemon(true)
+                .build());
+        workers.allowCoreThreadTimeOut(true);
+
+        return workers;
+    }
+
+    /**
+     * This method blocks while the database has a compaction backlog above {@link #MAX_PENDING_COMPACTION_BYTES}.
+     *
+     * If the statistics of the database are not available, we do not block.
+     *
+     * @return true if the pruning can continue and false if the thread was interrupted while waiting
+     */
+    private boolean awaitCompactionBacklog() {
+        try {
+            while (getTangle().getPendingCompactionBytes() > MAX_PENDING_COMPACTION_BYTES) {
+                if (!ThreadUtils.sleep(COMPACTION_BACKOFF_INTERVAL)) {
+                    return false;
+                }
+            }
+        } catch (Exception e) {
+            // the statistics are only used for throttling, so we simply continue without them
+            log.warn("failed to determine the compaction backlog of the database - continuing without back off", e);
+        }
+
+        return true;
+    }
+
     /**
      * This method takes care of cleaning up a single milestone and all of its transactions and performs the actual
      * database operations.
@@ -213,11 +346,17 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
      * connection to the rest of the tangle unless they are branching off a solid entry point (in which case we wait
      * with the deletion until the solid entry point expires).
      *
+     * The references to the deleted transactions are removed from the index entries before the transactions
+     * themselves are deleted, so a milestone that gets processed again after a crash still finds them.
+     *
+     * @param milestoneIndex index of the milestone that shall be cleaned up
      * @throws TransactionPruningException if something goes wrong while cleaning up the milestone
      */
-    private void cleanupMilestoneTransactions() throws TransactionPruningException {
+    private void cleanupMilestoneTransactions(int milestoneIndex) throws TransactionPruningException {
         try {
-            List<Pair<Indexable, ? extends Class<? extends Persistable>>> elementsToDelete = getElementsToDelete();
+            Collection<TransactionViewModel> transactionsToDelete = new ArrayList<>();
+            List<Pair<Indexable, ? extends Class<? extends Persistable>>> elementsToDelete =
+                    getElementsToDelete(milestoneIndex, transactionsToDelete);
 
             for (Pair<Indexable, ? extends Class<? extends Persistable>> element : elementsToDelete) {
                 if (Transaction.class.equals(element.hi)) {
@@ -231,33 +370,43 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
                 }
             }
 
+            removeIndexReferences(transactionsToDelete);
             getTangle().deleteBatch(elementsToDelete);
         } catch(Exception e) {
-            throw new TransactionPruningException("failed to cleanup milestone #" + getCurrentIndex(), e);
+            throw new TransactionPruningException("failed to cleanup milestone #" + milestoneIndex, e);
         }
     }
 
     /**
      * Collects all database items that belong to the current milestone and that shall be deleted.
      *
-     * It does that by iterating through all the transactions that belong to the current milestone (that are directly or
-     * indirectly referenced by the chosen milestone) and collecting them in a List of items to delete.
+     * It does that by iterating through all the transactions that belong to the given milestone (that are directly or
+     * indirectly referenced by the chosen milestone) and collecting them in a List of items to delete. The
+     * {@link StateDiff} of the milestone is deleted as well, since the ledger state can not be rolled back to a pruned
+     * milestone anyway.
      *
+     * @param milestoneIndex index of the milestone that shall be cleaned up
+     * @param transactionsToDelete collection that receives the transactions that shall be deleted
      * @return list of elements that shall be deleted from the database
      * @throws TransactionPruningException if anything goes wrong while collecting the elements
      */
-    private List<Pair<Indexable, ? extends Class<? extends Persistable>>> getElementsToDelete() throws
-            TransactionPruningException {
+    private List<Pair<Indexable, ? extends Class<? extends Persistable>>> getElementsToDelete(int milestoneIndex,
+            Collection<TransactionViewModel> transactionsToDelete) throws TransactionPruningException {
 
         try {
             List<Pair<Indexable, ? extends Class<? extends Persistable>>> elementsToDelete = new ArrayList<>();
 
-            RoundViewModel roundViewModel = RoundViewModel.get(getTangle(), getCurrentIndex());
+            RoundViewModel roundViewModel = RoundViewModel.get(getTangle(), milestoneIndex);
             if (roundViewModel != null) {
                 elementsToDelete.add(new Pair<>(new IntegerIndex(roundViewModel.index()), Round.class));
+                elementsToDelete.add(new Pair<>(new IntegerIndex(roundViewModel.index()), StateDiff.class));
 
+                // the milestones of a round share the same condition, so their overlapping cones only get examined once
+                Set<Hash> processedTransactions = new CompactHashSet();
                 for (Hash milestoneHash : roundViewModel.getHashes()) {
+                    transactionsToDelete.add(TransactionViewModel.fromHash(getTangle(), milestoneHash));
                     elementsToDelete.add(new Pair<>(milestoneHash, Transaction.class));
+                    elementsToDelete.add(new Pair<>(milestoneHash, Confirmation.class));
 
                     DAGHelper.get(getTangle()).traverseApprovees(milestoneHash,
                             approvedTransaction -> approvedTransaction.snapshotIndex() >= roundViewModel.index(),
@@ -269,8 +418,10 @@ public class MilestonePrunerJob extends AbstractTransactionPrunerJob {
                                     spentAddressesService
                                             .persistSpentAddresses(Collections.singletonList(approvedTransaction));
                                 }*/ //todo patchfixes
+                                transactionsToDelete.add(approvedTransaction);
                                 elementsToDelete.add(new Pair<>(approvedTransaction.getHash(), Transaction.class));
-                            });
+                                elementsToDelete.add(new Pair<>(approvedTransaction.getHash(), Confirmation.class));
+                            }, processedTransactions);
                 }
             }
 
@@ -78,6 +78,7 @@ public class UnconfirmedSubtanglePrunerJob extends AbstractTransactionPrunerJob
                         .collect(Collectors.toList());
 
                 // clean database entries
+                removeIndexReferences(unconfirmedTxs);
                 getTangle().deleteBatch(elementsToDelete);
 
                 // clean runtime caches
@@ -0,0 +1,263 @@
+package net.helix.pendulum.service.utils;
+
+import net.helix.pendulum.controllers.AddressViewModel;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.EventContext;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.event.EventType;
+import net.helix.pendulum.event.EventUtils;
+import net.helix.pendulum.event.PendulumEventListener;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.persistables.ScanMark;
+import net.helix.pendulum.storage.Tangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the transactions of a set of watched addresses (e.g. the validators) as candidates for a tracker.<br />
+ * <br />
+ * New transactions are pushed into the queue when they are stored, so the trackers do not have to rescan the whole
+ * address index. For every address the last transaction that was handled by the tracker is persisted as a high-water
+ * mark, which allows us to replay only the missed suffix of the address index after a restart.<br />
+ * <br />
+ * Note: The marks are indexed by the address, so the trackers have to watch distinct addresses.<br />
+ */
+public class AddressCandidateQueue implements PendulumEventListener {
+    private static final Logger log = LoggerFactory.getLogger(AddressCandidateQueue.class);
+
+    /**
+     * Holds the Tangle object which acts as a database interface.<br />
+     */
+    private final Tangle tangle;
+
+    /**
+     * Holds the addresses whose transactions are collected.<br />
+     */
+    private final Set<Hash> watchedAddresses = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the watched addresses whose index still has to be replayed from their high-water mark.<br />
+     */
+    private final Queue<Hash> addressesToReplay = new ConcurrentLinkedQueue<>();
+
+    /**
+     * A set that allows us to keep track of the candidates that have been seen and added to the {@link #candidates}
+     * already.<br />
+     */
+    private final Set<Hash> seenCandidates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A list of candidates that still have to be analyzed.<br />
+     */
+    private final Deque<Hash> candidates = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Holds the number of {@link #candidates} (the size of a concurrent deque is computed by traversing it).<br />
+     */
+    private final AtomicInteger numberOfCandidates = new AtomicInteger(0);
+
+    /**
+     * Holds the candidates that could not be processed yet and have to be analyzed again.<br />
+     */
+    private final Set<Hash> candidatesToRetry = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the latest collected candidate of every address, which becomes the new high-water mark once all
+     * candidates were processed.<br />
+     */
+    private final Map<Hash, Hash> latestCandidates = new ConcurrentHashMap<>();
+
+    /**
+     * Holds the high-water marks that were persisted already.<br />
+     */
+    private final Map<Hash, Hash> persistedMarks = new HashMap<>();
+
+    /**
+     * Creates a queue that collects the transactions of the watched addresses from the given tangle.<br />
+     *
+     * @param tangle Tangle object which acts as a database interface
+     */
+    public AddressCandidateQueue(Tangle tangle) {
+        this.tangle = tangle;
+    }
+
+    /**
+     * Subscribes to the stored transactions.<br />
+     *
+     * @return the instance itself to allow chaining
+     */
+    public AddressCandidateQueue init() {
+        EventManager.get().subscribe(EventType.TX_STORED, this);
+
+        return this;
+    }
+
+    /**
+     * Starts to collect the transactions of the given address. The transactions that were stored before are
+     * collected by the next call of {@link #replayMissedCandidates()}.<br />
+     *
+     * @param address address that shall be watched
+     */
+    public void watch(Hash address) {
+        if (watchedAddresses.add(address)) {
+            addressesToReplay.add(address);
+        }
+    }
+
+    /**
+     * Collects the transactions of the newly watched addresses that were stored after their high-water mark.<br />
+     * <br />
+     * If the mark is not part of the address index anymore (e.g. because it was pruned), the whole index is
+     * replayed.<br />
+     *
+     * @throws Exception if anything goes wrong while loading the address index
+     */
+    public void replayMissedCandidates() throws Exception {
+        Hash address;
+        while ((address = addressesToReplay.poll()) != null) {
+            Hash mark = loadMark(address);
+
+            Set<Hash> hashes = AddressViewModel.load(tangle, address).getHashes();
+            boolean markFound = mark != null && hashes.contains(mark);
+            Iterator<Hash> iterator = hashes.iterator();
+            if (markFound) {
+                while (!iterator.next().equals(mark)) {
+                    // skip the transactions that were processed before the restart
+                }
+            }
+
+            int replayed = 0;
+            while (iterator.hasNext()) {
+                Hash hash = iterator.next();
+                if (seenCandidates.add(hash)) {
+                    addCandidate(hash);
+                }
+                latestCandidates.put(address, hash);
+                replayed++;
+            }
+
+            log.debug("Replayed {} transactions of address {} ({})", replayed, address,
+                    markFound ? "after mark " + mark : "full index");
+        }
+    }
+
+    /**
+     * Returns the next candidate that has to be analyzed.<br />
+     *
+     * @return the hash of the candidate or null if there are no candidates
+     */
+    public Hash poll() {
+        Hash hash = candidates.pollFirst();
+        if (hash != null) {
+            numberOfCandidates.decrementAndGet();
+        }
+        return hash;
+    }
+
+    /**
+     * Schedules a candidate that could not be processed yet to be analyzed again by the next
+     * {@link #retryCandidates()}.<br />
+     *
+     * @param hash hash of the candidate
+     */
+    public void retry(Hash hash) {
+        candidatesToRetry.add(hash);
+    }
+
+    /**
+     * Adds the candidates that could not be processed before to the queue again.<br />
+     */
+    public void retryCandidates() {
+        Iterator<Hash> iterator = candidatesToRetry.iterator();
+        while (iterator.hasNext()) {
+            candidates.addLast(iterator.next());
+            numberOfCandidates.incrementAndGet();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the number of candidates that still have to be analyzed.<br />
+     *
+     * @return the number of candidates
+     */
+    public int size() {
+        return numberOfCandidates.get();
+    }
+
+    /**
+     * Persists the latest collected candidate of every address as its high-water mark, if all candidates were
+     * processed.<br />
+     * <br />
+     * While there are candidates left (or candidates that have to be retried), the marks are not moved, so the
+     * unprocessed candidates are replayed after a restart.<br />
+     */
+    public void saveMarks() {
+        // the candidates are queued before they become the latest ones, so a copy taken before the check never
+        // contains a candidate that was not processed yet
+        Map<Hash, Hash> marks = new HashMap<>(latestCandidates);
+        if (!candidates.isEmpty() || !candidatesToRetry.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<Hash, Hash> entry : marks.entrySet()) {
+            if (entry.getValue().equals(persistedMarks.get(entry.getKey()))) {
+                continue;
+            }
+
+            try {
+                ScanMark mark = new ScanMark();
+                mark.hash = entry.getValue();
+                tangle.save(mark, entry.getKey());
+                persistedMarks.put(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.error("failed to persist the high-water mark of address " + entry.getKey(), e);
+            }
+        }
+    }
+
+    private void addCandidate(Hash hash) {
+        candidates.addFirst(hash);
+        numberOfCandidates.incrementAndGet();
+    }
+
+    private Hash loadMark(Hash address) throws Exception {
+        ScanMark mark = (ScanMark) tangle.load(ScanMark.class, address);
+        return mark == null ? null : mark.hash;
+    }
+
+    @Override
+    public void handle(EventType type, EventContext ctx) {
+        switch (type) {
+            case TX_STORED:
+                try {
+                    TransactionViewModel transaction = EventUtils.getTx(ctx);
+                    if (transaction == null) {
+                        transaction = TransactionViewModel.fromHash(tangle, EventUtils.getTxHash(ctx));
+                    }
+
+                    Hash address = transaction.getAddressHash();
+                    if (watchedAddresses.contains(address) && seenCandidates.add(transaction.getHash())) {
+                        addCandidate(transaction.getHash());
+                        latestCandidates.put(address, transaction.getHash());
+                    }
+                } catch (Exception e) {
+                    log.error("failed to collect the stored transaction", e);
+                }
+                break;
+
+            default:
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.helix.pendulum.service.validator.ValidatorSolidifier;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.utils.log.interval.IntervalLogger;
 import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 
 import java.util.HashMap;
@@ -58,7 +59,8 @@ public class ValidatorSolidifierImpl implements ValidatorSolidifier {
 
     @Override
     public void start() {
-        executorService.silentScheduleWithFixedDelay(this::candidateSolidificationThread, 0, SOLIDIFICATION_INTERVAL,
+        int interval = ExecutorRegistry.get().getInterval("validator-solidifier", SOLIDIFICATION_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::candidateSolidificationThread, 0, interval,
                 TimeUnit.MILLISECONDS);
     }
 
@@ -4,9 +4,9 @@ import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.model.Hash;
 
 /**
- * This interface defines the contract for a manager that tries to solidify unsolid candidates by incorporating a
- * background worker that periodically checks the solidity of the candidates and issues transaction requests for the
- * missing transactions until the candidates become solid.
+ * This interface defines the contract for a manager that tries to solidify unsolid candidates by tracking the
+ * transactions that are missing in their subtangles and issuing transaction requests for them until the candidates
+ * become solid.
  */
 public interface CandidateSolidifier extends Pendulum.Initializable {
     /**
@@ -17,16 +17,6 @@ public interface CandidateSolidifier extends Pendulum.Initializable {
      */
     void add(Hash candidateHash, int roundIndex);
 
-    /**
-     * This method starts the background worker that asynchronously solidifies the candidates.
-     */
-    void start();
-
-    /**
-     * This method shuts down the background worker that asynchronously solidifies the candidates.
-     */
-    void shutdown();
-
 }
 
 
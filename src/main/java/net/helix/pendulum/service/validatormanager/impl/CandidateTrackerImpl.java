@@ -2,7 +2,6 @@ package net.helix.pendulum.service.validatormanager.impl;
 
 import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.conf.PendulumConfig;
-import net.helix.pendulum.controllers.AddressViewModel;
 import net.helix.pendulum.controllers.BundleViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.controllers.ValidatorViewModel;
@@ -11,6 +10,7 @@ import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.HashFactory;
 import net.helix.pendulum.service.milestone.MilestoneSolidifier;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.service.utils.AddressCandidateQueue;
 import net.helix.pendulum.service.utils.RoundIndexUtil;
 import net.helix.pendulum.service.validatormanager.CandidateSolidifier;
 import net.helix.pendulum.service.validatormanager.CandidateTracker;
@@ -19,11 +19,10 @@ import net.helix.pendulum.service.validatormanager.ValidatorManagerService;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.log.interval.IntervalLogger;
 import net.helix.pendulum.utils.thread.DedicatedScheduledExecutorService;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
 import net.helix.pendulum.utils.thread.SilentScheduledExecutorService;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -84,12 +83,6 @@ public class CandidateTrackerImpl implements CandidateTracker {
      */
     private CandidateSolidifier candidateSolidifier;
 
-    /**
-     * A set that allows us to keep track of the candidates that have been seen and added to the {@link
-     * #candidatesToAnalyze} already.<br />
-     */
-    private final Set<Hash> seenCandidates = new HashSet<>();
-
     /**
      * Maps candidateAddress hash to weight<br />
      */
@@ -98,9 +91,9 @@ public class CandidateTrackerImpl implements CandidateTracker {
     private int startRound;
 
     /**
-     * A list of candidates that still have to be analyzed.<br />
+     * Collects the transactions of the validator manager address that still have to be analyzed.<br />
      */
-    private final Deque<Hash> candidatesToAnalyze = new ArrayDeque<>();
+    private AddressCandidateQueue candidatesToAnalyze;
 
     /**
      * Initial nomination probability of a candidate <br />
@@ -158,6 +151,9 @@ public class CandidateTrackerImpl implements CandidateTracker {
         validators.addAll(getValidatorsOfRound(snapshotProvider.getLatestSnapshot().getIndex()));
         startRound = RoundIndexUtil.getRound(RoundIndexUtil.getCurrentTime(),  config.getGenesisTime(), config.getRoundDuration(), 2);
 
+        candidatesToAnalyze = new AddressCandidateQueue(tangle).init();
+        candidatesToAnalyze.watch(config.getValidatorManagerAddress());
+
         return this;
     }
 
@@ -189,6 +185,7 @@ public class CandidateTrackerImpl implements CandidateTracker {
                 logProgress();
             }
             analyzeCandidates(); // B
+            candidatesToAnalyze.saveMarks();
             checkIfInitializationComplete();
         } catch (ValidatorManagerException e) {
             log.error("error while analyzing the applying candidates", e);
@@ -199,22 +196,17 @@ public class CandidateTrackerImpl implements CandidateTracker {
      * This method collects the new candidates that have not been "seen" before, by collecting them in the {@link
      * #candidatesToAnalyze} queue.<br />
      * <br />
-     * We simply request all transaction that are originating from the coordinator address and treat them as potential
-     * milestone candidates.<br />
+     * The transactions of the validator manager address are pushed into the queue when they are stored, so we only
+     * have to replay the address index after its persisted high-water mark on the first run and to retry the candidates
+     * that could not be processed before.<br />
      *
      * @throws ValidatorManagerException if anything unexpected happens while collecting the new milestone candidates
      */
     //@VisibleForTesting
     private void collectNewCandidates() throws ValidatorManagerException {
         try {
-            for (Hash hash : AddressViewModel.load(tangle, this.config.getValidatorManagerAddress()).getHashes()) {
-                if (Thread.currentThread().isInterrupted()) {
-                    return;
-                }
-                if (seenCandidates.add(hash)) {
-                    candidatesToAnalyze.addFirst(hash);
-                }
-            }
+            candidatesToAnalyze.replayMissedCandidates();
+            candidatesToAnalyze.retryCandidates();
         } catch (Exception e) {
             throw new ValidatorManagerException("failed to collect the new candidates", e);
         }
@@ -237,9 +229,13 @@ public class CandidateTrackerImpl implements CandidateTracker {
                 return;
             }
 
-            Hash candidateTransactionHash = candidatesToAnalyze.pollFirst();
+            Hash candidateTransactionHash = candidatesToAnalyze.poll();
+            if (candidateTransactionHash == null) {
+                return;
+            }
+
             if(!processCandidate(candidateTransactionHash)) {
-                seenCandidates.remove(candidateTransactionHash);
+                candidatesToAnalyze.retry(candidateTransactionHash);
             }
         }
     }
@@ -307,7 +303,6 @@ public class CandidateTrackerImpl implements CandidateTracker {
                             // do not re-analyze anymore
                             log.delegate().info("Candidate Transaction " + transaction.getHash() + " is INVALID");
                             tangle.publish("invalid_candidate += 1");
-                            candidatesToAnalyze.add(transaction.getHash());
                             return true;
 
                         default:
@@ -401,14 +396,13 @@ public class CandidateTrackerImpl implements CandidateTracker {
     /**
      * {@inheritDoc}
      * <br />
-     * We repeatedly call {@link #candidateTrackerThread()} to search for new application bundles in the database.
-     * This is a bit inefficient and should at some point maybe be replaced with a check on transaction arrival, but
-     * this would required adjustments in the whole way the node (and Pendulum) handles transactions and is therefore postponed for
-     * now.<br />
+     * We repeatedly call {@link #candidateTrackerThread()} to analyze the application bundles that were collected on
+     * transaction arrival.<br />
      */
     @Override
     public void start() {
-        executorService.silentScheduleWithFixedDelay(this::candidateTrackerThread, 0, RESCAN_INTERVAL,
+        int interval = ExecutorRegistry.get().getInterval("candidate-tracker", RESCAN_INTERVAL);
+        executorService.silentScheduleWithFixedDelay(this::candidateTrackerThread, 0, interval,
                 TimeUnit.MILLISECONDS);
     }
 
@@ -4,6 +4,7 @@ import net.helix.pendulum.utils.Pair;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -34,6 +35,32 @@ public interface PersistenceProvider {
 
       Persistable get(Class<?> model, Indexable index) throws Exception;
 
+      /**
+       * Loads the objects of the given model for all of the given indexes with a single batched read.
+       *
+       * @param model the model class of the objects that shall be loaded
+       * @param indexes the indexes of the objects that shall be loaded
+       * @return the loaded objects in the same order as the indexes (missing entries are represented by "empty"
+       *         objects just like in {@link #get(Class, Indexable)})
+       * @throws Exception if anything goes wrong while reading from the database
+       */
+      List<Persistable> multiGet(Class<?> model, List<? extends Indexable> indexes) throws Exception;
+
+      /**
+       * Loads the objects of the given model for all of the given indexes with a single batched read.
+       *
+       * If <code>withMetadata</code> is false, only the primary column of the model is read, which saves a second
+       * lookup and the deserialization of the metadata for callers that are only interested in the raw objects.
+       *
+       * @param model the model class of the objects that shall be loaded
+       * @param indexes the indexes of the objects that shall be loaded
+       * @param withMetadata true if the metadata of the objects shall be loaded as well
+       * @return the loaded objects in the same order as the indexes
+       * @throws Exception if anything goes wrong while reading from the database
+       */
+      List<Persistable> multiGet(Class<?> model, List<? extends Indexable> indexes, boolean withMetadata)
+              throws Exception;
+
       boolean mayExist(Class<?> model, Indexable index) throws Exception;
 
       long count(Class<?> model) throws Exception;
@@ -56,6 +83,45 @@ public interface PersistenceProvider {
        */
       void deleteBatch(Collection<Pair<Indexable, ? extends Class<? extends Persistable>>> models) throws Exception;
 
+      /**
+       * Returns the estimated amount of bytes that need to be rewritten by pending compactions.
+       *
+       * @return estimated pending compaction bytes of all column families (or 0 if not supported)
+       * @throws Exception if anything goes wrong while retrieving the statistics
+       */
+      long getPendingCompactionBytes() throws Exception;
+
+      /**
+       * Removes references from the list values of an index model (like the transactions of an address).
+       *
+       * The values of index models only grow through merges, so this is used to drop the references to deleted
+       * objects from them. Index entries that end up without any references are deleted entirely.
+       *
+       * @param model the index model whose entries shall be cleaned up
+       * @param references the references that shall be removed (indexed by the key of the entry they are stored in)
+       * @return the amount of bytes that were removed from the index entries
+       * @throws Exception if anything goes wrong while updating the index entries
+       */
+      long removeReferences(Class<?> model, Map<? extends Indexable, ? extends Collection<? extends Indexable>> references)
+              throws Exception;
+
+      /**
+       * Returns the total amount of bytes that were removed by {@link #removeReferences(Class, Map)} since the provider
+       * was started.
+       *
+       * @return the amount of reclaimed bytes
+       */
+      long getReclaimedBytes();
+
+      /**
+       * Returns the statistics of the database (like the size of the column families or the block cache hits) that
+       * are reported in the stats of the node.
+       *
+       * @return the statistics indexed by their name
+       * @throws Exception if anything goes wrong while retrieving the statistics
+       */
+      Map<String, Long> getStatistics() throws Exception;
+
       void clear(Class<?> column) throws Exception;
       void clearMetadata(Class<?> column) throws Exception;
 
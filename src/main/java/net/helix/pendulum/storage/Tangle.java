@@ -2,19 +2,20 @@ package net.helix.pendulum.storage;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import net.helix.pendulum.controllers.BundleViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.event.*;
 import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.StateDiff;
 import net.helix.pendulum.model.persistables.*;
 import net.helix.pendulum.utils.Pair;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import net.helix.pendulum.zmq.MessageQProvider;
 import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -35,6 +36,9 @@ public class Tangle implements PendulumEventListener {
                 put("bundleNonce", BundleNonce.class);
                 put("tag", Tag.class);
                 put("validator", Validator.class);
+                put("confirmation", Confirmation.class);
+                put("pruner-job", PrunerJob.class);
+                put("scan-mark", ScanMark.class);
             }};
 
     public static final Map.Entry<String, Class<? extends Persistable>> METADATA_COLUMN_FAMILY =
@@ -43,6 +47,11 @@ public class Tangle implements PendulumEventListener {
     private final List<PersistenceProvider> persistenceProviders = new ArrayList<>();
     private final List<MessageQProvider> messageQProviders = new ArrayList<>();
 
+    /**
+     * Holds the number of stored transactions, which is counted once when the tangle is initialized and then
+     * maintained incrementally.
+     */
+    private final AtomicLong storedTransactions = new AtomicLong();
 
     public void addPersistenceProvider(PersistenceProvider provider) {
         this.persistenceProviders.add(provider);
@@ -60,8 +69,13 @@ public class Tangle implements PendulumEventListener {
         for(PersistenceProvider provider: this.persistenceProviders) {
             provider.init();
         }
+        storedTransactions.set(getCount(Transaction.class));
+        MetricsRegistry.get().gauge("pendulum_transactions_stored", "Number of stored transactions",
+                storedTransactions::get);
+
         EventManager.get().subscribe(EventType.TX_CONFIRMED, this);
         EventManager.get().subscribe(EventType.TX_STORED, this);
+        EventManager.get().subscribe(EventType.BUNDLE_COMPLETE, this);
     }
 
 
@@ -81,6 +95,30 @@ public class Tangle implements PendulumEventListener {
         return out;
     }
 
+    /**
+     * Loads the objects of the given model for all of the given indexes with a single batched read per provider.
+     *
+     * @param model the model class of the objects that shall be loaded
+     * @param indexes the indexes of the objects that shall be loaded
+     * @return the loaded objects in the same order as the indexes
+     * @throws Exception if anything goes wrong while reading from the database
+     */
+    public List<Persistable> loadBatch(Class<?> model, List<? extends Indexable> indexes) throws Exception {
+        return loadBatch(model, indexes, true);
+    }
+
+    public List<Persistable> loadBatch(Class<?> model, List<? extends Indexable> indexes, boolean withMetadata)
+            throws Exception {
+
+        List<Persistable> out = null;
+        for(PersistenceProvider provider: this.persistenceProviders) {
+            if((out = provider.multiGet(model, indexes, withMetadata)) != null) {
+                break;
+            }
+        }
+        return out;
+    }
+
     public Boolean saveBatch(List<Pair<Indexable, Persistable>> models) throws Exception {
         boolean exists = false;
         for(PersistenceProvider provider: persistenceProviders) {
@@ -108,12 +146,26 @@ public class Tangle implements PendulumEventListener {
         for(PersistenceProvider provider: persistenceProviders) {
             provider.deleteBatch(models);
         }
+        storedTransactions.addAndGet(-models.stream().filter(model -> model.hi == Transaction.class).count());
     }
 
     public void delete(Class<?> model, Indexable index) throws Exception {
         for(PersistenceProvider provider: persistenceProviders) {
             provider.delete(model, index);
         }
+        if (model == Transaction.class) {
+            storedTransactions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of stored transactions without counting them in the database.<br />
+     *
+     * @return the number of transactions that were stored since the initialization (including the ones that existed
+     *         already) minus the deleted ones
+     */
+    public long getNumberOfStoredTransactions() {
+        return storedTransactions.get();
     }
 
     public Pair<Indexable, Persistable> getLatest(Class<?> model, Class<?> index) throws Exception {
@@ -155,7 +207,27 @@ public class Tangle implements PendulumEventListener {
         for(MessageQProvider provider: this.messageQProviders) {
             provider.publish(message, objects);
         }
-        log.trace(String.format(message, objects));
+        if (log.isTraceEnabled()) {
+            log.trace(String.format(message, objects));
+        }
+    }
+
+    /**
+     * Checks if any registered {@link net.helix.pendulum.zmq.MessageQProvider} has subscribers for the topics starting
+     * with the given prefix.
+     *
+     * Callers use this to skip the creation of messages whose arguments are expensive to compute.
+     *
+     * @param topicPrefix prefix of the topics that shall be checked (or the full topic)
+     * @return true if a message with a topic starting with the given prefix might be received by somebody
+     */
+    public boolean isPublishing(String topicPrefix) {
+        for(MessageQProvider provider: this.messageQProviders) {
+            if (provider.hasSubscribers(topicPrefix)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public Set<Indexable> keysWithMissingReferences(Class<?> modelClass, Class<?> referencedClass) throws Exception {
@@ -265,10 +337,75 @@ public class Tangle implements PendulumEventListener {
         return latest;
     }
 
+    /**
+     * Returns the estimated amount of bytes that the persistence providers still need to rewrite during compaction.
+     *
+     * It can be used by background jobs that write or delete a lot of data to back off while the database is busy.
+     *
+     * @return the sum of the pending compaction bytes of all persistence providers
+     * @throws Exception if anything goes wrong while retrieving the statistics
+     */
+    public long getPendingCompactionBytes() throws Exception {
+        long pendingCompactionBytes = 0;
+        for(PersistenceProvider provider: persistenceProviders) {
+            pendingCompactionBytes += provider.getPendingCompactionBytes();
+        }
+        return pendingCompactionBytes;
+    }
+
+    /**
+     * Removes the given references from the list values of an index model in all persistence providers.
+     *
+     * @param model the index model whose entries shall be cleaned up
+     * @param references the references that shall be removed (indexed by the key of the entry they are stored in)
+     * @return the sum of the bytes that were removed by the persistence providers
+     * @throws Exception if anything goes wrong while updating the index entries
+     */
+    public long removeReferences(Class<?> model,
+                                 Map<? extends Indexable, ? extends Collection<? extends Indexable>> references)
+            throws Exception {
+
+        long reclaimedBytes = 0;
+        for(PersistenceProvider provider: persistenceProviders) {
+            reclaimedBytes += provider.removeReferences(model, references);
+        }
+        return reclaimedBytes;
+    }
+
+    /**
+     * Returns the total amount of bytes that were removed from index entries since the node was started.
+     *
+     * @return the sum of the reclaimed bytes of all persistence providers
+     */
+    public long getReclaimedBytes() {
+        long reclaimedBytes = 0;
+        for(PersistenceProvider provider: persistenceProviders) {
+            reclaimedBytes += provider.getReclaimedBytes();
+        }
+        return reclaimedBytes;
+    }
+
+    /**
+     * Returns the statistics of the persistence providers (statistics with the same name are summed up).
+     *
+     * @return the statistics indexed by their name
+     * @throws Exception if anything goes wrong while retrieving the statistics
+     */
+    public Map<String, Long> getStatistics() throws Exception {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        for(PersistenceProvider provider: persistenceProviders) {
+            provider.getStatistics().forEach((name, value) -> statistics.merge(name, value, Long::sum));
+        }
+        return statistics;
+    }
+
     public void clearColumn(Class<?> column) throws Exception {
         for(PersistenceProvider provider: persistenceProviders) {
             provider.clear(column);
         }
+        if (column == Transaction.class) {
+            storedTransactions.set(0);
+        }
     }
 
     public void clearMetadata(Class<?> column) throws Exception {
@@ -277,7 +414,6 @@ public class Tangle implements PendulumEventListener {
         }
     }
 
-    // TODO: publish the whole bundle to zmq.
     @Override
     public void handle(EventType type, EventContext ctx) {
         switch (type) {
@@ -288,7 +424,12 @@ public class Tangle implements PendulumEventListener {
             case TX_STORED:
                 tx = ctx.get(Key.key("TX_HASH", Hash.class));
                 log.trace("Stored_txhash = {}", tx.toString());
-                publishBundleJson(tx);
+                storedTransactions.incrementAndGet();
+                break;
+            case BUNDLE_COMPLETE:
+                if (isPublishing("ORACLE_")) {
+                    publishBundleJson(EventUtils.getBundleHash(ctx), EventUtils.getBundleTransactions(ctx));
+                }
                 break;
 
             default:
@@ -298,40 +439,36 @@ public class Tangle implements PendulumEventListener {
     ////////////////////
     //  Methods to handle various events
     ///////////////
-    private void publishBundleJson(Hash tx) {
+    /**
+     * Publishes a bundle that was completed by the {@link net.helix.pendulum.service.bundle.BundleTracker}, so the
+     * bundle is only loaded once instead of whenever one of its transactions is stored.
+     *
+     * @param bundleHash hash of the bundle
+     * @param transactions hashes of the transactions of the bundle ordered by their index
+     */
+    private void publishBundleJson(Hash bundleHash, Hash[] transactions) {
         try {
-            TransactionViewModel txvm = TransactionViewModel.fromHash(this, tx);
-            BundleViewModel receivedBundle = BundleViewModel.load(this, txvm.getBundleHash());
-            if (txvm.lastIndex() == receivedBundle.size() - 1) {
-                JsonArray preBundle = new JsonArray();
-                JsonArray publishBundle = new JsonArray();
-                String oracleTopic = null;
-
-                for (Hash txHash : receivedBundle.getHashes()) {
-                    TransactionViewModel transactionViewModel = TransactionViewModel.fromHash(this, txHash);
-                    if (transactionViewModel.getType() != TransactionViewModel.FILLED_SLOT) {
-                        log.trace("Tx {} of bundle {} is not filled", transactionViewModel.getHash(), txvm.getBundleHash());
-                        return;
-                    }
-                    JsonObject addressTopicJson = new JsonObject();
-                    addressTopicJson.addProperty("tx_hash", transactionViewModel.getHash().toString());
-                    addressTopicJson.addProperty("bundle_hash", transactionViewModel.getBundleHash().toString());
-                    addressTopicJson.addProperty("signature", Hex.toHexString(transactionViewModel.getSignature()));
-                    addressTopicJson.addProperty("bundle_index", transactionViewModel.getCurrentIndex());
-                    preBundle.add(addressTopicJson);
-
-                    if (transactionViewModel.getCurrentIndex() == 0) {
-                        oracleTopic = transactionViewModel.getAddressHash().toString();
-                    }
+            JsonArray publishBundle = new JsonArray();
+            String oracleTopic = null;
+
+            for (int i = transactions.length - 1; i >= 0; i--) {
+                TransactionViewModel transactionViewModel = TransactionViewModel.fromHash(this, transactions[i]);
+                if (transactionViewModel.getType() != TransactionViewModel.FILLED_SLOT) {
+                    log.trace("Tx {} of bundle {} is not filled", transactionViewModel.getHash(), bundleHash);
+                    return;
                 }
-                for (int i = preBundle.size()-1; i >= 0; i--) {
-                    publishBundle.add(preBundle.get(i));
+                JsonObject addressTopicJson = new JsonObject();
+                addressTopicJson.addProperty("tx_hash", transactionViewModel.getHash().toString());
+                addressTopicJson.addProperty("bundle_hash", transactionViewModel.getBundleHash().toString());
+                addressTopicJson.addProperty("signature", Hex.toHexString(transactionViewModel.getSignature()));
+                addressTopicJson.addProperty("bundle_index", transactionViewModel.getCurrentIndex());
+                publishBundle.add(addressTopicJson);
+
+                if (transactionViewModel.getCurrentIndex() == 0) {
+                    oracleTopic = transactionViewModel.getAddressHash().toString();
                 }
-                publish("%s %s",
-                        "ORACLE_" + (oracleTopic != null ?
-                                oracleTopic : txvm.getAddressHash().toString())
-                        , publishBundle.toString());
             }
+            publish("%s %s", "ORACLE_" + oracleTopic, publishBundle.toString());
         } catch (Exception e) {
             log.error("Error publishing bundle.", e);
         }
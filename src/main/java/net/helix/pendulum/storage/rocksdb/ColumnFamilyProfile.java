@@ -0,0 +1,101 @@
+package net.helix.pendulum.storage.rocksdb;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tuning profiles of the column families of the {@link RocksDBPersistenceProvider}.<br />
+ * <br />
+ * The column families of the node are accessed in very different ways: the transactions (and their metadata) are
+ * mostly read by point lookups of keys that exist, while the index entries (addresses, bundles, tags) are mostly
+ * extended by merges. Every profile gets its own table configuration and write buffer sizing.<br />
+ */
+public enum ColumnFamilyProfile {
+    /**
+     * Profile for column families that are mostly read by point lookups.<br />
+     * <br />
+     * It uses small blocks, bloom filters and pins the filters and indexes of the freshest files in the block cache.
+     */
+    POINT_LOOKUP("point-lookup", 60),
+
+    /**
+     * Profile for column families that are mostly extended by merges.<br />
+     * <br />
+     * It uses large write buffers that are merged before they get flushed, so most merge operands are combined in
+     * memory instead of being compacted on disk.
+     */
+    MERGE("merge", 30),
+
+    /**
+     * Profile for small column families that do not need any special tuning.
+     */
+    DEFAULT("default", 10);
+
+    private final String name;
+
+    private final int cacheShare;
+
+    ColumnFamilyProfile(String name, int cacheShare) {
+        this.name = name;
+        this.cacheShare = cacheShare;
+    }
+
+    /**
+     * Returns the name of the profile that is used in the configuration.<br />
+     *
+     * @return the name of the profile
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the share of the block cache (in percent) that is assigned to the column families of this profile.<br />
+     *
+     * @return the share of the block cache
+     */
+    public int getCacheShare() {
+        return cacheShare;
+    }
+
+    /**
+     * Returns the profile with the given name.<br />
+     *
+     * @param name name of the profile
+     * @return the profile with the given name
+     * @throws IllegalArgumentException if no profile with the given name exists
+     */
+    public static ColumnFamilyProfile fromName(String name) {
+        for (ColumnFamilyProfile profile : values()) {
+            if (profile.name.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown column family profile: " + name);
+    }
+
+    /**
+     * Parses a list of column family profiles of the form <code>"name=profile,name=profile"</code>.<br />
+     *
+     * @param profiles the list of profiles (may be empty)
+     * @return the profiles indexed by the name of their column family
+     * @throws IllegalArgumentException if the list can not be parsed
+     */
+    public static Map<String, ColumnFamilyProfile> parse(String profiles) {
+        Map<String, ColumnFamilyProfile> result = new HashMap<>();
+        if (profiles == null || profiles.trim().isEmpty()) {
+            return result;
+        }
+
+        for (String entry : profiles.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2 || parts[0].trim().isEmpty()) {
+                throw new IllegalArgumentException("Invalid column family profile: " + entry);
+            }
+            result.put(parts[0].trim(), fromName(parts[1]));
+        }
+
+        return result;
+    }
+}
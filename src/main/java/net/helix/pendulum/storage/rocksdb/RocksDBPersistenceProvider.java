@@ -1,11 +1,17 @@
 package net.helix.pendulum.storage.rocksdb;
 
+import com.google.common.primitives.UnsignedBytes;
+import net.helix.pendulum.conf.DbConfig;
+import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.HashFactory;
 import net.helix.pendulum.storage.Indexable;
 import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.storage.PersistenceProvider;
 import net.helix.pendulum.utils.Pair;
 import net.helix.pendulum.utils.PendulumIOUtils;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.Histogram;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.SystemUtils;
@@ -14,45 +20,132 @@ import org.rocksdb.util.SizeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.SecureRandom;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class RocksDBPersistenceProvider implements PersistenceProvider {
 
     private static final Logger log = LoggerFactory.getLogger(RocksDBPersistenceProvider.class);
     private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
 
+    /**
+     * Profiles of the column families of the tangle that are not tuned by the {@link ColumnFamilyProfile#DEFAULT}.
+     */
+    private static final Map<String, ColumnFamilyProfile> DEFAULT_PROFILES =
+            new HashMap<String, ColumnFamilyProfile>() {{
+                put("transaction", ColumnFamilyProfile.POINT_LOOKUP);
+                put("transaction-metadata", ColumnFamilyProfile.POINT_LOOKUP);
+                put("approvee", ColumnFamilyProfile.POINT_LOOKUP);
+                put("confirmation", ColumnFamilyProfile.POINT_LOOKUP);
+                put("address", ColumnFamilyProfile.MERGE);
+                put("bundle", ColumnFamilyProfile.MERGE);
+                put("bundleNonce", ColumnFamilyProfile.MERGE);
+                put("tag", ColumnFamilyProfile.MERGE);
+            }};
+
+    /**
+     * Tickers of the database statistics that are exported by {@link #getStatistics()}.
+     */
+    private static final TickerType[] EXPORTED_TICKERS = {
+            TickerType.BLOCK_CACHE_HIT, TickerType.BLOCK_CACHE_MISS, TickerType.BLOOM_FILTER_USEFUL,
+            TickerType.BYTES_WRITTEN, TickerType.BYTES_READ, TickerType.COMPACT_READ_BYTES,
+            TickerType.COMPACT_WRITE_BYTES, TickerType.STALL_MICROS
+    };
+
     private static final Pair<Indexable, Persistable> PAIR_OF_NULLS = new Pair<>(null, null);
 
+    /**
+     * Delimiter that the {@link StringAppendOperator} puts between the merged references of an index entry.
+     */
+    private static final byte REFERENCE_DELIMITER = ',';
+
+    /**
+     * Maximum amount of index entries that are rewritten while holding the lock of their column family.
+     */
+    private static final int REFERENCE_REMOVAL_BATCH_SIZE = 1000;
+
+    private static final String LATENCY_METRIC = "pendulum_db_operation_duration_seconds";
+    private static final String LATENCY_HELP = "Latency of the database operations";
+    private static final Histogram GET_LATENCY =
+            MetricsRegistry.get().histogram(LATENCY_METRIC, LATENCY_HELP, "operation", "get");
+    private static final Histogram MULTI_GET_LATENCY =
+            MetricsRegistry.get().histogram(LATENCY_METRIC, LATENCY_HELP, "operation", "multiGet");
+    private static final Histogram PUT_LATENCY =
+            MetricsRegistry.get().histogram(LATENCY_METRIC, LATENCY_HELP, "operation", "put");
+    private static final Histogram WRITE_BATCH_LATENCY =
+            MetricsRegistry.get().histogram(LATENCY_METRIC, LATENCY_HELP, "operation", "writeBatch");
+    private static final Counter RECLAIMED_BYTES = MetricsRegistry.get().counter("pendulum_db_reclaimed_bytes_total",
+            "Bytes of index entries that were reclaimed by removing the references of pruned transactions");
+
     private final List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
     private final SecureRandom seed = new SecureRandom();
 
+    /**
+     * Prevents merges into index entries while {@link #removeReferences(Class, Map)} rewrites them (which would
+     * otherwise overwrite the merged references). There is one lock per model, so the rewrite of an index only blocks
+     * the writes to its own column family.
+     */
+    private final Map<Class<?>, ReadWriteLock> indexLocks = new ConcurrentHashMap<>();
+
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
     private final String dbPath;
     private final String logPath;
     private final int cacheSize;
     private final Map<String, Class<? extends Persistable>> columnFamilies;
     private final Map.Entry<String, Class<? extends Persistable>> metadataColumnFamily;
+    private final DbConfig config;
 
     private Map<Class<?>, ColumnFamilyHandle> classTreeMap;
     private Map<Class<?>, ColumnFamilyHandle> metadataReference = Collections.emptyMap();
+    private Map<String, ColumnFamilyHandle> namedHandles = Collections.emptyMap();
 
     private RocksDB db;
     // DBOptions is only used in initDB(). However, it is closeable - so we keep a reference for shutdown.
     private DBOptions options;
-    private BloomFilter bloomFilter;
+    // the column family options, table filters and merge operator have to be kept alive (and closed) the same way
+    private final List<AutoCloseable> columnFamilyResources = new ArrayList<>();
+    private Statistics statistics;
     private boolean available;
 
     public RocksDBPersistenceProvider(String dbPath, String logPath, int cacheSize,
                                       Map<String, Class<? extends Persistable>> columnFamilies,
                                       Map.Entry<String, Class<? extends Persistable>> metadataColumnFamily) {
+        this(dbPath, logPath, cacheSize, columnFamilies, metadataColumnFamily, null);
+    }
+
+    /**
+     * Creates a persistence provider that tunes its column families according to the given configuration.<br />
+     * <br />
+     * Without a configuration, all column families share the same (untuned) options.<br />
+     *
+     * @param dbPath path of the database
+     * @param logPath path of the database logs
+     * @param cacheSize size of the block cache in KB
+     * @param columnFamilies column families of the database indexed by their name
+     * @param metadataColumnFamily column family that holds the metadata of a model (or null)
+     * @param config configuration of the column family profiles and statistics (or null)
+     */
+    public RocksDBPersistenceProvider(String dbPath, String logPath, int cacheSize,
+                                      Map<String, Class<? extends Persistable>> columnFamilies,
+                                      Map.Entry<String, Class<? extends Persistable>> metadataColumnFamily,
+                                      DbConfig config) {
         this.dbPath = dbPath;
         this.logPath = logPath;
         this.cacheSize = cacheSize;
         this.columnFamilies = columnFamilies;
         this.metadataColumnFamily = metadataColumnFamily;
-
+        this.config = config;
     }
 
     @Override
@@ -74,19 +167,32 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         for (final ColumnFamilyHandle columnFamilyHandle : columnFamilyHandles) {
             PendulumIOUtils.closeQuietly(columnFamilyHandle);
         }
-        PendulumIOUtils.closeQuietly(db, options, bloomFilter);
+        PendulumIOUtils.closeQuietly(db, options);
+        PendulumIOUtils.closeQuietly(columnFamilyResources.toArray(new AutoCloseable[0]));
+        columnFamilyResources.clear();
     }
 
     @Override
     public boolean save(Persistable thing, Indexable index) throws Exception {
-        ColumnFamilyHandle handle = classTreeMap.get(thing.getClass());
-        db.put(handle, index.bytes(), thing.bytes());
+        long start = System.nanoTime();
+        try {
+            ColumnFamilyHandle handle = classTreeMap.get(thing.getClass());
+            ColumnFamilyHandle referenceHandle = metadataReference.get(thing.getClass());
 
-        ColumnFamilyHandle referenceHandle = metadataReference.get(thing.getClass());
-        if (referenceHandle != null) {
-            db.put(referenceHandle, index.bytes(), thing.metadata());
+            Lock indexLock = indexLock(thing.getClass()).readLock();
+            indexLock.lock();
+            try {
+                db.put(handle, index.bytes(), thing.bytes());
+                if (referenceHandle != null) {
+                    db.put(referenceHandle, index.bytes(), thing.metadata());
+                }
+            } finally {
+                indexLock.unlock();
+            }
+            return true;
+        } finally {
+            PUT_LATENCY.recordSince(start);
         }
-        return true;
     }
 
     @Override
@@ -120,15 +226,61 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
 
     @Override
     public Persistable get(Class<?> model, Indexable index) throws Exception {
-        Persistable object = (Persistable) model.newInstance();
-        object.read(db.get(classTreeMap.get(model), index == null ? new byte[0] : index.bytes()));
+        long start = System.nanoTime();
+        try {
+            Persistable object = newPersistable(model);
+            object.read(db.get(classTreeMap.get(model), index == null ? new byte[0] : index.bytes()));
 
-        ColumnFamilyHandle referenceHandle = metadataReference.get(model);
+            ColumnFamilyHandle referenceHandle = metadataReference.get(model);
+            if (referenceHandle != null) {
+                object.readMetadata(db.get(referenceHandle, index == null ? new byte[0] : index.bytes()));
+            }
+
+            return object;
+        } finally {
+            GET_LATENCY.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Persistable> multiGet(Class<?> model, List<? extends Indexable> indexes) throws Exception {
+        return multiGet(model, indexes, true);
+    }
+
+    @Override
+    public List<Persistable> multiGet(Class<?> model, List<? extends Indexable> indexes, boolean withMetadata)
+            throws Exception {
+
+        ColumnFamilyHandle handle = classTreeMap.get(model);
+        ColumnFamilyHandle referenceHandle = withMetadata ? metadataReference.get(model) : null;
+
+        List<byte[]> keys = new ArrayList<>(indexes.size());
+        List<ColumnFamilyHandle> handles = new ArrayList<>(indexes.size());
+        for (Indexable index : indexes) {
+            keys.add(index.bytes());
+            handles.add(handle);
+        }
+
+        // the returned maps are keyed by the passed in key instances (missing entries are omitted)
+        long start = System.nanoTime();
+        Map<byte[], byte[]> values = db.multiGet(handles, keys);
+        Map<byte[], byte[]> metadata = null;
         if (referenceHandle != null) {
-            object.readMetadata(db.get(referenceHandle, index == null ? new byte[0] : index.bytes()));
+            metadata = db.multiGet(Collections.nCopies(keys.size(), referenceHandle), keys);
+        }
+        MULTI_GET_LATENCY.recordSince(start);
+
+        List<Persistable> result = new ArrayList<>(keys.size());
+        for (byte[] key : keys) {
+            Persistable object = newPersistable(model);
+            object.read(values.get(key));
+            if (metadata != null) {
+                object.readMetadata(metadata.get(key));
+            }
+            result.add(object);
         }
 
-        return object;
+        return result;
     }
 
     @Override
@@ -147,6 +299,38 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         return db.getLongProperty(handle, "rocksdb.estimate-num-keys");
     }
 
+    @Override
+    public long getPendingCompactionBytes() throws RocksDBException {
+        long pendingCompactionBytes = 0;
+        for (ColumnFamilyHandle handle : classTreeMap.values()) {
+            pendingCompactionBytes += db.getLongProperty(handle, "rocksdb.estimate-pending-compaction-bytes");
+        }
+        return pendingCompactionBytes;
+    }
+
+    @Override
+    public Map<String, Long> getStatistics() throws RocksDBException {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, ColumnFamilyHandle> entry : namedHandles.entrySet()) {
+            ColumnFamilyHandle handle = entry.getValue();
+            result.put(entry.getKey() + ".keys", db.getLongProperty(handle, "rocksdb.estimate-num-keys"));
+            result.put(entry.getKey() + ".sst-bytes", db.getLongProperty(handle, "rocksdb.total-sst-files-size"));
+            result.put(entry.getKey() + ".memtable-bytes",
+                    db.getLongProperty(handle, "rocksdb.cur-size-all-mem-tables"));
+            result.put(entry.getKey() + ".pending-compaction-bytes",
+                    db.getLongProperty(handle, "rocksdb.estimate-pending-compaction-bytes"));
+        }
+
+        if (statistics != null) {
+            for (TickerType ticker : EXPORTED_TICKERS) {
+                result.put(ticker.name().toLowerCase(), statistics.getTickerCount(ticker));
+            }
+        }
+        result.put("reclaimed-bytes", reclaimedBytes.get());
+
+        return result;
+    }
+
     @Override
     public Set<Indexable> keysStartingWith(Class<?> modelClass, byte[] value) {
         Objects.requireNonNull(value, "value byte[] cannot be null");
@@ -196,17 +380,21 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         return get(model, (Indexable) hashes.toArray()[seed.nextInt(hashes.size())]);
     }
 
+    private Persistable newPersistable(Class<?> model) throws ReflectiveOperationException {
+        return (Persistable) model.getDeclaredConstructor().newInstance();
+    }
+
     private Pair<Indexable, Persistable> modelAndIndex(Class<?> model, Class<? extends Indexable> index, RocksIterator iterator)
-            throws InstantiationException, IllegalAccessException, RocksDBException {
+            throws ReflectiveOperationException, RocksDBException {
 
         if (!iterator.isValid()) {
             return PAIR_OF_NULLS;
         }
 
-        Indexable indexable = index.newInstance();
+        Indexable indexable = index.getDeclaredConstructor().newInstance();
         indexable.read(iterator.key());
 
-        Persistable object = (Persistable) model.newInstance();
+        Persistable object = newPersistable(model);
         object.read(iterator.value());
 
         ColumnFamilyHandle referenceHandle = metadataReference.get(model);
@@ -255,7 +443,13 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
     // 2018 March 28 - Unused code
     public boolean merge(Persistable model, Indexable index) throws Exception {
         boolean exists = mayExist(model.getClass(), index);
-        db.merge(classTreeMap.get(model.getClass()), index.bytes(), model.bytes());
+        Lock indexLock = indexLock(model.getClass()).readLock();
+        indexLock.lock();
+        try {
+            db.merge(classTreeMap.get(model.getClass()), index.bytes(), model.bytes());
+        } finally {
+            indexLock.unlock();
+        }
         return exists;
     }
 
@@ -264,11 +458,17 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         try (WriteBatch writeBatch = new WriteBatch();
              WriteOptions writeOptions = new WriteOptions()) {
 
+            List<Lock> batchLocks = new ArrayList<>();
             for (Pair<Indexable, Persistable> entry : models) {
 
                 Indexable key = entry.low;
                 Persistable value = entry.hi;
 
+                Lock indexLock = indexLock(value.getClass()).readLock();
+                if (!batchLocks.contains(indexLock)) {
+                    batchLocks.add(indexLock);
+                }
+
                 ColumnFamilyHandle handle = classTreeMap.get(value.getClass());
                 ColumnFamilyHandle referenceHandle = metadataReference.get(value.getClass());
 
@@ -282,11 +482,78 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
                 }
             }
 
-            db.write(writeOptions, writeBatch);
+            long start = System.nanoTime();
+            // a rewrite only ever holds a single lock, so acquiring several shared locks can not cause a deadlock
+            batchLocks.forEach(Lock::lock);
+            try {
+                db.write(writeOptions, writeBatch);
+            } finally {
+                batchLocks.forEach(Lock::unlock);
+                WRITE_BATCH_LATENCY.recordSince(start);
+            }
             return true;
         }
     }
 
+    /**
+     * Bulk loads the given keys with the same value into the column family of the value.<br />
+     * <br />
+     * Instead of writing every entry through the memtable and the write ahead log, the keys are sorted and written
+     * into a SST file, which is then moved into the database as a whole. This is used to import large static data
+     * sets (e.g. the spent addresses of previous epochs).<br />
+     *
+     * @param indexes keys that shall be loaded (in any order, duplicates are ignored)
+     * @param value value that is stored for every key
+     * @return the number of ingested keys
+     * @throws Exception if anything goes wrong while writing or ingesting the SST file
+     */
+    public long ingest(Collection<? extends Indexable> indexes, Persistable value) throws Exception {
+        // the entries of a SST file have to be added in the order of the (bytewise) comparator of the database
+        SortedSet<byte[]> keys = new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+        for (Indexable index : indexes) {
+            keys.add(index.bytes());
+        }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        File sstFile = File.createTempFile("ingest-", ".sst", new File(dbPath));
+        try {
+            byte[] valueBytes = value.bytes();
+            try (EnvOptions envOptions = new EnvOptions();
+                 Options sstOptions = new Options();
+                 SstFileWriter writer = new SstFileWriter(envOptions, sstOptions)) {
+
+                writer.open(sstFile.getAbsolutePath());
+                for (byte[] key : keys) {
+                    try (Slice keySlice = new Slice(key);
+                         Slice valueSlice = new Slice(valueBytes)) {
+                        writer.put(keySlice, valueSlice);
+                    }
+                }
+                writer.finish();
+            }
+
+            try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions()) {
+                ingestOptions.setMoveFiles(true);
+
+                Lock indexLock = indexLock(value.getClass()).readLock();
+                indexLock.lock();
+                try {
+                    db.ingestExternalFile(classTreeMap.get(value.getClass()),
+                            Collections.singletonList(sstFile.getAbsolutePath()), ingestOptions);
+                } finally {
+                    indexLock.unlock();
+                }
+            }
+        } finally {
+            // the file is moved into the database if the ingestion succeeded
+            Files.deleteIfExists(sstFile.toPath());
+        }
+
+        return keys.size();
+    }
+
     public void deleteBatch(Collection<Pair<Indexable, ? extends Class<? extends Persistable>>> models)
             throws Exception {
         if (CollectionUtils.isNotEmpty(models)) {
@@ -312,6 +579,122 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         }
     }
 
+    @Override
+    public long removeReferences(Class<?> model,
+                                 Map<? extends Indexable, ? extends Collection<? extends Indexable>> references)
+            throws Exception {
+
+        ColumnFamilyHandle handle = classTreeMap.get(model);
+        if (handle == null || MapUtils.isEmpty(references)) {
+            return 0;
+        }
+
+        long removedBytes = 0;
+        List<Indexable> indexes = new ArrayList<>(references.keySet());
+        for (int from = 0; from < indexes.size(); from += REFERENCE_REMOVAL_BATCH_SIZE) {
+            List<Indexable> batch = indexes.subList(from, Math.min(from + REFERENCE_REMOVAL_BATCH_SIZE,
+                    indexes.size()));
+            removedBytes += removeReferences(model, handle, batch, references);
+        }
+
+        reclaimedBytes.addAndGet(removedBytes);
+        RECLAIMED_BYTES.add(removedBytes);
+        return removedBytes;
+    }
+
+    /**
+     * Rewrites a batch of index entries without the given references while no merges into their column family can
+     * happen.
+     *
+     * @param model the index model
+     * @param handle column family of the index model
+     * @param indexes keys of the index entries that shall be rewritten
+     * @param references the references that shall be removed (indexed by the key of the entry they are stored in)
+     * @return the amount of bytes that were removed from the index entries
+     * @throws RocksDBException if anything goes wrong while updating the index entries
+     */
+    private long removeReferences(Class<?> model, ColumnFamilyHandle handle, List<Indexable> indexes,
+                                  Map<? extends Indexable, ? extends Collection<? extends Indexable>> references)
+            throws RocksDBException {
+
+        List<byte[]> keys = new ArrayList<>(indexes.size());
+        for (Indexable index : indexes) {
+            keys.add(index.bytes());
+        }
+
+        long removedBytes = 0;
+        Lock indexLock = indexLock(model).writeLock();
+        indexLock.lock();
+        try (WriteBatch writeBatch = new WriteBatch();
+             WriteOptions writeOptions = new WriteOptions()) {
+
+            Map<byte[], byte[]> values = db.multiGet(Collections.nCopies(keys.size(), handle), keys);
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] key = keys.get(i);
+                byte[] value = values.get(key);
+                if (value == null) {
+                    continue;
+                }
+
+                byte[] remainingValue = withoutReferences(value, references.get(indexes.get(i)));
+                if (remainingValue.length == 0) {
+                    writeBatch.remove(handle, key);
+                    removedBytes += key.length + value.length;
+                } else if (remainingValue.length != value.length) {
+                    writeBatch.put(handle, key, remainingValue);
+                    removedBytes += value.length - remainingValue.length;
+                }
+            }
+
+            db.write(writeOptions, writeBatch);
+        } finally {
+            indexLock.unlock();
+        }
+
+        return removedBytes;
+    }
+
+    /**
+     * Returns the lock that guards the index entries of the given model against concurrent rewrites.
+     *
+     * @param model the model whose column family is written
+     * @return the lock of the column family of the model
+     */
+    private ReadWriteLock indexLock(Class<?> model) {
+        return indexLocks.computeIfAbsent(model, key -> new ReentrantReadWriteLock());
+    }
+
+    /**
+     * Removes the given references from the merged value of an index entry.
+     *
+     * @param value the references of the index entry separated by the {@link #REFERENCE_DELIMITER}
+     * @param references the references that shall be removed
+     * @return the remaining references separated by the {@link #REFERENCE_DELIMITER}
+     */
+    private static byte[] withoutReferences(byte[] value, Collection<? extends Indexable> references) {
+        Set<ByteBuffer> removedReferences = new HashSet<>(references.size());
+        for (Indexable reference : references) {
+            removedReferences.add(ByteBuffer.wrap(reference.bytes()));
+        }
+
+        ByteArrayOutputStream remainingValue = new ByteArrayOutputStream(value.length);
+        for (int offset = 0; offset + Hash.SIZE_IN_BYTES <= value.length; offset += Hash.SIZE_IN_BYTES + 1) {
+            if (!removedReferences.contains(ByteBuffer.wrap(value, offset, Hash.SIZE_IN_BYTES))) {
+                if (remainingValue.size() > 0) {
+                    remainingValue.write(REFERENCE_DELIMITER);
+                }
+                remainingValue.write(value, offset, Hash.SIZE_IN_BYTES);
+            }
+        }
+
+        return remainingValue.toByteArray();
+    }
+
+    @Override
+    public long getReclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+
     @Override
     public void clear(Class<?> column) throws Exception {
         log.info("Deleting: {} entries", column.getSimpleName());
@@ -415,9 +798,11 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
             }
 
             int numThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            int numCompactionThreads = config == null ? numThreads
+                    : Math.max(numThreads, config.getDbMaxBackgroundCompactions());
             RocksEnv.getDefault()
                     .setBackgroundThreads(numThreads, RocksEnv.FLUSH_POOL)
-                    .setBackgroundThreads(numThreads, RocksEnv.COMPACTION_POOL);
+                    .setBackgroundThreads(numCompactionThreads, RocksEnv.COMPACTION_POOL);
 
             options = new DBOptions()
                     .setCreateIfMissing(true)
@@ -426,41 +811,39 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
                     .setMaxLogFileSize(SizeUnit.MB)
                     .setMaxManifestFileSize(SizeUnit.MB)
                     .setMaxOpenFiles(10000)
-                    .setMaxBackgroundCompactions(1);
+                    .setMaxBackgroundCompactions(config == null ? 1 : config.getDbMaxBackgroundCompactions());
 
             options.setMaxSubcompactions(Runtime.getRuntime().availableProcessors());
 
-            bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY);
-
-            BlockBasedTableConfig blockBasedTableConfig = new BlockBasedTableConfig().setFilter(bloomFilter);
-            blockBasedTableConfig
-                    .setFilter(bloomFilter)
-                    .setCacheNumShardBits(2)
-                    .setBlockSizeDeviation(10)
-                    .setBlockRestartInterval(16)
-                    .setBlockCacheSize(cacheSize * SizeUnit.KB)
-                    .setBlockCacheCompressedNumShardBits(10)
-                    .setBlockCacheCompressedSize(32 * SizeUnit.KB);
-
             options.setAllowConcurrentMemtableWrite(true);
 
+            if (config != null && config.isDbStatistics()) {
+                statistics = new Statistics();
+                columnFamilyResources.add(statistics);
+                options.setStatistics(statistics);
+            }
+
             MergeOperator mergeOperator = new StringAppendOperator();
-            ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions()
-                    .setMergeOperator(mergeOperator)
-                    .setTableFormatConfig(blockBasedTableConfig)
-                    .setMaxWriteBufferNumber(2)
-                    .setWriteBufferSize(2 * SizeUnit.MB);
+            columnFamilyResources.add(mergeOperator);
+            Map<String, ColumnFamilyProfile> profiles = getProfiles();
+            Map<ColumnFamilyProfile, ColumnFamilyOptions> profileOptions = new EnumMap<>(ColumnFamilyProfile.class);
 
             List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
             //Add default column family. Main motivation is to not change legacy code
-            columnFamilyDescriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, columnFamilyOptions));
+            columnFamilyDescriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY,
+                    profileOptions.computeIfAbsent(ColumnFamilyProfile.DEFAULT,
+                            profile -> createColumnFamilyOptions(profile, mergeOperator))));
             for (String name : columnFamilies.keySet()) {
-                columnFamilyDescriptors.add(new ColumnFamilyDescriptor(name.getBytes(), columnFamilyOptions));
+                columnFamilyDescriptors.add(new ColumnFamilyDescriptor(name.getBytes(),
+                        profileOptions.computeIfAbsent(profiles.getOrDefault(name, ColumnFamilyProfile.DEFAULT),
+                                profile -> createColumnFamilyOptions(profile, mergeOperator))));
             }
             // metadata descriptor is always last
             if (metadataColumnFamily != null) {
-                columnFamilyDescriptors.add(
-                        new ColumnFamilyDescriptor(metadataColumnFamily.getKey().getBytes(), columnFamilyOptions));
+                columnFamilyDescriptors.add(new ColumnFamilyDescriptor(metadataColumnFamily.getKey().getBytes(),
+                        profileOptions.computeIfAbsent(
+                                profiles.getOrDefault(metadataColumnFamily.getKey(), ColumnFamilyProfile.DEFAULT),
+                                profile -> createColumnFamilyOptions(profile, mergeOperator))));
                 metadataReference = new HashMap<>();
             }
 
@@ -476,14 +859,108 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         }
     }
 
+    /**
+     * Returns the profiles of the column families, which are the built-in profiles of the tangle overridden by the
+     * configured ones.<br />
+     * <br />
+     * Without a configuration, all column families use the {@link ColumnFamilyProfile#DEFAULT}.<br />
+     *
+     * @return the profiles indexed by the name of their column family
+     */
+    private Map<String, ColumnFamilyProfile> getProfiles() {
+        Map<String, ColumnFamilyProfile> profiles = new HashMap<>();
+        if (config != null) {
+            profiles.putAll(DEFAULT_PROFILES);
+            profiles.putAll(ColumnFamilyProfile.parse(config.getDbColumnFamilyProfiles()));
+        }
+
+        return profiles;
+    }
+
+    /**
+     * Creates the options of the column families with the given profile.<br />
+     * <br />
+     * All column families of a profile share the same options and therefore the same block cache, which gets the
+     * share of the configured cache size that is assigned to the profile.<br />
+     *
+     * @param profile profile of the column families
+     * @param mergeOperator merge operator of the index entries
+     * @return the options of the column families
+     */
+    private ColumnFamilyOptions createColumnFamilyOptions(ColumnFamilyProfile profile, MergeOperator mergeOperator) {
+        BloomFilter bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY);
+        columnFamilyResources.add(bloomFilter);
+
+        BlockBasedTableConfig blockBasedTableConfig = new BlockBasedTableConfig()
+                .setFilter(bloomFilter)
+                .setCacheNumShardBits(2)
+                .setBlockSizeDeviation(10)
+                .setBlockRestartInterval(16)
+                .setBlockCacheSize(config == null ? cacheSize * SizeUnit.KB
+                        : cacheSize * SizeUnit.KB * profile.getCacheShare() / 100);
+
+        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions()
+                .setMergeOperator(mergeOperator)
+                .setMaxWriteBufferNumber(2)
+                .setWriteBufferSize(2 * SizeUnit.MB);
+        columnFamilyResources.add(columnFamilyOptions);
+
+        if (config == null || profile == ColumnFamilyProfile.DEFAULT) {
+            blockBasedTableConfig
+                    .setBlockCacheCompressedNumShardBits(10)
+                    .setBlockCacheCompressedSize(32 * SizeUnit.KB);
+        } else if (profile == ColumnFamilyProfile.POINT_LOOKUP) {
+            // small blocks and always cached filters keep the lookups of single keys cheap
+            blockBasedTableConfig
+                    .setBlockSize(4 * SizeUnit.KB)
+                    .setCacheIndexAndFilterBlocks(true)
+                    .setPinL0FilterAndIndexBlocksInCache(true);
+            columnFamilyOptions
+                    .setWriteBufferSize(config.getDbLookupWriteBufferSize() * SizeUnit.MB)
+                    .setMaxWriteBufferNumber(3);
+        } else {
+            // the write buffers are merged before they get flushed, which combines most merge operands in memory
+            blockBasedTableConfig.setBlockSize(16 * SizeUnit.KB);
+            columnFamilyOptions
+                    .setWriteBufferSize(config.getDbMergeWriteBufferSize() * SizeUnit.MB)
+                    .setMaxWriteBufferNumber(4)
+                    .setMinWriteBufferNumberToMerge(2);
+        }
+
+        if (config != null) {
+            columnFamilyOptions
+                    .setCompressionType(getCompressionType(config.getDbCompression()))
+                    .setLevelCompactionDynamicLevelBytes(true);
+        }
+
+        return columnFamilyOptions.setTableFormatConfig(blockBasedTableConfig);
+    }
+
+    private static CompressionType getCompressionType(String compression) {
+        switch (compression.trim().toLowerCase()) {
+            case "none":
+                return CompressionType.NO_COMPRESSION;
+            case "snappy":
+                return CompressionType.SNAPPY_COMPRESSION;
+            case "lz4":
+                return CompressionType.LZ4_COMPRESSION;
+            case "zstd":
+                return CompressionType.ZSTD_COMPRESSION;
+            default:
+                throw new IllegalArgumentException("Unknown DB compression: " + compression);
+        }
+    }
+
     private void initClassTreeMap(List<ColumnFamilyDescriptor> columnFamilyDescriptors) throws Exception {
         Map<Class<?>, ColumnFamilyHandle> classMap = new LinkedHashMap<>();
+        Map<String, ColumnFamilyHandle> handles = new LinkedHashMap<>();
         String mcfName = metadataColumnFamily == null ? "" : metadataColumnFamily.getKey();
         //skip default column
         int i = 1;
         for (; i < columnFamilyDescriptors.size(); i++) {
 
             String name = new String(columnFamilyDescriptors.get(i).columnFamilyName());
+            handles.put(name, columnFamilyHandles.get(i));
             if (name.equals(mcfName)) {
                 Map<Class<?>, ColumnFamilyHandle> metadataRef = new HashMap<>();
                 metadataRef.put(metadataColumnFamily.getValue(), columnFamilyHandles.get(i));
@@ -498,6 +975,7 @@ public class RocksDBPersistenceProvider implements PersistenceProvider {
         }
 
         classTreeMap = MapUtils.unmodifiableMap(classMap);
+        namedHandles = MapUtils.unmodifiableMap(handles);
     }
 
 }
@@ -1,7 +1,7 @@
 package net.helix.pendulum.utils.bundle;
 
 import net.helix.pendulum.controllers.TransactionViewModel;
-import net.helix.pendulum.crypto.Merkle;
+import net.helix.pendulum.crypto.MerkleKeyfile;
 import net.helix.pendulum.crypto.Sponge;
 import net.helix.pendulum.crypto.SpongeFactory;
 import net.helix.pendulum.crypto.Winternitz;
@@ -11,12 +11,10 @@ import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class BundleUtils {
 
@@ -158,20 +156,15 @@ public class BundleUtils {
      */
     private void signBundle(String filepath, byte[] merkleTransaction, List<byte[]> senderTransactions, byte[] bundleHash, int keyIndex, int maxKeyIndex) throws IOException {
         // Get merkle path and store in signatureMessageFragment of Sibling Transaction
-        File keyfile = new File(filepath);
-        List<List<Hash>> merkleTree = Merkle.readKeyfile(keyfile);
-        String seed = Merkle.getSeed(keyfile);
+        MerkleKeyfile keyfile = MerkleKeyfile.load(filepath);
         int security = senderTransactions.size();
 
-        // create merkle path from keyfile
-        List<Hash> merklePath = Merkle.getMerklePath(merkleTree, keyIndex % maxKeyIndex);
-        byte[] path = Hex.decode(merklePath.stream().map(Hash::toString).collect(Collectors.joining()));
-        System.arraycopy(path, 0, merkleTransaction, TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_OFFSET, path.length);
+        // copy merkle path from the (cached) keyfile
+        keyfile.writeMerklePath(keyIndex % maxKeyIndex, merkleTransaction, TransactionViewModel.SIGNATURE_MESSAGE_FRAGMENT_OFFSET);
 
         // sign bundle hash and store signature in Milestone Transaction
         byte[] normBundleHash = Winternitz.normalizedBundle(bundleHash);
-        byte[] subseed = Winternitz.subseed(SpongeFactory.Mode.S256, Hex.decode(seed), keyIndex);
-        final byte[] key = Winternitz.key(SpongeFactory.Mode.S256, subseed, security);
+        final byte[] key = keyfile.getSigningKey(keyIndex, security);
 
         for (int i = 0; i < security; i++) {
             byte[] bundleFragment = Arrays.copyOfRange(normBundleHash, i * 16, (i+1) * 16);
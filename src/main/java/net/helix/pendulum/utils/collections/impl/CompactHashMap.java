@@ -0,0 +1,141 @@
+package net.helix.pendulum.utils.collections.impl;
+
+import net.helix.pendulum.model.Hash;
+
+import java.util.*;
+
+/**
+ * A map with hashes as keys that stores its keys as primitive longs in an open addressing table.<br />
+ * <br />
+ * It is meant for the (potentially huge) per-transaction state of DAG traversals. The keys are compared by their bytes
+ * only and the entries hand out newly created transaction hashes. The iterators do not support removals.<br />
+ *
+ * @param <V> the type of the values
+ */
+public class CompactHashMap<V> extends AbstractMap<Hash, V> {
+    private final CompactHashTable table;
+
+    private Object[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public CompactHashMap() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty map that can hold the given amount of entries without being resized.
+     *
+     * @param expectedSize amount of entries that are expected to be added
+     */
+    public CompactHashMap(int expectedSize) {
+        table = new CompactHashTable(expectedSize) {
+            @Override
+            void moveValue(int from, int to) {
+                values[to] = values[from];
+                values[from] = null;
+            }
+
+            @Override
+            SlotMover resizeValues(int capacity) {
+                Object[] oldValues = values;
+                values = new Object[capacity];
+                return (from, to) -> values[to] = oldValues[from];
+            }
+        };
+        values = new Object[table.capacity()];
+    }
+
+    @Override
+    public V put(Hash key, V value) {
+        int slot = table.find(key.bytes());
+        if (slot >= 0) {
+            V oldValue = valueAt(slot);
+            values[slot] = value;
+            return oldValue;
+        }
+
+        // the insertion may resize the values, so the slot has to be determined before the array is accessed
+        int newSlot = table.insert(key.bytes(), slot);
+        values[newSlot] = value;
+        return null;
+    }
+
+    @Override
+    public V get(Object key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key) >= 0;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        V oldValue = valueAt(slot);
+        values[slot] = null;
+        table.removeSlot(slot);
+        return oldValue;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+        Arrays.fill(values, null);
+    }
+
+    @Override
+    public Set<Entry<Hash, V>> entrySet() {
+        return new AbstractSet<Entry<Hash, V>>() {
+            @Override
+            public Iterator<Entry<Hash, V>> iterator() {
+                return new Iterator<Entry<Hash, V>>() {
+                    private int nextSlot = table.nextUsedSlot(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return nextSlot != -1;
+                    }
+
+                    @Override
+                    public Entry<Hash, V> next() {
+                        if (nextSlot == -1) {
+                            throw new NoSuchElementException();
+                        }
+
+                        Entry<Hash, V> entry = new SimpleImmutableEntry<>(table.hashAt(nextSlot), valueAt(nextSlot));
+                        nextSlot = table.nextUsedSlot(nextSlot + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return table.size();
+            }
+        };
+    }
+
+    private int slotOf(Object key) {
+        return key instanceof Hash ? table.find(((Hash) key).bytes()) : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+}
@@ -0,0 +1,119 @@
+package net.helix.pendulum.utils.collections.impl;
+
+import net.helix.pendulum.model.Hash;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of hashes that stores its elements as primitive longs in an open addressing table.<br />
+ * <br />
+ * It is meant for the (potentially huge) sets of visited transactions of DAG traversals. The elements are compared by
+ * their bytes only and the iterator hands out newly created transaction hashes. The iterator does not support
+ * removals.<br />
+ */
+public class CompactHashSet extends AbstractSet<Hash> {
+    private final CompactHashTable table;
+
+    /**
+     * Creates an empty set.
+     */
+    public CompactHashSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty set that can hold the given amount of elements without being resized.
+     *
+     * @param expectedSize amount of elements that are expected to be added
+     */
+    public CompactHashSet(int expectedSize) {
+        table = new CompactHashTable(expectedSize) {
+            @Override
+            void moveValue(int from, int to) {
+                // a set has no values
+            }
+
+            @Override
+            SlotMover resizeValues(int capacity) {
+                return (from, to) -> {};
+            }
+        };
+    }
+
+    /**
+     * Creates a set that contains the elements of the given collection.
+     *
+     * @param hashes elements of the set
+     */
+    public CompactHashSet(Collection<? extends Hash> hashes) {
+        this(hashes.size());
+        addAll(hashes);
+    }
+
+    @Override
+    public boolean add(Hash hash) {
+        int slot = table.find(hash.bytes());
+        if (slot >= 0) {
+            return false;
+        }
+
+        table.insert(hash.bytes(), slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Hash && table.find(((Hash) o).bytes()) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Hash)) {
+            return false;
+        }
+
+        int slot = table.find(((Hash) o).bytes());
+        if (slot < 0) {
+            return false;
+        }
+
+        table.removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    public Iterator<Hash> iterator() {
+        return new Iterator<Hash>() {
+            private int nextSlot = table.nextUsedSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot != -1;
+            }
+
+            @Override
+            public Hash next() {
+                if (nextSlot == -1) {
+                    throw new NoSuchElementException();
+                }
+
+                Hash hash = table.hashAt(nextSlot);
+                nextSlot = table.nextUsedSlot(nextSlot + 1);
+                return hash;
+            }
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package net.helix.pendulum.utils.collections.impl;
+
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table that stores hashes as four primitive longs per slot.<br />
+ * <br />
+ * Compared to the {@link java.util.HashMap} based collections it neither keeps the {@link Hash} objects nor a node
+ * object per entry alive, which considerably reduces the memory footprint and the GC pressure of large traversal
+ * states. The keys are compared by their bytes only, so hashes of different types with the same bytes are considered
+ * equal and the keys are handed out as transaction hashes.<br />
+ */
+abstract class CompactHashTable {
+    /**
+     * Amount of longs that are used to store a single hash.
+     */
+    private static final int LONGS_PER_HASH = Hash.SIZE_IN_BYTES / Long.BYTES;
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Holds the bytes of the stored hashes ({@link #LONGS_PER_HASH} longs per slot).
+     */
+    private long[] keys;
+
+    /**
+     * Marks the slots that hold a hash (the bytes alone can not be used since the null hash is a valid key).
+     */
+    private boolean[] used;
+
+    private int mask;
+
+    private int size;
+
+    CompactHashTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Searches the slot of the given hash.<br />
+     *
+     * @param hash bytes of the hash
+     * @return the slot of the hash or <code>-(insertion slot) - 1</code> if the hash is not stored
+     */
+    int find(byte[] hash) {
+        long k0 = getLong(hash, 0);
+        long k1 = getLong(hash, 1);
+        long k2 = getLong(hash, 2);
+        long k3 = getLong(hash, 3);
+
+        int slot = idealSlot(k0, k1, k2, k3);
+        while (used[slot]) {
+            int offset = slot * LONGS_PER_HASH;
+            if (keys[offset] == k0 && keys[offset + 1] == k1 && keys[offset + 2] == k2 && keys[offset + 3] == k3) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -slot - 1;
+    }
+
+    /**
+     * Stores the given hash in the free slot that was determined by {@link #find(byte[])}.<br />
+     *
+     * @param hash bytes of the hash
+     * @param freeSlot the slot returned by {@link #find(byte[])} (<code>-(insertion slot) - 1</code>)
+     * @return the slot that holds the hash (which differs from the free slot if the table was resized)
+     */
+    int insert(byte[] hash, int freeSlot) {
+        int slot = -freeSlot - 1;
+        int offset = slot * LONGS_PER_HASH;
+        for (int i = 0; i < LONGS_PER_HASH; i++) {
+            keys[offset + i] = getLong(hash, i);
+        }
+        used[slot] = true;
+
+        if (++size > (mask + 1) / 2) {
+            resize((mask + 1) * 2);
+            return find(hash);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Removes the hash of the given slot and moves the following entries of its probe sequence back, so no
+     * tombstones are necessary.<br />
+     *
+     * @param slot slot of the hash that shall be removed
+     */
+    void removeSlot(int slot) {
+        int gap = slot;
+        used[gap] = false;
+        size--;
+
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int offset = next * LONGS_PER_HASH;
+            int ideal = idealSlot(keys[offset], keys[offset + 1], keys[offset + 2], keys[offset + 3]);
+            // the entry can only fill the gap if its ideal slot is not located between the gap and the entry
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                System.arraycopy(keys, offset, keys, gap * LONGS_PER_HASH, LONGS_PER_HASH);
+                used[gap] = true;
+                used[next] = false;
+                moveValue(next, gap);
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the first used slot starting at the given slot.<br />
+     *
+     * @param slot slot where the search starts
+     * @return the first used slot or -1 if there is none
+     */
+    int nextUsedSlot(int slot) {
+        for (int i = slot; i < used.length; i++) {
+            if (used[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Creates the hash that is stored in the given slot.<br />
+     *
+     * @param slot used slot of the table
+     * @return the stored hash
+     */
+    Hash hashAt(int slot) {
+        byte[] bytes = new byte[Hash.SIZE_IN_BYTES];
+        int offset = slot * LONGS_PER_HASH;
+        for (int i = 0; i < LONGS_PER_HASH; i++) {
+            long value = keys[offset + i];
+            for (int j = 0; j < Long.BYTES; j++) {
+                bytes[i * Long.BYTES + j] = (byte) (value >>> (56 - j * 8));
+            }
+        }
+
+        return HashFactory.TRANSACTION.create(bytes);
+    }
+
+    int capacity() {
+        return used.length;
+    }
+
+    /**
+     * Allows the subclasses to move their value of a slot when the table gets reorganized.<br />
+     *
+     * @param from slot that held the value
+     * @param to slot that receives the value
+     */
+    abstract void moveValue(int from, int to);
+
+    /**
+     * Allows the subclasses to resize their values when the table gets resized.<br />
+     *
+     * @param capacity the new capacity of the table
+     * @return a callback that moves the value of an old slot to a new slot
+     */
+    abstract SlotMover resizeValues(int capacity);
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        SlotMover valueMover = resizeValues(capacity);
+        allocate(capacity);
+
+        for (int oldSlot = 0; oldSlot < oldUsed.length; oldSlot++) {
+            if (oldUsed[oldSlot]) {
+                int offset = oldSlot * LONGS_PER_HASH;
+                int slot = idealSlot(oldKeys[offset], oldKeys[offset + 1], oldKeys[offset + 2], oldKeys[offset + 3]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                System.arraycopy(oldKeys, offset, keys, slot * LONGS_PER_HASH, LONGS_PER_HASH);
+                used[slot] = true;
+                valueMover.move(oldSlot, slot);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity * LONGS_PER_HASH];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private int idealSlot(long k0, long k1, long k2, long k3) {
+        long h = k0 ^ Long.rotateLeft(k1, 16) ^ Long.rotateLeft(k2, 32) ^ Long.rotateLeft(k3, 48);
+        // finalizer of MurmurHash3 to spread hashes with a common structure (like test hashes) over the table
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long getLong(byte[] bytes, int index) {
+        long value = 0;
+        for (int i = index * Long.BYTES; i < (index + 1) * Long.BYTES; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Callback that moves the value of a slot to a different slot.
+     */
+    interface SlotMover {
+        void move(int from, int to);
+    }
+}
@@ -1,9 +1,12 @@
 package net.helix.pendulum.utils.dag;
 
-import net.helix.pendulum.controllers.ApproveeViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.persistables.Approvee;
+import net.helix.pendulum.model.persistables.Transaction;
+import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.collections.impl.CompactHashSet;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -12,8 +15,17 @@ import java.util.function.Predicate;
 /**
  * This class offers generic functions for recurring tasks that are related to the tangle and that otherwise would have
  * to be implemented over and over again in different parts of the code.
+ *
+ * The traversals are level-synchronous: all transactions of the current frontier are loaded from the database with
+ * batched reads, while the conditions and consumers are executed sequentially (in breadth-first order) by the calling
+ * thread, so the callers do not have to be thread-safe.
  */
 public class DAGHelper {
+    /**
+     * Maximum amount of entries of a frontier that are loaded from the database by a single batched read.
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
     /**
      * Holds references to the singleton DAGHelper instances.
      */
@@ -70,12 +82,15 @@ public class DAGHelper {
      * name).
      *
      * It uses an non-recursive iterative algorithm that is able to handle huge chunks of the tangle without running out
-     * of memory. It creates a queue of transactions that are being examined and processes them one by one. As new
-     * approvers are found, they will be added to the queue and processed accordingly.
+     * of memory. It examines the tangle level by level and loads the transactions of every level with batched reads. As
+     * new approvers are found, they will be added to the next level and processed accordingly.
      *
      * Every found transaction is passed into the provided condition lambda, to determine if it still belongs to the
      * desired set of transactions and only then will be passed on to the currentTransactionConsumer lambda.
      *
+     * The set of processed transactions can be shared by several traversals that use the same condition (i.e. within
+     * one operation), so overlapping regions of the tangle only get examined once.
+     *
      * @param startingTransactionHash the starting point of the traversal
      * @param condition predicate that allows to control how long the traversal should continue (receives the current
      *                  transaction as a parameter)
@@ -88,28 +103,8 @@ public class DAGHelper {
                                   Predicate<TransactionViewModel> condition,
                                   Consumer<TransactionViewModel> currentTransactionConsumer,
                                   Set<Hash> processedTransactions) throws TraversalException {
-        Queue<Hash> transactionsToExamine = new ArrayDeque<>(Collections.singleton(startingTransactionHash));
         try {
-            Hash currentTransactionHash;
-            while((currentTransactionHash = transactionsToExamine.poll()) != null) {
-                if(currentTransactionHash.equals(startingTransactionHash) || processedTransactions.add(currentTransactionHash)) {
-                    TransactionViewModel currentTransaction = TransactionViewModel.fromHash(tangle, currentTransactionHash);
-                    if(
-                        // do not "test" the starting transaction since it is not an "approver"
-                            currentTransactionHash.equals(startingTransactionHash) || (
-                                    currentTransaction.getType() != TransactionViewModel.PREFILLED_SLOT &&
-                                            condition.test(currentTransaction)
-                            )
-                    ) {
-                        // do not consume the starting transaction since it is not an "approver"
-                        if(!currentTransactionHash.equals(startingTransactionHash)) {
-                            currentTransactionConsumer.accept(currentTransaction);
-                        }
-
-                        transactionsToExamine.addAll(ApproveeViewModel.load(tangle, currentTransactionHash).getHashes());
-                    }
-                }
-            }
+            traverse(startingTransactionHash, true, condition, currentTransactionConsumer, processedTransactions);
         } catch (Exception e) {
             throw new TraversalException("error while traversing the approvers of transaction " + startingTransactionHash, e);
         }
@@ -130,7 +125,7 @@ public class DAGHelper {
     public void traverseApprovers(Hash startingTransactionHash,
                                   Predicate<TransactionViewModel> condition,
                                   Consumer<TransactionViewModel> currentTransactionConsumer) throws TraversalException {
-        traverseApprovers(startingTransactionHash, condition, currentTransactionConsumer, new HashSet<>());
+        traverseApprovers(startingTransactionHash, condition, currentTransactionConsumer, new CompactHashSet());
     }
 
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -145,12 +140,15 @@ public class DAGHelper {
      * name).
      *
      * It uses an non-recursive iterative algorithm that is able to handle huge chunks of the tangle without running out
-     * of memory. It creates a queue of transactions that are being examined and processes them one by one. As new
-     * approvees are found, they will be added to the queue and processed accordingly.
+     * of memory. It examines the tangle level by level and loads the transactions of every level with batched reads. As
+     * new approvees are found, they will be added to the next level and processed accordingly.
      *
      * Every found transaction is passed into the provided condition lambda, to determine if it still belongs to the
      * desired set of transactions and only then will be passed on to the currentTransactionConsumer lambda.
      *
+     * The set of processed transactions can be shared by several traversals that use the same condition (i.e. within
+     * one operation), so overlapping regions of the tangle only get examined once.
+     *
      * @param startingTransactionHash the starting point of the traversal
      * @param condition predicate that allows to control how long the traversal should continue (receives the current
      *                  transaction as a parameter)
@@ -163,29 +161,8 @@ public class DAGHelper {
                                   Predicate<TransactionViewModel> condition,
                                   Consumer<TransactionViewModel> currentTransactionConsumer,
                                   Set<Hash> processedTransactions) throws TraversalException {
-        Queue<Hash> transactionsToExamine = new ArrayDeque<>(Collections.singleton(startingTransactionHash));
         try {
-            Hash currentTransactionHash;
-            while((currentTransactionHash = transactionsToExamine.poll()) != null) {
-                if(currentTransactionHash.equals(startingTransactionHash) || processedTransactions.add(currentTransactionHash)) {
-                    TransactionViewModel currentTransaction = TransactionViewModel.fromHash(tangle, currentTransactionHash);
-                    if(
-                            currentTransaction.getType() != TransactionViewModel.PREFILLED_SLOT &&(
-                                    // do not "test" the starting transaction since it is not an "approvee"
-                                    currentTransactionHash.equals(startingTransactionHash) ||
-                                            condition.test(currentTransaction)
-                            )
-                    ) {
-                        // do not consume the starting transaction since it is not an "approvee"
-                        if(!currentTransactionHash.equals(startingTransactionHash)) {
-                            currentTransactionConsumer.accept(currentTransaction);
-                        }
-
-                        transactionsToExamine.add(currentTransaction.getBranchTransactionHash());
-                        transactionsToExamine.add(currentTransaction.getTrunkTransactionHash());
-                    }
-                }
-            }
+            traverse(startingTransactionHash, false, condition, currentTransactionConsumer, processedTransactions);
         } catch (Exception e) {
             throw new TraversalException("error while traversing the approvees of transaction " + startingTransactionHash, e);
         }
@@ -206,7 +183,131 @@ public class DAGHelper {
     public void traverseApprovees(Hash startingTransactionHash,
                                   Predicate<TransactionViewModel> condition,
                                   Consumer<TransactionViewModel> currentTransactionConsumer) throws TraversalException {
-        traverseApprovees(startingTransactionHash, condition, currentTransactionConsumer, new HashSet<>());
+        traverseApprovees(startingTransactionHash, condition, currentTransactionConsumer, new CompactHashSet());
+    }
+
+    //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    //region TRAVERSAL ENGINE //////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Traverses the tangle level by level, starting at the given transaction.
+     *
+     * The starting transaction is neither tested nor consumed. Every level is deduplicated against the processed
+     * transactions before it gets loaded, so every transaction is loaded at most once per set of processed
+     * transactions.
+     *
+     * @param startingTransactionHash the starting point of the traversal
+     * @param approvers true if the approvers shall be traversed and false if the approvees shall be traversed
+     * @param condition predicate that allows to control how long the traversal should continue
+     * @param currentTransactionConsumer a lambda function that allows us to "process" the found transactions
+     * @param processedTransactions a set of hashes that shall be considered as "processed" already
+     * @throws Exception if anything goes wrong while loading the transactions
+     */
+    private void traverse(Hash startingTransactionHash, boolean approvers, Predicate<TransactionViewModel> condition,
+                          Consumer<TransactionViewModel> currentTransactionConsumer,
+                          Set<Hash> processedTransactions) throws Exception {
+
+        TransactionViewModel startingTransaction = TransactionViewModel.fromHash(tangle, startingTransactionHash);
+        // the approvees of a missing transaction are unknown, while its approvers can still be examined
+        if (!approvers && startingTransaction.getType() == TransactionViewModel.PREFILLED_SLOT) {
+            return;
+        }
+
+        List<Hash> nextLevel = getNeighbors(Collections.singletonList(startingTransaction), approvers);
+        while (!nextLevel.isEmpty()) {
+            List<Hash> currentLevel = new ArrayList<>(nextLevel.size());
+            for (Hash transactionHash : nextLevel) {
+                if (!transactionHash.equals(startingTransactionHash) && processedTransactions.add(transactionHash)) {
+                    currentLevel.add(transactionHash);
+                }
+            }
+
+            List<TransactionViewModel> acceptedTransactions = new ArrayList<>(currentLevel.size());
+            for (TransactionViewModel currentTransaction : loadTransactions(currentLevel)) {
+
+                if (currentTransaction.getType() != TransactionViewModel.PREFILLED_SLOT &&
+                        condition.test(currentTransaction)) {
+
+                    currentTransactionConsumer.accept(currentTransaction);
+                    acceptedTransactions.add(currentTransaction);
+                }
+            }
+
+            nextLevel = getNeighbors(acceptedTransactions, approvers);
+        }
+    }
+
+    /**
+     * Collects the hashes of the approvers or the approvees of the given transactions.
+     *
+     * @param transactions transactions whose neighbors shall be collected
+     * @param approvers true if the approvers shall be collected and false if the approvees shall be collected
+     * @return the hashes of the neighbors (may contain duplicates)
+     * @throws Exception if anything goes wrong while loading the approvers
+     */
+    private List<Hash> getNeighbors(List<TransactionViewModel> transactions, boolean approvers) throws Exception {
+        List<Hash> neighbors = new ArrayList<>(transactions.size() * 2);
+        if (approvers) {
+            List<Hash> hashes = new ArrayList<>(transactions.size());
+            for (TransactionViewModel transaction : transactions) {
+                hashes.add(transaction.getHash());
+            }
+
+            for (List<Hash> batch : batches(hashes)) {
+                for (Persistable approverHashes : tangle.loadBatch(Approvee.class, batch)) {
+                    // like in the ApproveeViewModel, a missing entry means that there are no approvers
+                    if (approverHashes != null && ((Approvee) approverHashes).set != null) {
+                        neighbors.addAll(((Approvee) approverHashes).set);
+                    }
+                }
+            }
+        } else {
+            for (TransactionViewModel transaction : transactions) {
+                neighbors.add(transaction.getBranchTransactionHash());
+                neighbors.add(transaction.getTrunkTransactionHash());
+            }
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Loads the given transactions (including their metadata) with batched reads while keeping their order.
+     *
+     * @param hashes hashes of the transactions that shall be loaded
+     * @return the loaded transactions (in the order of the given hashes)
+     * @throws Exception if anything goes wrong while loading the transactions
+     */
+    private List<TransactionViewModel> loadTransactions(List<Hash> hashes) throws Exception {
+        List<TransactionViewModel> transactions = new ArrayList<>(hashes.size());
+        for (List<Hash> batch : batches(hashes)) {
+            List<Persistable> loadedTransactions = tangle.loadBatch(Transaction.class, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                TransactionViewModel transaction = new TransactionViewModel((Transaction) loadedTransactions.get(i),
+                        batch.get(i));
+                TransactionViewModel.fillMetadata(tangle, transaction);
+
+                transactions.add(transaction);
+            }
+        }
+
+        return transactions;
+    }
+
+    /**
+     * Splits the given hashes into the batches that are loaded by a single read.
+     *
+     * @param hashes hashes that shall be loaded
+     * @return consecutive views of the given hashes with at most {@link #LOAD_BATCH_SIZE} elements
+     */
+    private static List<List<Hash>> batches(List<Hash> hashes) {
+        List<List<Hash>> batches = new ArrayList<>(hashes.size() / LOAD_BATCH_SIZE + 1);
+        for (int i = 0; i < hashes.size(); i += LOAD_BATCH_SIZE) {
+            batches.add(hashes.subList(i, Math.min(i + LOAD_BATCH_SIZE, hashes.size())));
+        }
+
+        return batches;
     }
 
     //endregion ////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,31 @@
+package net.helix.pendulum.utils.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Metric whose value is read from its owner every time the metrics are scraped, so the owner does not have to update
+ * it on every change.<br />
+ */
+public class Gauge extends Metric {
+    private final LongSupplier supplier;
+
+    Gauge(String name, String help, String labels, LongSupplier supplier) {
+        super(name, help, labels);
+
+        this.supplier = supplier;
+    }
+
+    public long get() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public void write(StringBuilder out) {
+        writeSample(out, "", getLabels(), Long.toString(get()));
+    }
+}
@@ -0,0 +1,111 @@
+package net.helix.pendulum.utils.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with exponential buckets.<br />
+ * <br />
+ * Similar to an HDR histogram, the buckets have a constant relative precision: the upper bound of every bucket is a
+ * power of two nanoseconds, ranging from about a microsecond to about half a minute. Recording a value is a single
+ * atomic increment, so the histograms can be used on hot paths like the database access.<br />
+ */
+public class Histogram extends Metric {
+    /**
+     * Exponent of the upper bound of the first bucket (2^10 ns = ~1 µs).<br />
+     */
+    private static final int MIN_EXPONENT = 10;
+
+    /**
+     * Exponent of the upper bound of the last bounded bucket (2^35 ns = ~34 s).<br />
+     */
+    private static final int MAX_EXPONENT = 35;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Holds the amount of recorded values per bucket (the last bucket collects the values above the last bound).<br />
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(MAX_EXPONENT - MIN_EXPONENT + 2);
+
+    private final LongAdder sum = new LongAdder();
+
+    Histogram(String name, String help, String labels) {
+        super(name, help, labels);
+    }
+
+    /**
+     * Records a measured duration.<br />
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        buckets.incrementAndGet(bucketOf(nanos));
+        sum.add(nanos);
+    }
+
+    /**
+     * Records the time that passed since the given start time.<br />
+     *
+     * @param startNanos start time as returned by {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the amount of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded values in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    @Override
+    public String getType() {
+        return "histogram";
+    }
+
+    @Override
+    public void write(StringBuilder out) {
+        String separator = getLabels().isEmpty() ? "" : getLabels() + ",";
+
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length() - 1; i++) {
+            cumulative += buckets.get(i);
+            double bound = (1L << (MIN_EXPONENT + i)) / NANOS_PER_SECOND;
+            writeSample(out, "_bucket", separator + "le=\"" + bound + "\"", Long.toString(cumulative));
+        }
+        cumulative += buckets.get(buckets.length() - 1);
+        writeSample(out, "_bucket", separator + "le=\"+Inf\"", Long.toString(cumulative));
+        writeSample(out, "_sum", getLabels(), Double.toString(getSum() / NANOS_PER_SECOND));
+        writeSample(out, "_count", getLabels(), Long.toString(cumulative));
+    }
+
+    /**
+     * Determines the bucket of a value, which is the smallest power of two that is not smaller than the value.<br />
+     *
+     * @param nanos recorded value
+     * @return the index of the bucket
+     */
+    static int bucketOf(long nanos) {
+        int exponent = nanos <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(nanos - 1);
+
+        return Math.min(Math.max(exponent, MIN_EXPONENT), MAX_EXPONENT + 1) - MIN_EXPONENT;
+    }
+}
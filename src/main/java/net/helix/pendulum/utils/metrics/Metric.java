@@ -0,0 +1,68 @@
+package net.helix.pendulum.utils.metrics;
+
+/**
+ * Base class of the metrics that are collected by the {@link MetricsRegistry}.<br />
+ * <br />
+ * A metric is identified by its name and an optional label, which allows to export several series of the same metric
+ * (e.g. the latency of every API command).<br />
+ */
+public abstract class Metric {
+    private final String name;
+
+    private final String help;
+
+    private final String labels;
+
+    /**
+     * Creates a metric with the given name.<br />
+     *
+     * @param name name of the metric (following the Prometheus naming conventions)
+     * @param help description of the metric
+     * @param labels rendered labels of the series (e.g. {@code command="getNodeInfo"}) or an empty string
+     */
+    protected Metric(String name, String help, String labels) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public String getLabels() {
+        return labels;
+    }
+
+    /**
+     * @return the Prometheus type of the metric
+     */
+    public abstract String getType();
+
+    /**
+     * Appends the samples of this metric in the Prometheus text format.<br />
+     *
+     * @param out builder that the samples are appended to
+     */
+    public abstract void write(StringBuilder out);
+
+    /**
+     * Appends a single sample line.<br />
+     *
+     * @param out builder that the sample is appended to
+     * @param suffix suffix of the sample name (e.g. {@code _count})
+     * @param labels labels of the sample
+     * @param value value of the sample
+     */
+    protected void writeSample(StringBuilder out, String suffix, String labels, String value) {
+        out.append(name).append(suffix);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,154 @@
+package net.helix.pendulum.utils.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the metrics of the node, which can be scraped in the Prometheus text format.<br />
+ * <br />
+ * The components register their metrics once (e.g. when they are initialized) and update them without any locking.
+ * Values that are owned by a component anyway (like the size of a queue) are registered as {@link Gauge}s and only
+ * read when the metrics are scraped.<br />
+ */
+public class MetricsRegistry {
+    private static final Logger log = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    /**
+     * Content type of the Prometheus text format produced by {@link #scrape()}.<br />
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    /**
+     * Holds the metrics sorted by their name, so the series of a metric are written next to each other.<br />
+     */
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    public static MetricsRegistry get() {
+        return instance;
+    }
+
+    /**
+     * Returns the counter with the given name and creates it if it does not exist yet.<br />
+     *
+     * @param name name of the metric
+     * @param help description of the metric
+     * @return the counter
+     */
+    public Counter counter(String name, String help) {
+        return register(name, "", labels -> new Counter(name, help, labels), Counter.class);
+    }
+
+    /**
+     * Returns the series of a labeled counter and creates it if it does not exist yet.<br />
+     *
+     * @param name name of the metric
+     * @param help description of the metric
+     * @param labelName name of the label
+     * @param labelValue value of the label that identifies the series
+     * @return the counter
+     */
+    public Counter counter(String name, String help, String labelName, String labelValue) {
+        return register(name, label(labelName, labelValue), labels -> new Counter(name, help, labels), Counter.class);
+    }
+
+    /**
+     * Returns the histogram with the given name and creates it if it does not exist yet.<br />
+     *
+     * @param name name of the metric
+     * @param help description of the metric
+     * @return the histogram
+     */
+    public Histogram histogram(String name, String help) {
+        return register(name, "", labels -> new Histogram(name, help, labels), Histogram.class);
+    }
+
+    /**
+     * Returns the series of a labeled histogram and creates it if it does not exist yet.<br />
+     *
+     * @param name name of the metric
+     * @param help description of the metric
+     * @param labelName name of the label
+     * @param labelValue value of the label that identifies the series
+     * @return the histogram
+     */
+    public Histogram histogram(String name, String help, String labelName, String labelValue) {
+        return register(name, label(labelName, labelValue), labels -> new Histogram(name, help, labels),
+                Histogram.class);
+    }
+
+    /**
+     * Registers a gauge that reads its value from the given supplier.<br />
+     * <br />
+     * A gauge that was registered with the same name before is replaced, so a component that is initialized again
+     * (e.g. in the tests) reports its current state.<br />
+     *
+     * @param name name of the metric
+     * @param help description of the metric
+     * @param supplier supplier of the value
+     */
+    public void gauge(String name, String help, LongSupplier supplier) {
+        metrics.put(key(name, ""), new Gauge(name, help, "", supplier));
+    }
+
+    /**
+     * Removes all series of the metric with the given name.<br />
+     *
+     * @param name name of the metric
+     */
+    public void remove(String name) {
+        metrics.keySet().removeIf(key -> key.startsWith(name + "{"));
+    }
+
+    /**
+     * Writes the current values of all metrics in the Prometheus text format.<br />
+     *
+     * @return the scraped metrics
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+
+        String previousName = null;
+        for (Metric metric : metrics.values()) {
+            StringBuilder samples = new StringBuilder();
+            try {
+                metric.write(samples);
+            } catch (RuntimeException e) {
+                log.debug("failed to read the metric " + metric.getName(), e);
+                continue;
+            }
+
+            if (!metric.getName().equals(previousName)) {
+                out.append("# HELP ").append(metric.getName()).append(' ').append(metric.getHelp()).append('\n');
+                out.append("# TYPE ").append(metric.getName()).append(' ').append(metric.getType()).append('\n');
+                previousName = metric.getName();
+            }
+            out.append(samples);
+        }
+
+        return out.toString();
+    }
+
+    private <T extends Metric> T register(String name, String labels, Function<String, T> factory, Class<T> type) {
+        Metric metric = metrics.computeIfAbsent(key(name, labels), key -> factory.apply(labels));
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("metric " + name + " is registered as " + metric.getType());
+        }
+
+        return type.cast(metric);
+    }
+
+    private static String key(String name, String labels) {
+        return name + "{" + labels;
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
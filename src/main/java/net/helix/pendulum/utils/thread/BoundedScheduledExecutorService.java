@@ -45,6 +45,12 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
      */
     private AtomicInteger scheduledTasksCounter = new AtomicInteger(0);
 
+    /**
+     * Holds the telemetry that records the execution metrics of the tasks (or {@code null} if the metrics of this
+     * executor are not recorded).<br />
+     */
+    private final ExecutorTelemetry telemetry;
+
     /**
      * Creates an executor service that that accepts only a pre-defined amount of tasks that can be queued and run at
      * the same time.<br />
@@ -56,9 +62,28 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
      * @param capacity the amount of tasks that can be scheduled simultaneously
      */
     public BoundedScheduledExecutorService(int capacity) {
+        this(capacity, capacity, Executors.defaultThreadFactory(), null);
+    }
+
+    /**
+     * Creates an executor service that accepts only a pre-defined amount of tasks that can be queued and run at the
+     * same time, which are processed by the given amount of threads.<br />
+     * <br />
+     * If a telemetry is provided, the queue wait, the run time and the overruns of the tasks are recorded through the
+     * lifecycle callbacks of the {@link ReportingExecutorService}.<br />
+     *
+     * @param capacity the amount of tasks that can be scheduled simultaneously
+     * @param threads the amount of threads that process the tasks
+     * @param threadFactory factory of the threads that process the tasks
+     * @param telemetry telemetry that records the execution metrics of the tasks (or {@code null} for none)
+     */
+    public BoundedScheduledExecutorService(int capacity, int threads, ThreadFactory threadFactory,
+                                           ExecutorTelemetry telemetry) {
+
         this.capacity = capacity;
+        this.telemetry = telemetry;
 
-        delegate = Executors.newScheduledThreadPool(capacity);
+        delegate = Executors.newScheduledThreadPool(threads, threadFactory);
     }
 
     //region METHODS OF ReportingExecutorService INTERFACE /////////////////////////////////////////////////////////////
@@ -66,21 +91,40 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
     /**
      * {@inheritDoc}
      * <br />
-     * It simply adds the task to the internal set of scheduled tasks.<br />
+     * It adds the task to the internal set of scheduled tasks and remembers when it is due (if the metrics of this
+     * executor are recorded).<br />
      */
     @Override
     public void onScheduleTask(TaskDetails taskDetails) {
         scheduledTasks.add(taskDetails);
+
+        if (telemetry != null) {
+            telemetry.taskScheduled(taskDetails);
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     * <br />
+     * It records the time that the task waited for a free thread (if the metrics of this executor are recorded).<br />
+     */
     @Override
     public void onStartTask(TaskDetails taskDetails) {
-        // doesn't do anything but allows a child class to hook into this event by overriding this method
+        if (telemetry != null) {
+            telemetry.taskStarted(taskDetails);
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     * <br />
+     * It records the run time and the overruns of the task (if the metrics of this executor are recorded).<br />
+     */
     @Override
     public void onFinishTask(TaskDetails taskDetails, Throwable error) {
-        // doesn't do anything but allows a child class to hook into this event by overriding this method
+        if (telemetry != null) {
+            telemetry.taskFinished(taskDetails);
+        }
     }
 
     @Override
@@ -489,7 +533,7 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
          * Note: All methods except the {@link #cancel(boolean)} are getting passed through without any
          *       modifications.<br />
          */
-        private Future<V> delegate;
+        private volatile Future<V> delegate;
 
         /**
          * This creates a {@link WrappedFuture} that cleans up the reserved resources when it is cancelled while the
@@ -555,9 +599,17 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
             return delegate().cancel(mayInterruptIfRunning);
         }
 
+        /**
+         * {@inheritDoc}
+         * <br />
+         * A task that starts right away can finish its first execution before the delegated {@link Future} is
+         * populated, which means that it can not have been cancelled yet.<br />
+         */
         @Override
         public boolean isCancelled() {
-            return delegate().isCancelled();
+            Future<V> delegatedFuture = delegate();
+
+            return delegatedFuture != null && delegatedFuture.isCancelled();
         }
 
         @Override
@@ -590,7 +642,7 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
          * <br />
          * Note: All methods except the {@link #cancel(boolean)} are getting passed through without any modifications.
          */
-        private ScheduledFuture<V> delegate;
+        private volatile ScheduledFuture<V> delegate;
 
         /**
          * This creates a {@link ScheduledFuture} that cleans up the reserved resources when it is cancelled while the
@@ -660,7 +712,9 @@ public class BoundedScheduledExecutorService implements SilentScheduledExecutorS
 
         @Override
         public boolean isCancelled() {
-            return delegate().isCancelled();
+            ScheduledFuture<V> delegatedFuture = delegate();
+
+            return delegatedFuture != null && delegatedFuture.isCancelled();
         }
     }
 
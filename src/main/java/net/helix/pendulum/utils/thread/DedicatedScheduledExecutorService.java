@@ -3,6 +3,7 @@ package net.helix.pendulum.utils.thread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -83,6 +84,9 @@ public class DedicatedScheduledExecutorService extends BoundedScheduledExecutorS
      *         [main] INFO  MilestoneSolidifier - [Milestone Solidifier] Stopped (after #4 executions) ...
      *     </code
      * </pre>
+     * <br />
+     * The execution metrics of the tasks of a named {@link DedicatedScheduledExecutorService} are recorded by the
+     * {@link ExecutorRegistry}.<br />
      *
      * @param threadName name of the thread (or null if we want to disable the automatic logging - exceptions will
      *                   always be logged)
@@ -90,7 +94,8 @@ public class DedicatedScheduledExecutorService extends BoundedScheduledExecutorS
      * @param debug debug flag that indicates if every "run" should be accompanied with a log message
      */
     public DedicatedScheduledExecutorService(String threadName, Logger logger, boolean debug) {
-        super(1);
+        super(1, 1, Executors.defaultThreadFactory(),
+                threadName == null ? null : ExecutorRegistry.get().getTelemetry(threadName));
 
         this.threadName = threadName;
         this.logger = logger;
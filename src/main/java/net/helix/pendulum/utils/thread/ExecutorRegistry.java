@@ -0,0 +1,173 @@
+package net.helix.pendulum.utils.thread;
+
+import net.helix.pendulum.conf.ExecutorConfig;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central registry of the thread pools and background loops of the node.<br />
+ * <br />
+ * Every pool and loop is identified by a name (e.g. "udp-receiver" or "milestone-tracker"). The components pass their
+ * built-in thread count or interval when they create the pool or schedule the loop, and the registry replaces it with
+ * the value that was configured for the name (see {@link ExecutorConfig}). This allows to size a node for the amount of
+ * available cores without touching the components.<br />
+ * <br />
+ * The executors that are created by the registry record the queue wait, the run time and the overruns of their tasks
+ * through the {@link ReportingExecutorService} callbacks (see {@link ExecutorTelemetry}).<br />
+ */
+public class ExecutorRegistry {
+    private static final Logger log = LoggerFactory.getLogger(ExecutorRegistry.class);
+
+    private static final ExecutorRegistry instance = new ExecutorRegistry();
+
+    /**
+     * Holds the configured thread counts of the named pools.<br />
+     */
+    private volatile Map<String, Integer> threads = Collections.emptyMap();
+
+    /**
+     * Holds the configured intervals (in milliseconds) of the named loops.<br />
+     */
+    private volatile Map<String, Integer> intervals = Collections.emptyMap();
+
+    /**
+     * Flag that indicates if the queue processing loops run as soon as work arrives.<br />
+     */
+    private volatile boolean eventTriggered = false;
+
+    /**
+     * Holds the telemetry of every named executor, so executors that share a name also share their metrics.<br />
+     */
+    private final Map<String, ExecutorTelemetry> telemetries = new ConcurrentHashMap<>();
+
+    public static ExecutorRegistry get() {
+        return instance;
+    }
+
+    /**
+     * Applies the configured thread counts and intervals.<br />
+     * <br />
+     * This has to be done before the components create their executors (pools that were created before keep their
+     * size).<br />
+     *
+     * @param config configuration of the executors
+     */
+    public void configure(ExecutorConfig config) {
+        threads = config.getExecutorThreads();
+        intervals = config.getExecutorIntervals();
+        eventTriggered = config.isExecutorEventTriggered();
+    }
+
+    /**
+     * Returns the thread count of the named pool.<br />
+     *
+     * @param name name of the pool
+     * @param defaultThreads built-in thread count of the pool
+     * @return the configured thread count or the built-in one if none was configured
+     */
+    public int getThreads(String name, int defaultThreads) {
+        Integer configured = threads.get(name);
+        if (configured == null) {
+            return Math.max(1, defaultThreads);
+        }
+
+        log.info("Using {} threads for [{}]", configured, name);
+        return configured;
+    }
+
+    /**
+     * Returns the interval of the named loop.<br />
+     *
+     * @param name name of the loop
+     * @param defaultInterval built-in interval of the loop in milliseconds
+     * @return the configured interval or the built-in one if none was configured
+     */
+    public int getInterval(String name, int defaultInterval) {
+        Integer configured = intervals.get(name);
+        if (configured == null) {
+            return defaultInterval;
+        }
+
+        log.info("Running [{}] every {}ms", name, configured);
+        return configured;
+    }
+
+    /**
+     * @return true if the queue processing loops shall run as soon as work arrives (see {@link TriggeredTask})
+     */
+    public boolean isEventTriggered() {
+        return eventTriggered;
+    }
+
+    /**
+     * Returns the telemetry of the named executor and creates it if it does not exist yet.<br />
+     *
+     * @param name name of the executor
+     * @return the telemetry that records the execution metrics of the executor
+     */
+    public ExecutorTelemetry getTelemetry(String name) {
+        return telemetries.computeIfAbsent(name, ExecutorTelemetry::new);
+    }
+
+    /**
+     * Creates a named pool of daemon threads with normal priority.<br />
+     *
+     * @param name name of the pool
+     * @param defaultThreads built-in thread count of the pool
+     * @return the executor that records the execution metrics of its tasks
+     */
+    public BoundedScheduledExecutorService newExecutor(String name, int defaultThreads) {
+        return newExecutor(name, defaultThreads, Thread.NORM_PRIORITY);
+    }
+
+    /**
+     * Creates a named pool of daemon threads.<br />
+     * <br />
+     * The amount of queued tasks is not limited, so the pool behaves like the pools of
+     * {@link java.util.concurrent.Executors} (components that need backpressure use a {@link TriggeredTask} or limit
+     * their own queues).<br />
+     *
+     * @param name name of the pool
+     * @param defaultThreads built-in thread count of the pool
+     * @param priority priority of the threads
+     * @return the executor that records the execution metrics of its tasks
+     */
+    public BoundedScheduledExecutorService newExecutor(String name, int defaultThreads, int priority) {
+        return new BoundedScheduledExecutorService(Integer.MAX_VALUE, getThreads(name, defaultThreads),
+                threadFactory(name + "-%d", priority), getTelemetry(name));
+    }
+
+    /**
+     * Creates a named group of single threaded executors that share their metrics.<br />
+     * <br />
+     * It is used by components that always process the tasks of the same key (e.g. a transaction hash) on the same
+     * thread, so the tasks of a key never run concurrently.<br />
+     *
+     * @param name name of the group
+     * @param defaultThreads built-in amount of executors in the group
+     * @return the executors of the group
+     */
+    public BoundedScheduledExecutorService[] newAffinityExecutors(String name, int defaultThreads) {
+        BoundedScheduledExecutorService[] executors =
+                new BoundedScheduledExecutorService[getThreads(name, defaultThreads)];
+        for (int i = 0; i < executors.length; i++) {
+            executors[i] = new BoundedScheduledExecutorService(Integer.MAX_VALUE, 1,
+                    threadFactory(name + "-" + i, Thread.NORM_PRIORITY), getTelemetry(name));
+        }
+
+        return executors;
+    }
+
+    private static BasicThreadFactory threadFactory(String namingPattern, int priority) {
+        return new BasicThreadFactory.Builder()
+                .namingPattern(namingPattern)
+                .daemon(true)
+                .priority(priority)
+                .build();
+    }
+}
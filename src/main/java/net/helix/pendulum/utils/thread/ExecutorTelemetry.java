@@ -0,0 +1,117 @@
+package net.helix.pendulum.utils.thread;
+
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.Histogram;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+
+/**
+ * Records the execution metrics of the tasks of a named executor in the {@link MetricsRegistry}.<br />
+ * <br />
+ * It is fed by the lifecycle callbacks of a {@link ReportingExecutorService} and records how long the tasks waited for
+ * a free thread after they were due, how long they ran, how often a recurring task ran longer than its interval
+ * (which means that the executor can not keep up with the configured pace) and how many triggers of a
+ * {@link TriggeredTask} were coalesced into an execution that was already pending.<br />
+ */
+public class ExecutorTelemetry {
+    /**
+     * Holds the name of the executor that is used as the label of the metrics.<br />
+     */
+    private final String name;
+
+    private final Histogram queueWait;
+
+    private final Histogram runTime;
+
+    private final Counter overruns;
+
+    private final Counter coalescedTriggers;
+
+    /**
+     * Creates the telemetry of the executor with the given name.<br />
+     *
+     * @param name name of the executor that is used as the label of the metrics
+     */
+    public ExecutorTelemetry(String name) {
+        this.name = name;
+
+        MetricsRegistry metrics = MetricsRegistry.get();
+        queueWait = metrics.histogram("pendulum_executor_queue_wait_seconds",
+                "Time that the tasks waited for a free thread after they were due", "executor", name);
+        runTime = metrics.histogram("pendulum_executor_run_time_seconds", "Time that the tasks ran", "executor", name);
+        overruns = metrics.counter("pendulum_executor_overruns_total",
+                "Executions of recurring tasks that took longer than their interval", "executor", name);
+        coalescedTriggers = metrics.counter("pendulum_executor_coalesced_triggers_total",
+                "Triggers of triggered tasks that were coalesced into a pending execution", "executor", name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Remembers when the first execution of the task is due.<br />
+     *
+     * @param taskDetails metadata holding the relevant information of the task
+     */
+    public void taskScheduled(TaskDetails taskDetails) {
+        long delay = taskDetails.getDelay() == null ? 0 : taskDetails.getTimeUnit().toNanos(taskDetails.getDelay());
+
+        taskDetails.setDueTime(System.nanoTime() + delay);
+    }
+
+    /**
+     * Records the time that the task waited for a free thread.<br />
+     *
+     * @param taskDetails metadata holding the relevant information of the task
+     */
+    public void taskStarted(TaskDetails taskDetails) {
+        long now = System.nanoTime();
+
+        queueWait.record(now - taskDetails.getDueTime());
+        taskDetails.setStartTime(now);
+    }
+
+    /**
+     * Records the run time of the task and counts an overrun if a recurring task took longer than its interval.<br />
+     * <br />
+     * The next execution of a recurring task is expected after its interval (like it is the case for tasks that are
+     * scheduled with a fixed delay).<br />
+     *
+     * @param taskDetails metadata holding the relevant information of the task
+     */
+    public void taskFinished(TaskDetails taskDetails) {
+        long now = System.nanoTime();
+        long duration = now - taskDetails.getStartTime();
+
+        runTime.record(duration);
+        if (taskDetails.getInterval() != null) {
+            long interval = taskDetails.getTimeUnit().toNanos(taskDetails.getInterval());
+            if (duration > interval) {
+                overruns.increment();
+            }
+            taskDetails.setDueTime(now + interval);
+        }
+    }
+
+    /**
+     * Counts a trigger of a {@link TriggeredTask} that did not cause an additional execution because the task was
+     * queued or running already.<br />
+     */
+    public void taskTriggerCoalesced() {
+        coalescedTriggers.increment();
+    }
+
+    /**
+     * @return the amount of overruns that were counted so far
+     */
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * @return the amount of coalesced triggers that were counted so far
+     */
+    public long getCoalescedTriggers() {
+        return coalescedTriggers.get();
+    }
+}
@@ -51,6 +51,17 @@ public class TaskDetails {
      */
     private TimeUnit timeUnit = null;
 
+    /**
+     * Holds the {@link System#nanoTime()} at which the next execution of the task is due (used to measure how long the
+     * task waited for a free thread).<br />
+     */
+    private volatile long dueTime = 0;
+
+    /**
+     * Holds the {@link System#nanoTime()} at which the current execution of the task was started.<br />
+     */
+    private volatile long startTime = 0;
+
     /**
      * Creates a container for the metadata of a task that was scheduled through an
      * {@link java.util.concurrent.ExecutorService}.<br />
@@ -185,4 +196,46 @@ public class TaskDetails {
     public TimeUnit getTimeUnit() {
         return timeUnit;
     }
+
+    /**
+     * Setter for the internal {@link #dueTime} property.<br />
+     *
+     * @param dueTime the {@link System#nanoTime()} at which the next execution of the task is due
+     * @return the instance of TaskDetails itself to allow the chaining of calls
+     */
+    public TaskDetails setDueTime(long dueTime) {
+        this.dueTime = dueTime;
+
+        return this;
+    }
+
+    /**
+     * Getter for the internal {@link #dueTime} property.<br />
+     *
+     * @return the {@link System#nanoTime()} at which the next execution of the task is due
+     */
+    public long getDueTime() {
+        return dueTime;
+    }
+
+    /**
+     * Setter for the internal {@link #startTime} property.<br />
+     *
+     * @param startTime the {@link System#nanoTime()} at which the current execution of the task was started
+     * @return the instance of TaskDetails itself to allow the chaining of calls
+     */
+    public TaskDetails setStartTime(long startTime) {
+        this.startTime = startTime;
+
+        return this;
+    }
+
+    /**
+     * Getter for the internal {@link #startTime} property.<br />
+     *
+     * @return the {@link System#nanoTime()} at which the current execution of the task was started
+     */
+    public long getStartTime() {
+        return startTime;
+    }
 }
@@ -0,0 +1,154 @@
+package net.helix.pendulum.utils.thread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents a background loop that runs as soon as work arrives instead of polling in a fixed
+ * interval.<br />
+ * <br />
+ * The producers of the work call {@link #trigger()}, which submits the task to the executor. The triggers are
+ * coalesced, so there is at most one execution of the task running and at most one waiting, no matter how fast the
+ * work arrives. This keeps the executor free for the other tasks and makes the producers never block (backpressure is
+ * applied by the queues of the component, that the task drains).<br />
+ * <br />
+ * The task is additionally triggered in the given interval, so work that was queued without a trigger is processed
+ * like before.<br />
+ */
+public class TriggeredTask {
+    private static final Logger log = LoggerFactory.getLogger(TriggeredTask.class);
+
+    private static final int IDLE = 0;
+
+    private static final int QUEUED = 1;
+
+    private static final int RUNNING = 2;
+
+    private static final int RUNNING_AND_TRIGGERED = 3;
+
+    private final String name;
+
+    private final ScheduledExecutorService executor;
+
+    private final Runnable task;
+
+    private final long interval;
+
+    private final TimeUnit unit;
+
+    private final ExecutorTelemetry telemetry;
+
+    /**
+     * Holds the metadata of the task that is used to measure its queue wait and run time.<br />
+     */
+    private final TaskDetails taskDetails = new TaskDetails();
+
+    /**
+     * Holds the state of the task (one of {@link #IDLE}, {@link #QUEUED}, {@link #RUNNING} and
+     * {@link #RUNNING_AND_TRIGGERED}).<br />
+     */
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    private ScheduledFuture<?> fallback;
+
+    /**
+     * Creates a task that runs on the given executor whenever it is triggered.<br />
+     *
+     * @param name name of the task that is used for the metrics and log messages
+     * @param executor executor that runs the task
+     * @param task logic of the task
+     * @param interval interval in which the task is triggered if no work arrives
+     * @param unit time unit of the interval
+     */
+    public TriggeredTask(String name, ScheduledExecutorService executor, Runnable task, long interval, TimeUnit unit) {
+        this.name = name;
+        this.executor = executor;
+        this.task = task;
+        this.interval = interval;
+        this.unit = unit;
+
+        telemetry = ExecutorRegistry.get().getTelemetry(name);
+    }
+
+    /**
+     * Starts the fallback trigger that runs the task in the configured interval.<br />
+     */
+    public synchronized void start() {
+        if (fallback == null) {
+            fallback = executor.scheduleWithFixedDelay(this::trigger, 0, interval, unit);
+        }
+    }
+
+    /**
+     * Stops the fallback trigger (a queued execution is dropped when the executor is shut down).<br />
+     */
+    public synchronized void shutdown() {
+        if (fallback != null) {
+            fallback.cancel(false);
+            fallback = null;
+        }
+    }
+
+    /**
+     * Triggers an execution of the task.<br />
+     * <br />
+     * If the task is queued already, the trigger has no effect. If the task is running, it is executed once more after
+     * the current execution (so work that arrived during the execution is not missed).<br />
+     */
+    public void trigger() {
+        while (true) {
+            int current = state.get();
+            switch (current) {
+                case IDLE:
+                    if (state.compareAndSet(IDLE, QUEUED)) {
+                        submit();
+                        return;
+                    }
+                    break;
+
+                case RUNNING:
+                    if (state.compareAndSet(RUNNING, RUNNING_AND_TRIGGERED)) {
+                        telemetry.taskTriggerCoalesced();
+                        return;
+                    }
+                    break;
+
+                default:
+                    telemetry.taskTriggerCoalesced();
+                    return;
+            }
+        }
+    }
+
+    private void submit() {
+        telemetry.taskScheduled(taskDetails);
+        try {
+            executor.execute(this::run);
+        } catch (RejectedExecutionException e) {
+            state.set(IDLE);
+        }
+    }
+
+    private void run() {
+        state.set(RUNNING);
+
+        telemetry.taskStarted(taskDetails);
+        try {
+            task.run();
+        } catch (Throwable t) {
+            log.error("Error in [" + name + "]", t);
+        } finally {
+            telemetry.taskFinished(taskDetails);
+            if (!state.compareAndSet(RUNNING, IDLE)) {
+                state.set(QUEUED);
+                submit();
+            }
+        }
+    }
+}
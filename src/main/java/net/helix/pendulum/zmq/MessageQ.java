@@ -1,36 +1,84 @@
 package net.helix.pendulum.zmq;
 
 import net.helix.pendulum.conf.ZMQConfig;
+import net.helix.pendulum.utils.Pair;
 import net.helix.pendulum.utils.PendulumIOUtils;
+import net.helix.pendulum.utils.thread.ThreadUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.zeromq.ZMQ;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by paul on 6/20/17.
+ *
+ * Publishes the messages on an XPUB socket, which reports the topics that the connected subscribers are interested
+ * in. Messages of topics without subscribers are discarded before they get formatted, and the remaining ones are
+ * sent as multipart messages (topic frame followed by the payload frame) in batches by a dedicated publisher thread
+ * that drains a bounded buffer.
  */
 public class MessageQ {
     private final static Logger LOG = LoggerFactory.getLogger(MessageQ.class);
 
+    /**
+     * Maximum amount of messages that are buffered for the publisher thread.
+     */
+    private static final int BUFFER_SIZE = 10_000;
+
+    /**
+     * Maximum amount of messages that are sent in a single batch.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Time (in milliseconds) the publisher thread waits for new messages before it checks for new subscriptions.
+     */
+    private static final int POLL_INTERVAL = 100;
+
     private final ZMQ.Context context;
     private final ZMQ.Socket publisher;
     private boolean enabled = false;
 
-    private final ExecutorService publisherService = Executors.newSingleThreadExecutor();
+    /**
+     * Holds the topic prefixes that the connected subscribers registered.
+     */
+    private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Holds the messages (topic and payload) that were not sent yet.
+     */
+    private final BlockingQueue<Pair<byte[], byte[]>> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+    /**
+     * Counts the messages that were discarded because the buffer was full.
+     */
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    private volatile boolean running = false;
+
+    private Thread publisherThread;
 
     private MessageQ(int port, String ipc, int nthreads, boolean enabled) {
         if (enabled) {
             context = ZMQ.context(nthreads);
-            publisher = context.socket(ZMQ.PUB);
+            publisher = context.socket(ZMQ.XPUB);
             publisher.bind(String.format("tcp://*:%d", port));
             if (ipc != null) {
                 publisher.bind(ipc);
             }
             this.enabled = true;
+
+            running = true;
+            publisherThread = ThreadUtils.spawnThread(this::publisherThread, "ZMQ Publisher");
         } else {
             context = null;
             publisher = null;
@@ -41,23 +89,144 @@ public class MessageQ {
         return new MessageQ(config.getZmqPort(), config.getZmqIpc(), config.getZmqThreads(), config.isZmqEnabled());
     }
 
+    /**
+     * Checks if a subscriber is interested in any of the topics starting with the given prefix.
+     *
+     * This allows the callers to skip the (potentially expensive) creation of messages that nobody receives.
+     *
+     * @param topicPrefix prefix of the topics that shall be checked (or the full topic)
+     * @return true if a subscriber might receive a message with a topic starting with the given prefix
+     */
+    public boolean hasSubscribers(String topicPrefix) {
+        if (!enabled || subscriptions.isEmpty()) {
+            return false;
+        }
+
+        for (String subscription : subscriptions) {
+            if (topicPrefix.startsWith(subscription) || subscription.startsWith(topicPrefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Publishes a message whose first word is used as its topic.
+     *
+     * The message only gets formatted if somebody subscribed to its topic. If the format starts with a placeholder,
+     * the first object is used as the topic.
+     *
+     * @param message that can be formatted by {@link String#format(String, Object...)}
+     * @param objects that should replace the placeholder in message.
+     */
     public void publish(String message, Object... objects) {
-        if (enabled) {
-            String toSend = String.format(message, objects);
-            publisherService.submit(() -> publisher.send(toSend));
+        if (!enabled || subscriptions.isEmpty()) {
+            return;
+        }
+
+        int separator = message.indexOf(' ');
+        String topic = separator == -1 ? message : message.substring(0, separator);
+        if ("%s".equals(topic) && objects.length > 0) {
+            topic = String.valueOf(objects[0]);
+        }
+        if (!hasSubscribers(topic)) {
+            return;
+        }
+
+        String toSend = String.format(message, objects);
+        separator = toSend.indexOf(' ');
+        publish(separator == -1 ? toSend : toSend.substring(0, separator),
+                separator == -1 ? new byte[0] : toSend.substring(separator + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Publishes a binary payload under the given topic (if somebody subscribed to it).
+     *
+     * @param topic topic of the message
+     * @param payload content of the message
+     */
+    public void publish(String topic, byte[] payload) {
+        if (!hasSubscribers(topic)) {
+            return;
+        }
+
+        if (!buffer.offer(new Pair<>(topic.getBytes(StandardCharsets.UTF_8), payload))
+                && droppedMessages.incrementAndGet() % 1000 == 1) {
+
+            LOG.warn("ZMQ publisher buffer is full - {} messages dropped so far", droppedMessages.get());
         }
     }
 
     public void shutdown() {
-        publisherService.shutdown();
+        running = false;
 
-        try {
-            publisherService.awaitTermination(5, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            LOG.error("Publisher service shutdown failed.", e);
+        if (publisherThread != null) {
+            try {
+                publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.error("Publisher service shutdown failed.", e);
+            }
         }
 
         PendulumIOUtils.closeQuietly(publisher);
         PendulumIOUtils.closeQuietly(context);
     }
+
+    /**
+     * This method contains the logic of the publisher thread, which is the only thread accessing the socket.
+     *
+     * It updates the subscriptions that were reported by the socket and sends the buffered messages in batches until
+     * the queue is shut down.
+     */
+    private void publisherThread() {
+        List<Pair<byte[], byte[]>> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                readSubscriptions();
+
+                Pair<byte[], byte[]> message = buffer.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    continue;
+                }
+
+                batch.add(message);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+                for (Pair<byte[], byte[]> queuedMessage : batch) {
+                    publisher.sendMore(queuedMessage.low);
+                    publisher.send(queuedMessage.hi, 0);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                LOG.error("Error while publishing messages to zmq.", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Reads the (un)subscription messages that the XPUB socket received from the subscribers.
+     *
+     * The first byte of these messages indicates if the topic was subscribed (1) or unsubscribed (0), the remaining
+     * bytes contain the topic prefix.
+     */
+    private void readSubscriptions() {
+        byte[] subscription;
+        while ((subscription = publisher.recv(ZMQ.DONTWAIT)) != null) {
+            if (subscription.length == 0) {
+                continue;
+            }
+
+            String topic = new String(subscription, 1, subscription.length - 1, StandardCharsets.UTF_8);
+            if (subscription[0] == 1) {
+                subscriptions.add(topic);
+            } else if (subscription[0] == 0) {
+                subscriptions.remove(topic);
+            }
+        }
+    }
 }
@@ -18,6 +18,14 @@ public interface MessageQProvider {
      */
     void publish(String message, Object... objects);
 
+    /**
+     * Checks if a subscriber of the MessageQueue is interested in any of the topics starting with the given prefix.
+     *
+     * @param topicPrefix prefix of the topics that shall be checked (or the full topic)
+     * @return true if a message with a topic starting with the given prefix might be received by somebody
+     */
+    boolean hasSubscribers(String topicPrefix);
+
     /**
      * Publishes the transaction details to the MessageQueue.
      *
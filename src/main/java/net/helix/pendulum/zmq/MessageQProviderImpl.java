@@ -10,12 +10,19 @@ import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Use <a href="http://zeromq.org/" target="_top">zeromq</a> to create a MessageQueue that publishes messages.
  */
 public class MessageQProviderImpl implements MessageQProvider {
 
     private static final Logger log = LoggerFactory.getLogger(MessageQProviderImpl.class);
+
+    private static final String TX_TOPIC = "tx_hash";
+
+    private static final String TX_BYTES_TOPIC = "tx_bytes";
+
     private final MessageQ messageQ;
 
     /**
@@ -36,11 +43,21 @@ public class MessageQProviderImpl implements MessageQProvider {
             return false;
         }
 
+        boolean publishTx = messageQ.hasSubscribers(TX_TOPIC);
+        boolean publishTxBytes = messageQ.hasSubscribers(TX_BYTES_TOPIC);
+        if (!publishTx && !publishTxBytes) {
+            return false;
+        }
+
         Transaction transaction = ((Transaction) model);
         TransactionViewModel transactionViewModel = new TransactionViewModel(transaction, (Hash)index);
 
-        publishTx(transactionViewModel);
-        publishTxBytes(transactionViewModel);
+        if (publishTx) {
+            publishTx(transactionViewModel);
+        }
+        if (publishTxBytes) {
+            publishTxBytes(transactionViewModel);
+        }
 
         return true;
     }
@@ -49,7 +66,6 @@ public class MessageQProviderImpl implements MessageQProvider {
         StringBuilder txStringBuilder = new StringBuilder(600);
 
         try {
-            txStringBuilder.append("tx_hash ");
             txStringBuilder.append(transactionViewModel.getHash().toString()); txStringBuilder.append("\n");
             txStringBuilder.append("tx_address ");
             txStringBuilder.append(transactionViewModel.getAddressHash().toString()); txStringBuilder.append("\n");
@@ -68,24 +84,23 @@ public class MessageQProviderImpl implements MessageQProvider {
             txStringBuilder.append(transactionViewModel.getArrivalTime()); txStringBuilder.append(" ");
             txStringBuilder.append(transactionViewModel.getTagValue().toString());
 
-            messageQ.publish(txStringBuilder.toString());
+            messageQ.publish(TX_TOPIC, txStringBuilder.toString().getBytes(StandardCharsets.UTF_8));
         } catch (Exception e) {
             log.error(txStringBuilder.toString());
             log.error("Error publishing tx to zmq.", e);
         }
     }
 
+    /**
+     * Publishes the raw bytes of the transaction (the payload is not hex encoded).
+     *
+     * @param transactionViewModel transaction that shall be published
+     */
     private void publishTxBytes(TransactionViewModel transactionViewModel) {
-        StringBuilder txBytesStringBuilder = new StringBuilder(TransactionViewModel.SIZE);
-
         try {
-            txBytesStringBuilder.append("tx_bytes ");
-            txBytesStringBuilder.append(Hex.toHexString(transactionViewModel.getBytes()));
-
-            messageQ.publish(txBytesStringBuilder.toString());
+            messageQ.publish(TX_BYTES_TOPIC, transactionViewModel.getBytes().clone());
         } catch (Exception e) {
-            log.error(txBytesStringBuilder.toString());
-            log.error("Error publishing tx_bytes to zmq.", e);
+            log.error("Error publishing tx_bytes of {} to zmq.", transactionViewModel.getHash(), e);
         }
     }
 
@@ -101,6 +116,11 @@ public class MessageQProviderImpl implements MessageQProvider {
         this.messageQ.publish(message, objects);
     }
 
+    @Override
+    public boolean hasSubscribers(String topicPrefix) {
+        return this.messageQ.hasSubscribers(topicPrefix);
+    }
+
     @Override
     public void shutdown() {
         this.messageQ.shutdown();
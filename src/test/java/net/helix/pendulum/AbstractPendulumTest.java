@@ -20,9 +20,11 @@ import net.helix.pendulum.service.cache.impl.TangleCacheImpl;
 import net.helix.pendulum.service.milestone.MilestoneService;
 import net.helix.pendulum.service.milestone.MilestoneSolidifier;
 import net.helix.pendulum.service.milestone.MilestoneTracker;
+import net.helix.pendulum.service.milestone.SubtangleSolidifier;
 import net.helix.pendulum.service.milestone.impl.MilestoneServiceImpl;
 import net.helix.pendulum.service.milestone.impl.MilestoneSolidifierImpl;
 import net.helix.pendulum.service.milestone.impl.MilestoneTrackerImpl;
+import net.helix.pendulum.service.milestone.impl.SubtangleSolidifierImpl;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.service.snapshot.SnapshotService;
 import net.helix.pendulum.service.snapshot.impl.SnapshotProviderImpl;
@@ -111,6 +113,7 @@ public abstract class AbstractPendulumTest {
         snapshotService = new SnapshotServiceImpl();
         candidateTracker = new CandidateTrackerImpl();
         milestoneSolidifier = new MilestoneSolidifierImpl();
+        SubtangleSolidifier subtangleSolidifier = new SubtangleSolidifierImpl();
         validatorManagerService = new ValidatorManagerServiceImpl();
         candidateSolidifier = new CandidateSolidifierImpl();
         tangleCache = new TangleCacheImpl();
@@ -151,6 +154,7 @@ public abstract class AbstractPendulumTest {
         Pendulum.ServiceRegistry.get().register(MilestoneService.class, milestoneService);
         Pendulum.ServiceRegistry.get().register(SnapshotService.class, snapshotService);
         Pendulum.ServiceRegistry.get().register(MilestoneSolidifier.class, milestoneSolidifier);
+        Pendulum.ServiceRegistry.get().register(SubtangleSolidifier.class, subtangleSolidifier);
         Pendulum.ServiceRegistry.get().register(CandidateTracker.class, candidateTracker);
         Pendulum.ServiceRegistry.get().register(ValidatorManagerService.class, validatorManagerService);
         Pendulum.ServiceRegistry.get().register(CandidateSolidifier.class, candidateSolidifier);
@@ -159,6 +163,7 @@ public abstract class AbstractPendulumTest {
 
         milestoneService.init();
         milestoneTracker.init();
+        subtangleSolidifier.init();
         milestoneSolidifier.init();
         candidateTracker.init();
         txValidator.init();
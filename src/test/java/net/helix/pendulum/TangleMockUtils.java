@@ -7,10 +7,15 @@ import net.helix.pendulum.model.StateDiff;
 import net.helix.pendulum.model.persistables.Milestone;
 import net.helix.pendulum.model.persistables.Round;
 import net.helix.pendulum.model.persistables.Transaction;
+import net.helix.pendulum.storage.Indexable;
+import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.Pair;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 
@@ -103,6 +108,28 @@ public class TangleMockUtils {
         return transaction;
     }
 
+    /**
+     * Mocks the batched reads of the tangle object by answering them with the single reads of the given indexes, so
+     * the objects that were mocked with the other methods are returned by the batched reads as well.
+     *
+     * @param tangle mocked tangle object whose batched reads shall be answered
+     */
+    public static void mockLoadBatch(Tangle tangle) {
+        try {
+            Mockito.when(tangle.loadBatch(ArgumentMatchers.any(), ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+                Class<?> model = invocation.getArgument(0);
+                List<Persistable> result = new ArrayList<>();
+                for (Object index : (List<?>) invocation.getArgument(1)) {
+                    result.add(tangle.load(model, (Indexable) index));
+                }
+
+                return result;
+            });
+        } catch (Exception e) {
+            // the exception can not be raised since we mock
+        }
+    }
+
     public static StateDiff mockStateDiff(Tangle tangle, Hash hash, Map<Hash, Long> balanceDiff, int roundIndex) {
         StateDiff stateDiff = new StateDiff();
         stateDiff.state = balanceDiff;
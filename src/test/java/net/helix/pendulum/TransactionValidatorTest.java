@@ -4,9 +4,16 @@ import net.helix.pendulum.conf.MainnetConfig;
 import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.crypto.SpongeFactory;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.event.EventType;
+import net.helix.pendulum.event.EventUtils;
+import net.helix.pendulum.model.Hash;
 import net.helix.pendulum.model.TransactionHash;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static net.helix.pendulum.TransactionTestUtils.*;
 import static org.junit.Assert.*;
 
@@ -69,9 +76,6 @@ public class TransactionValidatorTest extends AbstractPendulumTest {
         TransactionViewModel tx = getTxWithBranchAndTrunk();
         txValidator.checkSolidity(tx.getHash());
 
-        txValidator.solidifyBackwards();
-        txValidator.solidifyForward();
-
         assertTrue(txValidator.checkSolidity(tx.getHash()));
     }
 
@@ -117,10 +121,7 @@ public class TransactionValidatorTest extends AbstractPendulumTest {
         grandParent.store(tangle, snapshotProvider.getInitialSnapshot());
 
         txValidator.addSolidTransaction(leftChildLeaf.getHash());
-        while (!txValidator.isNewSolidTxSetsEmpty()) {
-            txValidator.solidifyBackwards();
-            txValidator.solidifyForward();
-        }
+        assertTrue("Solidification should have been finished", txValidator.isNewSolidTxSetsEmpty());
 
         parent = TransactionViewModel.fromHash(tangle, parent.getHash());
         assertTrue("Parent tx was expected to be solid", parent.isSolid());
@@ -128,6 +129,114 @@ public class TransactionValidatorTest extends AbstractPendulumTest {
         assertTrue("Grandparent  was expected to be solid", grandParent.isSolid());
     }
 
+    @Test
+    public void workersPropagateSolidityTest() throws Exception {
+        TransactionViewModel leftChildLeaf = createTransactionWithHex("b0c1");
+        TransactionViewModel rightChildLeaf = createTransactionWithHex("b0c2");
+        TransactionViewModel parent = createTransactionWithTrunkAndBranch("b0",
+                leftChildLeaf.getHash(), rightChildLeaf.getHash());
+        TransactionViewModel grandParent = createTransactionWithTrunkAndBranch("a0", parent.getHash(),
+                rightChildLeaf.getHash());
+
+        CountDownLatch solidified = new CountDownLatch(2);
+        EventManager.get().subscribe(EventType.TX_SOLIDIFIED, (type, ctx) -> {
+            Hash hash = EventUtils.getTxHash(ctx);
+            if (hash.equals(parent.getHash()) || hash.equals(grandParent.getHash())) {
+                solidified.countDown();
+            }
+        });
+
+        txValidator.start();
+        try {
+            // the approvers arrive first and wait in the frontier until the missing transactions are stored
+            grandParent.store(tangle, snapshotProvider.getInitialSnapshot());
+            parent.store(tangle, snapshotProvider.getInitialSnapshot());
+            assertFalse("Grandparent should wait for the missing transactions",
+                    TransactionViewModel.fromHash(tangle, grandParent.getHash()).isSolid());
+
+            leftChildLeaf.store(tangle, snapshotProvider.getInitialSnapshot());
+            rightChildLeaf.store(tangle, snapshotProvider.getInitialSnapshot());
+
+            assertTrue("the waiting transactions should have been solidified",
+                    solidified.await(10, TimeUnit.SECONDS));
+            assertTrue("Parent tx was expected to be solid",
+                    TransactionViewModel.fromHash(tangle, parent.getHash()).isSolid());
+            assertTrue("Grandparent was expected to be solid",
+                    TransactionViewModel.fromHash(tangle, grandParent.getHash()).isSolid());
+        } finally {
+            txValidator.shutdown();
+        }
+    }
+
+    @Test
+    public void childrenRefusedByTheFullFrontierAreRetriedTest() throws Exception {
+        TransactionValidator validator = createValidatorWithFrontierCap(2);
+
+        TransactionViewModel leftChildLeaf = createTransactionWithHex("b0c1");
+        TransactionViewModel rightChildLeaf = createTransactionWithHex("b0c2");
+        TransactionViewModel parent = createTransactionWithTrunkAndBranch("b0",
+                leftChildLeaf.getHash(), rightChildLeaf.getHash());
+        TransactionViewModel child = createTransactionWithTrunkAndBranch("a0", parent.getHash(), parent.getHash());
+
+        // the missing leaves occupy both slots of the frontier, so the child is refused
+        parent.store(tangle, snapshotProvider.getInitialSnapshot());
+        child.store(tangle, snapshotProvider.getInitialSnapshot());
+        leftChildLeaf.store(tangle, snapshotProvider.getInitialSnapshot());
+        rightChildLeaf.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        assertTrue("Parent tx was expected to be solid",
+                TransactionViewModel.fromHash(tangle, parent.getHash()).isSolid());
+        assertTrue("the refused child should have been retried when the frontier had room again",
+                TransactionViewModel.fromHash(tangle, child.getHash()).isSolid());
+        assertTrue("Solidification should have been finished", validator.isNewSolidTxSetsEmpty());
+    }
+
+    @Test
+    public void rescanSolidifiesTransactionsStoredBeforeARestartTest() throws Exception {
+        // the transactions are stored while no validator is running
+        EventManager.get().unsubscribe(txValidator);
+        TransactionViewModel leaf = createTransactionWithHex("b0c1");
+        TransactionViewModel parent = createTransactionWithTrunkAndBranch("b0", leaf.getHash(), leaf.getHash());
+        TransactionViewModel child = createTransactionWithTrunkAndBranch("a0", parent.getHash(), leaf.getHash());
+        leaf.store(tangle, snapshotProvider.getInitialSnapshot());
+        parent.store(tangle, snapshotProvider.getInitialSnapshot());
+        child.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        TransactionValidator restartedValidator = createValidatorWithFrontierCap(config.solidificationQueueCap());
+        restartedValidator.rescan();
+
+        assertTrue("Leaf tx was expected to be solid",
+                TransactionViewModel.fromHash(tangle, leaf.getHash()).isSolid());
+        assertTrue("Parent tx was expected to be solid",
+                TransactionViewModel.fromHash(tangle, parent.getHash()).isSolid());
+        assertTrue("Child tx was expected to be solid",
+                TransactionViewModel.fromHash(tangle, child.getHash()).isSolid());
+    }
+
+    @Test
+    public void checkSolidityIsSynchronousAfterTheStartTest() throws Exception {
+        // the transactions are stored while no validator is running, so none of them is solid yet
+        EventManager.get().unsubscribe(txValidator);
+        TransactionViewModel leaf = createTransactionWithHex("b0c1");
+        TransactionViewModel parent = createTransactionWithTrunkAndBranch("b0", leaf.getHash(), leaf.getHash());
+        TransactionViewModel child = createTransactionWithTrunkAndBranch("a0", parent.getHash(), leaf.getHash());
+        leaf.store(tangle, snapshotProvider.getInitialSnapshot());
+        parent.store(tangle, snapshotProvider.getInitialSnapshot());
+        child.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        txValidator.start();
+        try {
+            assertTrue("the check should solidify the stored ancestors before it returns",
+                    txValidator.checkSolidity(child.getHash()));
+            assertTrue("Parent tx was expected to be solid",
+                    TransactionViewModel.fromHash(tangle, parent.getHash()).isSolid());
+            assertTrue("Leaf tx was expected to be solid",
+                    TransactionViewModel.fromHash(tangle, leaf.getHash()).isSolid());
+        } finally {
+            txValidator.shutdown();
+        }
+    }
+
     @Test
     public void transactionPropagationFailureTest() throws Exception {
         TransactionViewModel leftChildLeaf = new TransactionViewModel(getTransactionBytes(), getTransactionHash());
@@ -153,10 +262,7 @@ public class TransactionValidatorTest extends AbstractPendulumTest {
         grandParent.store(tangle, snapshotProvider.getInitialSnapshot());
 
         txValidator.addSolidTransaction(leftChildLeaf.getHash());
-        while (!txValidator.isNewSolidTxSetsEmpty()) {
-            txValidator.solidifyBackwards();
-            txValidator.solidifyForward();
-        }
+        assertTrue("Solidification should have been finished", txValidator.isNewSolidTxSetsEmpty());
 
         parent = TransactionViewModel.fromHash(tangle, parent.getHash());
         assertTrue("Parent tx was expected to be solid", parent.isSolid());
@@ -164,4 +270,28 @@ public class TransactionValidatorTest extends AbstractPendulumTest {
         assertFalse("GrandParent tx was expected to be not solid", grandParent.isSolid());
     }
 
-}
\ No newline at end of file
+    /**
+     * Replaces the validator of the test with one whose frontier is limited to the given amount of parents.
+     */
+    private TransactionValidator createValidatorWithFrontierCap(int frontierCap) {
+        EventManager.get().unsubscribe(txValidator);
+        Pendulum.ServiceRegistry.get().register(PendulumConfig.class, new MainnetConfig() {
+            @Override
+            public boolean isTestnet() {
+                return true;
+            }
+
+            @Override
+            public int solidificationQueueCap() {
+                return frontierCap;
+            }
+        });
+
+        TransactionValidator validator = new TransactionValidator();
+        validator.init();
+        validator.setMwm(true, MAINNET_MWM);
+        Pendulum.ServiceRegistry.get().register(PendulumConfig.class, config);
+
+        return validator;
+    }
+}
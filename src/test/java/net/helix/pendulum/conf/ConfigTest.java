@@ -1,5 +1,6 @@
 package net.helix.pendulum.conf;
 
+import com.beust.jcommander.ParameterException;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
@@ -19,6 +20,9 @@ import java.io.Writer;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -284,6 +288,43 @@ public class ConfigTest {
                 pendulumConfig.isDontValidateTestnetMilestoneSig());
     }
 
+    @Test
+    public void executorSettingsParsingTest() {
+        PendulumConfig pendulumConfig = new MainnetConfig();
+        pendulumConfig.parseConfigFromArgs(new String[]{
+                "--executor-threads", "udp-receiver=4, node-scheduler=8",
+                "--executor-intervals", "milestone-tracker=500",
+                "--executor-event-triggered", "true"
+        });
+
+        Map<String, Integer> expectedThreads = new HashMap<>();
+        expectedThreads.put("udp-receiver", 4);
+        expectedThreads.put("node-scheduler", 8);
+        Assert.assertEquals("EXECUTOR_THREADS", expectedThreads, pendulumConfig.getExecutorThreads());
+        Assert.assertEquals("EXECUTOR_INTERVALS", Collections.singletonMap("milestone-tracker", 500),
+                pendulumConfig.getExecutorIntervals());
+        Assert.assertTrue("EXECUTOR_EVENT_TRIGGERED", pendulumConfig.isExecutorEventTriggered());
+    }
+
+    @Test
+    public void executorSettingsDefaultValueTest() {
+        PendulumConfig pendulumConfig = new MainnetConfig();
+        Assert.assertTrue("By default no thread counts should be overridden",
+                pendulumConfig.getExecutorThreads().isEmpty());
+        Assert.assertTrue("By default no intervals should be overridden",
+                pendulumConfig.getExecutorIntervals().isEmpty());
+    }
+
+    @Test(expected = ParameterException.class)
+    public void invalidExecutorThreadsTest() {
+        new MainnetConfig().parseConfigFromArgs(new String[]{"--executor-threads", "udp-receiver=0"});
+    }
+
+    @Test(expected = ParameterException.class)
+    public void malformedExecutorIntervalsTest() {
+        new MainnetConfig().parseConfigFromArgs(new String[]{"--executor-intervals", "milestone-tracker=fast"});
+    }
+
     private String deriveNameFromSetter(Method setter) {
         JsonIgnore jsonIgnore = setter.getAnnotation(JsonIgnore.class);
         if (jsonIgnore != null) {
@@ -0,0 +1,117 @@
+package net.helix.pendulum.controllers;
+
+import net.helix.pendulum.conf.MainnetConfig;
+import net.helix.pendulum.crypto.SpongeFactory;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.TransactionHash;
+import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.service.snapshot.impl.SnapshotProviderImpl;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionBytes;
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+
+public class ConfirmationViewModelTest {
+
+    private static final TemporaryFolder dbFolder = new TemporaryFolder();
+    private static final TemporaryFolder logFolder = new TemporaryFolder();
+    private static final Tangle tangle = new Tangle();
+    private static SnapshotProvider snapshotProvider;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFolder.create();
+        logFolder.create();
+        RocksDBPersistenceProvider rocksDBPersistenceProvider;
+        rocksDBPersistenceProvider =  new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(),
+                1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY);
+        tangle.addPersistenceProvider(rocksDBPersistenceProvider);
+        tangle.init();
+        snapshotProvider = new SnapshotProviderImpl().init(new MainnetConfig());
+    }
+
+    @After
+    public void shutdown() throws Exception {
+        tangle.shutdown();
+        snapshotProvider.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+    }
+
+    @Test
+    public void getConfirmationsTest() throws Exception {
+        Hash finalTransaction = storeTransaction(1, 0);
+        Hash pendingTransaction = storeTransaction(7, 0);
+        Hash notIndexedTransaction = storeTransaction(5, 0);
+        Hash unknownTransaction = getTransactionHash();
+        ConfirmationViewModel.storeBatch(tangle, 3, Collections.singletonMap(finalTransaction, 20));
+        ConfirmationViewModel.storeBatch(tangle, 4, Collections.singletonMap(pendingTransaction, 2));
+
+        int[] confirmations = ConfirmationViewModel.getConfirmations(tangle, Arrays.asList(unknownTransaction,
+                finalTransaction, pendingTransaction, notIndexedTransaction), count -> count >= 10);
+
+        Assert.assertArrayEquals("final entries should be taken from the index and all others from the metadata",
+                new int[]{0, 20, 7, 5}, confirmations);
+    }
+
+    @Test
+    public void getRoundIndexesTest() throws Exception {
+        Hash indexedTransaction = storeTransaction(0, 0);
+        Hash notIndexedTransaction = storeTransaction(0, 4);
+        Hash unconfirmedTransaction = storeTransaction(0, 0);
+        Hash unknownTransaction = getTransactionHash();
+        ConfirmationViewModel.storeBatch(tangle, 3, Collections.singletonMap(indexedTransaction, 20));
+
+        List<Hash> hashes = Arrays.asList(indexedTransaction, notIndexedTransaction, unconfirmedTransaction,
+                unknownTransaction);
+        Assert.assertArrayEquals("the round indexes should be resolved in the order of the hashes",
+                new int[]{3, 4, 0, 0}, ConfirmationViewModel.getRoundIndexes(tangle, hashes));
+    }
+
+    @Test
+    public void loadBatchTest() throws Exception {
+        Hash indexedTransaction = getTransactionHash();
+        Hash notIndexedTransaction = getTransactionHash();
+        ConfirmationViewModel.storeBatch(tangle, 3, Collections.singletonMap(indexedTransaction, 20));
+
+        List<ConfirmationViewModel> confirmations = ConfirmationViewModel.load(tangle,
+                Arrays.asList(notIndexedTransaction, indexedTransaction));
+
+        Assert.assertEquals(notIndexedTransaction, confirmations.get(0).getHash());
+        Assert.assertFalse(confirmations.get(0).exists());
+        Assert.assertEquals(indexedTransaction, confirmations.get(1).getHash());
+        Assert.assertTrue(confirmations.get(1).exists());
+        Assert.assertEquals(3, confirmations.get(1).getRoundIndex());
+        Assert.assertEquals(20, confirmations.get(1).getConfirmations());
+
+        ConfirmationViewModel.deleteBatch(tangle, Collections.singleton(indexedTransaction));
+        Assert.assertFalse("a deleted entry should not exist anymore",
+                ConfirmationViewModel.load(tangle, indexedTransaction).exists());
+    }
+
+    private static Hash storeTransaction(int confirmations, int snapshotIndex) throws Exception {
+        byte[] bytes = getTransactionBytes();
+        TransactionViewModel transaction = new TransactionViewModel(bytes,
+                TransactionHash.calculate(SpongeFactory.Mode.S256, bytes));
+        transaction.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        transaction.setConfirmations(confirmations);
+        transaction.update(tangle, snapshotProvider.getInitialSnapshot(), "confirmations");
+        if (snapshotIndex != 0) {
+            transaction.setSnapshot(tangle, snapshotProvider.getInitialSnapshot(), snapshotIndex);
+        }
+
+        return transaction.getHash();
+    }
+}
@@ -75,6 +75,22 @@ public class RoundViewModelTest {
         Assert.assertThat(result.getHashes(), contains(round.set.toArray()));
     }
 
+    @Test
+    public void cacheTest() throws Exception {
+        int index = 1;
+        Round round = getRound(index);
+        round.set.add(getTransactionHash());
+        RoundViewModel rvm = new RoundViewModel(round.index.getValue(), round.set);
+        rvm.store(tangle);
+
+        Assert.assertSame("A stored round should be served from the cache", rvm, RoundViewModel.get(tangle, index));
+
+        RoundViewModel.clear(index);
+        RoundViewModel reloaded = RoundViewModel.get(tangle, index);
+        Assert.assertNotSame("A cleared round should be reloaded from the database", rvm, reloaded);
+        Assert.assertEquals(rvm.getHashes(), reloaded.getHashes());
+    }
+
     @Test
     public void deleteTest() throws Exception {
         int index = 1;
@@ -94,6 +94,20 @@ public class GreedyMinerTest {
         }
         Assert.assertFalse(result[0]);
     }
+
+    @Test
+    public void cancelBeforeMiningTest() {
+        byte[] txBytes = new byte[TransactionViewModel.SIZE];
+        RND.nextBytes(txBytes);
+        byte[] originalBytes = txBytes.clone();
+        GreedyMiner miner = new GreedyMiner();
+
+        miner.cancel();
+
+        Assert.assertFalse("a cancelled miner should not start mining", miner.mine(txBytes, 1, 1));
+        Assert.assertArrayEquals("the byte block should not have been modified", originalBytes, txBytes);
+        Assert.assertNull(miner.getHash());
+    }
     
 
     
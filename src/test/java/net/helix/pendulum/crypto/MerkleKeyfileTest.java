@@ -0,0 +1,78 @@
+package net.helix.pendulum.crypto;
+
+import net.helix.pendulum.model.Hash;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+public class MerkleKeyfileTest {
+
+    private static final Random RND = new Random();
+
+    private static final int PUBKEY_DEPTH = 2;
+
+    private static final int SECURITY = 1;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void createdKeyfileIsCachedTest() throws Exception {
+        byte[] seed = randomSeed();
+        String path = folder.newFile().getPath();
+        List<List<Hash>> merkleTree = Merkle.buildMerkleKeyTree(Hex.toHexString(seed), PUBKEY_DEPTH, 0,
+                1 << PUBKEY_DEPTH, SECURITY);
+
+        MerkleKeyfile keyfile = MerkleKeyfile.create(merkleTree, seed, PUBKEY_DEPTH, 0, 0, path);
+        Assert.assertSame(keyfile, MerkleKeyfile.load(path));
+        Assert.assertEquals(merkleTree.get(merkleTree.size() - 1).get(0).toString(),
+                keyfile.getAddress().toString());
+    }
+
+    @Test
+    public void signingKeysMatchDerivedKeysTest() throws Exception {
+        byte[] seed = randomSeed();
+        String path = folder.newFile().getPath();
+        List<List<Hash>> merkleTree = Merkle.buildMerkleKeyTree(Hex.toHexString(seed), PUBKEY_DEPTH, 0,
+                1 << PUBKEY_DEPTH, SECURITY);
+        MerkleKeyfile keyfile = MerkleKeyfile.create(merkleTree, seed, PUBKEY_DEPTH, 0, 0, path);
+
+        for (int keyIndex = 0; keyIndex < 1 << PUBKEY_DEPTH; keyIndex++) {
+            byte[] subseed = Winternitz.subseed(SpongeFactory.Mode.S256, seed, keyIndex);
+            Assert.assertArrayEquals(Winternitz.key(SpongeFactory.Mode.S256, subseed, SECURITY),
+                    keyfile.getSigningKey(keyIndex, SECURITY));
+        }
+    }
+
+    @Test
+    public void persistedKeyIndexIsRestoredTest() throws Exception {
+        byte[] seed = randomSeed();
+        String path = folder.newFile().getPath();
+        List<List<Hash>> merkleTree = Merkle.buildMerkleKeyTree(Hex.toHexString(seed), PUBKEY_DEPTH, 0,
+                1 << PUBKEY_DEPTH, SECURITY);
+        Merkle.createKeyfile(merkleTree, seed, PUBKEY_DEPTH, 0, 0, path);
+        Files.write(Paths.get(path + MerkleKeyfile.INDEX_FILE_SUFFIX), "0 3".getBytes(StandardCharsets.UTF_8));
+
+        MerkleKeyfile keyfile = MerkleKeyfile.load(path);
+        Assert.assertEquals(3, keyfile.getKeyIndex());
+        Assert.assertEquals(Hex.toHexString(seed), keyfile.getSeed());
+
+        keyfile.writeKeyIndex(4);
+        Assert.assertEquals("0 4", new String(Files.readAllBytes(Paths.get(path + MerkleKeyfile.INDEX_FILE_SUFFIX)),
+                StandardCharsets.UTF_8));
+    }
+
+    private static byte[] randomSeed() {
+        byte[] seed = new byte[Sha3.HASH_LENGTH];
+        RND.nextBytes(seed);
+        return seed;
+    }
+}
@@ -0,0 +1,57 @@
+package net.helix.pendulum.crypto;
+
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class MerkleTest {
+
+    private static final Random RND = new Random();
+
+    private static final int PUBKEY_DEPTH = 6;
+
+    private static final int SECURITY = 1;
+
+    @Test
+    public void parallelKeyTreeMatchesSequentialLeavesTest() {
+        byte[] seed = new byte[Sha3.HASH_LENGTH];
+        RND.nextBytes(seed);
+        int firstIndex = 1 << PUBKEY_DEPTH;
+
+        List<Hash> leaves = new ArrayList<>();
+        for (int i = 0; i < 1 << PUBKEY_DEPTH; i++) {
+            leaves.add(HashFactory.ADDRESS.create(Winternitz.generateAddress(seed, firstIndex + i, SECURITY)));
+        }
+        List<List<Hash>> expected = Merkle.buildMerkleTree(leaves);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<List<Hash>> merkleTree = Merkle.buildMerkleKeyTree(Hex.toHexString(seed), PUBKEY_DEPTH, firstIndex,
+                    1 << PUBKEY_DEPTH, SECURITY, pool);
+            Assert.assertEquals(expected, merkleTree);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void missingSiblingIsHashedAsNullKeyTest() {
+        Hash leaf = HashFactory.TRANSACTION.create(Sha3.getStandardHash(new byte[]{1}));
+        List<List<Hash>> merkleTree = Merkle.buildMerkleTree(new ArrayList<>(Arrays.asList(leaf, null)));
+
+        Sponge sha3 = SpongeFactory.create(SpongeFactory.Mode.S256);
+        byte[] root = new byte[Sha3.HASH_LENGTH];
+        sha3.absorb(leaf.bytes(), 0, Sha3.HASH_LENGTH);
+        sha3.absorb(new byte[Sha3.HASH_LENGTH], 0, Sha3.HASH_LENGTH);
+        sha3.squeeze(root, 0, root.length);
+        Assert.assertEquals(HashFactory.TRANSACTION.create(root), merkleTree.get(1).get(0));
+    }
+}
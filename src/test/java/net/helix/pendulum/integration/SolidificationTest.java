@@ -49,14 +49,13 @@ public class SolidificationTest extends AbstractPendulumTest {
 
         tip1.store(tangle, snapshotProvider.getInitialSnapshot());
         tip2.store(tangle, snapshotProvider.getInitialSnapshot());
-        trunk.store(tangle, snapshotProvider.getInitialSnapshot());
-        branch.store(tangle, snapshotProvider.getInitialSnapshot());
-
 
         assertEquals("Should be two tips", 2, tipsViewModel.getTips().size());
         assertEquals("Should be no solid tips", 0, tipsViewModel.solidSize());
 
-        txValidator.solidifyBackwards();
+        // the arriving parents solidify the tips that wait for them
+        trunk.store(tangle, snapshotProvider.getInitialSnapshot());
+        branch.store(tangle, snapshotProvider.getInitialSnapshot());
 
         tip1 = tangleCache.getTxVM(tip1.getHash());
         tip2 = tangleCache.getTxVM(tip2.getHash());
@@ -123,7 +122,6 @@ public class SolidificationTest extends AbstractPendulumTest {
         assertTrue("should be a milestone", tailMilestone.isMilestone());
         assertFalse("Not solid yet", tailMilestone.isSolid());
 
-        txValidator.solidifyForward();
         //txValidator.checkSolidity(milestoneTxs.get(1));
 
         assertTrue("Tip1 should be requested", node.getRequestQueue().isTransactionRequested(tip1.getHash(), false));
@@ -132,16 +130,12 @@ public class SolidificationTest extends AbstractPendulumTest {
         tip1.store(tangle, snapshotProvider.getInitialSnapshot());
         tip2.store(tangle, snapshotProvider.getInitialSnapshot());
 
-        txValidator.solidifyForward();
-
         assertTrue("Trunk should be requested", node.getRequestQueue().isTransactionRequested(trunk.getHash(), false));
         assertTrue("Branch should be requested", node.getRequestQueue().isTransactionRequested(branch.getHash(), false));
 
         trunk.store(tangle, snapshotProvider.getInitialSnapshot());
         branch.store(tangle, snapshotProvider.getInitialSnapshot());
 
-        txValidator.solidifyBackwards();
-
         for (Hash hash : milestoneTxs) {
             assertTrue("milestone should be solidified",
                     TransactionViewModel.fromHash(tangle, hash).isSolid());
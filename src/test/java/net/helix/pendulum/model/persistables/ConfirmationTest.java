@@ -0,0 +1,38 @@
+package net.helix.pendulum.model.persistables;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+
+public class ConfirmationTest {
+
+    @Test
+    public void writeAndReadTest() {
+        int roundIndex = 4242;
+        int confirmations = 7;
+
+        byte[] dataIN = new byte[Integer.BYTES * 2];
+        ByteBuffer b = ByteBuffer.wrap(dataIN);
+        b.putInt(roundIndex);
+        b.putInt(confirmations);
+
+        Confirmation confirmation = new Confirmation();
+        confirmation.read(dataIN);
+        Assert.assertTrue(confirmation.exists());
+        Assert.assertEquals(roundIndex, confirmation.roundIndex);
+        Assert.assertEquals(confirmations, confirmation.confirmations);
+
+        byte[] dataOUT = confirmation.bytes();
+        Assert.assertArrayEquals(dataIN, dataOUT);
+    }
+
+    @Test
+    public void readMissingEntryTest() {
+        Confirmation confirmation = new Confirmation();
+        confirmation.read(null);
+        Assert.assertFalse(confirmation.exists());
+        Assert.assertEquals(0, confirmation.roundIndex);
+    }
+}
@@ -0,0 +1,73 @@
+package net.helix.pendulum.network;
+
+import net.helix.pendulum.network.impl.TxPacketData;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class NeighborTest {
+
+    @After
+    public void tearDown() {
+        Neighbor.configureOutbound(1_000, -1, -1);
+    }
+
+    @Test
+    public void fullQueueDropsOldestPacketTest() {
+        Neighbor.configureOutbound(2, -1, -1);
+        TCPNeighbor neighbor = new TCPNeighbor(new InetSocketAddress("localhost", 42), false);
+
+        PacketData first = packet();
+        PacketData second = packet();
+        PacketData third = packet();
+        neighbor.send(first);
+        neighbor.send(second);
+        neighbor.send(third);
+
+        assertEquals(2, neighbor.getOutboundQueueSize());
+        assertEquals(1, neighbor.getNumberOfDroppedPackets());
+        assertSame(second, neighbor.pollNextMessage());
+        assertSame(third, neighbor.pollNextMessage());
+        assertNull(neighbor.pollNextMessage());
+    }
+
+    @Test
+    public void neighborSendLimitIsRespectedTest() {
+        Neighbor.configureOutbound(100, 2, -1);
+        TCPNeighbor neighbor = new TCPNeighbor(new InetSocketAddress("localhost", 42), false);
+        for (int i = 0; i < 5; i++) {
+            neighbor.send(packet());
+        }
+
+        int sent = 0;
+        while (neighbor.pollNextMessage() != null) {
+            sent++;
+        }
+        assertEquals("the burst of the neighbor should have been sent", 2, sent);
+        assertEquals(3, neighbor.getOutboundQueueSize());
+    }
+
+    @Test
+    public void neighborsDoNotShareTheirLimitsTest() {
+        Neighbor.configureOutbound(100, 1, -1);
+        TCPNeighbor slowNeighbor = new TCPNeighbor(new InetSocketAddress("localhost", 42), false);
+        TCPNeighbor otherNeighbor = new TCPNeighbor(new InetSocketAddress("localhost", 43), false);
+        slowNeighbor.send(packet());
+        slowNeighbor.send(packet());
+        otherNeighbor.send(packet());
+
+        slowNeighbor.pollNextMessage();
+        assertNull("the slow neighbor should be rate limited", slowNeighbor.pollNextMessage());
+        assertNotNull("the other neighbor should not be affected", otherNeighbor.pollNextMessage());
+    }
+
+    private static PacketData packet() {
+        return new TxPacketData(null, null);
+    }
+}
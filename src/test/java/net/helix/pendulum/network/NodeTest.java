@@ -7,14 +7,16 @@ import ch.qos.logback.core.Appender;
 import net.helix.pendulum.AbstractPendulumTest;
 import net.helix.pendulum.Pendulum;
 import net.helix.pendulum.TransactionValidator;
-import net.helix.pendulum.conf.NodeConfig;
 import net.helix.pendulum.conf.PendulumConfig;
 import net.helix.pendulum.controllers.TipsViewModel;
 import net.helix.pendulum.controllers.TransactionViewModel;
 import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.persistables.Transaction;
 import net.helix.pendulum.service.milestone.MilestoneTracker;
 import net.helix.pendulum.service.snapshot.SnapshotProvider;
 import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import org.bouncycastle.jce.provider.JDKKeyFactory;
 import org.junit.*;
 import org.mockito.*;
@@ -28,6 +30,8 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.URI;
 
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+
 import static org.mockito.Mockito.*;
 
 
@@ -96,14 +100,18 @@ public class NodeTest extends AbstractPendulumTest {
 
     @Test
     public void whenProcessReceivedDataSetArrivalTimeToCurrentMillis() throws Exception {
-        Node node = new Node(mock(Tangle.class), mock(SnapshotProvider.class), mock(TransactionValidator.class), null, null, mock(NodeConfig.class));
+        Pendulum.ServiceRegistry.get().register(Tangle.class, mock(Tangle.class));
+        Pendulum.ServiceRegistry.get().register(SnapshotProvider.class, mock(SnapshotProvider.class));
+        Pendulum.ServiceRegistry.get().register(TransactionValidator.class, mock(TransactionValidator.class));
+        Node node = new Node();
+        node.init();
         TransactionViewModel transaction = mock(TransactionViewModel.class);
         // It is important to stub the getHash method here because processReceivedData will broadcast the transaction.
         // This might sometimes (concurrency issue) lead to a NPE in the process receiver thread.
         // See executor.submit(spawnProcessReceivedThread()) -> Node.weightQueue -> transaction.getHash().bytes()[i]
         when(transaction.getHash()).thenReturn(Hash.NULL_HASH);
         when(transaction.store(any(), any())).thenReturn(true);
-        Neighbor neighbor = mock(Neighbor.class, Answers.RETURNS_SMART_NULLS.get());
+        Neighbor neighbor = mock(Neighbor.class, Answers.RETURNS_SMART_NULLS);
         node.processReceivedTx(transaction, neighbor);
         verify(transaction).setArrivalTime(longThat(
                 new ArgumentMatcher() {
@@ -116,4 +124,97 @@ public class NodeTest extends AbstractPendulumTest {
         ));
     }
 
+    @Test
+    public void repeatedRequestsOfANeighborAreAnsweredOnceTest() throws Exception {
+        Node replyNode = createReplyNode(tangle);
+        Neighbor neighbor = mockNeighbor(1);
+        Hash requestedHash = getTxWithoutBranchAndTrunk().getHash();
+
+        for (int i = 0; i < 3; i++) {
+            replyNode.toReplyQueue(requestedHash, neighbor);
+        }
+        replyNode.processReplyQueue();
+
+        verify(neighbor, times(1)).send(any());
+    }
+
+    @Test
+    public void transactionRequestedByTwoNeighborsIsLoadedOnceTest() throws Exception {
+        // the transaction is stored before the node subscribes, so it is not in the cache of the served bytes
+        Hash requestedHash = getTxWithoutBranchAndTrunk().getHash();
+        Tangle replyTangle = spy(tangle);
+        Node replyNode = createReplyNode(replyTangle);
+        Neighbor firstNeighbor = mockNeighbor(1);
+        Neighbor secondNeighbor = mockNeighbor(2);
+        Counter misses = MetricsRegistry.get().counter("pendulum_node_served_bytes_cache_misses_total", "");
+        long missesBefore = misses.get();
+
+        replyNode.toReplyQueue(requestedHash, firstNeighbor);
+        replyNode.toReplyQueue(requestedHash, secondNeighbor);
+        replyNode.processReplyQueue();
+
+        verify(replyTangle, times(1)).loadBatch(eq(Transaction.class), anyList(), eq(false));
+        Assert.assertEquals("the transaction should be loaded once", missesBefore + 1, misses.get());
+        verify(firstNeighbor, times(1)).send(any());
+        verify(secondNeighbor, times(1)).send(any());
+    }
+
+    @Test
+    public void servedBytesAreCachedTest() throws Exception {
+        Hash requestedHash = getTxWithoutBranchAndTrunk().getHash();
+        Tangle replyTangle = spy(tangle);
+        Node replyNode = createReplyNode(replyTangle);
+        Neighbor neighbor = mockNeighbor(1);
+        Counter hits = MetricsRegistry.get().counter("pendulum_node_served_bytes_cache_hits_total", "");
+        Counter misses = MetricsRegistry.get().counter("pendulum_node_served_bytes_cache_misses_total", "");
+        long hitsBefore = hits.get();
+        long missesBefore = misses.get();
+
+        replyNode.toReplyQueue(requestedHash, neighbor);
+        replyNode.processReplyQueue();
+        Assert.assertEquals("the first request should miss the cache", missesBefore + 1, misses.get());
+        Assert.assertEquals(hitsBefore, hits.get());
+
+        replyNode.toReplyQueue(requestedHash, neighbor);
+        replyNode.processReplyQueue();
+        Assert.assertEquals("the second request should be answered from the cache", hitsBefore + 1, hits.get());
+        Assert.assertEquals(missesBefore + 1, misses.get());
+
+        verify(replyTangle, times(1)).loadBatch(eq(Transaction.class), anyList(), eq(false));
+        verify(neighbor, times(2)).send(any());
+    }
+
+    @Test
+    public void unknownRequestedTransactionIsRequestedTest() throws Exception {
+        Node replyNode = createReplyNode(tangle);
+        Neighbor neighbor = mockNeighbor(1);
+        Hash unknownHash = getTransactionHash();
+
+        replyNode.toReplyQueue(unknownHash, neighbor);
+        replyNode.processReplyQueue();
+
+        verify(neighbor, never()).send(any());
+        Assert.assertTrue("the unknown transaction should be requested from the neighbors",
+                replyNode.getRequestQueue().isTransactionRequested(unknownHash, false));
+    }
+
+    /**
+     * Creates a node that answers the requests of the neighbors with the given tangle and the test configuration.
+     */
+    private Node createReplyNode(Tangle replyTangle) {
+        Pendulum.ServiceRegistry.get().register(PendulumConfig.class, config);
+        Pendulum.ServiceRegistry.get().register(Tangle.class, replyTangle);
+
+        Node replyNode = new Node();
+        replyNode.init();
+
+        return replyNode;
+    }
+
+    private static Neighbor mockNeighbor(int port) {
+        Neighbor neighbor = mock(Neighbor.class);
+        doReturn(new InetSocketAddress("localhost", port)).when(neighbor).getAddress();
+
+        return neighbor;
+    }
 }
@@ -0,0 +1,40 @@
+package net.helix.pendulum.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketTest {
+
+    @Test
+    public void unlimitedBucketNeverBlocksTest() {
+        TokenBucket bucket = new TokenBucket(-1);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue("unlimited bucket refused a token", bucket.tryAcquire());
+        }
+        assertEquals(0, bucket.nanosUntilAvailable());
+    }
+
+    @Test
+    public void burstIsLimitedToRateTest() {
+        TokenBucket bucket = new TokenBucket(10);
+        for (int i = 0; i < 10; i++) {
+            assertTrue("bucket refused a token of its burst", bucket.tryAcquire());
+        }
+        assertFalse("bucket handed out more tokens than its burst", bucket.tryAcquire());
+        assertTrue("bucket does not report a waiting time", bucket.nanosUntilAvailable() > 0);
+    }
+
+    @Test
+    public void bucketRefillsOverTimeTest() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100);
+        while (bucket.tryAcquire()) {
+            // empty the bucket
+        }
+
+        Thread.sleep(50);
+        assertTrue("bucket was not refilled", bucket.tryAcquire());
+    }
+}
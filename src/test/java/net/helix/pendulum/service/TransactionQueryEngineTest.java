@@ -0,0 +1,37 @@
+package net.helix.pendulum.service;
+
+import net.helix.pendulum.model.Hash;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+
+public class TransactionQueryEngineTest {
+
+    @Test
+    public void intersectReturnsCommonTransactions() {
+        Hash a = getTransactionHash();
+        Hash b = getTransactionHash();
+        Hash c = getTransactionHash();
+
+        Set<Hash> first = new HashSet<>(Arrays.asList(a, b, c));
+        Set<Hash> second = new HashSet<>(Arrays.asList(b, c));
+        Set<Hash> third = new HashSet<>(Arrays.asList(a, c));
+
+        Set<Hash> result = TransactionQueryEngine.intersect(Arrays.asList(first, second, third), 10);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(c)), result);
+    }
+
+    @Test
+    public void intersectAbortsWhenLimitIsExceeded() {
+        Set<Hash> transactions = new HashSet<>(Arrays.asList(getTransactionHash(), getTransactionHash(),
+                getTransactionHash()));
+
+        Assert.assertNull(TransactionQueryEngine.intersect(Arrays.asList(transactions, transactions), 2));
+        Assert.assertEquals(transactions, TransactionQueryEngine.intersect(Arrays.asList(transactions), 3));
+    }
+}
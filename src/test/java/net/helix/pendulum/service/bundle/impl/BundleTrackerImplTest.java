@@ -0,0 +1,159 @@
+package net.helix.pendulum.service.bundle.impl;
+
+import net.helix.pendulum.TransactionTestUtils;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.event.EventType;
+import net.helix.pendulum.event.EventUtils;
+import net.helix.pendulum.event.PendulumEventListener;
+import net.helix.pendulum.model.Hash;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class BundleTrackerImplTest {
+
+    private final List<Hash[]> completedBundles = new ArrayList<>();
+
+    private final PendulumEventListener listener =
+            (type, ctx) -> completedBundles.add(EventUtils.getBundleTransactions(ctx));
+
+    @Before
+    public void setUp() {
+        EventManager.get().subscribe(EventType.BUNDLE_COMPLETE, listener);
+    }
+
+    @After
+    public void tearDown() {
+        EventManager.get().unsubscribe(listener);
+    }
+
+    @Test
+    public void firesASingleEventWhenTheBundleIsCompleteTest() {
+        BundleTrackerImpl bundleTracker = createBundleTracker(1000, null);
+
+        TransactionViewModel head = createBundleHead(2);
+        TransactionViewModel middle = createTransactionWithTrunkBundleHash(head);
+        TransactionViewModel tail = createTransactionWithTrunkBundleHash(middle);
+        TransactionViewModel reattachedMiddle = createTransactionWithTrunkBundleHash(head);
+
+        bundleTracker.add(tail);
+        bundleTracker.add(head);
+        bundleTracker.add(tail);
+        assertEquals("the bundle should not be complete yet", 0, completedBundles.size());
+
+        bundleTracker.add(middle);
+        bundleTracker.add(reattachedMiddle);
+
+        assertEquals("the bundle should have been completed exactly once", 1, completedBundles.size());
+        assertArrayEquals("the transactions should be ordered by their index",
+                new Hash[]{tail.getHash(), middle.getHash(), head.getHash()}, completedBundles.get(0));
+        assertEquals("the completed bundle should be remembered", 1, bundleTracker.size());
+    }
+
+    @Test
+    public void dropsTheOldestBundlesThatExceedTheBudgetTest() {
+        BundleTrackerImpl bundleTracker = createBundleTracker(4, null);
+
+        TransactionViewModel firstHead = createBundleHead(2);
+        TransactionViewModel secondHead = createBundleHead(2);
+        bundleTracker.add(firstHead);
+        bundleTracker.add(secondHead);
+
+        assertEquals("the oldest bundle should have been dropped", 1, bundleTracker.size());
+
+        TransactionViewModel secondMiddle = createTransactionWithTrunkBundleHash(secondHead);
+        bundleTracker.add(secondMiddle);
+        bundleTracker.add(createTransactionWithTrunkBundleHash(secondMiddle));
+
+        assertEquals("the remaining bundle should have been completed", 1, completedBundles.size());
+    }
+
+    @Test
+    public void conflictingTransactionsReleaseTheirIndexTest() {
+        BundleTrackerImpl bundleTracker = createBundleTracker(1000, null);
+
+        TransactionViewModel head = createBundleHead(2);
+        TransactionViewModel middle = createTransactionWithTrunkBundleHash(head);
+        TransactionViewModel forgedMiddle = createTransactionWithTrunkBundleHash(head);
+        TransactionViewModel tail = createTransactionWithTrunkBundleHash(middle);
+
+        bundleTracker.add(tail);
+        bundleTracker.add(forgedMiddle);
+        bundleTracker.add(middle);
+        bundleTracker.add(head);
+        assertEquals("the conflicting transactions should not complete the bundle", 0, completedBundles.size());
+
+        bundleTracker.add(middle);
+
+        assertEquals("the bundle should have been completed", 1, completedBundles.size());
+        assertArrayEquals("the index should have been claimed by the later arrival",
+                new Hash[]{tail.getHash(), middle.getHash(), head.getHash()}, completedBundles.get(0));
+    }
+
+    @Test
+    public void dropsInvalidBundlesTest() {
+        TransactionViewModel head = createBundleHead(2);
+        TransactionViewModel middle = createTransactionWithTrunkBundleHash(head);
+        TransactionViewModel forgedMiddle = createTransactionWithTrunkBundleHash(head);
+        TransactionViewModel tail = createTransactionWithTrunkBundleHash(middle);
+        BundleTrackerImpl bundleTracker = createBundleTracker(1000, forgedMiddle.getHash());
+
+        bundleTracker.add(tail);
+        bundleTracker.add(forgedMiddle);
+        bundleTracker.add(head);
+
+        assertEquals("the invalid bundle should not have been completed", 0, completedBundles.size());
+        assertEquals("the invalid bundle should have been dropped", 0, bundleTracker.size());
+
+        bundleTracker.add(tail);
+        bundleTracker.add(middle);
+        bundleTracker.add(head);
+
+        assertEquals("the bundle should have been assembled again", 1, completedBundles.size());
+        assertArrayEquals("the transactions should be ordered by their index",
+                new Hash[]{tail.getHash(), middle.getHash(), head.getHash()}, completedBundles.get(0));
+    }
+
+    /**
+     * Creates a tracker that considers all bundles valid which do not contain the given transaction (the validation
+     * of the real bundles is covered by the tests of the {@link net.helix.pendulum.BundleValidator}).
+     */
+    private static BundleTrackerImpl createBundleTracker(int maxTrackedTransactions, Hash invalidTransaction) {
+        return new BundleTrackerImpl(60000, maxTrackedTransactions) {
+            @Override
+            boolean isValid(Hash[] transactions) {
+                return !Arrays.asList(transactions).contains(invalidTransaction);
+            }
+        };
+    }
+
+    /**
+     * Creates a bundle head with the given index and parses its metadata like it is done when it is stored.
+     */
+    private static TransactionViewModel createBundleHead(int index) {
+        TransactionViewModel transaction = TransactionTestUtils.createBundleHead(index);
+        transaction.setMetadata();
+
+        return transaction;
+    }
+
+    /**
+     * Creates the transaction with the next lower index of the bundle of the trunk and parses its metadata like it is
+     * done when it is stored.
+     */
+    private static TransactionViewModel createTransactionWithTrunkBundleHash(TransactionViewModel trunk) {
+        TransactionViewModel transaction = TransactionTestUtils.createTransactionWithTrunkBundleHash(trunk,
+                Hash.NULL_HASH);
+        transaction.setMetadata();
+
+        return transaction;
+    }
+}
@@ -0,0 +1,201 @@
+package net.helix.pendulum.service.milestone.impl;
+
+import net.helix.pendulum.Pendulum;
+import net.helix.pendulum.TransactionValidator;
+import net.helix.pendulum.conf.ExecutorConfig;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.event.EventType;
+import net.helix.pendulum.event.EventUtils;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.network.Node;
+import net.helix.pendulum.service.snapshot.Snapshot;
+import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
+import net.helix.pendulum.utils.thread.ExecutorRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionBytesWithTrunkAndBranch;
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubtangleSolidifierImplTest {
+
+    private static final int MAINTENANCE_INTERVAL = 50;
+
+    private static final int TIMEOUT = 5000;
+
+    private final TemporaryFolder dbFolder = new TemporaryFolder();
+    private final TemporaryFolder logFolder = new TemporaryFolder();
+    private final Tangle tangle = new Tangle();
+
+    /**
+     * Holds the index of the initial snapshot, which is raised by the tests to prune rounds.
+     */
+    private final AtomicInteger initialSnapshotIndex = new AtomicInteger(0);
+
+    private Snapshot initialSnapshot;
+    private Node.RequestQueue requestQueue;
+    private SubtangleSolidifierImpl subtangleSolidifier;
+
+    @Before
+    public void setUp() throws Exception {
+        EventManager.get().clear();
+        Pendulum.ServiceRegistry.get().clear();
+
+        dbFolder.create();
+        logFolder.create();
+        tangle.addPersistenceProvider(new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(),
+                1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+
+        initialSnapshot = Mockito.mock(Snapshot.class);
+        when(initialSnapshot.getIndex()).thenAnswer(invocation -> initialSnapshotIndex.get());
+        SnapshotProvider snapshotProvider = Mockito.mock(SnapshotProvider.class);
+        when(snapshotProvider.getInitialSnapshot()).thenReturn(initialSnapshot);
+
+        // the traversal follows the trunk and the branch of the transactions
+        TransactionValidator transactionValidator = Mockito.mock(TransactionValidator.class);
+        when(transactionValidator.validateMvm(any())).thenReturn(true);
+        when(transactionValidator.getSolidificationParents(any())).thenAnswer(invocation -> {
+            TransactionViewModel transaction = invocation.getArgument(0);
+            return new LinkedHashSet<>(Arrays.asList(transaction.getTrunkTransactionHash(),
+                    transaction.getBranchTransactionHash()));
+        });
+
+        requestQueue = Mockito.mock(Node.RequestQueue.class);
+
+        ExecutorConfig executorConfig = Mockito.mock(ExecutorConfig.class);
+        when(executorConfig.getExecutorIntervals())
+                .thenReturn(Collections.singletonMap("subtangle-solidifier", MAINTENANCE_INTERVAL));
+        ExecutorRegistry.get().configure(executorConfig);
+
+        Pendulum.ServiceRegistry.get().register(Tangle.class, tangle);
+        Pendulum.ServiceRegistry.get().register(SnapshotProvider.class, snapshotProvider);
+        Pendulum.ServiceRegistry.get().register(TransactionValidator.class, transactionValidator);
+        Pendulum.ServiceRegistry.get().register(Node.RequestQueue.class, requestQueue);
+
+        subtangleSolidifier = new SubtangleSolidifierImpl();
+        subtangleSolidifier.init();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        subtangleSolidifier.shutdown();
+        ExecutorRegistry.get().configure(Mockito.mock(ExecutorConfig.class));
+        tangle.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+        EventManager.get().clear();
+        Pendulum.ServiceRegistry.get().clear();
+    }
+
+    @Test
+    public void arrivingTransactionContinuesTheTraversalTest() throws Exception {
+        Hash milestone = getTransactionHash();
+        Hash trunk = getTransactionHash();
+        Hash branch = getTransactionHash();
+
+        subtangleSolidifier.add(milestone, 1, true);
+        subtangleSolidifier.start();
+        verify(requestQueue, timeout(TIMEOUT).atLeastOnce()).enqueueTransaction(milestone, true);
+
+        // storing the missing milestone continues the traversal at its parents
+        new TransactionViewModel(getTransactionBytesWithTrunkAndBranch(trunk, branch), milestone)
+                .store(tangle, initialSnapshot);
+
+        verify(requestQueue, timeout(TIMEOUT).atLeastOnce()).enqueueTransaction(trunk, true);
+        verify(requestQueue, timeout(TIMEOUT).atLeastOnce()).enqueueTransaction(branch, true);
+        assertEquals("the milestone should still be solidified", 1, subtangleSolidifier.size());
+    }
+
+    @Test
+    public void solidifiedRootRemovesTheFrontierTest() throws Exception {
+        Hash milestone = getTransactionHash();
+        Hash trunk = getTransactionHash();
+
+        subtangleSolidifier.add(milestone, 1, true);
+        subtangleSolidifier.start();
+        verify(requestQueue, timeout(TIMEOUT).atLeastOnce()).enqueueTransaction(milestone, true);
+
+        EventManager.get().fire(EventType.TX_SOLIDIFIED, EventUtils.fromTxHash(milestone));
+        assertEquals("the solid milestone should have been removed", 0, subtangleSolidifier.size());
+
+        // the dropped frontier does not wait for its missing transactions anymore
+        new TransactionViewModel(getTransactionBytesWithTrunkAndBranch(trunk, trunk), milestone)
+                .store(tangle, initialSnapshot);
+        Thread.sleep(MAINTENANCE_INTERVAL * 4);
+
+        verify(requestQueue, never()).enqueueTransaction(eq(trunk), anyBoolean());
+    }
+
+    @Test
+    public void prunedRoundsAreRemovedTest() throws Exception {
+        subtangleSolidifier.add(getTransactionHash(), 5, true);
+        subtangleSolidifier.add(getTransactionHash(), 10, false);
+        subtangleSolidifier.start();
+
+        initialSnapshotIndex.set(5);
+        waitFor(() -> subtangleSolidifier.size() == 1);
+
+        subtangleSolidifier.add(getTransactionHash(), 4, true);
+        assertEquals("rounds of the initial snapshot should not be added", 1, subtangleSolidifier.size());
+
+        initialSnapshotIndex.set(10);
+        waitFor(() -> subtangleSolidifier.size() == 0);
+    }
+
+    @Test
+    public void milestonesArePrioritizedOverCandidatesTest() throws Exception {
+        // the candidates are older than the milestone and fill all active frontiers
+        List<Hash> candidates = new ArrayList<>();
+        for (int roundIndex = 1; roundIndex <= 10; roundIndex++) {
+            Hash candidate = getTransactionHash();
+            subtangleSolidifier.add(candidate, roundIndex, false);
+            candidates.add(candidate);
+        }
+        Hash milestone = getTransactionHash();
+        subtangleSolidifier.add(milestone, 20, true);
+
+        subtangleSolidifier.start();
+
+        verify(requestQueue, timeout(TIMEOUT).atLeastOnce()).enqueueTransaction(milestone, true);
+        for (Hash candidate : candidates.subList(0, 9)) {
+            verify(requestQueue, timeout(TIMEOUT).atLeastOnce()).enqueueTransaction(candidate, false);
+        }
+        Thread.sleep(MAINTENANCE_INTERVAL * 4);
+
+        verify(requestQueue, never()).enqueueTransaction(eq(candidates.get(9)), anyBoolean());
+        assertEquals(11, subtangleSolidifier.size());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertTrue("the condition was not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.helix.pendulum.service.pow;
+
+import net.helix.pendulum.TransactionTestUtils;
+import net.helix.pendulum.TransactionValidator;
+import net.helix.pendulum.conf.PendulumConfig;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.crypto.Sha3;
+import net.helix.pendulum.crypto.Sponge;
+import net.helix.pendulum.crypto.SpongeFactory;
+import net.helix.pendulum.model.Hash;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PowServiceTest {
+
+    private static final String TX = Hex.toHexString(new byte[TransactionViewModel.SIZE]);
+
+    private PowService powService;
+
+    @After
+    public void tearDown() {
+        if (powService != null) {
+            powService.shutdown();
+        }
+    }
+
+    @Test
+    public void chainsTheTransactionsOfABundleTest() throws Exception {
+        powService = createService(2, 4);
+        Hash trunk = TransactionTestUtils.getTransactionHash();
+        Hash branch = TransactionTestUtils.getTransactionHash();
+
+        PowJob job = powService.submit("client", trunk, branch, 1, Arrays.asList(TX, TX));
+        List<String> result = job.getResult().get(10, TimeUnit.SECONDS);
+
+        assertEquals(PowJob.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getMinedTransactions());
+        assertEquals("the transactions should have been returned in reversed order", 2, result.size());
+
+        byte[] first = Hex.decode(result.get(1));
+        byte[] second = Hex.decode(result.get(0));
+        assertArrayEquals("the first transaction should reference the trunk", trunk.bytes(), trunkOf(first));
+        assertArrayEquals("the second transaction should reference the first one", hash(first), trunkOf(second));
+        assertTrue("the nonce should have been found", hash(second)[0] == 0);
+    }
+
+    @Test
+    public void limitsTheJobsPerClientTest() throws Exception {
+        powService = createService(1, 1);
+
+        // the jobs never finish with this difficulty
+        PowJob running = powService.submit("client", Hash.NULL_HASH, Hash.NULL_HASH, 16, Collections.singletonList(TX));
+        try {
+            powService.submit("client", Hash.NULL_HASH, Hash.NULL_HASH, 16, Collections.singletonList(TX));
+            fail("the second job of the client should have been rejected");
+        } catch (PowException e) {
+            // expected
+        }
+        PowJob queued = powService.submit("other", Hash.NULL_HASH, Hash.NULL_HASH, 16, Collections.singletonList(TX));
+        powService.submit(PowService.LOCAL_CLIENT, Hash.NULL_HASH, Hash.NULL_HASH, 16, Collections.singletonList(TX));
+        powService.submit(PowService.LOCAL_CLIENT, Hash.NULL_HASH, Hash.NULL_HASH, 16, Collections.singletonList(TX));
+
+        assertEquals("the job should wait for a free slot", PowJob.Status.QUEUED, queued.getStatus());
+        assertEquals(queued, powService.getJob(queued.getId()));
+
+        powService.cancelAll();
+        assertEquals(Collections.emptyList(), running.getResult().get(10, TimeUnit.SECONDS));
+        assertEquals(PowJob.Status.CANCELLED, running.getStatus());
+        assertEquals(PowJob.Status.CANCELLED, queued.getStatus());
+
+        PowJob next = powService.submit("third", Hash.NULL_HASH, Hash.NULL_HASH, 1, Collections.singletonList(TX));
+        assertEquals("the worker of the cancelled job should have been released", 1,
+                next.getResult().get(10, TimeUnit.SECONDS).size());
+    }
+
+    private static PowService createService(int threads, int jobsPerClient) {
+        PendulumConfig config = Mockito.mock(PendulumConfig.class);
+        Mockito.when(config.getPowThreads()).thenReturn(threads);
+        Mockito.when(config.getPowJobsPerClient()).thenReturn(jobsPerClient);
+
+        return new PowService(config, Mockito.mock(TransactionValidator.class));
+    }
+
+    private static byte[] trunkOf(byte[] txBytes) {
+        return Arrays.copyOfRange(txBytes, TransactionViewModel.TRUNK_TRANSACTION_OFFSET,
+                TransactionViewModel.TRUNK_TRANSACTION_OFFSET + TransactionViewModel.TRUNK_TRANSACTION_SIZE);
+    }
+
+    private static byte[] hash(byte[] txBytes) {
+        Sponge sha3 = SpongeFactory.create(SpongeFactory.Mode.S256);
+        byte[] hash = new byte[Sha3.HASH_LENGTH];
+        sha3.absorb(txBytes, 0, txBytes.length);
+        sha3.squeeze(hash, 0, Sha3.HASH_LENGTH);
+        return hash;
+    }
+}
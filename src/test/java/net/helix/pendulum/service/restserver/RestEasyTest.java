@@ -128,4 +128,25 @@ public class RestEasyTest {
         assertEquals("Request should be accepted as we authenticated", Response.Status.OK, val.getStatusInfo());
     }
 
+    @Test
+    public void requestTooLong() {
+        Mockito.when(apiconfig.getMaxBodyLength()).thenReturn(10);
+
+        this.server = new RestEasy(apiconfig);
+        this.server.init((String param, InetAddress address) -> {
+            return GetNodeInfoResponse.createEmptyResponse();
+        });
+        this.server.start();
+
+        Client client = ClientBuilder.newClient();
+        String jsonString = "{\"command\": \"getNodeInfo\"}";
+        Response val = client.target(TestPortProvider.generateURL("/"))
+                .request()
+                .header("X-HELIX-API-Version", "1")
+                .post(Entity.entity(jsonString, MediaType.APPLICATION_JSON));
+
+        ErrorResponse response = val.readEntity(ErrorResponse.class);
+        assertEquals("Request should be rejected due to its length", "Request too long", response.getError());
+    }
+
 }
@@ -64,5 +64,55 @@ public class SnapshotImplTest {
         assertFalse("Adding a value to a clone should be reflected on the original", newSnapshot.removeSkippedMilestone(1));
         assertNotEquals("A clone should not be equal to its original after modification", oldSnapshot, newSnapshot);
     }
-    
+
+    @Test
+    public void viewTest() {
+        Snapshot snapshot = new SnapshotImpl(state, metaData);
+        Snapshot view = snapshot.view();
+
+        assertSame("Consecutive views of an unmodified snapshot should be the same instance", view, snapshot.view());
+        assertEquals("A view should have the version of its snapshot", snapshot.getVersion(), view.getVersion());
+
+        snapshot.setIndex(5);
+
+        assertEquals("A view should not be affected by modifications of its snapshot", 1, view.getIndex());
+        assertNotSame("A modification should publish a new view", view, snapshot.view());
+        assertEquals("A new view should reflect the modification", 5, snapshot.view().getIndex());
+        assertTrue("A modification should increase the version", snapshot.getVersion() > view.getVersion());
+    }
+
+    @Test
+    public void skippedMilestonesInvalidateTheViewTest() {
+        Snapshot snapshot = new SnapshotImpl(state, metaData);
+        Snapshot view = snapshot.view();
+
+        snapshot.addSkippedMilestone(3);
+        Snapshot viewWithSkippedMilestone = snapshot.view();
+        assertNotSame("Adding a skipped milestone should publish a new view", view, viewWithSkippedMilestone);
+        assertTrue("The new view should contain the skipped milestone", viewWithSkippedMilestone.clone()
+                .removeSkippedMilestone(3));
+
+        snapshot.removeSkippedMilestone(3);
+        assertNotSame("Removing a skipped milestone should publish a new view", viewWithSkippedMilestone,
+                snapshot.view());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void viewDuringWriteAccessTest() {
+        Snapshot snapshot = new SnapshotImpl(state, metaData);
+        snapshot.lockWrite();
+        try {
+            snapshot.setIndex(5);
+            snapshot.view();
+        } finally {
+            snapshot.unlockWrite();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewIsReadOnlyTest() {
+        Snapshot snapshot = new SnapshotImpl(state, metaData);
+        snapshot.view().setIndex(5);
+    }
+
 }
@@ -105,6 +105,25 @@ public class SnapshotStateImplTest {
         assertEquals("Applying state to an empty state should have -5 for A", -5, balance);
     }
     
+    @Test
+    public void cloneIsNotAffectedByAppliedStateDiffsTest() throws SnapshotException {
+        SnapshotStateImpl original = new SnapshotStateImpl(balanceState);
+        SnapshotStateImpl clone = new SnapshotStateImpl(original);
+
+        Map<Hash, Long> map = new HashMap<>();
+        map.put(Hash.NULL_HASH, 10L);
+        map.put(A, -10L);
+        original.applyStateDiff(new SnapshotStateDiffImpl(map));
+
+        assertNull("A should have been removed from the original", original.getBalance(A));
+        assertEquals("10 should have been added to genesis", TransactionViewModel.SUPPLY,
+                (long) original.getBalance(Hash.NULL_HASH));
+        assertTrue("The original should still have the correct supply", original.hasCorrectSupply());
+
+        assertEquals("The clone should keep the balances it was created with", balanceState, clone);
+        assertEquals("The balances of the clone should not be modified", 10L, (long) clone.getBalance(A));
+    }
+
     @Test(expected = SnapshotException.class)
     public void applyStateDiffThrowsExceptionTest() throws SnapshotException {
         SnapshotStateDiff diff = new SnapshotStateDiffImpl(inconsistentMap);
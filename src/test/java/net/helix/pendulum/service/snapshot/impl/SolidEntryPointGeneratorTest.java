@@ -0,0 +1,194 @@
+package net.helix.pendulum.service.snapshot.impl;
+
+import net.helix.pendulum.conf.MainnetConfig;
+import net.helix.pendulum.controllers.ApproveeViewModel;
+import net.helix.pendulum.controllers.RoundViewModel;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionBytes;
+import static net.helix.pendulum.TransactionTestUtils.getTransactionBytesWithTrunkAndBranch;
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+
+public class SolidEntryPointGeneratorTest {
+
+    private static final int TARGET_ROUND_INDEX = 5;
+
+    private static final int SECURITY = 1;
+
+    /**
+     * Timestamp of the confirmed tip of the target round in seconds.
+     */
+    private static final long REFERENCE_TIMESTAMP = 1000;
+
+    private static final int TRANSACTIONS = 300;
+
+    private final TemporaryFolder dbFolder = new TemporaryFolder();
+    private final TemporaryFolder logFolder = new TemporaryFolder();
+    private final Tangle tangle = new Tangle();
+    private SnapshotProvider snapshotProvider;
+
+    private final Random random = new Random(42);
+    private final List<Hash> transactions = new ArrayList<>();
+    private RoundViewModel targetRound;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFolder.create();
+        logFolder.create();
+        RocksDBPersistenceProvider rocksDBPersistenceProvider = new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(),
+                1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY);
+        tangle.addPersistenceProvider(rocksDBPersistenceProvider);
+        tangle.init();
+        snapshotProvider = new SnapshotProviderImpl().init(new MainnetConfig());
+
+        byte[] tipBytes = getTransactionBytes();
+        ByteBuffer.wrap(tipBytes).putLong(TransactionViewModel.TIMESTAMP_OFFSET, REFERENCE_TIMESTAMP);
+        TransactionViewModel confirmedTip = new TransactionViewModel(tipBytes, getTransactionHash());
+        confirmedTip.store(tangle, snapshotProvider.getInitialSnapshot());
+
+        targetRound = Mockito.mock(RoundViewModel.class);
+        Mockito.when(targetRound.index()).thenReturn(TARGET_ROUND_INDEX);
+        Mockito.when(targetRound.getConfirmedTips(tangle, SECURITY))
+                .thenReturn(Collections.singleton(confirmedTip.getHash()));
+
+        createTangle();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tangle.shutdown();
+        snapshotProvider.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+    }
+
+    @Test
+    public void parallelGenerationMatchesSequentialResultTest() throws Exception {
+        Set<Hash> expectedSolidEntryPoints = sequentialSolidEntryPoints(transactions);
+        Assert.assertFalse("the test tangle should contain solid entry points", expectedSolidEntryPoints.isEmpty());
+        Assert.assertNotEquals("the test tangle should contain transactions that are no solid entry points",
+                transactions.size(), expectedSolidEntryPoints.size());
+
+        for (int parallelism : new int[]{1, 4}) {
+            SolidEntryPointGenerator generator = new SolidEntryPointGenerator(tangle, targetRound, SECURITY,
+                    parallelism);
+            try {
+                Assert.assertEquals("the result with a parallelism of " + parallelism + " should match",
+                        expectedSolidEntryPoints, generator.filterSolidEntryPoints("test", transactions));
+            } finally {
+                generator.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void memoizedResultsMatchSequentialResultTest() throws Exception {
+        Counter memoizedResults = MetricsRegistry.get().counter("pendulum_solid_entry_points_memoized_total", "");
+        long memoizedResultsBefore = memoizedResults.get();
+        List<Hash> firstHalf = transactions.subList(0, TRANSACTIONS / 2);
+        List<Hash> reversedTransactions = new ArrayList<>(transactions);
+        Collections.reverse(reversedTransactions);
+
+        SolidEntryPointGenerator generator = new SolidEntryPointGenerator(tangle, targetRound, SECURITY, 4);
+        try {
+            // the second call reuses the memoized status of the candidates and traversals of the first one
+            Assert.assertEquals(sequentialSolidEntryPoints(firstHalf),
+                    generator.filterSolidEntryPoints("first half", firstHalf));
+            Assert.assertEquals(sequentialSolidEntryPoints(transactions),
+                    generator.filterSolidEntryPoints("all", reversedTransactions));
+        } finally {
+            generator.shutdown();
+        }
+
+        Assert.assertTrue("the reused results should be exported as a metric",
+                memoizedResults.get() >= memoizedResultsBefore + firstHalf.size());
+    }
+
+    /**
+     * Creates a random DAG whose transactions approve two earlier transactions and have random arrival times and
+     * snapshot indexes (unconfirmed, confirmed by an earlier round or confirmed by a later round).
+     */
+    private void createTangle() throws Exception {
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Hash trunk = transactions.isEmpty() ? Hash.NULL_HASH : transactions.get(random.nextInt(transactions.size()));
+            Hash branch = transactions.isEmpty() ? Hash.NULL_HASH : transactions.get(random.nextInt(transactions.size()));
+
+            TransactionViewModel transaction = new TransactionViewModel(
+                    getTransactionBytesWithTrunkAndBranch(trunk, branch), getTransactionHash());
+            // most transactions arrived before the confirmed tip, so the orphan walks have to go deep
+            transaction.setArrivalTime(random.nextInt(10) == 0
+                    ? (REFERENCE_TIMESTAMP + 1 + random.nextInt(1000)) * 1000L
+                    : random.nextInt((int) REFERENCE_TIMESTAMP) * 1000L);
+            transaction.store(tangle, snapshotProvider.getInitialSnapshot());
+
+            int snapshotIndex = random.nextInt(4);
+            if (snapshotIndex == 1) {
+                transaction.setSnapshot(tangle, snapshotProvider.getInitialSnapshot(), TARGET_ROUND_INDEX - 1);
+            } else if (snapshotIndex == 2) {
+                transaction.setSnapshot(tangle, snapshotProvider.getInitialSnapshot(), TARGET_ROUND_INDEX + 1);
+            }
+
+            transactions.add(transaction.getHash());
+        }
+    }
+
+    /**
+     * Determines the solid entry points one by one without memoizing any intermediate results.
+     */
+    private Set<Hash> sequentialSolidEntryPoints(Collection<Hash> candidates) throws Exception {
+        Set<Hash> solidEntryPoints = new HashSet<>();
+        for (Hash candidate : candidates) {
+            boolean solidEntryPoint = false;
+            for (Hash approverHash : ApproveeViewModel.load(tangle, candidate).getHashes()) {
+                TransactionViewModel approver = TransactionViewModel.fromHash(tangle, approverHash);
+                if (approver.snapshotIndex() > TARGET_ROUND_INDEX
+                        || (approver.snapshotIndex() == 0 && !isOrphaned(approver))) {
+
+                    solidEntryPoint = true;
+                }
+            }
+
+            if (solidEntryPoint) {
+                solidEntryPoints.add(candidate);
+            }
+        }
+
+        return solidEntryPoints;
+    }
+
+    private boolean isOrphaned(TransactionViewModel transaction) throws Exception {
+        Set<Hash> visitedTransactions = new HashSet<>(Collections.singleton(transaction.getHash()));
+        Queue<TransactionViewModel> transactionsToExamine = new LinkedList<>(Collections.singleton(transaction));
+
+        TransactionViewModel currentTransaction;
+        while ((currentTransaction = transactionsToExamine.poll()) != null) {
+            if (currentTransaction.getArrivalTime() / 1000L > REFERENCE_TIMESTAMP) {
+                return false;
+            }
+
+            for (Hash approverHash : ApproveeViewModel.load(tangle, currentTransaction.getHash()).getHashes()) {
+                if (visitedTransactions.add(approverHash)) {
+                    transactionsToExamine.add(TransactionViewModel.fromHash(tangle, approverHash));
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package net.helix.pendulum.service.subscription;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SubscriptionTest {
+
+    @Test
+    public void messagesAreSentOneAtATime() {
+        List<String> sentMessages = new ArrayList<>();
+        List<Runnable> pendingCallbacks = new ArrayList<>();
+        Subscription subscription = new Subscription((message, onComplete) -> {
+            sentMessages.add(message);
+            pendingCallbacks.add(onComplete);
+        }, 10);
+
+        subscription.deliver("a");
+        subscription.deliver("b");
+        Assert.assertEquals(Arrays.asList("a"), sentMessages);
+
+        pendingCallbacks.remove(0).run();
+        Assert.assertEquals(Arrays.asList("a", "b"), sentMessages);
+        Assert.assertEquals(0, subscription.getDroppedMessages());
+    }
+
+    @Test
+    public void oldestMessagesAreDroppedIfBufferIsFull() {
+        List<String> sentMessages = new ArrayList<>();
+        List<Runnable> pendingCallbacks = new ArrayList<>();
+        Subscription subscription = new Subscription((message, onComplete) -> {
+            sentMessages.add(message);
+            pendingCallbacks.add(onComplete);
+        }, 2);
+
+        subscription.deliver("a");
+        subscription.deliver("b");
+        subscription.deliver("c");
+        subscription.deliver("d");
+        Assert.assertEquals(1, subscription.getDroppedMessages());
+
+        pendingCallbacks.remove(0).run();
+        pendingCallbacks.remove(0).run();
+        Assert.assertEquals(Arrays.asList("a", "c", "d"), sentMessages);
+    }
+
+    @Test
+    public void closedSubscriptionDiscardsMessages() {
+        List<String> sentMessages = new ArrayList<>();
+        Subscription subscription = new Subscription((message, onComplete) -> sentMessages.add(message), 10);
+
+        subscription.close();
+        subscription.deliver("a");
+        Assert.assertTrue(sentMessages.isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package net.helix.pendulum.service.transactionpruning.async;
+
+import net.helix.pendulum.conf.SnapshotConfig;
+import net.helix.pendulum.controllers.TipsViewModel;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.service.snapshot.SnapshotProvider;
+import net.helix.pendulum.service.spentaddresses.SpentAddressesService;
+import net.helix.pendulum.service.transactionpruning.TransactionPruningException;
+import net.helix.pendulum.service.transactionpruning.jobs.UnconfirmedSubtanglePrunerJob;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
+import net.helix.pendulum.utils.Pair;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+
+public class AsyncTransactionPrunerTest {
+
+    private static final String SUBTANGLE_JOB = UnconfirmedSubtanglePrunerJob.class.getCanonicalName();
+
+    private final TemporaryFolder dbFolder = new TemporaryFolder();
+    private final TemporaryFolder logFolder = new TemporaryFolder();
+    private final TemporaryFolder snapshotFolder = new TemporaryFolder();
+    private final Tangle tangle = new Tangle();
+
+    private SnapshotConfig config;
+    private File stateFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFolder.create();
+        logFolder.create();
+        snapshotFolder.create();
+
+        config = Mockito.mock(SnapshotConfig.class);
+        Mockito.when(config.getLocalSnapshotsBasePath()).thenReturn(snapshotFolder.getRoot().getAbsolutePath());
+        stateFile = new File(snapshotFolder.getRoot(), "snapshot.gc");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tangle.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+        snapshotFolder.delete();
+    }
+
+    @Test
+    public void migratesTheStateFileTest() throws Exception {
+        Hash firstTransaction = getTransactionHash();
+        Hash secondTransaction = getTransactionHash();
+        writeStateFile(firstTransaction, secondTransaction);
+        tangle.addPersistenceProvider(new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(),
+                1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+
+        createTransactionPruner().restoreState();
+
+        List<Pair<Integer, String>> jobs = new PrunerJobStore(tangle).loadAll();
+        Assert.assertEquals("the jobs of the state file should have been persisted", 2, jobs.size());
+        Assert.assertEquals(SUBTANGLE_JOB + ";" + firstTransaction.toString(), jobs.get(0).hi);
+        Assert.assertEquals(SUBTANGLE_JOB + ";" + secondTransaction.toString(), jobs.get(1).hi);
+        Assert.assertFalse("the migrated state file should have been removed", stateFile.exists());
+    }
+
+    @Test
+    public void keepsTheStateFileIfTheJobsWereNotPersistedTest() throws Exception {
+        writeStateFile(getTransactionHash());
+
+        try {
+            // the database was not opened yet, so it does not store the jobs
+            createTransactionPruner().restoreState();
+            Assert.fail("the migration should have failed");
+        } catch (TransactionPruningException e) {
+            Assert.assertTrue("the state file should have been kept", stateFile.exists());
+        }
+    }
+
+    private AsyncTransactionPruner createTransactionPruner() {
+        return new AsyncTransactionPruner().init(tangle, Mockito.mock(SnapshotProvider.class),
+                Mockito.mock(SpentAddressesService.class), Mockito.mock(TipsViewModel.class), config);
+    }
+
+    private void writeStateFile(Hash... transactions) throws Exception {
+        StringBuilder stateFileContent = new StringBuilder();
+        Arrays.stream(transactions).forEach(transaction ->
+                stateFileContent.append(SUBTANGLE_JOB).append(";").append(transaction.toString()).append("\n"));
+        Files.write(stateFile.toPath(), stateFileContent.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,146 @@
+package net.helix.pendulum.service.transactionpruning.async;
+
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.service.transactionpruning.jobs.MilestonePrunerJob;
+import net.helix.pendulum.service.transactionpruning.jobs.UnconfirmedSubtanglePrunerJob;
+import net.helix.pendulum.storage.Tangle;
+import net.helix.pendulum.storage.rocksdb.RocksDBPersistenceProvider;
+import net.helix.pendulum.utils.Pair;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+
+public class PrunerJobStoreTest {
+
+    private static final String MILESTONE_JOB = MilestonePrunerJob.class.getCanonicalName();
+
+    private static final String SUBTANGLE_JOB = UnconfirmedSubtanglePrunerJob.class.getCanonicalName();
+
+    private final TemporaryFolder dbFolder = new TemporaryFolder();
+    private final TemporaryFolder logFolder = new TemporaryFolder();
+    private Tangle tangle;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFolder.create();
+        logFolder.create();
+        openTangle();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tangle.shutdown();
+        dbFolder.delete();
+        logFolder.delete();
+    }
+
+    @Test
+    public void enqueuedJobsSurviveARestartTest() throws Exception {
+        Hash transactionHash = getTransactionHash();
+        PrunerJobStore jobStore = new PrunerJobStore(tangle);
+        jobStore.enqueue(new MilestonePrunerJob(10, 20));
+        jobStore.enqueue(new UnconfirmedSubtanglePrunerJob(transactionHash));
+
+        reopenTangle();
+        List<Pair<Integer, String>> jobs = new PrunerJobStore(tangle).loadAll();
+
+        Assert.assertEquals("all jobs should have been persisted", 2, jobs.size());
+        Assert.assertEquals(Integer.valueOf(0), jobs.get(0).low);
+        Assert.assertEquals(MILESTONE_JOB + ";10;10;20", jobs.get(0).hi);
+        Assert.assertEquals(Integer.valueOf(1), jobs.get(1).low);
+        Assert.assertEquals(SUBTANGLE_JOB + ";" + transactionHash.toString(), jobs.get(1).hi);
+    }
+
+    @Test
+    public void updatesPersistTheProgressTest() throws Exception {
+        MilestonePrunerJob job = new MilestonePrunerJob(10, 20);
+        PrunerJobStore jobStore = new PrunerJobStore(tangle);
+        jobStore.enqueue(job);
+
+        job.setCurrentIndex(15);
+        jobStore.update(job);
+
+        reopenTangle();
+        List<Pair<Integer, String>> jobs = new PrunerJobStore(tangle).loadAll();
+
+        Assert.assertEquals("the job should have been updated in place", 1, jobs.size());
+        Assert.assertEquals(MILESTONE_JOB + ";10;15;20", jobs.get(0).hi);
+    }
+
+    @Test
+    public void acknowledgedJobsAreRemovedTest() throws Exception {
+        MilestonePrunerJob milestoneJob = new MilestonePrunerJob(10, 20);
+        UnconfirmedSubtanglePrunerJob subtangleJob = new UnconfirmedSubtanglePrunerJob(getTransactionHash());
+        PrunerJobStore jobStore = new PrunerJobStore(tangle);
+        jobStore.enqueue(milestoneJob);
+        jobStore.enqueue(subtangleJob);
+
+        jobStore.acknowledge(subtangleJob);
+
+        List<Pair<Integer, String>> jobs = new PrunerJobStore(tangle).loadAll();
+        Assert.assertEquals("only the unacknowledged job should remain", 1, jobs.size());
+        Assert.assertEquals(MILESTONE_JOB + ";10;10;20", jobs.get(0).hi);
+
+        jobStore.clear();
+        Assert.assertTrue("no job should remain after clearing the store",
+                new PrunerJobStore(tangle).loadAll().isEmpty());
+    }
+
+    @Test
+    public void restoredJobsKeepTheirEntriesTest() throws Exception {
+        PrunerJobStore jobStore = new PrunerJobStore(tangle);
+        jobStore.enqueue(new MilestonePrunerJob(10, 20));
+        jobStore.enqueue(new MilestonePrunerJob(21, 30));
+
+        reopenTangle();
+        PrunerJobStore restoredJobStore = new PrunerJobStore(tangle);
+        List<Pair<Integer, String>> persistedJobs = restoredJobStore.loadAll();
+        MilestonePrunerJob restoredJob = MilestonePrunerJob.parse(persistedJobs.get(1).hi.substring(
+                MILESTONE_JOB.length() + 1));
+        restoredJobStore.track(restoredJob, persistedJobs.get(1).low);
+
+        restoredJob.setTargetIndex(40);
+        restoredJobStore.enqueue(restoredJob);
+        restoredJobStore.enqueue(new MilestonePrunerJob(41, 50));
+
+        List<Pair<Integer, String>> jobs = new PrunerJobStore(tangle).loadAll();
+        Assert.assertEquals("the restored job should not have been duplicated", 3, jobs.size());
+        Assert.assertEquals(MILESTONE_JOB + ";10;10;20", jobs.get(0).hi);
+        Assert.assertEquals(MILESTONE_JOB + ";21;21;40", jobs.get(1).hi);
+        Assert.assertEquals("new jobs should get an id after the restored ones", Integer.valueOf(2),
+                jobs.get(2).low);
+        Assert.assertEquals(MILESTONE_JOB + ";41;41;50", jobs.get(2).hi);
+    }
+
+    @Test
+    public void persistedJobsCanBeReadBackTest() throws Exception {
+        MilestonePrunerJob job = new MilestonePrunerJob(10, 20);
+        PrunerJobStore jobStore = new PrunerJobStore(tangle);
+        jobStore.enqueue(job);
+        Assert.assertTrue("the enqueued job should be persisted", jobStore.isPersisted());
+
+        // a database without providers does not store anything
+        PrunerJobStore unopenedJobStore = new PrunerJobStore(new Tangle());
+        unopenedJobStore.enqueue(job);
+        Assert.assertFalse("the job should not be readable from an unopened database", unopenedJobStore.isPersisted());
+    }
+
+    private void openTangle() throws Exception {
+        tangle = new Tangle();
+        tangle.addPersistenceProvider(new RocksDBPersistenceProvider(
+                dbFolder.getRoot().getAbsolutePath(), logFolder.getRoot().getAbsolutePath(),
+                1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY));
+        tangle.init();
+    }
+
+    private void reopenTangle() throws Exception {
+        tangle.shutdown();
+        openTangle();
+    }
+}
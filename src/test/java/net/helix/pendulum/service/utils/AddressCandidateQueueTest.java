@@ -0,0 +1,84 @@
+package net.helix.pendulum.service.utils;
+
+import net.helix.pendulum.AbstractPendulumTest;
+import net.helix.pendulum.controllers.TransactionViewModel;
+import net.helix.pendulum.event.EventManager;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+import org.junit.Test;
+
+import static net.helix.pendulum.TransactionTestUtils.getTransactionBytes;
+import static net.helix.pendulum.TransactionTestUtils.getTransactionHash;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AddressCandidateQueueTest extends AbstractPendulumTest {
+    private static final Hash WATCHED_ADDRESS =
+            HashFactory.ADDRESS.create("6a1c5b8a3d0f2e4c7b9a1d3f5e7c9b0a2d4f6e8c0b2a4d6f8e0c2b4a6d8f0e2c");
+
+    private static final Hash OTHER_ADDRESS =
+            HashFactory.ADDRESS.create("0b7d2f4a6c8e0b2d4f6a8c0e2b4d6f8a0c2e4b6d8f0a2c4e6b8d0f2a4c6e8b0d");
+
+    @Test
+    public void collectStoredTransactionsTest() throws Exception {
+        AddressCandidateQueue queue = new AddressCandidateQueue(tangle).init();
+        queue.watch(WATCHED_ADDRESS);
+        queue.replayMissedCandidates();
+
+        Hash watched = storeTransaction(WATCHED_ADDRESS);
+        storeTransaction(OTHER_ADDRESS);
+
+        assertEquals("only the transaction of the watched address should be collected", 1, queue.size());
+        assertEquals(watched, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void replayMissedSuffixTest() throws Exception {
+        AddressCandidateQueue queue = new AddressCandidateQueue(tangle).init();
+        queue.watch(WATCHED_ADDRESS);
+        storeTransaction(WATCHED_ADDRESS);
+        storeTransaction(WATCHED_ADDRESS);
+        while (queue.poll() != null) {
+            // all candidates are processed
+        }
+        queue.saveMarks();
+        EventManager.get().unsubscribe(queue);
+
+        // arrives while the tracker is not running
+        Hash missed = storeTransaction(WATCHED_ADDRESS);
+
+        AddressCandidateQueue restartedQueue = new AddressCandidateQueue(tangle).init();
+        restartedQueue.watch(WATCHED_ADDRESS);
+        restartedQueue.replayMissedCandidates();
+
+        assertEquals("only the transaction after the mark should be replayed", 1, restartedQueue.size());
+        assertEquals(missed, restartedQueue.poll());
+    }
+
+    @Test
+    public void retriedCandidateIsReplayedTest() throws Exception {
+        AddressCandidateQueue queue = new AddressCandidateQueue(tangle).init();
+        queue.watch(WATCHED_ADDRESS);
+        Hash candidate = storeTransaction(WATCHED_ADDRESS);
+        queue.retry(queue.poll());
+        queue.saveMarks();
+        EventManager.get().unsubscribe(queue);
+
+        AddressCandidateQueue restartedQueue = new AddressCandidateQueue(tangle).init();
+        restartedQueue.watch(WATCHED_ADDRESS);
+        restartedQueue.replayMissedCandidates();
+
+        assertEquals("the unprocessed candidate should not be covered by a mark", 1, restartedQueue.size());
+        assertEquals(candidate, restartedQueue.poll());
+    }
+
+    private Hash storeTransaction(Hash address) throws Exception {
+        byte[] bytes = getTransactionBytes();
+        System.arraycopy(address.bytes(), 0, bytes, TransactionViewModel.ADDRESS_OFFSET,
+                TransactionViewModel.ADDRESS_SIZE);
+        TransactionViewModel transaction = new TransactionViewModel(bytes, getTransactionHash());
+        transaction.store(tangle, snapshotProvider.getInitialSnapshot());
+        return transaction.getHash();
+    }
+}
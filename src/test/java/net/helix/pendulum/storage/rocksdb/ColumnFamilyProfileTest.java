@@ -0,0 +1,37 @@
+package net.helix.pendulum.storage.rocksdb;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class ColumnFamilyProfileTest {
+
+    @Test
+    public void parseProfilesTest() {
+        Map<String, ColumnFamilyProfile> profiles = ColumnFamilyProfile.parse(" tag = point-lookup,round=MERGE");
+        Assert.assertEquals(2, profiles.size());
+        Assert.assertEquals(ColumnFamilyProfile.POINT_LOOKUP, profiles.get("tag"));
+        Assert.assertEquals(ColumnFamilyProfile.MERGE, profiles.get("round"));
+    }
+
+    @Test
+    public void parseEmptyProfilesTest() {
+        Assert.assertTrue(ColumnFamilyProfile.parse("").isEmpty());
+        Assert.assertTrue(ColumnFamilyProfile.parse(null).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseUnknownProfileTest() {
+        ColumnFamilyProfile.parse("tag=fast");
+    }
+
+    @Test
+    public void cacheSharesAddUpTest() {
+        int cacheShares = 0;
+        for (ColumnFamilyProfile profile : ColumnFamilyProfile.values()) {
+            cacheShares += profile.getCacheShare();
+        }
+        Assert.assertEquals(100, cacheShares);
+    }
+}
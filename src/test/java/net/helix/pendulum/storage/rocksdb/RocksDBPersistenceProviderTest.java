@@ -1,16 +1,24 @@
 package net.helix.pendulum.storage.rocksdb;
 
+import net.helix.pendulum.conf.MainnetConfig;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
 import net.helix.pendulum.model.IntegerIndex;
+import net.helix.pendulum.model.persistables.Address;
 import net.helix.pendulum.model.persistables.Transaction;
 import net.helix.pendulum.storage.Indexable;
 import net.helix.pendulum.storage.Persistable;
 import net.helix.pendulum.storage.Tangle;
 import net.helix.pendulum.utils.Pair;
+import net.helix.pendulum.utils.metrics.Counter;
+import net.helix.pendulum.utils.metrics.MetricsRegistry;
 import org.junit.*;
 import org.junit.rules.TemporaryFolder;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -43,6 +51,7 @@ public class RocksDBPersistenceProviderTest {
     @Before
     public void setUp() throws Exception {
         rocksDBPersistenceProvider.clear(Transaction.class);
+        rocksDBPersistenceProvider.clear(Address.class);
     }
 
     @Test
@@ -77,4 +86,76 @@ public class RocksDBPersistenceProviderTest {
         }
     }
 
+    @Test
+    public void removeReferencesTest() throws Exception {
+        Hash address = HashFactory.ADDRESS.create(bytesOf(1));
+        Hash tx1 = HashFactory.TRANSACTION.create(bytesOf(2));
+        Hash tx2 = HashFactory.TRANSACTION.create(bytesOf(3));
+        Counter reclaimedBytesMetric = MetricsRegistry.get().counter("pendulum_db_reclaimed_bytes_total", "");
+        long reclaimedBytesBefore = reclaimedBytesMetric.get();
+        rocksDBPersistenceProvider.saveBatch(Arrays.asList(new Pair<>(address, new Address(tx1)),
+                new Pair<>(address, new Address(tx2))));
+
+        long reclaimedBytes = rocksDBPersistenceProvider.removeReferences(Address.class,
+                Collections.singletonMap(address, Collections.singleton(tx1)));
+        Assert.assertEquals(Hash.SIZE_IN_BYTES + 1, reclaimedBytes);
+        Assert.assertEquals("the reclaimed bytes should be exported as a metric",
+                reclaimedBytesBefore + reclaimedBytes, reclaimedBytesMetric.get());
+        Assert.assertEquals(Collections.singleton(tx2),
+                ((Address) rocksDBPersistenceProvider.get(Address.class, address)).set);
+
+        rocksDBPersistenceProvider.removeReferences(Address.class,
+                Collections.singletonMap(address, Collections.singleton(tx2)));
+        Assert.assertFalse("empty index entries should be deleted",
+                rocksDBPersistenceProvider.exists(Address.class, address));
+    }
+
+    @Test
+    public void ingestTest() throws Exception {
+        Hash tx = HashFactory.TRANSACTION.create(bytesOf(4));
+        // unsorted keys (including negative bytes) with a duplicate
+        List<Hash> addresses = Arrays.asList(HashFactory.ADDRESS.create(bytesOf(0x90)),
+                HashFactory.ADDRESS.create(bytesOf(5)), HashFactory.ADDRESS.create(bytesOf(0x7f)),
+                HashFactory.ADDRESS.create(bytesOf(5)));
+
+        Assert.assertEquals(3, rocksDBPersistenceProvider.ingest(addresses, new Address(tx)));
+        for (Hash address : addresses) {
+            Assert.assertEquals("ingested entry of " + address + " should be readable", Collections.singleton(tx),
+                    ((Address) rocksDBPersistenceProvider.get(Address.class, address)).set);
+        }
+    }
+
+    @Test
+    public void statisticsTest() throws Exception {
+        MainnetConfig config = new MainnetConfig();
+        config.parseConfigFromArgs(new String[]{"--db-statistics", "true"});
+
+        TemporaryFolder statisticsDbFolder = new TemporaryFolder();
+        TemporaryFolder statisticsLogFolder = new TemporaryFolder();
+        statisticsDbFolder.create();
+        statisticsLogFolder.create();
+        RocksDBPersistenceProvider provider = new RocksDBPersistenceProvider(
+                statisticsDbFolder.getRoot().getAbsolutePath(), statisticsLogFolder.getRoot().getAbsolutePath(),
+                1000, Tangle.COLUMN_FAMILIES, Tangle.METADATA_COLUMN_FAMILY, config);
+        try {
+            provider.init();
+
+            Hash tx = HashFactory.TRANSACTION.create(bytesOf(6));
+            provider.save(new Address(tx), HashFactory.ADDRESS.create(bytesOf(7)));
+
+            Map<String, Long> statistics = provider.getStatistics();
+            Assert.assertTrue("the tickers should be exported", statistics.containsKey("bytes_written"));
+            Assert.assertTrue("the written bytes should be counted", statistics.get("bytes_written") > 0);
+        } finally {
+            provider.shutdown();
+            statisticsDbFolder.delete();
+            statisticsLogFolder.delete();
+        }
+    }
+
+    private static byte[] bytesOf(int value) {
+        byte[] bytes = new byte[Hash.SIZE_IN_BYTES];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
 }
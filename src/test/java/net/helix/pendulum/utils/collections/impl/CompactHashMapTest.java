@@ -0,0 +1,44 @@
+package net.helix.pendulum.utils.collections.impl;
+
+import net.helix.pendulum.TransactionTestUtils;
+import net.helix.pendulum.model.Hash;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompactHashMapTest {
+
+    @Test
+    public void putAndGetTest() {
+        CompactHashMap<Integer> map = new CompactHashMap<>();
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        Assert.assertNull(map.put(hash, 1));
+        Assert.assertEquals(Integer.valueOf(1), map.put(hash, 2));
+        Assert.assertEquals(Integer.valueOf(2), map.get(hash));
+        Assert.assertNull(map.get(TransactionTestUtils.getTransactionHash()));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void valuesSurviveResizeAndRemovalTest() {
+        List<Hash> hashes = new ArrayList<>();
+        Map<Hash, Integer> expected = new HashMap<>();
+        CompactHashMap<Integer> map = new CompactHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            Hash hash = TransactionTestUtils.getTransactionHash();
+            hashes.add(hash);
+            expected.put(hash, i);
+            map.put(hash, i);
+        }
+        Assert.assertEquals(expected, map);
+
+        for (int i = 0; i < hashes.size(); i += 3) {
+            Assert.assertEquals(expected.remove(hashes.get(i)), map.remove(hashes.get(i)));
+        }
+        Assert.assertEquals(expected, map);
+    }
+}
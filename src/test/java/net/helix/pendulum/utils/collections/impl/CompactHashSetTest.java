@@ -0,0 +1,68 @@
+package net.helix.pendulum.utils.collections.impl;
+
+import net.helix.pendulum.TransactionTestUtils;
+import net.helix.pendulum.model.Hash;
+import net.helix.pendulum.model.HashFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CompactHashSetTest {
+
+    @Test
+    public void addAndContainsTest() {
+        CompactHashSet set = new CompactHashSet();
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        Assert.assertTrue("can't add new hash", set.add(hash));
+        Assert.assertFalse("can add hash twice", set.add(hash));
+        Assert.assertTrue("hash is not contained", set.contains(hash));
+        Assert.assertTrue("null hash is contained", set.add(Hash.NULL_HASH));
+        Assert.assertTrue("null hash is not contained", set.contains(Hash.NULL_HASH));
+        Assert.assertEquals(2, set.size());
+    }
+
+    @Test
+    public void hashesAreComparedByBytesTest() {
+        CompactHashSet set = new CompactHashSet();
+        Hash hash = TransactionTestUtils.getTransactionHash();
+        set.add(HashFactory.ADDRESS.create(hash.bytes()));
+        Assert.assertTrue("hash with the same bytes is not contained", set.contains(hash));
+    }
+
+    @Test
+    public void resizeAndRemoveTest() {
+        List<Hash> hashes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            hashes.add(TransactionTestUtils.getTransactionHash());
+        }
+        CompactHashSet set = new CompactHashSet(hashes);
+        Assert.assertEquals(new HashSet<>(hashes), set);
+
+        for (int i = 0; i < hashes.size(); i += 2) {
+            Assert.assertTrue("can't remove contained hash", set.remove(hashes.get(i)));
+        }
+        for (int i = 0; i < hashes.size(); i++) {
+            Assert.assertEquals("wrong membership after removal", i % 2 == 1, set.contains(hashes.get(i)));
+        }
+        Assert.assertEquals(hashes.size() / 2, set.size());
+    }
+
+    @Test
+    public void iteratorReturnsAllHashesTest() {
+        Set<Hash> expected = new HashSet<>();
+        CompactHashSet set = new CompactHashSet();
+        for (int i = 0; i < 100; i++) {
+            Hash hash = TransactionTestUtils.getTransactionHash();
+            expected.add(hash);
+            set.add(hash);
+        }
+
+        Set<Hash> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        Assert.assertEquals(expected, iterated);
+    }
+}
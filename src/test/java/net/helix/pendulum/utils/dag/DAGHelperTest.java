@@ -1,9 +1,12 @@
 package net.helix.pendulum.utils.dag;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -48,6 +51,7 @@ public class DAGHelperTest {
     @Before
     public void setUp() throws Exception {
         helper = DAGHelper.get(tangle);
+        TangleMockUtils.mockLoadBatch(tangle);
     }
 
     @Test
@@ -104,5 +108,42 @@ public class DAGHelperTest {
         assertEquals("Last transaction should have TX1 its timestamp", tx.getAttachmentTimestamp(), TX1.attachmentTimestamp);
         assertArrayEquals("Last transaction should have TX1 its bytes", tx.getBytes(), TX1.bytes());
     }
-    
+
+    @Test
+    public void traverseWideFrontierTest() throws Exception {
+        TangleMockUtils.mockTransaction(tangle, A, TX2);
+
+        Approvee approvee = new Approvee();
+        List<Hash> approvers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Hash approver = TransactionTestUtils.getTransactionHash();
+            TangleMockUtils.mockTransaction(tangle, approver);
+            approvee.set.add(approver);
+            approvers.add(approver);
+        }
+        Mockito.when(tangle.load(Approvee.class, A)).thenReturn(approvee);
+
+        List<Hash> processed = new ArrayList<>();
+        helper.traverseApprovers(A, transaction -> true, t -> processed.add(t.getHash()));
+
+        assertEquals("the approvers should have been processed in breadth-first order", approvers, processed);
+    }
+
+    @Test
+    public void sharedProcessedTransactionsTest() throws Exception {
+        TangleMockUtils.mockTransaction(tangle, Hash.NULL_HASH, TX1);
+        TangleMockUtils.mockTransaction(tangle, A, TX2);
+        TangleMockUtils.mockTransaction(tangle, C, TX3);
+
+        List<TransactionViewModel> processed = new LinkedList<>();
+        Set<Hash> set = new HashSet<>();
+
+        helper.traverseApprovees(C, transaction -> true, processed::add, set);
+        helper.traverseApprovees(A, transaction -> true, processed::add, set);
+
+        assertEquals("the second traversal should not process the transactions again",
+                new HashSet<>(Arrays.asList(A, Hash.NULL_HASH)),
+                processed.stream().map(TransactionViewModel::getHash).collect(Collectors.toSet()));
+        assertEquals(2, processed.size());
+    }
 }
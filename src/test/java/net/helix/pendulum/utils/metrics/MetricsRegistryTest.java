@@ -0,0 +1,69 @@
+package net.helix.pendulum.utils.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry metrics = MetricsRegistry.get();
+
+    @Test
+    public void counterIsCreatedOnceTest() {
+        Counter counter = metrics.counter("test_counter_total", "test counter");
+        counter.increment();
+        counter.add(2);
+
+        assertSame("the counter should have been reused", counter, metrics.counter("test_counter_total", "test counter"));
+        assertTrue("the counter should have been exported", metrics.scrape().contains("test_counter_total 3\n"));
+    }
+
+    @Test
+    public void gaugeIsReplacedTest() {
+        metrics.gauge("test_gauge", "test gauge", () -> 1);
+        metrics.gauge("test_gauge", "test gauge", () -> 42);
+
+        String scraped = metrics.scrape();
+        assertTrue("the latest supplier should have been read", scraped.contains("test_gauge 42\n"));
+        assertFalse("the replaced supplier should not be read", scraped.contains("test_gauge 1\n"));
+    }
+
+    @Test
+    public void labeledSeriesShareTheirHeaderTest() {
+        metrics.counter("test_requests_total", "test requests", "command", "a").increment();
+        metrics.counter("test_requests_total", "test requests", "command", "b").increment();
+
+        String scraped = metrics.scrape();
+        assertEquals("the header should have been written once", scraped.indexOf("# TYPE test_requests_total"),
+                scraped.lastIndexOf("# TYPE test_requests_total"));
+        assertTrue(scraped.contains("test_requests_total{command=\"a\"} 1\n"));
+        assertTrue(scraped.contains("test_requests_total{command=\"b\"} 1\n"));
+
+        metrics.remove("test_requests_total");
+        assertFalse("the series should have been removed", metrics.scrape().contains("test_requests_total"));
+    }
+
+    @Test
+    public void histogramBucketsTest() {
+        assertEquals("small values should be collected by the first bucket", 0, Histogram.bucketOf(0));
+        assertEquals(0, Histogram.bucketOf(1024));
+        assertEquals("the upper bounds should be inclusive", 1, Histogram.bucketOf(1025));
+        assertEquals(1, Histogram.bucketOf(2048));
+        assertEquals("large values should be collected by the overflow bucket", 26, Histogram.bucketOf(Long.MAX_VALUE));
+
+        Histogram histogram = metrics.histogram("test_duration_seconds", "test duration");
+        histogram.record(500);
+        histogram.record(2000);
+        histogram.record(Long.MAX_VALUE / 2);
+
+        assertEquals(3, histogram.getCount());
+        String scraped = metrics.scrape();
+        assertTrue(scraped.contains("test_duration_seconds_bucket{le=\"1.024E-6\"} 1\n"));
+        assertTrue(scraped.contains("test_duration_seconds_bucket{le=\"2.048E-6\"} 2\n"));
+        assertTrue(scraped.contains("test_duration_seconds_bucket{le=\"+Inf\"} 3\n"));
+        assertTrue(scraped.contains("test_duration_seconds_count 3\n"));
+    }
+}
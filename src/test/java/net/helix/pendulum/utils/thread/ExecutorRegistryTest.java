@@ -0,0 +1,77 @@
+package net.helix.pendulum.utils.thread;
+
+import net.helix.pendulum.conf.ExecutorConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class ExecutorRegistryTest {
+
+    private final ExecutorRegistry executorRegistry = ExecutorRegistry.get();
+
+    @Before
+    public void setUp() {
+        ExecutorConfig executorConfig = Mockito.mock(ExecutorConfig.class);
+        when(executorConfig.getExecutorThreads()).thenReturn(Collections.singletonMap("udp-receiver", 4));
+        when(executorConfig.getExecutorIntervals()).thenReturn(Collections.singletonMap("milestone-tracker", 500));
+        when(executorConfig.isExecutorEventTriggered()).thenReturn(true);
+        executorRegistry.configure(executorConfig);
+    }
+
+    @After
+    public void tearDown() {
+        executorRegistry.configure(Mockito.mock(ExecutorConfig.class));
+    }
+
+    @Test
+    public void configuredValuesOverrideTheDefaultsTest() {
+        assertEquals("the configured thread count should be used", 4, executorRegistry.getThreads("udp-receiver", 1));
+        assertEquals("the configured interval should be used", 500,
+                executorRegistry.getInterval("milestone-tracker", 5000));
+        assertTrue("the configured flag should be used", executorRegistry.isEventTriggered());
+    }
+
+    @Test
+    public void unconfiguredNamesUseTheDefaultsTest() {
+        assertEquals("the built-in thread count should be used", 2, executorRegistry.getThreads("tcp-receiver", 2));
+        assertEquals("the built-in interval should be used", 5000,
+                executorRegistry.getInterval("solid-milestone-tracker", 5000));
+        assertEquals("a pool should have at least one thread", 1, executorRegistry.getThreads("tcp-receiver", 0));
+    }
+
+    @Test
+    public void reconfigurationReplacesTheOverridesTest() {
+        executorRegistry.configure(Mockito.mock(ExecutorConfig.class));
+
+        assertEquals(1, executorRegistry.getThreads("udp-receiver", 1));
+        assertEquals(5000, executorRegistry.getInterval("milestone-tracker", 5000));
+        assertFalse(executorRegistry.isEventTriggered());
+    }
+
+    @Test
+    public void affinityExecutorsUseTheConfiguredThreadsTest() {
+        BoundedScheduledExecutorService[] affinityExecutors = executorRegistry.newAffinityExecutors("udp-receiver", 1);
+        try {
+            assertEquals("one single threaded executor should be created per configured thread", 4,
+                    affinityExecutors.length);
+        } finally {
+            for (BoundedScheduledExecutorService affinityExecutor : affinityExecutors) {
+                affinityExecutor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void executorsWithTheSameNameShareTheirTelemetryTest() {
+        assertSame(executorRegistry.getTelemetry("udp-receiver"), executorRegistry.getTelemetry("udp-receiver"));
+    }
+}
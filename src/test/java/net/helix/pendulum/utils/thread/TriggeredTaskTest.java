@@ -0,0 +1,90 @@
+package net.helix.pendulum.utils.thread;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TriggeredTaskTest {
+
+    private final BoundedScheduledExecutorService executor =
+            ExecutorRegistry.get().newExecutor("triggered-task-test", 2);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void coalescesTheTriggersWhileRunningTest() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger(0);
+        AtomicInteger concurrent = new AtomicInteger(0);
+        AtomicInteger maxConcurrent = new AtomicInteger(0);
+
+        TriggeredTask task = new TriggeredTask("triggered-task-test-coalesce", executor, () -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            if (executions.incrementAndGet() == 1) {
+                running.countDown();
+                await(release);
+            }
+            concurrent.decrementAndGet();
+        }, 1, TimeUnit.HOURS);
+        ExecutorTelemetry telemetry = ExecutorRegistry.get().getTelemetry("triggered-task-test-coalesce");
+        long coalescedTriggersBefore = telemetry.getCoalescedTriggers();
+        long overrunsBefore = telemetry.getOverruns();
+
+        task.trigger();
+        assertTrue("the task should have been started", running.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            task.trigger();
+        }
+        release.countDown();
+
+        waitFor(() -> executions.get() >= 2);
+        Thread.sleep(100);
+
+        assertEquals("the triggers during the execution should have caused exactly one more execution", 2,
+                executions.get());
+        assertEquals("the executions should never overlap", 1, maxConcurrent.get());
+        assertEquals("the triggers during the execution should have been counted as coalesced", 100,
+                telemetry.getCoalescedTriggers() - coalescedTriggersBefore);
+        assertEquals("the coalesced triggers should not be counted as overruns", overrunsBefore,
+                telemetry.getOverruns());
+    }
+
+    @Test
+    public void runsInTheFallbackIntervalTest() throws Exception {
+        AtomicInteger executions = new AtomicInteger(0);
+
+        TriggeredTask task = new TriggeredTask("triggered-task-test-fallback", executor, executions::incrementAndGet,
+                10, TimeUnit.MILLISECONDS);
+        task.start();
+
+        waitFor(() -> executions.get() >= 3);
+        task.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("the condition was not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
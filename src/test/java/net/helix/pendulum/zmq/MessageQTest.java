@@ -0,0 +1,118 @@
+package net.helix.pendulum.zmq;
+
+import net.helix.pendulum.conf.ZMQConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.zeromq.ZMQ;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+
+public class MessageQTest {
+
+    private static final int TIMEOUT = 5000;
+
+    private ZMQ.Context subscriberContext;
+    private ZMQ.Socket subscriber;
+    private MessageQ messageQ;
+
+    @Before
+    public void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        ZMQConfig config = Mockito.mock(ZMQConfig.class);
+        Mockito.when(config.isZmqEnabled()).thenReturn(true);
+        Mockito.when(config.getZmqPort()).thenReturn(port);
+        Mockito.when(config.getZmqThreads()).thenReturn(1);
+        messageQ = MessageQ.createWith(config);
+
+        subscriberContext = ZMQ.context(1);
+        subscriber = subscriberContext.socket(ZMQ.SUB);
+        subscriber.setReceiveTimeOut(TIMEOUT);
+        subscriber.connect("tcp://localhost:" + port);
+    }
+
+    @After
+    public void tearDown() {
+        subscriber.close();
+        subscriberContext.term();
+        messageQ.shutdown();
+    }
+
+    @Test
+    public void onlySubscribedTopicsArePublishedTest() throws InterruptedException {
+        Assert.assertFalse("there should be no subscribers yet", messageQ.hasSubscribers("tx"));
+
+        subscribe("tx");
+
+        Assert.assertTrue("the subscribed prefix should match longer topics", messageQ.hasSubscribers("tx_hash"));
+        Assert.assertTrue("the subscribed prefix should match shorter prefixes", messageQ.hasSubscribers("t"));
+        Assert.assertFalse("other topics should not have subscribers", messageQ.hasSubscribers("sn"));
+
+        messageQ.publish("sn %d %s", 1, "ignored");
+        messageQ.publish("tx_hash %s %d", "abc", 2);
+
+        assertReceived("tx_hash", "abc 2".getBytes(StandardCharsets.UTF_8));
+        subscriber.setReceiveTimeOut(500);
+        Assert.assertNull("the message of the topic without subscribers should have been discarded",
+                subscriber.recv(0));
+    }
+
+    @Test
+    public void messagesAreSentAsTopicAndPayloadFramesTest() throws InterruptedException {
+        subscribe("");
+
+        byte[] payload = {0, 1, 2, (byte) 255};
+        messageQ.publish("tx_bytes", payload);
+        messageQ.publish("lmi");
+        messageQ.publish("%s %s", "ADDRESS", "{}");
+
+        assertReceived("tx_bytes", payload);
+        assertReceived("lmi", new byte[0]);
+        assertReceived("ADDRESS", "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void unsubscribedTopicsAreNotPublishedTest() throws InterruptedException {
+        subscribe("lmi");
+
+        subscriber.unsubscribe("lmi".getBytes(StandardCharsets.UTF_8));
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (messageQ.hasSubscribers("lmi") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assert.assertFalse("the unsubscribed topic should not have subscribers anymore",
+                messageQ.hasSubscribers("lmi"));
+    }
+
+    /**
+     * Subscribes to the given prefix and waits until the publisher thread registered the subscription.
+     */
+    private void subscribe(String topicPrefix) throws InterruptedException {
+        subscriber.subscribe(topicPrefix.getBytes(StandardCharsets.UTF_8));
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!messageQ.hasSubscribers(topicPrefix) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue("the subscription should have been registered", messageQ.hasSubscribers(topicPrefix));
+    }
+
+    private void assertReceived(String topic, byte[] payload) {
+        byte[] topicFrame = subscriber.recv(0);
+        Assert.assertNotNull("a message should have been received", topicFrame);
+        Assert.assertEquals("the first frame should contain the topic", topic,
+                new String(topicFrame, StandardCharsets.UTF_8));
+        Assert.assertTrue("the topic should be followed by the payload", subscriber.hasReceiveMore());
+        Assert.assertArrayEquals("the second frame should contain the payload", payload, subscriber.recv(0));
+        Assert.assertFalse("the message should consist of two frames", subscriber.hasReceiveMore());
+    }
+}